@@ -0,0 +1,22 @@
+package org.prebid.server.auction;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.prebid.server.json.JacksonMapper;
+
+/**
+ * Gives benchmarks and their fixtures access to imp extension preparation of {@link ExchangeService},
+ * so that they measure and pass to bidders exactly what auction does.
+ */
+public final class ImpExtPreparation {
+
+    private ImpExtPreparation() {
+    }
+
+    /**
+     * Prepares imp extension for the given bidder the same way {@link ExchangeService} does for requests
+     * without first party data.
+     */
+    public static ObjectNode prepare(JacksonMapper mapper, String bidder, ObjectNode impExt) {
+        return ExchangeService.prepareImpExt(mapper, bidder, impExt, false);
+    }
+}
@@ -0,0 +1,227 @@
+package org.prebid.server.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.prebid.server.json.ObjectMapperProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Runs benchmarks and fails if any of them regressed against stored baseline.
+ * <p>
+ * Every benchmark (and every bidder of {@link BidderBenchmark}) is compared by bytes allocated per operation, which
+ * doesn't depend on machine the benchmarks are run on. Throughput is compared only if its threshold is given, since
+ * it makes sense against baseline obtained on the same machine only.
+ * <p>
+ * Arguments:
+ * <ul>
+ * <li>--include - regular expression of benchmarks to run, all by default</li>
+ * <li>--baseline - path of baseline file, {@value DEFAULT_BASELINE} by default</li>
+ * <li>--allocation-threshold - allowed relative growth of bytes allocated per operation,
+ * {@value DEFAULT_ALLOCATION_THRESHOLD} by default</li>
+ * <li>--throughput-threshold - allowed relative drop of throughput, not checked by default</li>
+ * <li>--update-baseline - write results to baseline file instead of comparing</li>
+ * </ul>
+ */
+public class BenchmarkGate {
+
+    private static final Logger logger = LoggerFactory.getLogger(BenchmarkGate.class);
+
+    private static final String BENCHMARK_PACKAGE = BenchmarkGate.class.getPackage().getName() + ".";
+    private static final String DEFAULT_INCLUDE = BENCHMARK_PACKAGE + ".*";
+    private static final String DEFAULT_BASELINE = "src/jmh/baseline.json";
+    private static final double DEFAULT_ALLOCATION_THRESHOLD = 0.1;
+
+    /**
+     * Allocation changes below this number of bytes per operation are ignored: they are within measurement error
+     * for operations allocating almost nothing.
+     */
+    private static final double ALLOCATION_TOLERANCE = 128;
+    private static final String ALLOCATION_RESULT = "gc.alloc.rate.norm";
+
+    private static final String THROUGHPUT_FIELD = "throughput";
+    private static final String ALLOCATION_FIELD = "allocation";
+
+    private static final ObjectMapper MAPPER = ObjectMapperProvider.mapper();
+
+    private BenchmarkGate() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        final Map<String, String> arguments = arguments(args);
+        final String include = arguments.getOrDefault("include", DEFAULT_INCLUDE);
+        final File baselineFile = new File(arguments.getOrDefault("baseline", DEFAULT_BASELINE));
+
+        final Map<String, ObjectNode> results = run(include);
+
+        if (arguments.containsKey("update-baseline")) {
+            final Map<String, JsonNode> baseline = baselineFile.exists() ? readBaseline(baselineFile) : new TreeMap<>();
+            baseline.putAll(results);
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(baselineFile, baseline);
+            logger.info(String.format("Baseline %s updated with %d results", baselineFile, results.size()));
+            return;
+        }
+
+        final double allocationThreshold = arguments.containsKey("allocation-threshold")
+                ? Double.parseDouble(arguments.get("allocation-threshold"))
+                : DEFAULT_ALLOCATION_THRESHOLD;
+        final Double throughputThreshold = arguments.containsKey("throughput-threshold")
+                ? Double.parseDouble(arguments.get("throughput-threshold"))
+                : null;
+
+        final List<String> failures = compare(readBaseline(baselineFile), results, Pattern.compile(include),
+                allocationThreshold, throughputThreshold);
+        if (!failures.isEmpty()) {
+            logger.error(String.format("%d benchmark(s) regressed against baseline %s:%n%s", failures.size(),
+                    baselineFile, String.join(System.lineSeparator(), failures)));
+            System.exit(1);
+        }
+        logger.info(String.format("No regressions against baseline %s", baselineFile));
+    }
+
+    /**
+     * Parses arguments of "--name value" form, flags get empty value.
+     */
+    private static Map<String, String> arguments(String[] args) {
+        final Map<String, String> arguments = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException(String.format("Unexpected argument: %s", args[i]));
+            }
+            final String name = args[i].substring(2);
+            final boolean hasValue = i + 1 < args.length && !args[i + 1].startsWith("--");
+            arguments.put(name, hasValue ? args[++i] : "");
+        }
+        return arguments;
+    }
+
+    private static Map<String, ObjectNode> run(String include) throws RunnerException {
+        final List<String> bidders = Fixtures.bidderNames();
+
+        final Options options = new OptionsBuilder()
+                .include(include)
+                .param("bidder", bidders.toArray(new String[0]))
+                .addProfiler(GCProfiler.class)
+                .timeUnit(TimeUnit.SECONDS)
+                .forks(1)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(1))
+                .shouldFailOnError(false)
+                .build();
+
+        final Collection<RunResult> runResults = new Runner(options).run();
+
+        final Map<String, ObjectNode> results = new TreeMap<>();
+        for (RunResult runResult : runResults) {
+            final ObjectNode result = MAPPER.createObjectNode()
+                    .put(THROUGHPUT_FIELD, round(runResult.getPrimaryResult().getScore()));
+            final Double allocation = allocation(runResult);
+            if (allocation != null) {
+                result.put(ALLOCATION_FIELD, round(allocation));
+            }
+            results.put(key(runResult), result);
+        }
+        return results;
+    }
+
+    /**
+     * Returns key of benchmark result, e.g. "BidderBenchmark.makeBids:bidder=appnexus".
+     */
+    private static String key(RunResult runResult) {
+        final String benchmark = runResult.getParams().getBenchmark().substring(BENCHMARK_PACKAGE.length());
+        final String params = runResult.getParams().getParamsKeys().stream()
+                .map(param -> param + "=" + runResult.getParams().getParam(param))
+                .collect(Collectors.joining(","));
+        return params.isEmpty() ? benchmark : benchmark + ":" + params;
+    }
+
+    private static Double allocation(RunResult runResult) {
+        // JMH versions differ by prefix of GC profiler result names
+        return runResult.getSecondaryResults().entrySet().stream()
+                .filter(entry -> entry.getKey().endsWith(ALLOCATION_RESULT))
+                .map(Map.Entry::getValue)
+                .map(Result::getScore)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static Map<String, JsonNode> readBaseline(File baselineFile) throws IOException {
+        final Map<String, JsonNode> baseline = new TreeMap<>();
+        final Iterator<Map.Entry<String, JsonNode>> fields = MAPPER.readTree(baselineFile).fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            baseline.put(field.getKey(), field.getValue());
+        }
+        return baseline;
+    }
+
+    private static List<String> compare(Map<String, JsonNode> baseline, Map<String, ObjectNode> results,
+                                        Pattern include, double allocationThreshold, Double throughputThreshold) {
+        final List<String> failures = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : baseline.entrySet()) {
+            final String key = entry.getKey();
+            final String benchmark = BENCHMARK_PACKAGE + key.split(":")[0];
+            if (!include.matcher(benchmark).find()) {
+                continue;
+            }
+
+            final JsonNode expected = entry.getValue();
+            final ObjectNode actual = results.get(key);
+            if (actual == null) {
+                failures.add(String.format("%s: no result, benchmark failed or was removed", key));
+                continue;
+            }
+
+            final double expectedAllocation = expected.path(ALLOCATION_FIELD).asDouble();
+            final double actualAllocation = actual.path(ALLOCATION_FIELD).asDouble();
+            if (actualAllocation - expectedAllocation > Math.max(expectedAllocation * allocationThreshold,
+                    ALLOCATION_TOLERANCE)) {
+                failures.add(String.format("%s: allocated %.0f B/op, baseline %.0f B/op",
+                        key, actualAllocation, expectedAllocation));
+            }
+
+            final double expectedThroughput = expected.path(THROUGHPUT_FIELD).asDouble();
+            final double actualThroughput = actual.path(THROUGHPUT_FIELD).asDouble();
+            if (throughputThreshold != null
+                    && expectedThroughput - actualThroughput > expectedThroughput * throughputThreshold) {
+                failures.add(String.format("%s: %.2f ops/s, baseline %.2f ops/s",
+                        key, actualThroughput, expectedThroughput));
+            }
+        }
+
+        results.keySet().stream()
+                .filter(key -> !baseline.containsKey(key))
+                .forEach(key -> logger.warn(String.format("%s: not in baseline, run with --update-baseline to add it",
+                        key)));
+
+        return failures;
+    }
+}
@@ -0,0 +1,57 @@
+package org.prebid.server.benchmark;
+
+import com.iab.openrtb.request.BidRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.prebid.server.benchmark.Fixtures.BidderFixture;
+import org.prebid.server.bidder.Bidder;
+import org.prebid.server.bidder.model.BidderBid;
+import org.prebid.server.bidder.model.HttpCall;
+import org.prebid.server.bidder.model.HttpRequest;
+import org.prebid.server.bidder.model.Result;
+
+import java.util.List;
+
+/**
+ * Measures request and bids making of every bidder having integration test fixtures.
+ * <p>
+ * Bidder names are not listed here: {@link BenchmarkGate} passes all bidders found by {@link Fixtures}
+ * as "bidder" parameter, so that new bidders are covered as soon as their fixtures are added. The default value
+ * is used only when benchmark is run by other means.
+ */
+@State(Scope.Benchmark)
+public class BidderBenchmark {
+
+    @Param("appnexus")
+    public String bidder;
+
+    private Bidder<Object> bidderInstance;
+    private BidRequest bidRequest;
+    private List<HttpCall<Object>> httpCalls;
+
+    @Setup
+    public void setUp() {
+        final BidderFixture fixture = Fixtures.bidder(bidder);
+
+        bidderInstance = fixture.getBidder();
+        bidRequest = fixture.getBidRequest();
+        httpCalls = fixture.httpCalls();
+    }
+
+    @Benchmark
+    public Result<List<HttpRequest<Object>>> makeHttpRequests() {
+        return bidderInstance.makeHttpRequests(bidRequest);
+    }
+
+    @Benchmark
+    public void makeBids(Blackhole blackhole) {
+        for (HttpCall<Object> httpCall : httpCalls) {
+            final Result<List<BidderBid>> result = bidderInstance.makeBids(httpCall, bidRequest);
+            blackhole.consume(result);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.prebid.server.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.prebid.server.auction.ImpExtPreparation;
+import org.prebid.server.json.BidRequestEncoder;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.proto.openrtb.ext.ExtPrebid;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Measures preparation of bidder requests out of incoming request containing imps of all auction request fixtures.
+ * <p>
+ * Imp extensions are made either by copying "prebid" and bidder fields through {@link ExtPrebid} or by sharing
+ * them with {@link ImpExtPreparation}. Request per imp is encoded either from scratch
+ * or by {@link BidRequestEncoder} session reusing encoded fields other than imps.
+ */
+@State(Scope.Benchmark)
+public class BidderRequestBenchmark {
+
+    private static final String PREBID_EXT = "prebid";
+    private static final String CONTEXT_EXT = "context";
+
+    private JacksonMapper mapper;
+    private BidRequestEncoder bidRequestEncoder;
+    private List<Imp> imps;
+    private List<BidRequest> requestsPerImp;
+
+    @Setup
+    public void setUp() {
+        mapper = new JacksonMapper(ObjectMapperProvider.mapper());
+        bidRequestEncoder = new BidRequestEncoder(mapper);
+
+        final List<BidRequest> auctionRequests = Fixtures.auctionRequests();
+        imps = auctionRequests.stream()
+                .map(BidRequest::getImp)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+
+        final BidRequest bidRequest = auctionRequests.get(0);
+        requestsPerImp = imps.stream()
+                .map(imp -> bidRequest.toBuilder().imp(Collections.singletonList(imp)).build())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ObjectNode> copyImpExt() {
+        final List<ObjectNode> result = new ArrayList<>();
+        for (Imp imp : imps) {
+            final ObjectNode impExt = imp.getExt();
+            for (String bidder : bidders(impExt)) {
+                result.add(mapper.mapper().valueToTree(ExtPrebid.of(impExt.get(PREBID_EXT), impExt.get(bidder))));
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ObjectNode> shareImpExt() {
+        final List<ObjectNode> result = new ArrayList<>();
+        for (Imp imp : imps) {
+            final ObjectNode impExt = imp.getExt();
+            for (String bidder : bidders(impExt)) {
+                result.add(ImpExtPreparation.prepare(mapper, bidder, impExt));
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void encodeRequestPerImp(Blackhole blackhole) {
+        for (BidRequest bidRequest : requestsPerImp) {
+            blackhole.consume(mapper.encode(bidRequest));
+        }
+    }
+
+    @Benchmark
+    public void encodeRequestPerImpInSession(Blackhole blackhole) {
+        final BidRequestEncoder.Session session = bidRequestEncoder.session();
+        for (BidRequest bidRequest : requestsPerImp) {
+            blackhole.consume(session.encode(bidRequest));
+        }
+    }
+
+    private static List<String> bidders(ObjectNode impExt) {
+        final List<String> bidders = new ArrayList<>();
+        final Iterator<Map.Entry<String, JsonNode>> fields = impExt.fields();
+        while (fields.hasNext()) {
+            final String field = fields.next().getKey();
+            if (!field.equals(PREBID_EXT) && !field.equals(CONTEXT_EXT)) {
+                bidders.add(field);
+            }
+        }
+        return bidders;
+    }
+}
@@ -0,0 +1,74 @@
+package org.prebid.server.benchmark;
+
+import com.iab.openrtb.response.BidResponse;
+import com.iab.openrtb.response.SeatBid;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.prebid.server.cache.proto.request.BidCacheRequest;
+import org.prebid.server.cache.proto.request.PutObject;
+import org.prebid.server.json.BinaryFormat;
+import org.prebid.server.json.BinaryMapper;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Compares JSON with binary formats supported by {@link BinaryMapper} on Prebid Cache request containing bids of all
+ * auction response fixtures.
+ */
+@State(Scope.Benchmark)
+public class BinaryFormatBenchmark {
+
+    private static final String JSON_FORMAT = "json";
+
+    @Param({JSON_FORMAT, "smile", "cbor"})
+    public String format;
+
+    private JacksonMapper jsonMapper;
+    private BinaryMapper binaryMapper;
+    private MultiMap headers;
+    private BidCacheRequest bidCacheRequest;
+    private Buffer encodedBidCacheRequest;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = new JacksonMapper(ObjectMapperProvider.mapper());
+        binaryMapper = format.equals(JSON_FORMAT)
+                ? null
+                : new BinaryMapper(BinaryFormat.valueOf(format), jsonMapper);
+        headers = binaryMapper != null ? binaryMapper.headers() : MultiMap.caseInsensitiveMultiMap();
+
+        final List<PutObject> putObjects = Fixtures.auctionResponses().stream()
+                .map(BidResponse::getSeatbid)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .map(SeatBid::getBid)
+                .flatMap(List::stream)
+                .map(bid -> PutObject.builder().type("json").value(bid).expiry(300).build())
+                .collect(Collectors.toList());
+        bidCacheRequest = BidCacheRequest.of(putObjects);
+        encodedBidCacheRequest = encode();
+    }
+
+    @Benchmark
+    public Buffer encode() {
+        return binaryMapper != null
+                ? binaryMapper.encode(bidCacheRequest)
+                : jsonMapper.encodeToBuffer(bidCacheRequest);
+    }
+
+    @Benchmark
+    public BidCacheRequest decode() {
+        return binaryMapper != null
+                ? binaryMapper.decodeValue(encodedBidCacheRequest, headers, BidCacheRequest.class)
+                : jsonMapper.decodeValue(encodedBidCacheRequest, BidCacheRequest.class);
+    }
+}
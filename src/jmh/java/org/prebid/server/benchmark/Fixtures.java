@@ -0,0 +1,308 @@
+package org.prebid.server.benchmark;
+
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.User;
+import com.iab.openrtb.response.BidResponse;
+import io.vertx.core.MultiMap;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.prebid.server.auction.ImpExtPreparation;
+import org.prebid.server.bidder.Bidder;
+import org.prebid.server.bidder.BidderDeps;
+import org.prebid.server.bidder.model.HttpCall;
+import org.prebid.server.bidder.model.HttpRequest;
+import org.prebid.server.bidder.model.HttpResponse;
+import org.prebid.server.bidder.model.Result;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.spring.config.JacksonConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Provides benchmarks input made of integration test fixtures located at {@code org/prebid/server/it/openrtb2}.
+ * <p>
+ * Bidders are created the same way application does. Bidder request is taken from auction request fixture with imp
+ * extensions reduced to what {@link org.prebid.server.auction.ExchangeService} passes to bidder: "prebid" and
+ * "bidder" fields, and with user.buyeruid the bidder got in integration test. Bidder responses are taken from bid
+ * response fixtures of the bidder and are paired with bidder HTTP requests in order.
+ */
+public class Fixtures {
+
+    private static final String FIXTURES_LOCATION = "classpath*:org/prebid/server/it/openrtb2/";
+    private static final String AUCTION_REQUEST_PATTERN = "*/test-auction-*-request.json";
+    private static final String AUCTION_RESPONSE_PATTERN = "*/test-auction-*-response.json";
+    private static final String BID_REQUEST_PATTERN = "test-*-bid-request*.json";
+    private static final String BID_RESPONSE_PATTERN = "test-*-bid-response*.json";
+    private static final String BIDDER_PROPERTIES = "classpath:org/prebid/server/it/test-application.properties";
+
+    private static final JacksonMapper MAPPER = new JacksonMapper(ObjectMapperProvider.mapper());
+    private static final PathMatchingResourcePatternResolver RESOLVER = new PathMatchingResourcePatternResolver();
+
+    private Fixtures() {
+    }
+
+    /**
+     * Returns names of all bidders having integration test fixtures.
+     */
+    public static List<String> bidderNames() {
+        try (AnnotationConfigApplicationContext context = bidderContext()) {
+            return new ArrayList<>(bidderToAuctionRequest(bidders(context).keySet()).keySet());
+        }
+    }
+
+    /**
+     * Returns bidder with its input made of the first (in alphabetical order) fixtures directory
+     * containing auction request to this bidder.
+     */
+    public static BidderFixture bidder(String bidderName) {
+        final Bidder<?> bidder;
+        try (AnnotationConfigApplicationContext context = bidderContext()) {
+            bidder = bidders(context).get(bidderName);
+        }
+        if (bidder == null) {
+            throw new IllegalArgumentException(String.format("Bidder %s is not enabled", bidderName));
+        }
+
+        final Resource auctionRequest = bidderToAuctionRequest(Collections.singleton(bidderName)).get(bidderName);
+        if (auctionRequest == null) {
+            throw new IllegalArgumentException(String.format("No auction request fixture for bidder %s", bidderName));
+        }
+
+        final BidRequest bidRequest = bidderRequest(bidderName, auctionRequest);
+        final List<String> responseBodies = bidderFixtures(bidderName, auctionRequest, BID_RESPONSE_PATTERN,
+                "bidresponse");
+
+        return BidderFixture.of(bidderName, cast(bidder), bidRequest, responseBodies);
+    }
+
+    /**
+     * Returns all auction request fixtures.
+     */
+    public static List<BidRequest> auctionRequests() {
+        return Arrays.stream(resources(FIXTURES_LOCATION + AUCTION_REQUEST_PATTERN))
+                .sorted(Comparator.comparing(Fixtures::path))
+                .map(Fixtures::readBidRequest)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns all auction response fixtures.
+     */
+    public static List<BidResponse> auctionResponses() {
+        return Arrays.stream(resources(FIXTURES_LOCATION + AUCTION_RESPONSE_PATTERN))
+                .sorted(Comparator.comparing(Fixtures::path))
+                .map(resource -> MAPPER.decodeValue(read(resource), BidResponse.class))
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Bidder<Object> cast(Bidder<?> bidder) {
+        return (Bidder<Object>) bidder;
+    }
+
+    private static AnnotationConfigApplicationContext bidderContext() {
+        final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        try {
+            context.getEnvironment().getPropertySources().addFirst(new ResourcePropertySource(BIDDER_PROPERTIES));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Collections.singletonMap("external-url", "http://localhost:8080")));
+        context.register(BidderContextConfiguration.class);
+        context.refresh();
+        return context;
+    }
+
+    private static Map<String, Bidder<?>> bidders(AnnotationConfigApplicationContext context) {
+        return context.getBeansOfType(BidderDeps.class).values().stream()
+                .filter(bidderDeps -> bidderDeps.getBidder() != null)
+                .collect(Collectors.toMap(BidderDeps::getName, BidderDeps::getBidder));
+    }
+
+    /**
+     * Returns auction request fixture of each given bidder, sorted by bidder name.
+     */
+    private static Map<String, Resource> bidderToAuctionRequest(Set<String> bidderNames) {
+        final Resource[] auctionRequests = resources(FIXTURES_LOCATION + AUCTION_REQUEST_PATTERN);
+        Arrays.sort(auctionRequests, Comparator.comparing(Fixtures::path));
+
+        final Map<String, Resource> bidderToAuctionRequest = new TreeMap<>();
+        for (Resource auctionRequest : auctionRequests) {
+            for (Imp imp : readBidRequest(auctionRequest).getImp()) {
+                final Iterator<String> impExtFields = imp.getExt().fieldNames();
+                while (impExtFields.hasNext()) {
+                    final String field = impExtFields.next();
+                    if (bidderNames.contains(field)) {
+                        bidderToAuctionRequest.putIfAbsent(field, auctionRequest);
+                    }
+                }
+            }
+        }
+        return bidderToAuctionRequest;
+    }
+
+    private static BidRequest bidderRequest(String bidderName, Resource auctionRequest) {
+        final BidRequest bidRequest = readBidRequest(auctionRequest);
+
+        final List<Imp> imps = bidRequest.getImp().stream()
+                .filter(imp -> imp.getExt().hasNonNull(bidderName))
+                .map(imp -> imp.toBuilder()
+                        .ext(ImpExtPreparation.prepare(MAPPER, bidderName, imp.getExt()))
+                        .build())
+                .collect(Collectors.toList());
+
+        return bidRequest.toBuilder()
+                .imp(imps)
+                .user(bidderUser(bidderName, auctionRequest, bidRequest.getUser()))
+                .build();
+    }
+
+    /**
+     * Returns user with buyeruid taken from bidder request fixtures, since application takes it from uids cookie.
+     */
+    private static User bidderUser(String bidderName, Resource auctionRequest, User user) {
+        final String buyeruid = bidderFixtures(bidderName, auctionRequest, BID_REQUEST_PATTERN, "bidrequest")
+                .stream()
+                .map(bidderRequest -> MAPPER.decodeValue(bidderRequest, BidRequest.class).getUser())
+                .filter(Objects::nonNull)
+                .map(User::getBuyeruid)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+
+        if (buyeruid == null) {
+            return user;
+        }
+        return (user != null ? user.toBuilder() : User.builder()).buyeruid(buyeruid).build();
+    }
+
+    /**
+     * Returns content of fixtures of given bidder located next to auction request, e.g. bid responses
+     * "test-appnexus-bid-response-1.json", "test-appnexus-bid-response-2.json". If there are no fixtures named
+     * after the bidder (e.g. "test-facebook-bid-response-1.json" of "audienceNetwork"), all fixtures of the kind
+     * are returned.
+     */
+    private static List<String> bidderFixtures(String bidderName, Resource auctionRequest, String pattern,
+                                               String kind) {
+        final String directory = path(auctionRequest).substring(0, path(auctionRequest).lastIndexOf('/') + 1);
+        final String prefix = normalize(bidderName) + kind;
+
+        final List<Resource> fixtures = Arrays.stream(resources(directory + pattern))
+                .sorted(Comparator.comparing(Fixtures::path))
+                .collect(Collectors.toList());
+        final List<Resource> bidderFixtures = fixtures.stream()
+                .filter(resource -> normalize(resource.getFilename()).contains(prefix))
+                .collect(Collectors.toList());
+
+        return (bidderFixtures.isEmpty() ? fixtures : bidderFixtures).stream()
+                .map(Fixtures::read)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns value without non-alphanumeric characters in lower case, since bidder names and fixture file names
+     * are spelled differently, e.g. "triplelift_native" and "test-triplelift-native-bid-response.json".
+     */
+    private static String normalize(String value) {
+        return value.replaceAll("[^A-Za-z0-9]", "").toLowerCase();
+    }
+
+    private static BidRequest readBidRequest(Resource resource) {
+        return MAPPER.decodeValue(read(resource), BidRequest.class);
+    }
+
+    private static Resource[] resources(String locationPattern) {
+        try {
+            return RESOLVER.getResources(locationPattern);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String path(Resource resource) {
+        try {
+            return resource.getURL().toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String read(Resource resource) {
+        try {
+            return StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Configuration
+    @EnableConfigurationProperties
+    @ComponentScan("org.prebid.server.spring.config.bidder")
+    @Import(JacksonConfiguration.class)
+    static class BidderContextConfiguration {
+    }
+
+    @AllArgsConstructor(staticName = "of")
+    @Value
+    public static class BidderFixture {
+
+        String bidderName;
+
+        Bidder<Object> bidder;
+
+        BidRequest bidRequest;
+
+        List<String> responseBodies;
+
+        /**
+         * Returns HTTP calls made of bidder requests paired with bid response fixtures in order. Fails if bidder
+         * doesn't make any request out of fixture, since there would be nothing to measure.
+         */
+        public List<HttpCall<Object>> httpCalls() {
+            final Result<List<HttpRequest<Object>>> result = bidder.makeHttpRequests(bidRequest);
+            final List<HttpRequest<Object>> httpRequests = result.getValue();
+            if (httpRequests.isEmpty()) {
+                throw new IllegalStateException(String.format("Bidder %s made no requests: %s",
+                        bidderName, result.getErrors()));
+            }
+            if (responseBodies.isEmpty()) {
+                throw new IllegalStateException(String.format("No bid response fixtures for bidder %s",
+                        bidderName));
+            }
+
+            final List<HttpCall<Object>> httpCalls = new ArrayList<>(httpRequests.size());
+            for (int i = 0; i < httpRequests.size(); i++) {
+                final String body = responseBodies.get(i % responseBodies.size());
+                httpCalls.add(HttpCall.success(httpRequests.get(i),
+                        HttpResponse.of(200, MultiMap.caseInsensitiveMultiMap(), body), null));
+            }
+            return httpCalls;
+        }
+    }
+}
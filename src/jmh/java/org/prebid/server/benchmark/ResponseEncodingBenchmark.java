@@ -0,0 +1,50 @@
+package org.prebid.server.benchmark;
+
+import com.iab.openrtb.response.BidResponse;
+import com.iab.openrtb.response.SeatBid;
+import io.vertx.core.buffer.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Compares auction response encoding to {@link String} followed by UTF-8 encoding into {@link Buffer} with encoding
+ * right into {@link Buffer} as OpenRTB handlers do.
+ * <p>
+ * Response contains seat bids of all auction response fixtures, which is close to real responses with many bids.
+ */
+@State(Scope.Benchmark)
+public class ResponseEncodingBenchmark {
+
+    private JacksonMapper mapper;
+    private BidResponse bidResponse;
+
+    @Setup
+    public void setUp() {
+        mapper = new JacksonMapper(ObjectMapperProvider.mapper());
+
+        final List<SeatBid> seatBids = Fixtures.auctionResponses().stream()
+                .map(BidResponse::getSeatbid)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        bidResponse = BidResponse.builder().id("responseId").seatbid(seatBids).cur("USD").build();
+    }
+
+    @Benchmark
+    public Buffer encodeToString() {
+        return Buffer.buffer(mapper.encode(bidResponse));
+    }
+
+    @Benchmark
+    public Buffer encodeToBuffer() {
+        return mapper.encodeToBuffer(bidResponse);
+    }
+}
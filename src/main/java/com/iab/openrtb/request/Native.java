@@ -1,11 +1,15 @@
 package com.iab.openrtb.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * This object represents a native type impression. Native ad units are intended
@@ -57,4 +61,35 @@ public class Native {
      * Placeholder for exchange-specific extensions to OpenRTB.
      */
     ObjectNode ext;
+
+    /**
+     * Already parsed {@link #request}, so that it is not parsed again by everyone who needs it during the auction.
+     * Is not a part of OpenRTB and never serialized. Initialized final field is left out of the builder, so it can
+     * only be set along with request payload by {@link #setRequest(String, Request)}.
+     */
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    final AtomicReference<Request> parsedRequest = new AtomicReference<>();
+
+    public void setRequest(String request) {
+        this.request = request;
+        this.parsedRequest.set(null);
+    }
+
+    /**
+     * Sets request payload along with its parsed representation.
+     */
+    public void setRequest(String request, Request parsedRequest) {
+        this.request = request;
+        this.parsedRequest.set(parsedRequest);
+    }
+
+    /**
+     * Returns parsed {@link #request} if it was set along with request payload, otherwise null.
+     */
+    @JsonIgnore
+    public Request getParsedRequest() {
+        return parsedRequest.get();
+    }
 }
@@ -0,0 +1,33 @@
+package org.prebid.server.auction;
+
+import org.prebid.server.auction.model.AdmissionDecision;
+
+/**
+ * Decides whether incoming auction request should be processed, processed in degraded mode or rejected,
+ * so that overloaded server answers fast instead of timing out all requests.
+ */
+public interface AdmissionController {
+
+    /**
+     * Returns decision about request arrived at the moment of the call.
+     */
+    AdmissionDecision decide();
+
+    /**
+     * Returns {@link NoOpAdmissionController} instance that admits all requests.
+     */
+    static AdmissionController noOp() {
+        return new NoOpAdmissionController();
+    }
+
+    /**
+     * Admits all requests.
+     */
+    class NoOpAdmissionController implements AdmissionController {
+
+        @Override
+        public AdmissionDecision decide() {
+            return AdmissionDecision.admit;
+        }
+    }
+}
@@ -18,8 +18,10 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.StageTimings;
 import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.MetricName;
 import org.prebid.server.proto.openrtb.ext.request.ExtBidRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtMediaTypePriceGranularity;
 import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
@@ -81,17 +83,19 @@ public class AmpRequestFactory {
             return Future.failedFuture(new InvalidRequestException("AMP requests require an AMP tag_id", true));
         }
 
-        return createBidRequest(routingContext, tagId)
-                .compose(bidRequest ->
-                        auctionRequestFactory.toAuctionContext(routingContext, bidRequest, startTime, timeoutResolver));
+        final StageTimings stageTimings = new StageTimings();
+        return createBidRequest(routingContext, tagId, stageTimings)
+                .compose(bidRequest -> auctionRequestFactory.toAuctionContext(routingContext, bidRequest, startTime,
+                        timeoutResolver, stageTimings));
     }
 
     /**
      * Creates {@link BidRequest} and sets properties which were not set explicitly by the client, but can be
      * updated by values derived from headers and other request attributes.
      */
-    private Future<BidRequest> createBidRequest(RoutingContext context, String tagId) {
-        return storedRequestProcessor.processAmpRequest(tagId)
+    private Future<BidRequest> createBidRequest(RoutingContext context, String tagId, StageTimings stageTimings) {
+        return stageTimings.time(MetricName.stored_request_processing,
+                () -> storedRequestProcessor.processAmpRequest(tagId))
                 .map(bidRequest -> validateStoredBidRequest(tagId, bidRequest))
                 .map(bidRequest -> fillExplicitParameters(bidRequest, context))
                 .map(bidRequest -> overrideParameters(bidRequest, context.request()))
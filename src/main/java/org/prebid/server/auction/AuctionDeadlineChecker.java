@@ -0,0 +1,67 @@
+package org.prebid.server.auction;
+
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.metric.MetricName;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Decides whether auction still has enough time to request bidders, so that bidder traffic is not spent
+ * on auctions which will time out anyway (for example, after slow stored requests fetching).
+ * <p>
+ * Time needed for local processing around bidder requests is estimated from recent auctions with exponentially
+ * weighted moving average of stage durations (weight of the latest sample is 1/8).
+ */
+public class AuctionDeadlineChecker {
+
+    private static final int SMOOTHING_SHIFT = 3;
+
+    private final boolean enabled;
+    private final long minBidderTimeMs;
+
+    // estimated stage durations in microseconds stored by stage ordinal
+    private final AtomicLongArray stageEstimates = new AtomicLongArray(MetricName.values().length);
+
+    public AuctionDeadlineChecker(boolean enabled, long minBidderTimeMs) {
+        if (minBidderTimeMs < 0) {
+            throw new IllegalArgumentException("Minimal bidder time should be positive");
+        }
+
+        this.enabled = enabled;
+        this.minBidderTimeMs = minBidderTimeMs;
+    }
+
+    /**
+     * Updates stage estimates with durations (in microseconds) of the completed auction.
+     */
+    public void updateStageTimes(Map<MetricName, Long> stageTimes) {
+        for (Map.Entry<MetricName, Long> stageTime : stageTimes.entrySet()) {
+            final long sample = stageTime.getValue();
+            stageEstimates.getAndUpdate(stageTime.getKey().ordinal(),
+                    estimate -> estimate + ((sample - estimate) >> SMOOTHING_SHIFT));
+        }
+    }
+
+    /**
+     * Returns estimated duration of the stage in microseconds, or zero if there is no estimate yet.
+     */
+    public long estimateMicros(MetricName stage) {
+        return stageEstimates.get(stage.ordinal());
+    }
+
+    /**
+     * Returns true if time left for bidders after local processing is expected to be not less than
+     * configured minimum.
+     */
+    public boolean hasEnoughTime(Timeout bidderTimeout) {
+        if (!enabled) {
+            return true;
+        }
+
+        final long localProcessingMs = TimeUnit.MICROSECONDS.toMillis(
+                estimateMicros(MetricName.privacy_enforcement) + estimateMicros(MetricName.response_creation));
+        return bidderTimeout.remaining() - localProcessingMs >= minBidderTimeMs;
+    }
+}
@@ -20,6 +20,7 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.StageTimings;
 import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.cookie.UidsCookieService;
 import org.prebid.server.exception.BlacklistedAccountException;
@@ -32,6 +33,7 @@ import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.log.ConditionalLogger;
+import org.prebid.server.metric.MetricName;
 import org.prebid.server.proto.openrtb.ext.request.ExtBidRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtMediaTypePriceGranularity;
 import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
@@ -145,15 +147,20 @@ public class AuctionRequestFactory {
      * Creates {@link AuctionContext} based on {@link RoutingContext}.
      */
     public Future<AuctionContext> fromRequest(RoutingContext routingContext, long startTime) {
+        final StageTimings stageTimings = new StageTimings();
+
+        final long parsingStart = StageTimings.start();
         final BidRequest incomingBidRequest;
         try {
             incomingBidRequest = parseRequest(routingContext);
         } catch (InvalidRequestException e) {
             return Future.failedFuture(e);
         }
+        stageTimings.record(MetricName.request_parsing, parsingStart);
 
-        return updateBidRequest(routingContext, incomingBidRequest)
-                .compose(bidRequest -> toAuctionContext(routingContext, bidRequest, startTime, timeoutResolver));
+        return updateBidRequest(routingContext, incomingBidRequest, stageTimings)
+                .compose(bidRequest -> toAuctionContext(routingContext, bidRequest, startTime, timeoutResolver,
+                        stageTimings));
     }
 
     /**
@@ -162,16 +169,18 @@ public class AuctionRequestFactory {
      * Note: {@link TimeoutResolver} used here as argument because this method is utilized in AMP processing.
      */
     Future<AuctionContext> toAuctionContext(RoutingContext routingContext, BidRequest bidRequest,
-                                            long startTime, TimeoutResolver timeoutResolver) {
+                                            long startTime, TimeoutResolver timeoutResolver,
+                                            StageTimings stageTimings) {
         final Timeout timeout = timeout(bidRequest, startTime, timeoutResolver);
 
-        return accountFrom(bidRequest, timeout, routingContext)
+        return stageTimings.time(MetricName.account_fetch, () -> accountFrom(bidRequest, timeout, routingContext))
                 .map(account -> AuctionContext.builder()
                         .routingContext(routingContext)
                         .uidsCookie(uidsCookieService.parseFromRequest(routingContext))
                         .bidRequest(bidRequest)
                         .timeout(timeout)
                         .account(account)
+                        .stageTimings(stageTimings)
                         .build());
     }
 
@@ -202,8 +211,10 @@ public class AuctionRequestFactory {
      * Sets {@link BidRequest} properties which were not set explicitly by the client, but can be
      * updated by values derived from headers and other request attributes.
      */
-    private Future<BidRequest> updateBidRequest(RoutingContext context, BidRequest bidRequest) {
-        return storedRequestProcessor.processStoredRequests(bidRequest)
+    private Future<BidRequest> updateBidRequest(RoutingContext context, BidRequest bidRequest,
+                                                StageTimings stageTimings) {
+        return stageTimings.time(MetricName.stored_request_processing,
+                () -> storedRequestProcessor.processStoredRequests(bidRequest))
                 .map(resolvedBidRequest -> fillImplicitParameters(resolvedBidRequest, context, timeoutResolver))
                 .map(this::validateRequest)
                 .map(interstitialProcessor::process);
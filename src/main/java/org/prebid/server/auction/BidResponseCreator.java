@@ -686,18 +686,29 @@ public class BidResponseCreator {
                     .map(Imp::getXNative)
                     .orElseThrow(() -> new PreBidException("Could not find native imp"));
 
-            final Request nativeRequest;
-            try {
-                nativeRequest = mapper.mapper().readValue(nativeImp.getRequest(), Request.class);
-            } catch (JsonProcessingException e) {
-                throw new PreBidException(e.getMessage());
-            }
+            final Request nativeRequest = parsedNativeRequest(nativeImp);
 
             responseAssets.forEach(asset -> setAssetTypes(asset, nativeRequest.getAssets()));
             bid.setAdm(mapper.encode(nativeMarkup));
         }
     }
 
+    /**
+     * Returns native request parsed during request validation or parses it if imp has no parsed request attached.
+     */
+    private Request parsedNativeRequest(Native nativeImp) {
+        final Request parsedRequest = nativeImp.getParsedRequest();
+        if (parsedRequest != null) {
+            return parsedRequest;
+        }
+
+        try {
+            return mapper.mapper().readValue(nativeImp.getRequest(), Request.class);
+        } catch (JsonProcessingException e) {
+            throw new PreBidException(e.getMessage());
+        }
+    }
+
     private static void setAssetTypes(Asset responseAsset, List<com.iab.openrtb.request.Asset> requestAssets) {
         if (responseAsset.getImg() != null) {
             final ImageObject img = getAssetById(responseAsset.getId(), requestAssets).getImg();
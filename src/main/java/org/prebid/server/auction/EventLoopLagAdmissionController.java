@@ -0,0 +1,38 @@
+package org.prebid.server.auction;
+
+import org.prebid.server.auction.model.AdmissionDecision;
+import org.prebid.server.vertx.EventLoopLagMonitor;
+
+import java.util.Objects;
+
+/**
+ * Degrades or rejects requests when lag of the event loop handling the request exceeds configured thresholds.
+ */
+public class EventLoopLagAdmissionController implements AdmissionController {
+
+    private final EventLoopLagMonitor eventLoopLagMonitor;
+    private final long degradeThresholdMs;
+    private final long rejectThresholdMs;
+
+    public EventLoopLagAdmissionController(EventLoopLagMonitor eventLoopLagMonitor,
+                                           long degradeThresholdMs,
+                                           long rejectThresholdMs) {
+
+        if (degradeThresholdMs > rejectThresholdMs) {
+            throw new IllegalArgumentException("Degrade threshold must not be greater than reject threshold");
+        }
+
+        this.eventLoopLagMonitor = Objects.requireNonNull(eventLoopLagMonitor);
+        this.degradeThresholdMs = degradeThresholdMs;
+        this.rejectThresholdMs = rejectThresholdMs;
+    }
+
+    @Override
+    public AdmissionDecision decide() {
+        final long lagMs = eventLoopLagMonitor.currentLagMs();
+        if (lagMs >= rejectThresholdMs) {
+            return AdmissionDecision.reject;
+        }
+        return lagMs >= degradeThresholdMs ? AdmissionDecision.degrade : AdmissionDecision.admit;
+    }
+}
@@ -23,6 +23,7 @@ import org.prebid.server.auction.model.BidRequestCacheInfo;
 import org.prebid.server.auction.model.BidderPrivacyResult;
 import org.prebid.server.auction.model.BidderRequest;
 import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.auction.model.StageTimings;
 import org.prebid.server.auction.model.StoredResponseResult;
 import org.prebid.server.bidder.Bidder;
 import org.prebid.server.bidder.BidderCatalog;
@@ -33,12 +34,12 @@ import org.prebid.server.bidder.model.BidderError;
 import org.prebid.server.bidder.model.BidderSeatBid;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.currency.CurrencyConversionService;
+import org.prebid.server.exception.InsufficientTimeException;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
-import org.prebid.server.proto.openrtb.ext.ExtPrebid;
 import org.prebid.server.proto.openrtb.ext.ExtPrebidBidders;
 import org.prebid.server.proto.openrtb.ext.request.ExtApp;
 import org.prebid.server.proto.openrtb.ext.request.ExtBidRequest;
@@ -75,6 +76,9 @@ public class ExchangeService {
 
     private static final String PREBID_EXT = "prebid";
     private static final String CONTEXT_EXT = "context";
+    private static final String BIDDER_EXT = "bidder";
+    private static final String DEBUG_FIELD = "debug";
+    private static final String STAGE_TIMES_FIELD = "stagetimes";
 
     private static final BigDecimal THOUSAND = BigDecimal.valueOf(1000);
     private static final String GENERIC_SCHAIN_KEY = "*";
@@ -88,6 +92,7 @@ public class ExchangeService {
     private final CurrencyConversionService currencyService;
     private final BidResponseCreator bidResponseCreator;
     private final BidResponsePostProcessor bidResponsePostProcessor;
+    private final AuctionDeadlineChecker auctionDeadlineChecker;
     private final Metrics metrics;
     private final Clock clock;
     private final JacksonMapper mapper;
@@ -101,6 +106,7 @@ public class ExchangeService {
                            CurrencyConversionService currencyService,
                            BidResponseCreator bidResponseCreator,
                            BidResponsePostProcessor bidResponsePostProcessor,
+                           AuctionDeadlineChecker auctionDeadlineChecker,
                            Metrics metrics,
                            Clock clock,
                            JacksonMapper mapper) {
@@ -117,6 +123,7 @@ public class ExchangeService {
         this.currencyService = Objects.requireNonNull(currencyService);
         this.bidResponseCreator = Objects.requireNonNull(bidResponseCreator);
         this.bidResponsePostProcessor = Objects.requireNonNull(bidResponsePostProcessor);
+        this.auctionDeadlineChecker = Objects.requireNonNull(auctionDeadlineChecker);
         this.metrics = Objects.requireNonNull(metrics);
         this.clock = Objects.requireNonNull(clock);
         this.mapper = Objects.requireNonNull(mapper);
@@ -148,7 +155,15 @@ public class ExchangeService {
         final Boolean isGdprEnforced = account.getEnforceGdpr();
         final ExtRequestTargeting targeting = targeting(requestExt);
         final BidRequestCacheInfo cacheInfo = bidRequestCacheInfo(targeting, requestExt);
-        final boolean debugEnabled = isDebugEnabled(bidRequest, requestExt);
+        // debug info is expensive to collect, so it's the first thing to sacrifice when server is overloaded
+        final boolean debugEnabled = !context.isDegraded() && isDebugEnabled(bidRequest, requestExt);
+        final StageTimings stageTimings = context.getStageTimings();
+
+        final Timeout bidderTimeout = auctionTimeout(timeout, cacheInfo.isDoCaching());
+        if (!auctionDeadlineChecker.hasEnoughTime(bidderTimeout)) {
+            return Future.failedFuture(new InsufficientTimeException(String.format(
+                    "Remaining time %d ms is not enough to request bidders", bidderTimeout.remaining())));
+        }
 
         return storedResponseProcessor.getStoredResponseResult(imps, aliases, timeout)
                 .map(storedResponseResult -> populateStoredResponse(storedResponseResult, storedResponse))
@@ -156,24 +171,46 @@ public class ExchangeService {
                         extractBidderRequests(context, impsRequiredRequest, requestExt, aliases))
                 .map(bidderRequests ->
                         updateRequestMetric(bidderRequests, uidsCookie, aliases, publisherId, requestTypeMetric))
-                .compose(bidderRequests -> CompositeFuture.join(bidderRequests.stream()
-                        .map(bidderRequest -> requestBids(bidderRequest,
-                                auctionTimeout(timeout, cacheInfo.isDoCaching()), debugEnabled, aliases,
-                                bidAdjustments(requestExt), currencyRates(requestExt)))
-                        .collect(Collectors.toList())))
+                .compose(bidderRequests -> stageTimings.time(MetricName.bidder_requests,
+                        () -> CompositeFuture.join(bidderRequests.stream()
+                                .map(bidderRequest -> requestBids(bidderRequest, bidderTimeout, debugEnabled, aliases,
+                                        bidAdjustments(requestExt), currencyRates(requestExt)))
+                                .collect(Collectors.toList()))))
                 // send all the requests to the bidders and gathers results
                 .map(CompositeFuture::<BidderResponse>list)
                 // produce response from bidder results
                 .map(bidderResponses -> updateMetricsFromResponses(bidderResponses, publisherId))
                 .map(bidderResponses ->
                         storedResponseProcessor.mergeWithBidderResponses(bidderResponses, storedResponse, imps))
-                .compose(bidderResponses ->
-                        bidResponseCreator.create(bidderResponses, bidRequest, targeting, cacheInfo, account,
+                .compose(bidderResponses -> stageTimings.time(MetricName.response_creation,
+                        () -> bidResponseCreator.create(bidderResponses, bidRequest, targeting, cacheInfo, account,
                                 eventsAllowedByRequest(requestExt), auctionTimestamp(requestExt), debugEnabled,
-                                timeout))
+                                timeout)))
                 .compose(bidResponse ->
                         bidResponsePostProcessor.postProcess(routingContext, uidsCookie, bidRequest, bidResponse,
-                                account));
+                                account))
+                .map(bidResponse -> updateStageTimes(bidResponse, stageTimings, requestTypeMetric, debugEnabled));
+    }
+
+    /**
+     * Updates auction stage metrics and adds stage durations to bidresponse.ext.debug if debug is enabled.
+     * <p>
+     * Durations are added to already created response, since response creation is one of the measured stages.
+     * Response encoding stage is not covered here since it happens after auction is over.
+     */
+    private BidResponse updateStageTimes(BidResponse bidResponse, StageTimings stageTimings,
+                                         MetricName requestTypeMetric, boolean debugEnabled) {
+        final Map<MetricName, Long> stageTimes = stageTimings.getStageTimes();
+        metrics.updateStageTimeMetrics(requestTypeMetric, stageTimes);
+        auctionDeadlineChecker.updateStageTimes(stageTimes);
+
+        final ObjectNode ext = bidResponse.getExt();
+        final JsonNode debug = debugEnabled && ext != null ? ext.get(DEBUG_FIELD) : null;
+        if (debug != null && debug.isObject()) {
+            ((ObjectNode) debug).set(STAGE_TIMES_FIELD, mapper.mapper().valueToTree(stageTimes));
+        }
+
+        return bidResponse;
     }
 
     /**
@@ -389,8 +426,8 @@ public class ExchangeService {
                     context.getUidsCookie(), firstPartyDataBidders.contains(bidder)));
         }
 
-        return privacyEnforcementService
-                .mask(context, bidderToUser, extUser, bidders, aliases)
+        return context.getStageTimings().time(MetricName.privacy_enforcement,
+                () -> privacyEnforcementService.mask(context, bidderToUser, extUser, bidders, aliases))
                 .map(bidderToPrivacyResult -> getBidderRequests(bidderToPrivacyResult, bidRequest, requestExt, imps,
                         firstPartyDataBidders));
     }
@@ -522,11 +559,13 @@ public class ExchangeService {
 
         final Map<String, JsonNode> bidderToPrebidBidders = bidderToPrebidBidders(requestExt);
         final Map<String, ObjectNode> bidderToPrebidSchains = bidderToPrebidSchains(requestExt);
+        final Map<String, List<Imp>> bidderToImps = bidderToImps(imps);
         final List<BidderRequest> bidderRequests = bidderPrivacyResults.stream()
                 // for each bidder create a new request that is a copy of original request except buyerid, imp
                 // extensions, ext.prebid.data.bidders and ext.prebid.bidders.
                 // Also, check whether to pass user.ext.data, app.ext.data and site.ext.data or not.
-                .map(bidderPrivacyResult -> createBidderRequest(bidderPrivacyResult, bidRequest, requestExt, imps,
+                .map(bidderPrivacyResult -> createBidderRequest(bidderPrivacyResult, bidRequest, requestExt,
+                        bidderToImps.getOrDefault(bidderPrivacyResult.getRequestBidder(), Collections.emptyList()),
                         firstPartyDataBidders, bidderToPrebidBidders, bidderToPrebidSchains))
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
@@ -536,6 +575,24 @@ public class ExchangeService {
         return bidderRequests;
     }
 
+    /**
+     * Returns imps having non-null extension of each bidder, so that imps of every bidder are looked up only once
+     * instead of checking every imp for every bidder.
+     */
+    private static Map<String, List<Imp>> bidderToImps(List<Imp> imps) {
+        final Map<String, List<Imp>> bidderToImps = new HashMap<>();
+        for (Imp imp : imps) {
+            final Iterator<Map.Entry<String, JsonNode>> impExtFields = imp.getExt().fields();
+            while (impExtFields.hasNext()) {
+                final Map.Entry<String, JsonNode> impExtField = impExtFields.next();
+                if (!impExtField.getValue().isNull()) {
+                    bidderToImps.computeIfAbsent(impExtField.getKey(), ignored -> new ArrayList<>()).add(imp);
+                }
+            }
+        }
+        return bidderToImps;
+    }
+
     /**
      * Extracts a map of bidders to their arguments from {@link ObjectNode} prebid.bidders.
      */
@@ -637,14 +694,13 @@ public class ExchangeService {
     }
 
     /**
-     * For each given imp creates a new imp with extension crafted to contain only "prebid", "context" and
-     * bidder-specific extension.
+     * For each given imp of the bidder creates a new imp with extension crafted to contain only "prebid", "context"
+     * and bidder-specific extension.
      */
     private List<Imp> prepareImps(String bidder, List<Imp> imps, boolean useFirstPartyData) {
         return imps.stream()
-                .filter(imp -> imp.getExt().hasNonNull(bidder))
                 .map(imp -> imp.toBuilder()
-                        .ext(prepareImpExt(bidder, imp.getExt(), useFirstPartyData))
+                        .ext(prepareImpExt(mapper, bidder, imp.getExt(), useFirstPartyData))
                         .build())
                 .collect(Collectors.toList());
     }
@@ -656,9 +712,17 @@ public class ExchangeService {
      * <li>"context" field populated with an imp.ext.context field value, may be null</li>
      * <li>"bidder" field populated with an imp.ext.{bidder} field value, not null</li>
      * </ul>
+     * Field values are shared with original imp extension rather than copied, since bidders only read them.
      */
-    private ObjectNode prepareImpExt(String bidder, ObjectNode impExt, boolean useFirstPartyData) {
-        final ObjectNode result = mapper.mapper().valueToTree(ExtPrebid.of(impExt.get(PREBID_EXT), impExt.get(bidder)));
+    static ObjectNode prepareImpExt(JacksonMapper mapper, String bidder, ObjectNode impExt,
+                                    boolean useFirstPartyData) {
+        final ObjectNode result = mapper.mapper().createObjectNode();
+
+        final JsonNode prebid = impExt.get(PREBID_EXT);
+        if (prebid != null) {
+            result.set(PREBID_EXT, prebid);
+        }
+        result.set(BIDDER_EXT, impExt.get(bidder));
 
         if (useFirstPartyData) {
             result.set(CONTEXT_EXT, impExt.get(CONTEXT_EXT));
@@ -785,10 +849,13 @@ public class ExchangeService {
         final BigDecimal bidPriceAdjustmentFactor = bidAdjustments.get(bidderName);
         final List<String> cur = bidderRequest.getBidRequest().getCur();
         final String adServerCurrency = cur.get(0);
-        final Bidder<?> bidder = bidderCatalog.bidderByName(aliases.resolveBidder(bidderName));
+        final String resolvedBidderName = aliases.resolveBidder(bidderName);
+        final Bidder<?> bidder = bidderCatalog.bidderByName(resolvedBidderName);
+        final Long maxResponseSize = bidderCatalog.maxResponseSizeByName(resolvedBidderName);
         final long startTime = clock.millis();
 
-        return httpBidderRequester.requestBids(bidder, bidderRequest.getBidRequest(), timeout, debugEnabled)
+        return httpBidderRequester.requestBids(bidder, bidderRequest.getBidder(), bidderRequest.getBidRequest(),
+                timeout, maxResponseSize, debugEnabled)
                 .map(bidderSeatBid -> validBidderSeatBid(bidderSeatBid, cur))
                 .map(seat -> applyBidPriceChanges(seat, currencyConversionRates, adServerCurrency,
                         bidPriceAdjustmentFactor))
@@ -30,12 +30,15 @@ import org.prebid.server.settings.model.AccountGdprConfig;
 
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -50,6 +53,11 @@ public class PrivacyEnforcementService {
     private static final User EMPTY_USER = User.builder().build();
     private static final ExtUser EMPTY_USER_EXT = ExtUser.builder().build();
 
+    private static final int MASK_USER_IDS = 1;
+    private static final int MASK_GEO = 1 << 1;
+    private static final int MASK_IP = 1 << 2;
+    private static final int MASK_DEVICE_INFO = 1 << 3;
+
     private final boolean useGeoLocation;
     private final BidderCatalog bidderCatalog;
     private final TcfDefinerService tcfDefinerService;
@@ -111,11 +119,13 @@ public class PrivacyEnforcementService {
     }
 
     private Future<List<BidderPrivacyResult>> maskCcpa(Map<String, User> bidderToUser, Device device) {
+        // masked device doesn't depend on bidder, so the same instance is shared by all of them
+        final Device maskedDevice = maskCcpaDevice(device);
         return Future.succeededFuture(bidderToUser.entrySet().stream()
                 .map(bidderAndUser -> BidderPrivacyResult.builder()
                         .requestBidder(bidderAndUser.getKey())
                         .user(maskCcpaUser(bidderAndUser.getValue()))
-                        .device(maskCcpaDevice(device))
+                        .device(maskedDevice)
                         .build())
                 .collect(Collectors.toList()));
     }
@@ -154,11 +164,12 @@ public class PrivacyEnforcementService {
     private List<BidderPrivacyResult> maskCoppa(Map<String, User> bidderToUser, Device device) {
         metrics.updatePrivacyCoppaMetric();
 
+        final Device maskedDevice = maskCoppaDevice(device);
         return bidderToUser.entrySet().stream()
                 .map(bidderAndUser -> BidderPrivacyResult.builder()
                         .requestBidder(bidderAndUser.getKey())
                         .user(maskCoppaUser(bidderAndUser.getValue()))
-                        .device(maskCoppaDevice(device))
+                        .device(maskedDevice)
                         .build())
                 .collect(Collectors.toList());
     }
@@ -284,14 +295,19 @@ public class PrivacyEnforcementService {
     /**
      * Returns {@link Map}&lt;{@link String}, {@link BidderPrivacyResult}&gt;, where bidder name mapped to masked
      * {@link BidderPrivacyResult}. Masking depends on GDPR and COPPA.
+     * <p>
+     * Bidders usually end up with just a few distinct enforcement actions, so masked {@link Device} is created once
+     * per distinct set of masking flags and shared by all bidders having it. The same goes for {@link User}
+     * instances shared by several bidders.
      */
     private List<BidderPrivacyResult> getBidderToPrivacyResult(
             Map<String, User> bidderToUser, Device device, Map<String, PrivacyEnforcementAction> bidderToEnforcement) {
 
         final boolean isLmtEnabled = isLmtEnabled(device);
+        final MaskedObjects maskedObjects = new MaskedObjects();
         return bidderToUser.entrySet().stream()
                 .map(bidderUserEntry -> createBidderPrivacyResult(bidderUserEntry.getValue(), device,
-                        bidderUserEntry.getKey(), isLmtEnabled, bidderToEnforcement))
+                        bidderUserEntry.getKey(), isLmtEnabled, bidderToEnforcement, maskedObjects))
                 .collect(Collectors.toList());
     }
 
@@ -302,7 +318,8 @@ public class PrivacyEnforcementService {
                                                           Device device,
                                                           String bidder,
                                                           boolean isLmtEnabled,
-                                                          Map<String, PrivacyEnforcementAction> bidderToEnforcement) {
+                                                          Map<String, PrivacyEnforcementAction> bidderToEnforcement,
+                                                          MaskedObjects maskedObjects) {
 
         final PrivacyEnforcementAction privacyEnforcementAction = bidderToEnforcement.get(bidder);
         final boolean blockBidderRequest = privacyEnforcementAction.isBlockBidderRequest();
@@ -317,11 +334,13 @@ public class PrivacyEnforcementService {
 
         final boolean maskGeo = privacyEnforcementAction.isMaskGeo() || isLmtEnabled;
         final boolean maskUserIds = privacyEnforcementAction.isRemoveUserIds() || isLmtEnabled;
-        final User maskedUser = maskTcfUser(user, maskUserIds, maskGeo);
+        final User maskedUser = maskedObjects.user(user, maskingFlags(maskUserIds, maskGeo, false, false),
+                () -> maskTcfUser(user, maskUserIds, maskGeo, maskedObjects));
 
         final boolean maskIp = privacyEnforcementAction.isMaskDeviceIp() || isLmtEnabled;
         final boolean maskInfo = privacyEnforcementAction.isMaskDeviceInfo() || isLmtEnabled;
-        final Device maskedDevice = maskTcfDevice(device, maskIp, maskGeo, maskInfo);
+        final Device maskedDevice = maskedObjects.device(maskingFlags(false, maskGeo, maskIp, maskInfo),
+                () -> maskTcfDevice(device, maskIp, maskGeo, maskInfo));
 
         return BidderPrivacyResult.builder()
                 .requestBidder(bidder)
@@ -334,7 +353,7 @@ public class PrivacyEnforcementService {
     /**
      * Returns masked {@link User}.
      */
-    private User maskTcfUser(User user, boolean maskUserIds, boolean maskGeo) {
+    private User maskTcfUser(User user, boolean maskUserIds, boolean maskGeo, MaskedObjects maskedObjects) {
         if (user != null) {
             final User.UserBuilder userBuilder = user.toBuilder();
 
@@ -346,7 +365,7 @@ public class PrivacyEnforcementService {
                 userBuilder
                         .id(null)
                         .buyeruid(null)
-                        .ext(maskUserExt(user.getExt()));
+                        .ext(maskedObjects.userExt(user.getExt(), () -> maskUserExt(user.getExt())));
             }
 
             return nullIfEmpty(userBuilder.build());
@@ -463,4 +482,49 @@ public class PrivacyEnforcementService {
     private static boolean isLmtEnabled(Device device) {
         return device != null && Objects.equals(device.getLmt(), 1);
     }
+
+    private static int maskingFlags(boolean maskUserIds, boolean maskGeo, boolean maskIp, boolean maskDeviceInfo) {
+        return (maskUserIds ? MASK_USER_IDS : 0)
+                | (maskGeo ? MASK_GEO : 0)
+                | (maskIp ? MASK_IP : 0)
+                | (maskDeviceInfo ? MASK_DEVICE_INFO : 0);
+    }
+
+    /**
+     * Keeps objects masked while processing single request, so that they can be reused by bidders with the same
+     * masking flags. Users and user extensions are looked up by identity, since comparing them by value would cost
+     * about as much as masking itself.
+     */
+    private static class MaskedObjects {
+
+        private final Map<Integer, Device> devices = new HashMap<>();
+
+        private final Map<User, Map<Integer, User>> users = new IdentityHashMap<>();
+
+        private final Map<ObjectNode, ObjectNode> userExts = new IdentityHashMap<>();
+
+        Device device(int maskingFlags, Supplier<Device> maskedDeviceSupplier) {
+            return reuse(devices, maskingFlags, maskedDeviceSupplier);
+        }
+
+        User user(User user, int maskingFlags, Supplier<User> maskedUserSupplier) {
+            return user != null
+                    ? reuse(users.computeIfAbsent(user, ignored -> new HashMap<>()), maskingFlags, maskedUserSupplier)
+                    : null;
+        }
+
+        ObjectNode userExt(ObjectNode userExt, Supplier<ObjectNode> maskedUserExtSupplier) {
+            return userExt != null ? reuse(userExts, userExt, maskedUserExtSupplier) : null;
+        }
+
+        // unlike computeIfAbsent remembers null results too, e.g. when masked user turns out to be empty
+        private static <K, V> V reuse(Map<K, V> masked, K key, Supplier<V> maskedSupplier) {
+            if (masked.containsKey(key)) {
+                return masked.get(key);
+            }
+            final V value = maskedSupplier.get();
+            masked.put(key, value);
+            return value;
+        }
+    }
 }
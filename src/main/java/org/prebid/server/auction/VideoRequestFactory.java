@@ -11,10 +11,12 @@ import io.vertx.ext.web.RoutingContext;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.StageTimings;
 import org.prebid.server.auction.model.WithPodErrors;
 import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.MetricName;
 
 import java.util.Collections;
 import java.util.List;
@@ -48,13 +50,16 @@ public class VideoRequestFactory {
      * Creates {@link AuctionContext} and {@link List} of {@link PodError} based on {@link RoutingContext}.
      */
     public Future<WithPodErrors<AuctionContext>> fromRequest(RoutingContext routingContext, long startTime) {
+        final StageTimings stageTimings = new StageTimings();
 
+        final long parsingStart = StageTimings.start();
         final BidRequestVideo incomingBidRequest;
         try {
             incomingBidRequest = parseRequest(routingContext);
         } catch (InvalidRequestException e) {
             return Future.failedFuture(e);
         }
+        stageTimings.record(MetricName.request_parsing, parsingStart);
 
         final String storedRequestId = incomingBidRequest.getStoredrequestid();
         if (StringUtils.isBlank(storedRequestId) && enforceStoredRequest) {
@@ -62,9 +67,10 @@ public class VideoRequestFactory {
         }
 
         final Set<String> podConfigIds = podConfigIds(incomingBidRequest);
-        return createBidRequest(routingContext, incomingBidRequest, storedRequestId, podConfigIds)
+        return createBidRequest(routingContext, incomingBidRequest, storedRequestId, podConfigIds, stageTimings)
                 .compose(bidRequestToPodError -> auctionRequestFactory
-                        .toAuctionContext(routingContext, bidRequestToPodError.getData(), startTime, timeoutResolver)
+                        .toAuctionContext(routingContext, bidRequestToPodError.getData(), startTime, timeoutResolver,
+                                stageTimings)
                         .map(auctionContext -> WithPodErrors.of(auctionContext, bidRequestToPodError.getPodErrors())));
     }
 
@@ -107,8 +113,10 @@ public class VideoRequestFactory {
     private Future<WithPodErrors<BidRequest>> createBidRequest(RoutingContext routingContext,
                                                                BidRequestVideo bidRequestVideo,
                                                                String storedVideoId,
-                                                               Set<String> podConfigIds) {
-        return storedRequestProcessor.processVideoRequest(storedVideoId, podConfigIds, bidRequestVideo)
+                                                               Set<String> podConfigIds,
+                                                               StageTimings stageTimings) {
+        return stageTimings.time(MetricName.stored_request_processing,
+                () -> storedRequestProcessor.processVideoRequest(storedVideoId, podConfigIds, bidRequestVideo))
                 .map(bidRequestToErrors -> fillImplicitParameters(routingContext, bidRequestToErrors))
                 .map(this::validateRequest);
     }
@@ -0,0 +1,22 @@
+package org.prebid.server.auction.model;
+
+/**
+ * Decision of {@link org.prebid.server.auction.AdmissionController} about incoming auction request.
+ */
+public enum AdmissionDecision {
+
+    /**
+     * Request is processed as usual.
+     */
+    admit,
+
+    /**
+     * Request is processed with optional expensive features (like debug info) turned off.
+     */
+    degrade,
+
+    /**
+     * Request is rejected right away without any processing.
+     */
+    reject
+}
@@ -28,4 +28,13 @@ public class AuctionContext {
     Account account;
 
     MetricName requestTypeMetric;
+
+    @JsonIgnore
+    StageTimings stageTimings;
+
+    /**
+     * Request is processed in degraded mode due to server overload, so optional features are turned off.
+     */
+    @JsonIgnore
+    boolean degraded;
 }
@@ -0,0 +1,61 @@
+package org.prebid.server.auction.model;
+
+import io.vertx.core.Future;
+import org.prebid.server.metric.MetricName;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Collects durations of auction processing stages (request parsing, stored request processing, account fetching
+ * etc.) for a single request.
+ * <p>
+ * Durations are measured with monotonic {@link System#nanoTime()} and kept in microseconds, since most of the stages
+ * take less than a millisecond.
+ */
+public class StageTimings {
+
+    private final Map<MetricName, Long> stageTimes = new EnumMap<>(MetricName.class);
+
+    /**
+     * Returns start mark to be passed to {@link #record(MetricName, long)} after stage completion.
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Returns microseconds elapsed since given start mark.
+     */
+    public static long elapsedMicros(long start) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+    }
+
+    /**
+     * Records time elapsed since given start mark as duration of the stage. Durations of the stage executed
+     * more than once are summed up.
+     */
+    public synchronized void record(MetricName stage, long start) {
+        stageTimes.merge(stage, elapsedMicros(start), Long::sum);
+    }
+
+    /**
+     * Runs asynchronous stage and records its duration when it succeeds.
+     */
+    public <T> Future<T> time(MetricName stage, Supplier<Future<T>> stageSupplier) {
+        final long start = start();
+        return stageSupplier.get().map(result -> {
+            record(stage, start);
+            return result;
+        });
+    }
+
+    /**
+     * Returns durations of recorded stages in microseconds, ordered as stages are defined in {@link MetricName}.
+     */
+    public synchronized Map<MetricName, Long> getStageTimes() {
+        return new EnumMap<>(stageTimes);
+    }
+}
@@ -164,6 +164,22 @@ public class BidderCatalog {
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * Returns max response size in bytes configured for the given bidder or null if there is none.
+     */
+    public Long maxResponseSizeByName(String name) {
+        final BidderDeps bidderDeps = bidderDepsMap.get(name);
+        return bidderDeps != null ? bidderDeps.getMaxResponseSize() : null;
+    }
+
+    /**
+     * Returns endpoint configured for the given bidder or null if there is none.
+     */
+    public String endpointByName(String name) {
+        final BidderDeps bidderDeps = bidderDepsMap.get(name);
+        return bidderDeps != null ? bidderDeps.getEndpoint() : null;
+    }
+
     /**
      * Returns an {@link Usersyncer} registered by the given name or null if there is none.
      * <p>
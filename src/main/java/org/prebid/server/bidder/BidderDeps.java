@@ -36,6 +36,18 @@ public class BidderDeps {
      */
     List<String> aliases;
 
+    /**
+     * Max size of bidder's response in bytes.
+     * <p>
+     * Overrides size configured for all bidders if not null.
+     */
+    Long maxResponseSize;
+
+    /**
+     * Bidder's endpoint as configured, may contain macros resolved by bidder at request time.
+     */
+    String endpoint;
+
     /**
      * Bidder's meta information is used in {@link org.prebid.server.handler.info.BidderDetailsHandler} handler
      */
@@ -5,6 +5,8 @@ import io.netty.channel.ConnectTimeoutException;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import org.apache.commons.collections4.CollectionUtils;
@@ -17,8 +19,10 @@ import org.prebid.server.bidder.model.HttpRequest;
 import org.prebid.server.bidder.model.HttpResponse;
 import org.prebid.server.bidder.model.Result;
 import org.prebid.server.execution.Timeout;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.proto.openrtb.ext.response.ExtHttpCall;
 import org.prebid.server.vertx.http.HttpClient;
+import org.prebid.server.vertx.http.ResponseTooLargeException;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
 import java.util.ArrayList;
@@ -27,7 +31,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -39,6 +45,10 @@ import java.util.stream.Stream;
  * <p>
  * Any logic which can be done within a single Seat goes inside this class.
  * Any logic which requires responses from all Seats goes inside the {@link ExchangeService}.
+ * <p>
+ * Making HTTP requests and bids by bidder may take a while for requests with many imps, so if {@link WorkerExecutor}
+ * is given, it is done on the worker pool for such requests in order not to block event loop. Results are always
+ * handled on the caller context.
  */
 public class HttpBidderRequester {
 
@@ -46,21 +56,47 @@ public class HttpBidderRequester {
 
     private final HttpClient httpClient;
     private final BidderRequestCompletionTrackerFactory completionTrackerFactory;
+    private final long maxResponseSize;
+    private final WorkerExecutor workerExecutor;
+    private final int workerExecutorMinImps;
+    private final Metrics metrics;
 
     public HttpBidderRequester(HttpClient httpClient,
-                               BidderRequestCompletionTrackerFactory completionTrackerFactory) {
+                               BidderRequestCompletionTrackerFactory completionTrackerFactory,
+                               long maxResponseSize,
+                               WorkerExecutor workerExecutor,
+                               int workerExecutorMinImps,
+                               Metrics metrics) {
 
         this.httpClient = Objects.requireNonNull(httpClient);
         this.completionTrackerFactory = completionTrackerFactoryOrFallback(completionTrackerFactory);
+        this.maxResponseSize = maxResponseSize;
+        this.workerExecutor = workerExecutor; // everything is done on the caller context if null
+        this.workerExecutorMinImps = workerExecutorMinImps;
+        this.metrics = Objects.requireNonNull(metrics);
     }
 
     /**
      * Executes given request to a given bidder.
+     * <p>
+     * Responses larger than given size in bytes (or size configured for all bidders if null) are rejected with
+     * bad server response error.
      */
-    public <T> Future<BidderSeatBid> requestBids(
-            Bidder<T> bidder, BidRequest bidRequest, Timeout timeout, boolean debugEnabled) {
+    public <T> Future<BidderSeatBid> requestBids(Bidder<T> bidder, String bidderName, BidRequest bidRequest,
+                                                 Timeout timeout, Long bidderMaxResponseSize, boolean debugEnabled) {
+
+        final boolean offload = workerExecutor != null
+                && CollectionUtils.size(bidRequest.getImp()) >= workerExecutorMinImps;
+
+        return execute(() -> makeHttpRequests(bidder, bidderName, bidRequest), offload, timeout)
+                .compose(httpRequestsWithErrors -> requestBids(bidder, bidderName, bidRequest, httpRequestsWithErrors,
+                        timeout, bidderMaxResponseSize, debugEnabled, offload));
+    }
 
-        final Result<List<HttpRequest<T>>> httpRequestsWithErrors = bidder.makeHttpRequests(bidRequest);
+    private <T> Future<BidderSeatBid> requestBids(Bidder<T> bidder, String bidderName, BidRequest bidRequest,
+                                                  Result<List<HttpRequest<T>>> httpRequestsWithErrors,
+                                                  Timeout timeout, Long bidderMaxResponseSize, boolean debugEnabled,
+                                                  boolean offload) {
 
         final List<BidderError> bidderErrors = httpRequestsWithErrors.getErrors();
         final List<HttpRequest<T>> httpRequests = httpRequestsWithErrors.getValue();
@@ -73,10 +109,13 @@ public class HttpBidderRequester {
 
         final ResultBuilder<T> resultBuilder = new ResultBuilder<>(httpRequests, bidderErrors, completionTracker);
 
+        final long responseSizeLimit = bidderMaxResponseSize != null ? bidderMaxResponseSize : maxResponseSize;
         final List<Future<Void>> httpRequestFutures = httpRequests.stream()
-                .map(httpRequest -> doRequest(httpRequest, timeout))
+                .map(httpRequest -> doRequest(bidderName, httpRequest, timeout, responseSizeLimit))
                 .map(httpCallFuture -> httpCallFuture
-                        .map(httpCall -> processHttpCall(bidder, bidRequest, resultBuilder, httpCall)))
+                        .compose(httpCall -> execute(() -> makeBids(bidder, bidderName, httpCall, bidRequest),
+                                offload && isOk(httpCall), timeout)
+                                .map(bidsResult -> processHttpCall(resultBuilder, httpCall, bidsResult))))
                 .collect(Collectors.toList());
 
         final CompositeFuture completionFuture = CompositeFuture.any(
@@ -87,6 +126,33 @@ public class HttpBidderRequester {
                 .map(ignored -> resultBuilder.toBidderSeatBid(debugEnabled));
     }
 
+    /**
+     * Runs given work on worker pool if asked to, otherwise right away.
+     * <p>
+     * Work waiting in worker pool queue past the given timeout is dropped, result with timeout error is returned
+     * instead since nobody waits for it anymore.
+     */
+    private <R> Future<Result<List<R>>> execute(Supplier<Result<List<R>>> work, boolean offload, Timeout timeout) {
+        if (!offload) {
+            return Future.succeededFuture(work.get());
+        }
+
+        final Promise<Result<List<R>>> promise = Promise.promise();
+        workerExecutor.<Result<List<R>>>executeBlocking(workPromise -> workPromise.complete(timeout.remaining() > 0
+                ? work.get()
+                : Result.emptyWithError(BidderError.timeout("Timeout has been exceeded"))), false, promise);
+        return promise.future();
+    }
+
+    private <T> Result<List<HttpRequest<T>>> makeHttpRequests(Bidder<T> bidder, String bidderName,
+                                                              BidRequest bidRequest) {
+        final long startTime = System.nanoTime();
+        final Result<List<HttpRequest<T>>> result = bidder.makeHttpRequests(bidRequest);
+        metrics.updateAdapterRequestBuildTime(bidderName,
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+        return result;
+    }
+
     /**
      * Creates {@link Future<BidderSeatBid>} with empty list of {@link BidderBid}s
      * and list of {@link ExtHttpCall}s with list of {@link BidderError}s.
@@ -103,15 +169,21 @@ public class HttpBidderRequester {
     /**
      * Makes an HTTP request and returns {@link Future} that will be eventually completed with success or error result.
      */
-    private <T> Future<HttpCall<T>> doRequest(HttpRequest<T> httpRequest, Timeout timeout) {
+    private <T> Future<HttpCall<T>> doRequest(String bidderName, HttpRequest<T> httpRequest, Timeout timeout,
+                                              long maxResponseSize) {
         final long remainingTimeout = timeout.remaining();
         if (remainingTimeout <= 0) {
             return failResponse(new TimeoutException("Timeout has been exceeded"), httpRequest);
         }
 
         return httpClient.request(httpRequest.getMethod(), httpRequest.getUri(), httpRequest.getHeaders(),
-                httpRequest.getBody(), remainingTimeout)
-                .compose(response -> processResponse(response, httpRequest))
+                httpRequest.getBody(), remainingTimeout, maxResponseSize)
+                .compose(response -> {
+                    if (response.isNewConnection()) {
+                        metrics.updateAdapterColdConnectionMetric(bidderName);
+                    }
+                    return processResponse(response, httpRequest);
+                })
                 .recover(exception -> failResponse(exception, httpRequest));
     }
 
@@ -123,10 +195,14 @@ public class HttpBidderRequester {
                 httpRequest.getUri(), exception.getMessage());
         logger.debug("Error occurred while sending HTTP request to a bidder url: {0}", exception, httpRequest.getUri());
 
-        final BidderError.Type errorType =
-                exception instanceof TimeoutException || exception instanceof ConnectTimeoutException
-                        ? BidderError.Type.timeout
-                        : BidderError.Type.generic;
+        final BidderError.Type errorType;
+        if (exception instanceof TimeoutException || exception instanceof ConnectTimeoutException) {
+            errorType = BidderError.Type.timeout;
+        } else if (exception instanceof ResponseTooLargeException) {
+            errorType = BidderError.Type.bad_server_response;
+        } else {
+            errorType = BidderError.Type.generic;
+        }
 
         return Future.succeededFuture(
                 HttpCall.failure(httpRequest, BidderError.create(exception.getMessage(), errorType)));
@@ -156,20 +232,33 @@ public class HttpBidderRequester {
         return null;
     }
 
-    private <T> Void processHttpCall(Bidder<T> bidder,
-                                     BidRequest bidRequest,
-                                     ResultBuilder<T> seatBidBuilder,
-                                     HttpCall<T> httpCall) {
+    private static <T> Void processHttpCall(ResultBuilder<T> seatBidBuilder,
+                                            HttpCall<T> httpCall,
+                                            Result<List<BidderBid>> bidsResult) {
 
-        seatBidBuilder.addHttpCall(httpCall, makeBids(bidder, httpCall, bidRequest));
+        seatBidBuilder.addHttpCall(httpCall, bidsResult);
         return null;
     }
 
-    private static <T> Result<List<BidderBid>> makeBids(Bidder<T> bidder, HttpCall<T> httpCall, BidRequest bidRequest) {
+    private <T> Result<List<BidderBid>> makeBids(Bidder<T> bidder, String bidderName, HttpCall<T> httpCall,
+                                                 BidRequest bidRequest) {
         if (httpCall.getError() != null || !isOkOrNoContent(httpCall)) {
             return null;
         }
-        return bidder.makeBids(toHttpCallWithSafeResponseBody(httpCall), bidRequest);
+
+        final long startTime = System.nanoTime();
+        final Result<List<BidderBid>> result = bidder.makeBids(toHttpCallWithSafeResponseBody(httpCall), bidRequest);
+        metrics.updateAdapterResponseParseTime(bidderName,
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+        return result;
+    }
+
+    /**
+     * Returns true if HTTP call succeeded with status code 200, so that bidder has response to make bids from.
+     */
+    private static boolean isOk(HttpCall httpCall) {
+        return httpCall.getError() == null
+                && httpCall.getResponse().getStatusCode() == HttpResponseStatus.OK.code();
     }
 
     /**
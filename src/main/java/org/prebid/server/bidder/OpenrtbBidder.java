@@ -3,8 +3,7 @@ package org.prebid.server.bidder;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
-import com.iab.openrtb.response.BidResponse;
-import com.iab.openrtb.response.SeatBid;
+import com.iab.openrtb.response.Bid;
 import io.vertx.core.http.HttpMethod;
 import org.prebid.server.bidder.model.BidderBid;
 import org.prebid.server.bidder.model.BidderError;
@@ -13,17 +12,19 @@ import org.prebid.server.bidder.model.HttpRequest;
 import org.prebid.server.bidder.model.ImpWithExt;
 import org.prebid.server.bidder.model.Result;
 import org.prebid.server.exception.PreBidException;
+import org.prebid.server.json.BidRequestEncoder;
+import org.prebid.server.json.BidResponseDecoder;
 import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.proto.openrtb.ext.response.BidType;
 import org.prebid.server.util.HttpUtil;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public abstract class OpenrtbBidder<T> implements Bidder<BidRequest> {
@@ -34,6 +35,8 @@ public abstract class OpenrtbBidder<T> implements Bidder<BidRequest> {
     private final RequestCreationStrategy requestCreationStrategy;
     private final Class<T> extType;
     protected final JacksonMapper mapper;
+    private final BidRequestEncoder bidRequestEncoder;
+    private final BidResponseDecoder bidResponseDecoder;
 
     protected OpenrtbBidder(String endpointUrl,
                             RequestCreationStrategy requestCreationStrategy,
@@ -44,6 +47,8 @@ public abstract class OpenrtbBidder<T> implements Bidder<BidRequest> {
         this.requestCreationStrategy = Objects.requireNonNull(requestCreationStrategy);
         this.extType = extType;
         this.mapper = Objects.requireNonNull(mapper);
+        this.bidRequestEncoder = new BidRequestEncoder(mapper);
+        this.bidResponseDecoder = new BidResponseDecoder(mapper);
     }
 
     @Override
@@ -141,18 +146,22 @@ public abstract class OpenrtbBidder<T> implements Bidder<BidRequest> {
     private List<HttpRequest<BidRequest>> createHttpRequests(BidRequest bidRequest, List<ImpWithExt<T>> impsWithExts) {
         switch (requestCreationStrategy) {
             case REQUEST_PER_IMP:
+                final BidRequestEncoder.Session encoderSession = bidRequestEncoder.session();
                 return impsWithExts.stream()
-                        .map(impWithExt -> makeRequest(bidRequest, Collections.singletonList(impWithExt)))
+                        .map(impWithExt -> makeRequest(bidRequest, Collections.singletonList(impWithExt),
+                                encoderSession::encode))
                         .collect(Collectors.toList());
             case SINGLE_REQUEST:
-                return Collections.singletonList(makeRequest(bidRequest, impsWithExts));
+                return Collections.singletonList(makeRequest(bidRequest, impsWithExts, mapper::encode));
             default:
                 throw new IllegalArgumentException(String.format("Invalid request creation strategy: %s",
                         requestCreationStrategy));
         }
     }
 
-    private HttpRequest<BidRequest> makeRequest(BidRequest bidRequest, List<ImpWithExt<T>> impsWithExts) {
+    private HttpRequest<BidRequest> makeRequest(BidRequest bidRequest,
+                                                List<ImpWithExt<T>> impsWithExts,
+                                                Function<BidRequest, String> encoder) {
         final BidRequest.BidRequestBuilder requestBuilder = bidRequest.toBuilder();
 
         requestBuilder.imp(impsWithExts.stream()
@@ -162,7 +171,7 @@ public abstract class OpenrtbBidder<T> implements Bidder<BidRequest> {
         modifyRequest(bidRequest, requestBuilder, impsWithExts);
 
         final BidRequest outgoingRequest = requestBuilder.build();
-        final String body = mapper.encode(outgoingRequest);
+        final String body = encoder.apply(outgoingRequest);
 
         return HttpRequest.<BidRequest>builder()
                 .method(HttpMethod.POST)
@@ -209,26 +218,15 @@ public abstract class OpenrtbBidder<T> implements Bidder<BidRequest> {
     @Override
     public final Result<List<BidderBid>> makeBids(HttpCall<BidRequest> httpCall, BidRequest bidRequest) {
         try {
-            final BidResponse bidResponse = mapper.decodeValue(httpCall.getResponse().getBody(), BidResponse.class);
-            return Result.of(extractBids(httpCall.getRequest().getPayload(), bidResponse), Collections.emptyList());
+            final List<Bid> bids = bidResponseDecoder.decodeBids(httpCall.getResponse().getBody());
+            return Result.of(extractBids(httpCall.getRequest().getPayload(), bids), Collections.emptyList());
         } catch (DecodeException | PreBidException e) {
             return Result.emptyWithError(BidderError.badServerResponse(e.getMessage()));
         }
     }
 
-    private List<BidderBid> extractBids(BidRequest bidRequest, BidResponse bidResponse) {
-        if (bidResponse == null || bidResponse.getSeatbid() == null) {
-            return Collections.emptyList();
-        }
-        return bidsFromResponse(bidRequest, bidResponse);
-    }
-
-    private List<BidderBid> bidsFromResponse(BidRequest bidRequest, BidResponse bidResponse) {
-        return bidResponse.getSeatbid().stream()
-                .filter(Objects::nonNull)
-                .map(SeatBid::getBid)
-                .filter(Objects::nonNull)
-                .flatMap(Collection::stream)
+    private List<BidderBid> extractBids(BidRequest bidRequest, List<Bid> bids) {
+        return bids.stream()
                 .map(bid -> BidderBid.of(bid, getBidType(bid.getImpid(), bidRequest.getImp()), getBidCurrency()))
                 .collect(Collectors.toList());
     }
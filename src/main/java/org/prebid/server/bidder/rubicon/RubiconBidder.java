@@ -62,6 +62,7 @@ import org.prebid.server.bidder.rubicon.proto.RubiconUserExtRp;
 import org.prebid.server.bidder.rubicon.proto.RubiconVideoExt;
 import org.prebid.server.bidder.rubicon.proto.RubiconVideoExtRp;
 import org.prebid.server.exception.PreBidException;
+import org.prebid.server.json.BidRequestEncoder;
 import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.proto.openrtb.ext.ExtPrebid;
@@ -118,6 +119,7 @@ public class RubiconBidder implements Bidder<BidRequest> {
     private final Set<String> supportedVendors;
     private final boolean generateBidId;
     private final JacksonMapper mapper;
+    private final BidRequestEncoder bidRequestEncoder;
 
     private final MultiMap headers;
 
@@ -132,6 +134,7 @@ public class RubiconBidder implements Bidder<BidRequest> {
         this.supportedVendors = new HashSet<>(supportedVendors);
         this.generateBidId = generateBidId;
         this.mapper = Objects.requireNonNull(mapper);
+        this.bidRequestEncoder = new BidRequestEncoder(mapper);
 
         this.headers = headers(Objects.requireNonNull(xapiUsername), Objects.requireNonNull(xapiPassword));
     }
@@ -145,6 +148,7 @@ public class RubiconBidder implements Bidder<BidRequest> {
         final Map<Imp, ExtPrebid<ExtImpPrebid, ExtImpRubicon>> impToImpExt =
                 parseRubiconImpExts(bidRequest.getImp(), errors);
         final String impLanguage = firstImpExtLanguage(impToImpExt.values());
+        final BidRequestEncoder.Session encoderSession = bidRequestEncoder.session();
 
         for (Map.Entry<Imp, ExtPrebid<ExtImpPrebid, ExtImpRubicon>> impToExt : impToImpExt.entrySet()) {
             try {
@@ -153,7 +157,7 @@ public class RubiconBidder implements Bidder<BidRequest> {
                 final BidRequest singleRequest = createSingleRequest(
                         imp, ext.getPrebid(), ext.getBidder(), bidRequest, impLanguage, useFirstPartyData
                 );
-                final String body = mapper.encode(singleRequest);
+                final String body = encoderSession.encode(singleRequest);
                 httpRequests.add(HttpRequest.<BidRequest>builder()
                         .method(HttpMethod.POST)
                         .uri(makeUri(bidRequest))
@@ -0,0 +1,376 @@
+package org.prebid.server.cache;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.prebid.server.cache.proto.response.BidCacheResponse;
+import org.prebid.server.cache.proto.response.CacheObject;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.json.DecodeException;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.vertx.http.HttpClient;
+import org.prebid.server.vertx.http.model.HttpClientResponse;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Wrapper over {@link HttpClient} coalescing Prebid Cache writes made by concurrent auctions into a single request.
+ * <p>
+ * The first write opens a batch which is sent after configured window expires or as soon as it collects
+ * max number of put objects. Only writes with the same URL and headers are batched together.
+ * Writes which cannot wait for the batch to be sent without breaching their own deadline
+ * (remaining timeout is less than time left to send the batch plus expected cache request time)
+ * are passed to the underlying client right away. Batch request timeout is the smallest remaining timeout among
+ * writes in the batch.
+ * <p>
+ * Prebid Cache responds with UUIDs in the same order as put objects were sent, so the response is split back into
+ * per-write responses preserving the original HTTP response contract for callers.
+ * <p>
+ * A batch failing because of its content (client error status, malformed response or the number of returned objects
+ * not matching the number of sent ones) is resent as individual writes within their own remaining timeouts, so that
+ * a single malformed put doesn't fail unrelated writes. Other failures (server errors, timeouts) are shared by all
+ * writes in the batch.
+ * <p>
+ * Only JSON writes are batched, binary requests are passed to the underlying client as is.
+ */
+public class BatchingCacheHttpClient implements HttpClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchingCacheHttpClient.class);
+
+    private static final String PUTS_PREFIX = "{\"puts\":[";
+    private static final String PUTS_SUFFIX = "]}";
+
+    private final HttpClient httpClient;
+    private final Vertx vertx;
+    private final Clock clock;
+    private final JacksonMapper mapper;
+    private final JsonFactory jsonFactory;
+    private final long windowMs;
+    private final long expectedRequestTimeMs;
+    private final int maxPutsPerBatch;
+
+    private Batch currentBatch;
+
+    public BatchingCacheHttpClient(HttpClient httpClient,
+                                   Vertx vertx,
+                                   Clock clock,
+                                   JacksonMapper mapper,
+                                   long windowMs,
+                                   long expectedRequestTimeMs,
+                                   int maxPutsPerBatch) {
+
+        if (windowMs <= 0 || maxPutsPerBatch <= 0) {
+            throw new IllegalArgumentException("window and max puts per batch must be positive");
+        }
+        this.httpClient = Objects.requireNonNull(httpClient);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.clock = Objects.requireNonNull(clock);
+        this.mapper = Objects.requireNonNull(mapper);
+        this.jsonFactory = mapper.mapper().getFactory();
+        this.windowMs = windowMs;
+        this.expectedRequestTimeMs = expectedRequestTimeMs;
+        this.maxPutsPerBatch = maxPutsPerBatch;
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers, String body,
+                                              long timeoutMs) {
+        final int putCount = method == HttpMethod.POST ? countPuts(body) : 0;
+        if (putCount <= 0 || timeoutMs <= 0) {
+            return httpClient.request(method, url, headers, body, timeoutMs);
+        }
+
+        final long now = clock.millis();
+        final BatchEntry entry = new BatchEntry(body, putCount, now + timeoutMs, Vertx.currentContext());
+
+        final Batch batchToSend;
+        synchronized (this) {
+            if (!canJoinCurrentBatch(url, headers, entry, now)) {
+                return httpClient.request(method, url, headers, body, timeoutMs);
+            }
+
+            if (currentBatch == null) {
+                final Batch batch = new Batch(url, headers, now + windowMs);
+                batch.timerId = vertx.setTimer(windowMs, ignored -> sendIfCurrent(batch));
+                currentBatch = batch;
+            }
+
+            final Batch batch = currentBatch;
+            batch.add(entry);
+
+            if (batch.putCount >= maxPutsPerBatch) {
+                vertx.cancelTimer(batch.timerId);
+                currentBatch = null;
+                batchToSend = batch;
+            } else {
+                batchToSend = null;
+            }
+        }
+
+        if (batchToSend != null) {
+            send(batchToSend);
+        }
+
+        return entry.promise.future();
+    }
+
+    @Override
+    public Future<HttpClientResponse> requestBinary(HttpMethod method, String url, MultiMap headers, Buffer body,
+                                                    long timeoutMs) {
+        return httpClient.requestBinary(method, url, headers, body, timeoutMs);
+    }
+
+    private boolean canJoinCurrentBatch(String url, MultiMap headers, BatchEntry entry, long now) {
+        if (currentBatch == null) {
+            return entry.deadline >= now + windowMs + expectedRequestTimeMs;
+        }
+        return currentBatch.url.equals(url)
+                && sameHeaders(currentBatch.headers, headers)
+                && entry.deadline >= currentBatch.sendAt + expectedRequestTimeMs;
+    }
+
+    private static boolean sameHeaders(MultiMap headers, MultiMap otherHeaders) {
+        if (headers == otherHeaders) {
+            return true;
+        }
+        if (headers == null || otherHeaders == null || headers.names().size() != otherHeaders.names().size()) {
+            return false;
+        }
+        for (String name : headers.names()) {
+            if (!headers.getAll(name).equals(otherHeaders.getAll(name))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns number of put objects in the given Prebid Cache request body or zero if body is not recognized.
+     */
+    private int countPuts(String body) {
+        if (body == null || !body.startsWith(PUTS_PREFIX) || !body.endsWith(PUTS_SUFFIX)) {
+            return 0;
+        }
+
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            parser.nextToken(); // start of request object
+            parser.nextToken(); // "puts" field
+            parser.nextToken(); // start of puts array
+
+            int count = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                count++;
+            }
+            return parser.nextToken() == JsonToken.END_OBJECT ? count : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void sendIfCurrent(Batch batch) {
+        synchronized (this) {
+            if (currentBatch != batch) {
+                return;
+            }
+            currentBatch = null;
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        final List<BatchEntry> entries = batch.entries;
+
+        long earliestDeadline = Long.MAX_VALUE;
+        final StringBuilder body = new StringBuilder(PUTS_PREFIX);
+        for (int i = 0; i < entries.size(); i++) {
+            final BatchEntry entry = entries.get(i);
+            earliestDeadline = Math.min(earliestDeadline, entry.deadline);
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(entry.body, PUTS_PREFIX.length(), entry.body.length() - PUTS_SUFFIX.length());
+        }
+        body.append(PUTS_SUFFIX);
+
+        final long timeoutMs = earliestDeadline - clock.millis();
+        if (timeoutMs <= 0) {
+            failEntries(entries, new TimeoutException("Timeout has been exceeded"));
+            return;
+        }
+
+        httpClient.post(batch.url, batch.headers, body.toString(), timeoutMs)
+                .setHandler(result -> {
+                    if (result.succeeded()) {
+                        handleResponse(batch, result.result());
+                    } else {
+                        failEntries(entries, result.cause());
+                    }
+                });
+    }
+
+    private void handleResponse(Batch batch, HttpClientResponse response) {
+        final List<BatchEntry> entries = batch.entries;
+
+        final int statusCode = response.getStatusCode();
+        if (statusCode != 200) {
+            if (isClientError(statusCode) && entries.size() > 1) {
+                resendIndividually(batch, String.format("HTTP status code %d", statusCode));
+                return;
+            }
+
+            // let every caller handle unsuccessful status the same way as for direct request
+            for (BatchEntry entry : entries) {
+                complete(entry, response);
+            }
+            return;
+        }
+
+        final List<CacheObject> cacheObjects;
+        try {
+            cacheObjects = mapper.decodeValue(response.getBody(), BidCacheResponse.class).getResponses();
+        } catch (DecodeException e) {
+            resendIndividuallyOrFail(batch, new PreBidException(
+                    String.format("Cannot parse response: %s", response.getBody()), e));
+            return;
+        }
+
+        if (cacheObjects == null || cacheObjects.size() != batch.putCount) {
+            resendIndividuallyOrFail(batch,
+                    new PreBidException("The number of response cache objects doesn't match with bids"));
+            return;
+        }
+
+        int offset = 0;
+        for (BatchEntry entry : entries) {
+            final List<CacheObject> entryCacheObjects = cacheObjects.subList(offset, offset + entry.putCount);
+            offset += entry.putCount;
+
+            final String entryBody = mapper.encode(BidCacheResponse.of(entryCacheObjects));
+            complete(entry, HttpClientResponse.of(response.getStatusCode(), response.getHeaders(), entryBody));
+        }
+    }
+
+    private static boolean isClientError(int statusCode) {
+        return statusCode >= 400 && statusCode < 500;
+    }
+
+    private void resendIndividuallyOrFail(Batch batch, Throwable exception) {
+        if (batch.entries.size() > 1) {
+            resendIndividually(batch, exception.getMessage());
+        } else {
+            failEntries(batch.entries, exception);
+        }
+    }
+
+    /**
+     * Sends every write of the batch as a separate request, so that the outcome of each write depends only
+     * on its own content.
+     */
+    private void resendIndividually(Batch batch, String reason) {
+        logger.warn("Batch to cache service failed, resending {0} writes individually: {1}", batch.entries.size(),
+                reason);
+
+        for (BatchEntry entry : batch.entries) {
+            final long timeoutMs = entry.deadline - clock.millis();
+            if (timeoutMs <= 0) {
+                runOnEntryContext(entry, () -> entry.promise.tryFail(
+                        new TimeoutException("Timeout has been exceeded")));
+                continue;
+            }
+
+            httpClient.request(HttpMethod.POST, batch.url, batch.headers, entry.body, timeoutMs)
+                    .setHandler(result -> {
+                        if (result.succeeded()) {
+                            complete(entry, result.result());
+                        } else {
+                            runOnEntryContext(entry, () -> entry.promise.tryFail(result.cause()));
+                        }
+                    });
+        }
+    }
+
+    private void failEntries(List<BatchEntry> entries, Throwable exception) {
+        logger.warn("Error occurred while sending batch to cache service: {0}", exception.getMessage());
+
+        for (BatchEntry entry : entries) {
+            runOnEntryContext(entry, () -> entry.promise.tryFail(exception));
+        }
+    }
+
+    private static void complete(BatchEntry entry, HttpClientResponse response) {
+        runOnEntryContext(entry, () -> entry.promise.tryComplete(response));
+    }
+
+    /**
+     * Completes write on the context it was issued from, since batch is sent from the context of its first write.
+     */
+    private static void runOnEntryContext(BatchEntry entry, Runnable action) {
+        final Context context = entry.context;
+        if (context == null || context == Vertx.currentContext()) {
+            action.run();
+        } else {
+            context.runOnContext(ignored -> action.run());
+        }
+    }
+
+    private static class Batch {
+
+        private final String url;
+
+        private final MultiMap headers;
+
+        private final long sendAt;
+
+        private final List<BatchEntry> entries = new ArrayList<>();
+
+        private int putCount;
+
+        private long timerId;
+
+        Batch(String url, MultiMap headers, long sendAt) {
+            this.url = url;
+            this.headers = headers;
+            this.sendAt = sendAt;
+        }
+
+        void add(BatchEntry entry) {
+            entries.add(entry);
+            putCount += entry.putCount;
+        }
+    }
+
+    private static class BatchEntry {
+
+        private final String body;
+
+        private final int putCount;
+
+        private final long deadline;
+
+        private final Context context;
+
+        private final Promise<HttpClientResponse> promise = Promise.promise();
+
+        BatchEntry(String body, int putCount, long deadline, Context context) {
+            this.body = body;
+            this.putCount = putCount;
+            this.deadline = deadline;
+            this.context = context;
+        }
+    }
+}
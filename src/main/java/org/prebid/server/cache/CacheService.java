@@ -1,10 +1,11 @@
 package org.prebid.server.cache;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.iab.openrtb.request.Imp;
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import org.apache.commons.collections4.CollectionUtils;
@@ -21,6 +22,7 @@ import org.prebid.server.cache.model.CacheTtl;
 import org.prebid.server.cache.proto.BidCacheResult;
 import org.prebid.server.cache.proto.request.BannerValue;
 import org.prebid.server.cache.proto.request.BidCacheRequest;
+import org.prebid.server.cache.proto.request.BidPutValue;
 import org.prebid.server.cache.proto.request.PutObject;
 import org.prebid.server.cache.proto.response.BidCacheResponse;
 import org.prebid.server.cache.proto.response.CacheObject;
@@ -28,6 +30,7 @@ import org.prebid.server.events.EventsContext;
 import org.prebid.server.events.EventsService;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.Timeout;
+import org.prebid.server.json.BinaryMapper;
 import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.metric.Metrics;
@@ -48,6 +51,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -57,6 +61,9 @@ import java.util.stream.Stream;
  * Client stores values in Prebid Cache.
  * <p>
  * For more info, see https://github.com/prebid/prebid-cache project.
+ * <p>
+ * Requests are sent as JSON unless {@link BinaryMapper} is given: then they are encoded in its binary format,
+ * while response is decoded according to its content type.
  */
 public class CacheService {
 
@@ -64,30 +71,36 @@ public class CacheService {
 
     private final CacheTtl mediaTypeCacheTtl;
     private final HttpClient httpClient;
+    private final CacheWriteBehindQueue writeBehindQueue;
     private final URL endpointUrl;
     private final String cachedAssetUrlTemplate;
     private final EventsService eventsService;
     private final Metrics metrics;
     private final Clock clock;
     private final JacksonMapper mapper;
+    private final BinaryMapper binaryMapper;
 
     public CacheService(CacheTtl mediaTypeCacheTtl,
                         HttpClient httpClient,
+                        CacheWriteBehindQueue writeBehindQueue,
                         URL endpointUrl,
                         String cachedAssetUrlTemplate,
                         EventsService eventsService,
                         Metrics metrics,
                         Clock clock,
-                        JacksonMapper mapper) {
+                        JacksonMapper mapper,
+                        BinaryMapper binaryMapper) {
 
         this.mediaTypeCacheTtl = Objects.requireNonNull(mediaTypeCacheTtl);
         this.httpClient = Objects.requireNonNull(httpClient);
+        this.writeBehindQueue = writeBehindQueue; // write-behind mode is disabled if null
         this.endpointUrl = Objects.requireNonNull(endpointUrl);
         this.cachedAssetUrlTemplate = Objects.requireNonNull(cachedAssetUrlTemplate);
         this.eventsService = Objects.requireNonNull(eventsService);
         this.metrics = Objects.requireNonNull(metrics);
         this.clock = Objects.requireNonNull(clock);
         this.mapper = Objects.requireNonNull(mapper);
+        this.binaryMapper = binaryMapper; // requests are sent as JSON if null
     }
 
     public String getEndpointHost() {
@@ -145,13 +158,24 @@ public class CacheService {
             return Future.failedFuture(new TimeoutException("Timeout has been exceeded"));
         }
 
+        final String body = binaryMapper == null ? mapper.encode(bidCacheRequest) : null;
+        final Buffer binaryBody = binaryMapper != null ? binaryMapper.encode(bidCacheRequest) : null;
+
         final long startTime = clock.millis();
-        return httpClient.post(endpointUrl.toString(), HttpUtil.headers(), mapper.encode(bidCacheRequest),
-                remainingTimeout)
-                .map(response -> toBidCacheResponse(response.getStatusCode(), response.getBody(), bidCount, startTime))
+        return post(endpointUrl.toString(), body, binaryBody, remainingTimeout)
+                .map(response -> toBidCacheResponse(response, bidCount, startTime))
                 .recover(exception -> failResponse(exception, startTime));
     }
 
+    /**
+     * Sends binary body if given, otherwise JSON one.
+     */
+    private Future<HttpClientResponse> post(String url, String body, Buffer binaryBody, long timeout) {
+        return binaryBody != null
+                ? httpClient.requestBinary(HttpMethod.POST, url, binaryMapper.headers(), binaryBody, timeout)
+                : httpClient.post(url, HttpUtil.headers(), body, timeout);
+    }
+
     /**
      * Handles errors occurred while HTTP request or response processing.
      */
@@ -192,9 +216,10 @@ public class CacheService {
                     .bidder(null)
                     .timestamp(null);
 
-            final JsonNode value = putObject.getValue();
+            final Object value = putObject.getValue();
             if (biddersAllowingVastUpdate.contains(putObject.getBidder()) && value != null) {
-                final String updatedVastXml = modifyVastXml(value.asText(), putObject.getBidid(),
+                final String vastXml = value instanceof JsonNode ? ((JsonNode) value).asText() : value.toString();
+                final String updatedVastXml = modifyVastXml(vastXml, putObject.getBidid(),
                         putObject.getBidder(), accountId, putObject.getTimestamp());
                 builder.value(new TextNode(updatedVastXml)).build();
             }
@@ -323,6 +348,10 @@ public class CacheService {
             return Future.succeededFuture(CacheServiceResult.empty());
         }
 
+        if (writeBehindQueue != null) {
+            return Future.succeededFuture(writeBehindOpenrtb(putObjects, bids, videoBids));
+        }
+
         final long remainingTimeout = timeout.remaining();
         if (remainingTimeout <= 0) {
             return Future.succeededFuture(CacheServiceResult.of(null, new TimeoutException("Timeout has been exceeded"),
@@ -330,16 +359,47 @@ public class CacheService {
         }
 
         final String url = endpointUrl.toString();
-        final String body = mapper.encode(BidCacheRequest.of(putObjects));
+        final BidCacheRequest bidCacheRequest = BidCacheRequest.of(putObjects);
+        // binary body is not shown in debug info
+        final String body = binaryMapper == null ? mapper.encode(bidCacheRequest) : null;
+        final Buffer binaryBody = binaryMapper != null ? binaryMapper.encode(bidCacheRequest) : null;
         final CacheHttpRequest httpRequest = CacheHttpRequest.of(url, body);
 
         final long startTime = clock.millis();
-        return httpClient.post(url, HttpUtil.headers(), body, remainingTimeout)
+        return post(url, body, binaryBody, remainingTimeout)
                 .map(response -> processResponseOpenrtb(response, httpRequest, putObjects.size(), bids, videoBids,
                         startTime))
                 .otherwise(exception -> failResponseOpenrtb(exception, httpRequest, startTime));
     }
 
+    /**
+     * Assigns locally generated keys to put objects and hands them over to {@link CacheWriteBehindQueue}.
+     * <p>
+     * Keys are returned to the caller right away, so auction doesn't wait for Prebid Cache. Prebid Cache must be
+     * configured to allow setting keys by client. Debug info contains the request only since write is not made yet.
+     */
+    private CacheServiceResult writeBehindOpenrtb(List<PutObject> putObjects, List<CacheBid> bids,
+                                                  List<CacheBid> videoBids) {
+        final List<String> uuids = new ArrayList<>(putObjects.size());
+        final List<PutObject> keyedPutObjects = new ArrayList<>(putObjects.size());
+        for (PutObject putObject : putObjects) {
+            final String uuid = UUID.randomUUID().toString();
+            uuids.add(uuid);
+            keyedPutObjects.add(putObject.toBuilder().key(uuid).build());
+        }
+
+        final String url = endpointUrl.toString();
+        final String body = mapper.encode(BidCacheRequest.of(keyedPutObjects));
+        final CacheHttpCall httpCall = CacheHttpCall.of(CacheHttpRequest.of(url, body), null, null);
+
+        if (!writeBehindQueue.offer(url, body)) {
+            return CacheServiceResult.of(httpCall, new PreBidException("Cache write-behind queue is full"),
+                    Collections.emptyMap());
+        }
+
+        return CacheServiceResult.of(httpCall, null, toResultMap(bids, videoBids, uuids));
+    }
+
     /**
      * Creates {@link CacheServiceResult} from the given {@link HttpClientResponse}.
      */
@@ -351,7 +411,7 @@ public class CacheService {
 
         final BidCacheResponse bidCacheResponse;
         try {
-            bidCacheResponse = toBidCacheResponse(response.getStatusCode(), response.getBody(), bidCount, startTime);
+            bidCacheResponse = toBidCacheResponse(response, bidCount, startTime);
         } catch (PreBidException e) {
             return CacheServiceResult.of(httpCall, e, Collections.emptyMap());
         }
@@ -399,21 +459,23 @@ public class CacheService {
     private PutObject createJsonPutObjectOpenrtb(CacheBid cacheBid, Map<String, List<String>> biddersToCacheBidIds,
                                                  Account account, Long auctionTimestamp) {
         final com.iab.openrtb.response.Bid bid = cacheBid.getBid();
-        final ObjectNode bidObjectNode = mapper.mapper().valueToTree(bid);
 
+        final String winUrl;
         if (BooleanUtils.isTrue(account.getEventsEnabled())) {
             final String bidId = bid.getId();
-            biddersToCacheBidIds.entrySet().stream()
+            winUrl = biddersToCacheBidIds.entrySet().stream()
                     .filter(biddersAndBidIds -> biddersAndBidIds.getValue().contains(bidId))
                     .findFirst()
                     .map(Map.Entry::getKey)
-                    .ifPresent(bidder -> bidObjectNode.put("wurl", eventsService.winUrl(bidId, bidder, account.getId(),
-                            auctionTimestamp)));
+                    .map(bidder -> eventsService.winUrl(bidId, bidder, account.getId(), auctionTimestamp))
+                    .orElse(null);
+        } else {
+            winUrl = null;
         }
 
         return PutObject.builder()
                 .type("json")
-                .value(bidObjectNode)
+                .value(winUrl != null ? BidPutValue.of(bid, winUrl) : bid)
                 .expiry(cacheBid.getTtl())
                 .build();
     }
@@ -446,7 +508,7 @@ public class CacheService {
 
         return PutObject.builder()
                 .type("xml")
-                .value(new TextNode(modifiedVastXml))
+                .value(modifiedVastXml)
                 .expiry(cacheBid.getTtl())
                 .build();
     }
@@ -495,16 +557,20 @@ public class CacheService {
      * Handles http response, analyzes response status and creates {@link BidCacheResponse} from response body
      * or throws {@link PreBidException} in case of errors.
      */
-    private BidCacheResponse toBidCacheResponse(int statusCode, String responseBody, int bidCount, long startTime) {
+    private BidCacheResponse toBidCacheResponse(HttpClientResponse response, int bidCount, long startTime) {
+        final int statusCode = response.getStatusCode();
         if (statusCode != 200) {
             throw new PreBidException(String.format("HTTP status code %d", statusCode));
         }
 
         final BidCacheResponse bidCacheResponse;
         try {
-            bidCacheResponse = mapper.decodeValue(responseBody, BidCacheResponse.class);
+            bidCacheResponse = binaryMapper != null
+                    ? binaryMapper.decodeValue(response.getBinaryBody(), response.getHeaders(), BidCacheResponse.class)
+                    : mapper.decodeValue(response.getBody(), BidCacheResponse.class);
         } catch (DecodeException e) {
-            throw new PreBidException(String.format("Cannot parse response: %s", responseBody), e);
+            throw new PreBidException(String.format("Cannot parse response: %s",
+                    binaryMapper != null ? e.getMessage() : response.getBody()), e);
         }
 
         final List<CacheObject> responses = bidCacheResponse.getResponses();
@@ -608,8 +674,7 @@ public class CacheService {
     private PutObject bannerPutObject(Bid bid) {
         return PutObject.builder()
                 .type("json")
-                .value(mapper.mapper().valueToTree(BannerValue.of(bid.getAdm(), bid.getNurl(), bid.getWidth(),
-                        bid.getHeight())))
+                .value(BannerValue.of(bid.getAdm(), bid.getNurl(), bid.getWidth(), bid.getHeight()))
                 .build();
     }
 }
@@ -0,0 +1,132 @@
+package org.prebid.server.cache;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.util.HttpUtil;
+import org.prebid.server.vertx.http.HttpClient;
+import org.prebid.server.vertx.http.model.HttpClientResponse;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes values with client-supplied keys to Prebid Cache off the auction critical path.
+ * <p>
+ * Number of writes being sent or waiting for retry is bounded by the queue capacity, so Prebid Cache outage
+ * cannot exhaust memory: writes offered above capacity are rejected and the caller decides what to do with them.
+ * Writes failed with server error or without response (connection failure, timeout) are retried with exponential
+ * backoff capped at {@link #MAX_RETRY_DELAY_MS} and dropped once retries are exhausted. Writes rejected by Prebid Cache
+ * with client error (e.g. key already exists) are not retried since retry can't fix them, moreover retry of a write
+ * which timed out but was stored gets this error.
+ */
+public class CacheWriteBehindQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWriteBehindQueue.class);
+
+    private static final long MAX_RETRY_DELAY_MS = 60_000L;
+    private static final int MAX_BACKOFF_SHIFT = 20;
+
+    private final HttpClient httpClient;
+    private final Vertx vertx;
+    private final Metrics metrics;
+    private final Clock clock;
+    private final int capacity;
+    private final long timeoutMs;
+    private final int maxRetries;
+    private final long retryDelayMs;
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public CacheWriteBehindQueue(HttpClient httpClient,
+                                 Vertx vertx,
+                                 Metrics metrics,
+                                 Clock clock,
+                                 int capacity,
+                                 long timeoutMs,
+                                 int maxRetries,
+                                 long retryDelayMs) {
+
+        if (capacity <= 0 || timeoutMs <= 0 || maxRetries < 0 || retryDelayMs <= 0) {
+            throw new IllegalArgumentException(
+                    "capacity, timeout and retry delay must be positive, max retries must not be negative");
+        }
+        this.httpClient = Objects.requireNonNull(httpClient);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+        this.capacity = capacity;
+        this.timeoutMs = timeoutMs;
+        this.maxRetries = maxRetries;
+        this.retryDelayMs = retryDelayMs;
+    }
+
+    /**
+     * Schedules sending of the given Prebid Cache request body.
+     * <p>
+     * Returns false if the queue is full and the write was not accepted.
+     */
+    public boolean offer(String url, String body) {
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+            metrics.updateCacheWriteBehindDroppedMetric();
+            return false;
+        }
+
+        send(url, body, 0);
+        return true;
+    }
+
+    /**
+     * Returns number of writes being sent or waiting for retry.
+     */
+    int pending() {
+        return pending.get();
+    }
+
+    private void send(String url, String body, int attempt) {
+        final long startTime = clock.millis();
+        httpClient.post(url, HttpUtil.headers(), body, timeoutMs)
+                .setHandler(result -> handleResult(result, url, body, attempt, startTime));
+    }
+
+    private void handleResult(AsyncResult<HttpClientResponse> result, String url, String body, int attempt,
+                              long startTime) {
+        final long elapsed = clock.millis() - startTime;
+        if (result.succeeded() && result.result().getStatusCode() == 200) {
+            metrics.updateCacheRequestSuccessTime(elapsed);
+            pending.decrementAndGet();
+            return;
+        }
+
+        metrics.updateCacheRequestFailedTime(elapsed);
+        final int statusCode = result.succeeded() ? result.result().getStatusCode() : 0;
+        final String error = result.succeeded()
+                ? String.format("HTTP status code %d", statusCode)
+                : result.cause().getMessage();
+
+        if (statusCode >= 400 && statusCode < 500) {
+            logger.warn("Cache write rejected on attempt {0}: {1}", attempt + 1, error);
+            pending.decrementAndGet();
+        } else if (attempt < maxRetries) {
+            metrics.updateCacheWriteBehindRetryMetric();
+            vertx.setTimer(retryDelay(attempt), ignored -> send(url, body, attempt + 1));
+        } else {
+            logger.warn("Dropping cache write after {0} attempts: {1}", attempt + 1, error);
+            metrics.updateCacheWriteBehindDroppedMetric();
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns delay doubled for each next attempt, but not longer than {@link #MAX_RETRY_DELAY_MS} unless configured
+     * delay of the first retry is already longer.
+     */
+    private long retryDelay(int attempt) {
+        return Math.min(retryDelayMs << Math.min(attempt, MAX_BACKOFF_SHIFT),
+                Math.max(retryDelayMs, MAX_RETRY_DELAY_MS));
+    }
+}
@@ -0,0 +1,19 @@
+package org.prebid.server.cache.proto.request;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.iab.openrtb.response.Bid;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Cached bid with injected win URL, serialized as a single flat JSON object.
+ */
+@AllArgsConstructor(staticName = "of")
+@Value
+public class BidPutValue {
+
+    @JsonUnwrapped
+    Bid bid;
+
+    String wurl;
+}
@@ -1,6 +1,7 @@
 package org.prebid.server.cache.proto.request;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.Builder;
 import lombok.Value;
 
@@ -10,12 +11,19 @@ public class PutObject {
 
     String type;
 
-    JsonNode value;
+    /**
+     * {@link JsonNode} when parsed from incoming request, otherwise any object serialized as is,
+     * so that cache request body is written in one pass without building intermediate JSON tree.
+     */
+    @JsonDeserialize(as = JsonNode.class)
+    Object value;
 
     Integer expiry;
 
     Integer ttlseconds;
 
+    String key;
+
     String bidid; // this is "/vtrack" specific
 
     String bidder; // this is "/vtrack" specific
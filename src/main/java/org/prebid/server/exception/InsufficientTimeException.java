@@ -0,0 +1,8 @@
+package org.prebid.server.exception;
+
+public class InsufficientTimeException extends RuntimeException {
+
+    public InsufficientTimeException(String message) {
+        super(message);
+    }
+}
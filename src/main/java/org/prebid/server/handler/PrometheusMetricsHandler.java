@@ -0,0 +1,27 @@
+package org.prebid.server.handler;
+
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+import org.prebid.server.metric.prometheus.PrometheusTextWriter;
+import org.prebid.server.util.HttpUtil;
+
+import java.util.Objects;
+
+/**
+ * Handles HTTP request for application metrics in Prometheus text format.
+ */
+public class PrometheusMetricsHandler implements Handler<RoutingContext> {
+
+    private final PrometheusTextWriter prometheusTextWriter;
+
+    public PrometheusMetricsHandler(PrometheusTextWriter prometheusTextWriter) {
+        this.prometheusTextWriter = Objects.requireNonNull(prometheusTextWriter);
+    }
+
+    @Override
+    public void handle(RoutingContext context) {
+        context.response()
+                .putHeader(HttpUtil.CONTENT_TYPE_HEADER, PrometheusTextWriter.CONTENT_TYPE)
+                .end(prometheusTextWriter.write());
+    }
+}
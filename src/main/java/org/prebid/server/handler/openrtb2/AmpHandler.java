@@ -13,7 +13,9 @@ import com.iab.openrtb.response.SeatBid;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.web.RoutingContext;
@@ -23,17 +25,22 @@ import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.analytics.AnalyticsReporter;
 import org.prebid.server.analytics.model.AmpEvent;
 import org.prebid.server.analytics.model.HttpContext;
+import org.prebid.server.auction.AdmissionController;
 import org.prebid.server.auction.AmpRequestFactory;
 import org.prebid.server.auction.AmpResponsePostProcessor;
 import org.prebid.server.auction.ExchangeService;
+import org.prebid.server.auction.model.AdmissionDecision;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.StageTimings;
 import org.prebid.server.auction.model.Tuple2;
 import org.prebid.server.auction.model.Tuple3;
 import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.exception.BlacklistedAccountException;
 import org.prebid.server.exception.BlacklistedAppException;
+import org.prebid.server.exception.InsufficientTimeException;
 import org.prebid.server.exception.InvalidRequestException;
+import org.prebid.server.exception.OverloadedException;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.exception.UnauthorizedAccountException;
 import org.prebid.server.json.JacksonMapper;
@@ -84,6 +91,7 @@ public class AmpHandler implements Handler<RoutingContext> {
     private final AmpResponsePostProcessor ampResponsePostProcessor;
     private final AdminManager adminManager;
     private final JacksonMapper mapper;
+    private final AdmissionController admissionController;
 
     public AmpHandler(AmpRequestFactory ampRequestFactory,
                       ExchangeService exchangeService,
@@ -94,7 +102,8 @@ public class AmpHandler implements Handler<RoutingContext> {
                       Set<String> biddersSupportingCustomTargeting,
                       AmpResponsePostProcessor ampResponsePostProcessor,
                       AdminManager adminManager,
-                      JacksonMapper mapper) {
+                      JacksonMapper mapper,
+                      AdmissionController admissionController) {
 
         this.ampRequestFactory = Objects.requireNonNull(ampRequestFactory);
         this.exchangeService = Objects.requireNonNull(exchangeService);
@@ -106,6 +115,7 @@ public class AmpHandler implements Handler<RoutingContext> {
         this.ampResponsePostProcessor = Objects.requireNonNull(ampResponsePostProcessor);
         this.adminManager = Objects.requireNonNull(adminManager);
         this.mapper = Objects.requireNonNull(mapper);
+        this.admissionController = Objects.requireNonNull(admissionController);
     }
 
     @Override
@@ -122,9 +132,12 @@ public class AmpHandler implements Handler<RoutingContext> {
         final AmpEvent.AmpEventBuilder ampEventBuilder = AmpEvent.builder()
                 .httpContext(HttpContext.from(routingContext));
 
-        ampRequestFactory.fromRequest(routingContext, startTime)
+        final AdmissionDecision admissionDecision = admissionController.decide();
+
+        contextFrom(routingContext, startTime, admissionDecision)
                 .map(context -> context.toBuilder()
                         .requestTypeMetric(REQUEST_TYPE_METRIC)
+                        .degraded(admissionDecision == AdmissionDecision.degrade)
                         .build())
 
                 .map(context -> addToEvent(context, ampEventBuilder::auctionContext, context))
@@ -144,6 +157,14 @@ public class AmpHandler implements Handler<RoutingContext> {
                 .setHandler(responseResult -> handleResult(responseResult, ampEventBuilder, routingContext, startTime));
     }
 
+    private Future<AuctionContext> contextFrom(RoutingContext routingContext, long startTime,
+                                               AdmissionDecision admissionDecision) {
+        // rejected request is answered right away, before spending any resources on its processing
+        return admissionDecision == AdmissionDecision.reject
+                ? Future.failedFuture(new OverloadedException("Server is overloaded, try again later"))
+                : ampRequestFactory.fromRequest(routingContext, startTime);
+    }
+
     private static <T, R> R addToEvent(T field, Consumer<T> consumer, R result) {
         consumer.accept(field);
         return result;
@@ -285,7 +306,7 @@ public class AmpHandler implements Handler<RoutingContext> {
         final MetricName metricRequestStatus;
         final List<String> errorMessages;
         final int status;
-        final String body;
+        final Buffer body;
 
         final String origin = originFrom(context);
         ampEventBuilder.origin(origin);
@@ -301,7 +322,9 @@ public class AmpHandler implements Handler<RoutingContext> {
 
             status = HttpResponseStatus.OK.code();
             context.response().headers().add(HttpUtil.CONTENT_TYPE_HEADER, HttpHeaderValues.APPLICATION_JSON);
-            body = mapper.encode(responseResult.result());
+            final long encodingStart = StageTimings.start();
+            body = mapper.encodeToBuffer(responseResult.result());
+            updateResponseEncodingMetric(encodingStart);
         } else {
             final Throwable exception = responseResult.cause();
             if (exception instanceof InvalidRequestException) {
@@ -316,7 +339,7 @@ public class AmpHandler implements Handler<RoutingContext> {
                         logMessageFrom(invalidRequestException, message, context));
 
                 status = HttpResponseStatus.BAD_REQUEST.code();
-                body = message;
+                body = Buffer.buffer(message);
             } else if (exception instanceof UnauthorizedAccountException) {
                 metricRequestStatus = MetricName.badinput;
                 final String message = String.format("Unauthorized: %s", exception.getMessage());
@@ -325,9 +348,25 @@ public class AmpHandler implements Handler<RoutingContext> {
                 errorMessages = Collections.singletonList(message);
 
                 status = HttpResponseStatus.UNAUTHORIZED.code();
-                body = message;
+                body = Buffer.buffer(message);
                 String userId = ((UnauthorizedAccountException) exception).getAccountId();
                 metrics.updateAccountRequestRejectedMetrics(userId);
+            } else if (exception instanceof InsufficientTimeException) {
+                metricRequestStatus = MetricName.insufficient_time;
+                final String message = exception.getMessage();
+                conditionalLogger.info(message, 100);
+
+                errorMessages = Collections.singletonList(message);
+                status = HttpResponseStatus.GATEWAY_TIMEOUT.code();
+                body = Buffer.buffer(message);
+            } else if (exception instanceof OverloadedException) {
+                metricRequestStatus = MetricName.overloaded;
+                final String message = exception.getMessage();
+                conditionalLogger.warn(message, 100);
+
+                errorMessages = Collections.singletonList(message);
+                status = HttpResponseStatus.SERVICE_UNAVAILABLE.code();
+                body = Buffer.buffer(message);
             } else if (exception instanceof BlacklistedAppException
                     || exception instanceof BlacklistedAccountException) {
                 metricRequestStatus = exception instanceof BlacklistedAccountException
@@ -337,7 +376,7 @@ public class AmpHandler implements Handler<RoutingContext> {
 
                 errorMessages = Collections.singletonList(message);
                 status = HttpResponseStatus.FORBIDDEN.code();
-                body = message;
+                body = Buffer.buffer(message);
             } else {
                 final String message = exception.getMessage();
 
@@ -346,7 +385,7 @@ public class AmpHandler implements Handler<RoutingContext> {
                 logger.error("Critical error while running the auction", exception);
 
                 status = HttpResponseStatus.INTERNAL_SERVER_ERROR.code();
-                body = String.format("Critical error while running the auction: %s", message);
+                body = Buffer.buffer(String.format("Critical error while running the auction: %s", message));
             }
         }
 
@@ -367,13 +406,18 @@ public class AmpHandler implements Handler<RoutingContext> {
         return origin;
     }
 
+    private void updateResponseEncodingMetric(long encodingStart) {
+        metrics.updateStageTimeMetric(REQUEST_TYPE_METRIC, MetricName.response_encoding,
+                StageTimings.elapsedMicros(encodingStart));
+    }
+
     private static String logMessageFrom(InvalidRequestException exception, String message, RoutingContext context) {
         return exception.isNeedEnhancedLogging()
                 ? String.format("%s, Referer: %s", message, context.request().headers().get(HttpUtil.REFERER_HEADER))
                 : message;
     }
 
-    private void respondWith(RoutingContext context, int status, String body, long startTime,
+    private void respondWith(RoutingContext context, int status, Buffer body, long startTime,
                              MetricName metricRequestStatus, AmpEvent event) {
         // don't send the response if client has gone
         if (context.response().closed()) {
@@ -6,21 +6,28 @@ import com.iab.openrtb.response.BidResponse;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.web.RoutingContext;
 import org.prebid.server.analytics.AnalyticsReporter;
 import org.prebid.server.analytics.model.AuctionEvent;
 import org.prebid.server.analytics.model.HttpContext;
+import org.prebid.server.auction.AdmissionController;
 import org.prebid.server.auction.AuctionRequestFactory;
 import org.prebid.server.auction.ExchangeService;
+import org.prebid.server.auction.model.AdmissionDecision;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.StageTimings;
 import org.prebid.server.auction.model.Tuple2;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.exception.BlacklistedAccountException;
 import org.prebid.server.exception.BlacklistedAppException;
+import org.prebid.server.exception.InsufficientTimeException;
 import org.prebid.server.exception.InvalidRequestException;
+import org.prebid.server.exception.OverloadedException;
 import org.prebid.server.exception.UnauthorizedAccountException;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.log.ConditionalLogger;
@@ -48,6 +55,7 @@ public class AuctionHandler implements Handler<RoutingContext> {
     private final Clock clock;
     private final AdminManager adminManager;
     private final JacksonMapper mapper;
+    private final AdmissionController admissionController;
 
     public AuctionHandler(AuctionRequestFactory auctionRequestFactory,
                           ExchangeService exchangeService,
@@ -55,7 +63,8 @@ public class AuctionHandler implements Handler<RoutingContext> {
                           Metrics metrics,
                           Clock clock,
                           AdminManager adminManager,
-                          JacksonMapper mapper) {
+                          JacksonMapper mapper,
+                          AdmissionController admissionController) {
 
         this.auctionRequestFactory = Objects.requireNonNull(auctionRequestFactory);
         this.exchangeService = Objects.requireNonNull(exchangeService);
@@ -64,6 +73,7 @@ public class AuctionHandler implements Handler<RoutingContext> {
         this.clock = Objects.requireNonNull(clock);
         this.adminManager = Objects.requireNonNull(adminManager);
         this.mapper = Objects.requireNonNull(mapper);
+        this.admissionController = Objects.requireNonNull(admissionController);
     }
 
     @Override
@@ -80,9 +90,12 @@ public class AuctionHandler implements Handler<RoutingContext> {
         final AuctionEvent.AuctionEventBuilder auctionEventBuilder = AuctionEvent.builder()
                 .httpContext(HttpContext.from(routingContext));
 
-        auctionRequestFactory.fromRequest(routingContext, startTime)
+        final AdmissionDecision admissionDecision = admissionController.decide();
+
+        contextFrom(routingContext, startTime, admissionDecision)
                 .map(context -> context.toBuilder()
                         .requestTypeMetric(requestTypeMetric(context.getBidRequest()))
+                        .degraded(admissionDecision == AdmissionDecision.degrade)
                         .build())
 
                 .map(context -> addToEvent(context, auctionEventBuilder::auctionContext, context))
@@ -95,6 +108,14 @@ public class AuctionHandler implements Handler<RoutingContext> {
                 .setHandler(result -> handleResult(result, auctionEventBuilder, routingContext, startTime));
     }
 
+    private Future<AuctionContext> contextFrom(RoutingContext routingContext, long startTime,
+                                               AdmissionDecision admissionDecision) {
+        // rejected request is answered right away, before spending any resources on its processing
+        return admissionDecision == AdmissionDecision.reject
+                ? Future.failedFuture(new OverloadedException("Server is overloaded, try again later"))
+                : auctionRequestFactory.fromRequest(routingContext, startTime);
+    }
+
     private static MetricName requestTypeMetric(BidRequest bidRequest) {
         return bidRequest.getApp() != null ? MetricName.openrtb2app : MetricName.openrtb2web;
     }
@@ -129,7 +150,7 @@ public class AuctionHandler implements Handler<RoutingContext> {
         final MetricName metricRequestStatus;
         final List<String> errorMessages;
         final int status;
-        final String body;
+        final Buffer body;
 
         if (responseSucceeded) {
             metricRequestStatus = MetricName.ok;
@@ -137,7 +158,9 @@ public class AuctionHandler implements Handler<RoutingContext> {
 
             status = HttpResponseStatus.OK.code();
             context.response().headers().add(HttpUtil.CONTENT_TYPE_HEADER, HttpHeaderValues.APPLICATION_JSON);
-            body = mapper.encode(responseResult.result().getLeft());
+            final long encodingStart = StageTimings.start();
+            body = mapper.encodeToBuffer(responseResult.result().getLeft());
+            updateResponseEncodingMetric(requestType, encodingStart);
         } else {
             final Throwable exception = responseResult.cause();
             if (exception instanceof InvalidRequestException) {
@@ -152,7 +175,7 @@ public class AuctionHandler implements Handler<RoutingContext> {
                         logMessageFrom(invalidRequestException, message, context));
 
                 status = HttpResponseStatus.BAD_REQUEST.code();
-                body = message;
+                body = Buffer.buffer(message);
             } else if (exception instanceof UnauthorizedAccountException) {
                 metricRequestStatus = MetricName.badinput;
                 final String message = String.format("Unauthorized: %s", exception.getMessage());
@@ -160,9 +183,25 @@ public class AuctionHandler implements Handler<RoutingContext> {
                 errorMessages = Collections.singletonList(message);
 
                 status = HttpResponseStatus.UNAUTHORIZED.code();
-                body = message;
+                body = Buffer.buffer(message);
                 final String accountId = ((UnauthorizedAccountException) exception).getAccountId();
                 metrics.updateAccountRequestRejectedMetrics(accountId);
+            } else if (exception instanceof InsufficientTimeException) {
+                metricRequestStatus = MetricName.insufficient_time;
+                final String message = exception.getMessage();
+                conditionalLogger.info(message, 100);
+
+                errorMessages = Collections.singletonList(message);
+                status = HttpResponseStatus.GATEWAY_TIMEOUT.code();
+                body = Buffer.buffer(message);
+            } else if (exception instanceof OverloadedException) {
+                metricRequestStatus = MetricName.overloaded;
+                final String message = exception.getMessage();
+                conditionalLogger.warn(message, 100);
+
+                errorMessages = Collections.singletonList(message);
+                status = HttpResponseStatus.SERVICE_UNAVAILABLE.code();
+                body = Buffer.buffer(message);
             } else if (exception instanceof BlacklistedAppException
                     || exception instanceof BlacklistedAccountException) {
                 metricRequestStatus = exception instanceof BlacklistedAccountException
@@ -172,7 +211,7 @@ public class AuctionHandler implements Handler<RoutingContext> {
 
                 errorMessages = Collections.singletonList(message);
                 status = HttpResponseStatus.FORBIDDEN.code();
-                body = message;
+                body = Buffer.buffer(message);
             } else {
                 metricRequestStatus = MetricName.err;
                 logger.error("Critical error while running the auction", exception);
@@ -181,7 +220,7 @@ public class AuctionHandler implements Handler<RoutingContext> {
                 errorMessages = Collections.singletonList(message);
 
                 status = HttpResponseStatus.INTERNAL_SERVER_ERROR.code();
-                body = String.format("Critical error while running the auction: %s", message);
+                body = Buffer.buffer(String.format("Critical error while running the auction: %s", message));
             }
         }
 
@@ -189,13 +228,18 @@ public class AuctionHandler implements Handler<RoutingContext> {
         respondWith(context, status, body, startTime, requestType, metricRequestStatus, auctionEvent);
     }
 
+    private void updateResponseEncodingMetric(MetricName requestType, long encodingStart) {
+        metrics.updateStageTimeMetric(requestType, MetricName.response_encoding,
+                StageTimings.elapsedMicros(encodingStart));
+    }
+
     private static String logMessageFrom(InvalidRequestException exception, String message, RoutingContext context) {
         return exception.isNeedEnhancedLogging()
                 ? String.format("%s, Referer: %s", message, context.request().headers().get(HttpUtil.REFERER_HEADER))
                 : message;
     }
 
-    private void respondWith(RoutingContext context, int status, String body, long startTime, MetricName requestType,
+    private void respondWith(RoutingContext context, int status, Buffer body, long startTime, MetricName requestType,
                              MetricName metricRequestStatus, AuctionEvent event) {
         // don't send the response if client has gone
         if (context.response().closed()) {
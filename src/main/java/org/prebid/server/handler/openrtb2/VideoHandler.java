@@ -4,6 +4,7 @@ import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.web.RoutingContext;
@@ -14,8 +15,10 @@ import org.prebid.server.auction.ExchangeService;
 import org.prebid.server.auction.VideoRequestFactory;
 import org.prebid.server.auction.VideoResponseFactory;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.StageTimings;
 import org.prebid.server.auction.model.Tuple2;
 import org.prebid.server.auction.model.WithPodErrors;
+import org.prebid.server.exception.InsufficientTimeException;
 import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.exception.UnauthorizedAccountException;
 import org.prebid.server.json.JacksonMapper;
@@ -108,7 +111,7 @@ public class VideoHandler implements Handler<RoutingContext> {
         final MetricName metricRequestStatus;
         final List<String> errorMessages;
         final int status;
-        final String body;
+        final Buffer body;
 
         if (responseSucceeded) {
             metricRequestStatus = MetricName.ok;
@@ -116,7 +119,9 @@ public class VideoHandler implements Handler<RoutingContext> {
 
             status = HttpResponseStatus.OK.code();
             context.response().headers().add(HttpUtil.CONTENT_TYPE_HEADER, HttpHeaderValues.APPLICATION_JSON);
-            body = mapper.encode(responseResult.result());
+            final long encodingStart = StageTimings.start();
+            body = mapper.encodeToBuffer(responseResult.result());
+            updateResponseEncodingMetric(encodingStart);
         } else {
             final Throwable exception = responseResult.cause();
             if (exception instanceof InvalidRequestException) {
@@ -125,9 +130,9 @@ public class VideoHandler implements Handler<RoutingContext> {
                 logger.info("Invalid request format: {0}", errorMessages);
 
                 status = HttpResponseStatus.BAD_REQUEST.code();
-                body = errorMessages.stream()
+                body = Buffer.buffer(errorMessages.stream()
                         .map(msg -> String.format("Invalid request format: %s", msg))
-                        .collect(Collectors.joining("\n"));
+                        .collect(Collectors.joining("\n")));
             } else if (exception instanceof UnauthorizedAccountException) {
                 metricRequestStatus = MetricName.badinput;
                 final String errorMessage = exception.getMessage();
@@ -136,7 +141,16 @@ public class VideoHandler implements Handler<RoutingContext> {
                 errorMessages = Collections.singletonList(errorMessage);
 
                 status = HttpResponseStatus.UNAUTHORIZED.code();
-                body = String.format("Unauthorised: %s", errorMessage);
+                body = Buffer.buffer(String.format("Unauthorised: %s", errorMessage));
+            } else if (exception instanceof InsufficientTimeException) {
+                metricRequestStatus = MetricName.insufficient_time;
+                final String errorMessage = exception.getMessage();
+                logger.debug(errorMessage);
+
+                errorMessages = Collections.singletonList(errorMessage);
+
+                status = HttpResponseStatus.GATEWAY_TIMEOUT.code();
+                body = Buffer.buffer(errorMessage);
             } else {
                 metricRequestStatus = MetricName.err;
                 logger.error("Critical error while running the auction", exception);
@@ -145,14 +159,19 @@ public class VideoHandler implements Handler<RoutingContext> {
                 errorMessages = Collections.singletonList(message);
 
                 status = HttpResponseStatus.INTERNAL_SERVER_ERROR.code();
-                body = String.format("Critical error while running the auction: %s", message);
+                body = Buffer.buffer(String.format("Critical error while running the auction: %s", message));
             }
         }
         final VideoEvent videoEvent = videoEventBuilder.status(status).errors(errorMessages).build();
         respondWith(context, status, body, startTime, metricRequestStatus, videoEvent);
     }
 
-    private void respondWith(RoutingContext context, int status, String body, long startTime,
+    private void updateResponseEncodingMetric(long encodingStart) {
+        metrics.updateStageTimeMetric(REQUEST_TYPE_METRIC, MetricName.response_encoding,
+                StageTimings.elapsedMicros(encodingStart));
+    }
+
+    private void respondWith(RoutingContext context, int status, Buffer body, long startTime,
                              MetricName metricRequestStatus, VideoEvent event) {
         // don't send the response if client has gone
         if (context.response().closed()) {
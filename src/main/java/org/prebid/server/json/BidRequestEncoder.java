@@ -0,0 +1,115 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.iab.openrtb.request.BidRequest;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Encodes {@link BidRequest}s to JSON reusing already encoded top-level fields.
+ * <p>
+ * Intended for bidders sending a separate request per imp: such requests usually differ only by imps, while site,
+ * app, device, user etc. are the same, so they are encoded just once per {@link Session} and then copied
+ * to the output as is. Fields are compared by value, so they are reused even if bidder creates a new equal object
+ * for every request.
+ * <p>
+ * Output is the same as {@link JacksonMapper#encode(Object)} produces, assuming that mapper doesn't serialize
+ * null values.
+ */
+public class BidRequestEncoder {
+
+    private static final String IMP_PROPERTY = "imp";
+
+    private final ObjectMapper mapper;
+    private final List<BeanPropertyWriter> properties;
+
+    public BidRequestEncoder(JacksonMapper mapper) {
+        this.mapper = Objects.requireNonNull(mapper).mapper();
+        this.properties = properties(this.mapper);
+    }
+
+    /**
+     * Returns serialized properties of {@link BidRequest} in the order mapper writes them.
+     */
+    private static List<BeanPropertyWriter> properties(ObjectMapper mapper) {
+        final JsonSerializer<Object> serializer;
+        try {
+            serializer = mapper.getSerializerProviderInstance().findValueSerializer(BidRequest.class);
+        } catch (JsonMappingException e) {
+            throw new IllegalStateException("Cannot resolve serializer of bid request", e);
+        }
+
+        final List<BeanPropertyWriter> properties = new ArrayList<>();
+        final Iterator<PropertyWriter> propertyIterator = serializer.properties();
+        while (propertyIterator.hasNext()) {
+            final PropertyWriter property = propertyIterator.next();
+            if (!(property instanceof BeanPropertyWriter)) {
+                throw new IllegalStateException(
+                        String.format("Unsupported bid request property: %s", property.getName()));
+            }
+            properties.add((BeanPropertyWriter) property);
+        }
+        return Collections.unmodifiableList(properties);
+    }
+
+    /**
+     * Returns new {@link Session} keeping encoded fields. Session is meant to be used for requests made out of
+     * a single incoming request and is not thread-safe.
+     */
+    public Session session() {
+        return new Session();
+    }
+
+    public class Session {
+
+        private final Map<Object, String> encodedValues = new HashMap<>();
+
+        private Session() {
+        }
+
+        public String encode(BidRequest bidRequest) throws EncodeException {
+            final StringWriter writer = new StringWriter();
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(writer)) {
+                generator.writeStartObject();
+                for (BeanPropertyWriter property : properties) {
+                    final Object value = property.getMember().getValue(bidRequest);
+                    if (value != null) {
+                        generator.writeFieldName(property.getName());
+                        if (property.getName().equals(IMP_PROPERTY)) {
+                            // imps are what differs between requests
+                            mapper.writeValue(generator, value);
+                        } else {
+                            generator.writeRawValue(encodedValue(value));
+                        }
+                    }
+                }
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new EncodeException("Failed to encode as JSON: " + e.getMessage());
+            }
+            return writer.toString();
+        }
+
+        private String encodedValue(Object value) throws IOException {
+            String encodedValue = encodedValues.get(value);
+            if (encodedValue == null) {
+                encodedValue = mapper.writeValueAsString(value);
+                encodedValues.put(value, encodedValue);
+            }
+            return encodedValue;
+        }
+    }
+}
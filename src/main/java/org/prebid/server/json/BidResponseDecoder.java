@@ -0,0 +1,117 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.iab.openrtb.response.Bid;
+import com.iab.openrtb.response.BidResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Extracts bids from JSON encoded {@link BidResponse} without decoding the whole response.
+ * <p>
+ * Response is read as a stream of tokens: only {@code seatbid[].bid[]} objects are decoded, while everything else
+ * (response and seatbid extensions, custom data etc.) is skipped without being materialized.
+ * <p>
+ * Single object in place of {@code seatbid} or {@code bid} array is treated as one-element array, the same way
+ * as it is accepted when the whole response is decoded.
+ */
+public class BidResponseDecoder {
+
+    private static final String SEATBID_FIELD = "seatbid";
+    private static final String BID_FIELD = "bid";
+
+    private final ObjectMapper mapper;
+    private final ObjectReader bidReader;
+
+    public BidResponseDecoder(JacksonMapper mapper) {
+        this.mapper = Objects.requireNonNull(mapper).mapper();
+        this.bidReader = this.mapper.readerFor(Bid.class);
+    }
+
+    /**
+     * Returns all non-null bids of all seats in order of their appearance in the response.
+     */
+    public List<Bid> decodeBids(String body) throws DecodeException {
+        try (JsonParser parser = mapper.getFactory().createParser(body)) {
+            final JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new DecodeException("Failed to decode: No content");
+            }
+            if (token == JsonToken.VALUE_NULL) {
+                return Collections.emptyList();
+            }
+            expectToken(parser, JsonToken.START_OBJECT, "bid response");
+
+            final List<Bid> bids = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.getCurrentName();
+                if (parser.nextToken() != JsonToken.VALUE_NULL && fieldName.equals(SEATBID_FIELD)) {
+                    readSeatBids(parser, bids);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return bids;
+        } catch (IOException e) {
+            throw new DecodeException("Failed to decode: " + e.getMessage(), e);
+        }
+    }
+
+    private void readSeatBids(JsonParser parser, List<Bid> bids) throws IOException {
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            readSeatBid(parser, bids);
+            return;
+        }
+        expectToken(parser, JsonToken.START_ARRAY, SEATBID_FIELD);
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_NULL) {
+                readSeatBid(parser, bids);
+            }
+        }
+    }
+
+    private void readSeatBid(JsonParser parser, List<Bid> bids) throws IOException {
+        expectToken(parser, JsonToken.START_OBJECT, SEATBID_FIELD);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.getCurrentName();
+            if (parser.nextToken() != JsonToken.VALUE_NULL && fieldName.equals(BID_FIELD)) {
+                readBids(parser, bids);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readBids(JsonParser parser, List<Bid> bids) throws IOException {
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            bids.add(bidReader.readValue(parser));
+            return;
+        }
+        expectToken(parser, JsonToken.START_ARRAY, BID_FIELD);
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_NULL) {
+                bids.add(bidReader.readValue(parser));
+            }
+        }
+    }
+
+    private static void expectToken(JsonParser parser, JsonToken expected, String name) throws IOException {
+        final JsonToken actual = parser.currentToken();
+        if (actual != expected) {
+            throw new DecodeException(String.format("Failed to decode: unexpected token %s in %s at %s",
+                    actual, name, parser.getCurrentLocation()));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.util.function.Supplier;
+
+/**
+ * Binary data formats supported by Jackson which can be used instead of JSON for internal HTTP traffic.
+ */
+public enum BinaryFormat {
+
+    smile("application/x-jackson-smile", SmileFactory::new),
+    cbor("application/cbor", CBORFactory::new);
+
+    private final String contentType;
+    private final Supplier<JsonFactory> factoryCreator;
+
+    BinaryFormat(String contentType, Supplier<JsonFactory> factoryCreator) {
+        this.contentType = contentType;
+        this.factoryCreator = factoryCreator;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    JsonFactory createFactory() {
+        return factoryCreator.get();
+    }
+}
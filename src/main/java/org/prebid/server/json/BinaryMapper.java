@@ -0,0 +1,82 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.util.HttpUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * Encodes and decodes values in {@link BinaryFormat} using the same models as JSON does.
+ * <p>
+ * Requests are sent in binary format and ask for binary response, but JSON is accepted as well: response is decoded
+ * according to its content type, so the peer is free to answer with JSON.
+ */
+public class BinaryMapper {
+
+    private final BinaryFormat format;
+    private final ObjectMapper mapper;
+    private final JacksonMapper jsonMapper;
+    private final String acceptHeaderValue;
+
+    public BinaryMapper(BinaryFormat format, JacksonMapper jsonMapper) {
+        this.format = Objects.requireNonNull(format);
+        this.mapper = ObjectMapperProvider.mapper(format.createFactory());
+        this.jsonMapper = Objects.requireNonNull(jsonMapper);
+        this.acceptHeaderValue = format.getContentType() + ", " + HttpHeaderValues.APPLICATION_JSON;
+    }
+
+    public BinaryFormat format() {
+        return format;
+    }
+
+    /**
+     * Returns headers of request with binary body which accepts either binary or JSON response.
+     */
+    public MultiMap headers() {
+        return MultiMap.caseInsensitiveMultiMap()
+                .add(HttpUtil.CONTENT_TYPE_HEADER, format.getContentType())
+                .add(HttpUtil.ACCEPT_HEADER, acceptHeaderValue);
+    }
+
+    public <T> Buffer encode(T obj) throws EncodeException {
+        final ByteBuf byteBuf = Unpooled.buffer();
+        try {
+            mapper.writeValue((OutputStream) new ByteBufOutputStream(byteBuf), obj);
+        } catch (IOException e) {
+            throw new EncodeException(String.format("Failed to encode as %s: %s", format, e.getMessage()));
+        }
+        return Buffer.buffer(byteBuf);
+    }
+
+    /**
+     * Decodes body in binary format if response Content-Type header is the one of {@link BinaryFormat},
+     * otherwise as JSON.
+     */
+    public <T> T decodeValue(Buffer body, MultiMap headers, Class<T> clazz) throws DecodeException {
+        if (!isBinary(headers != null ? headers.get(HttpUtil.CONTENT_TYPE_HEADER) : null)) {
+            return jsonMapper.decodeValue(body, clazz);
+        }
+
+        try {
+            return mapper.readValue((InputStream) new ByteBufInputStream(body.getByteBuf()), clazz);
+        } catch (IOException e) {
+            throw new DecodeException("Failed to decode: " + e.getMessage(), e);
+        }
+    }
+
+    private boolean isBinary(String contentType) {
+        return contentType != null
+                && StringUtils.substringBefore(contentType, ";").trim().equalsIgnoreCase(format.getContentType());
+    }
+}
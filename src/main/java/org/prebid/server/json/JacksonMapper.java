@@ -3,11 +3,15 @@ package org.prebid.server.json;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
 import io.vertx.core.buffer.Buffer;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Objects;
 
 public class JacksonMapper {
@@ -30,6 +34,22 @@ public class JacksonMapper {
         }
     }
 
+    /**
+     * Encodes given object as UTF-8 JSON right into {@link Buffer}, so that response body doesn't need to be
+     * created as {@link String} and then encoded to bytes once again.
+     * <p>
+     * Underlying buffer is not pooled: Vert.x doesn't release buffers passed to it, so pooled memory would leak.
+     */
+    public <T> Buffer encodeToBuffer(T obj) throws EncodeException {
+        final ByteBuf byteBuf = Unpooled.buffer();
+        try {
+            mapper.writeValue((OutputStream) new ByteBufOutputStream(byteBuf), obj);
+        } catch (IOException e) {
+            throw new EncodeException("Failed to encode as JSON: " + e.getMessage());
+        }
+        return Buffer.buffer(byteBuf);
+    }
+
     public <T> T decodeValue(String str, Class<T> clazz) throws DecodeException {
         try {
             return mapper.readValue(str, clazz);
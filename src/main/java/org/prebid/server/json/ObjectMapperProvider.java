@@ -1,6 +1,7 @@
 package org.prebid.server.json;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
@@ -14,14 +15,7 @@ public final class ObjectMapperProvider {
     private static final ObjectMapper MAPPER;
 
     static {
-        MAPPER = DatabindCodec.mapper().configure(MapperFeature.DEFAULT_VIEW_INCLUSION, false)
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-                .configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true)
-                .enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN)
-                .setPropertyNamingStrategy(PropertyNamingStrategy.SNAKE_CASE)
-                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
-                .registerModule(new AfterburnerModule())
-                .registerModule(new ZonedDateTimeModule());
+        MAPPER = configure(DatabindCodec.mapper());
     }
 
     private ObjectMapperProvider() {
@@ -30,4 +24,23 @@ public final class ObjectMapperProvider {
     public static ObjectMapper mapper() {
         return MAPPER;
     }
+
+    /**
+     * Returns new mapper for the data format of given factory (e.g. Smile or CBOR) with the same settings
+     * as JSON mapper has, so that all models are (de)serialized the same way regardless of the format.
+     */
+    public static ObjectMapper mapper(JsonFactory factory) {
+        return configure(new ObjectMapper(factory));
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        return mapper.configure(MapperFeature.DEFAULT_VIEW_INCLUSION, false)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true)
+                .enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN)
+                .setPropertyNamingStrategy(PropertyNamingStrategy.SNAKE_CASE)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .registerModule(new AfterburnerModule())
+                .registerModule(new ZonedDateTimeModule());
+    }
 }
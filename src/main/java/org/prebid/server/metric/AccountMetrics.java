@@ -2,9 +2,9 @@ package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
 /**
@@ -13,23 +13,22 @@ import java.util.function.Function;
 class AccountMetrics extends UpdatableMetrics {
 
     private final Function<String, AdapterMetrics> adapterMetricsCreator;
-    // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
-    // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
-    // thread-safe
-    private final Map<String, AdapterMetrics> adapterMetrics;
+    private final ConcurrentMap<String, AdapterMetrics> adapterMetrics;
     private final Function<MetricName, RequestTypeMetrics> requestTypeMetricsCreator;
-    private final Map<MetricName, RequestTypeMetrics> requestTypeMetrics;
+    private final ConcurrentMap<MetricName, RequestTypeMetrics> requestTypeMetrics;
     private final RequestMetrics requestsMetrics;
 
-    AccountMetrics(MetricRegistry metricRegistry, CounterType counterType, String account) {
+    AccountMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                   String account) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
-                nameCreator(createPrefix(Objects.requireNonNull(account))));
-        adapterMetricsCreator = adapterType -> new AdapterMetrics(metricRegistry, counterType, account, adapterType);
-        adapterMetrics = new HashMap<>();
+                Objects.requireNonNull(reservoirType), nameCreator(createPrefix(Objects.requireNonNull(account))));
+        adapterMetricsCreator = adapterType ->
+                new AdapterMetrics(metricRegistry, counterType, reservoirType, account, adapterType);
+        adapterMetrics = new ConcurrentHashMap<>();
         requestTypeMetricsCreator = requestType ->
-                new RequestTypeMetrics(metricRegistry, counterType, createPrefix(account), requestType);
-        requestTypeMetrics = new HashMap<>();
-        requestsMetrics = new RequestMetrics(metricRegistry, counterType, createPrefix(account));
+                new RequestTypeMetrics(metricRegistry, counterType, reservoirType, createPrefix(account), requestType);
+        requestTypeMetrics = new ConcurrentHashMap<>();
+        requestsMetrics = new RequestMetrics(metricRegistry, counterType, reservoirType, createPrefix(account));
     }
 
     private static String createPrefix(String account) {
@@ -41,11 +40,11 @@ class AccountMetrics extends UpdatableMetrics {
     }
 
     AdapterMetrics forAdapter(String adapterType) {
-        return adapterMetrics.computeIfAbsent(adapterType, adapterMetricsCreator);
+        return getOrCreate(adapterMetrics, adapterType, adapterMetricsCreator);
     }
 
     RequestTypeMetrics requestType(MetricName requestType) {
-        return requestTypeMetrics.computeIfAbsent(requestType, requestTypeMetricsCreator);
+        return getOrCreate(requestTypeMetrics, requestType, requestTypeMetricsCreator);
     }
 
     RequestMetrics requests() {
@@ -2,9 +2,9 @@ package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
 /**
@@ -13,30 +13,37 @@ import java.util.function.Function;
 class AdapterMetrics extends UpdatableMetrics {
 
     private final Function<MetricName, RequestTypeMetrics> requestTypeMetricsCreator;
-    private final Map<MetricName, RequestTypeMetrics> requestTypeMetrics;
+    private final ConcurrentMap<MetricName, RequestTypeMetrics> requestTypeMetrics;
     private final RequestMetrics requestMetrics;
     private final Function<String, BidTypeMetrics> bidTypeMetricsCreator;
-    private final Map<String, BidTypeMetrics> bidTypeMetrics;
+    private final ConcurrentMap<String, BidTypeMetrics> bidTypeMetrics;
 
-    AdapterMetrics(MetricRegistry metricRegistry, CounterType counterType, String adapterType) {
+    AdapterMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                   String adapterType) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(reservoirType),
                 nameCreator(createAdapterPrefix(Objects.requireNonNull(adapterType))));
 
         bidTypeMetricsCreator = bidType ->
-                new BidTypeMetrics(metricRegistry, counterType, createAdapterPrefix(adapterType), bidType);
+                new BidTypeMetrics(metricRegistry, counterType, reservoirType,
+                        createAdapterPrefix(adapterType), bidType);
         requestTypeMetricsCreator = requestType ->
-                new RequestTypeMetrics(metricRegistry, counterType, createAdapterPrefix(adapterType), requestType);
-        requestTypeMetrics = new HashMap<>();
-        requestMetrics = new RequestMetrics(metricRegistry, counterType, createAdapterPrefix(adapterType));
-        bidTypeMetrics = new HashMap<>();
+                new RequestTypeMetrics(metricRegistry, counterType, reservoirType,
+                        createAdapterPrefix(adapterType), requestType);
+        requestTypeMetrics = new ConcurrentHashMap<>();
+        requestMetrics = new RequestMetrics(metricRegistry, counterType, reservoirType,
+                createAdapterPrefix(adapterType));
+        bidTypeMetrics = new ConcurrentHashMap<>();
     }
 
-    AdapterMetrics(MetricRegistry metricRegistry, CounterType counterType, String account, String adapterType) {
+    AdapterMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                   String account, String adapterType) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(reservoirType),
                 nameCreator(createAccountAdapterPrefix(Objects.requireNonNull(account),
                         Objects.requireNonNull(adapterType))));
 
-        requestMetrics = new RequestMetrics(metricRegistry, counterType,
+        requestMetrics = new RequestMetrics(metricRegistry, counterType, reservoirType,
                 createAccountAdapterPrefix(account, adapterType));
 
         // not used for account.adapter metrics
@@ -59,7 +66,7 @@ class AdapterMetrics extends UpdatableMetrics {
     }
 
     RequestTypeMetrics requestType(MetricName requestType) {
-        return requestTypeMetrics.computeIfAbsent(requestType, requestTypeMetricsCreator);
+        return getOrCreate(requestTypeMetrics, requestType, requestTypeMetricsCreator);
     }
 
     RequestMetrics request() {
@@ -67,6 +74,6 @@ class AdapterMetrics extends UpdatableMetrics {
     }
 
     BidTypeMetrics forBidType(String bidType) {
-        return bidTypeMetrics.computeIfAbsent(bidType, bidTypeMetricsCreator);
+        return getOrCreate(bidTypeMetrics, bidType, bidTypeMetricsCreator);
     }
 }
@@ -9,8 +9,9 @@ import java.util.function.Function;
  */
 class BidTypeMetrics extends UpdatableMetrics {
 
-    BidTypeMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix, String bidType) {
-        super(metricRegistry, counterType, nameCreator(prefix, bidType));
+    BidTypeMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                   String prefix, String bidType) {
+        super(metricRegistry, counterType, reservoirType, nameCreator(prefix, bidType));
     }
 
     private static Function<MetricName, String> nameCreator(String prefix, String bidType) {
@@ -2,9 +2,9 @@ package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
 /**
@@ -13,27 +13,31 @@ import java.util.function.Function;
 public class CookieSyncMetrics extends UpdatableMetrics {
 
     private final Function<String, CookieSyncMetrics.BidderCookieSyncMetrics> bidderCookieSyncMetricsCreator;
-    private final Map<String, CookieSyncMetrics.BidderCookieSyncMetrics> bidderCookieSyncMetrics;
+    private final ConcurrentMap<String, CookieSyncMetrics.BidderCookieSyncMetrics> bidderCookieSyncMetrics;
 
-    CookieSyncMetrics(MetricRegistry metricRegistry, CounterType counterType) {
+    CookieSyncMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(reservoirType),
                 metricName -> String.format("cookie_sync.%s", metricName.toString()));
-        bidderCookieSyncMetricsCreator = bidder -> new BidderCookieSyncMetrics(metricRegistry, counterType, bidder);
-        bidderCookieSyncMetrics = new HashMap<>();
+        bidderCookieSyncMetricsCreator = bidder ->
+                new BidderCookieSyncMetrics(metricRegistry, counterType, reservoirType, bidder);
+        bidderCookieSyncMetrics = new ConcurrentHashMap<>();
     }
 
     CookieSyncMetrics.BidderCookieSyncMetrics forBidder(String bidder) {
-        return bidderCookieSyncMetrics.computeIfAbsent(bidder, bidderCookieSyncMetricsCreator);
+        return getOrCreate(bidderCookieSyncMetrics, bidder, bidderCookieSyncMetricsCreator);
     }
 
     static class BidderCookieSyncMetrics extends UpdatableMetrics {
 
         private final TcfMetrics tcfMetrics;
 
-        BidderCookieSyncMetrics(MetricRegistry metricRegistry, CounterType counterType, String bidder) {
+        BidderCookieSyncMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                                String bidder) {
             super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                    Objects.requireNonNull(reservoirType),
                     nameCreator(Objects.requireNonNull(createCookieSyncPrefix(bidder))));
-            tcfMetrics = new TcfMetrics(metricRegistry, counterType, createCookieSyncPrefix(bidder));
+            tcfMetrics = new TcfMetrics(metricRegistry, counterType, reservoirType, createCookieSyncPrefix(bidder));
         }
 
         TcfMetrics tcf() {
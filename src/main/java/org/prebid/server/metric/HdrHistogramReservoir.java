@@ -0,0 +1,143 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.HdrHistogram.Recorder;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link Reservoir} backed by HdrHistogram {@link Recorder}.
+ * <p>
+ * Unlike default exponentially decaying reservoir, which keeps a sample of 1028 values under a lock, recording is
+ * wait-free and keeps the whole range of values with 2 significant digits precision, so tail percentiles are reliable.
+ * <p>
+ * Values are collected in intervals of fixed length counted from reservoir creation. Snapshot contains values of the
+ * last completed interval, so taking it doesn't reset anything and every reporter asking during the same interval
+ * sees the same distribution. Interval is completed when snapshot is asked for, so if nobody asks during several
+ * intervals their values are reported together.
+ */
+class HdrHistogramReservoir implements Reservoir {
+
+    private static final int SIGNIFICANT_VALUE_DIGITS = 2;
+    private static final long DEFAULT_INTERVAL_MS = 60_000L;
+
+    private final long intervalMs;
+    private final Clock clock;
+
+    private final Recorder recorder = new Recorder(SIGNIFICANT_VALUE_DIGITS);
+
+    private Histogram intervalHistogram;
+
+    private long intervalEnd;
+
+    private Snapshot lastSnapshot = new HdrSnapshot(new Histogram(SIGNIFICANT_VALUE_DIGITS));
+
+    HdrHistogramReservoir() {
+        this(DEFAULT_INTERVAL_MS, Clock.systemUTC());
+    }
+
+    HdrHistogramReservoir(long intervalMs, Clock clock) {
+        if (intervalMs <= 0) {
+            throw new IllegalArgumentException("Interval must be positive");
+        }
+
+        this.intervalMs = intervalMs;
+        this.clock = Objects.requireNonNull(clock);
+        this.intervalEnd = clock.millis() + intervalMs;
+    }
+
+    /**
+     * Returns number of values in the last completed interval.
+     */
+    @Override
+    public int size() {
+        return lastSnapshot.size();
+    }
+
+    @Override
+    public void update(long value) {
+        recorder.recordValue(Math.max(value, 0L));
+    }
+
+    @Override
+    public synchronized Snapshot getSnapshot() {
+        final long now = clock.millis();
+        if (now >= intervalEnd) {
+            // interval histogram is reused by recorder, so snapshot gets its own copy
+            intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+            lastSnapshot = new HdrSnapshot(intervalHistogram.copy());
+            intervalEnd = now + intervalMs - (now - intervalEnd) % intervalMs;
+        }
+        return lastSnapshot;
+    }
+
+    private static class HdrSnapshot extends Snapshot {
+
+        private final Histogram histogram;
+
+        HdrSnapshot(Histogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public double getValue(double quantile) {
+            return histogram.getValueAtPercentile(quantile * 100.0);
+        }
+
+        /**
+         * Returns one value per distinct histogram bucket instead of every recorded value.
+         */
+        @Override
+        public long[] getValues() {
+            final List<Long> values = new ArrayList<>();
+            for (HistogramIterationValue value : histogram.recordedValues()) {
+                values.add(value.getValueIteratedTo());
+            }
+            return values.stream().mapToLong(Long::longValue).toArray();
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public long getMax() {
+            return histogram.getMaxValue();
+        }
+
+        @Override
+        public double getMean() {
+            return histogram.getMean();
+        }
+
+        @Override
+        public long getMin() {
+            return histogram.getMinValue();
+        }
+
+        @Override
+        public double getStdDev() {
+            return histogram.getStdDeviation();
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                for (long value : getValues()) {
+                    writer.printf("%d%n", value);
+                }
+            }
+        }
+    }
+}
@@ -4,6 +4,14 @@ public enum MetricName {
     // connection
     connection_accept_errors,
 
+    // event loop
+    event_loop_lag,
+
+    // bidder params validation
+    bidder_params_validation_time,
+    bidder_params_validation_cache_hit,
+    bidder_params_validation_cache_miss,
+
     // database
     db_circuitbreaker_opened,
     db_circuitbreaker_closed,
@@ -27,6 +35,9 @@ public enum MetricName {
     safari_requests,
     safari_no_cookie_requests,
     request_time,
+    request_build_time,
+    response_parse_time,
+    cold_connections,
     prices,
     imps_requested,
     imps_banner,
@@ -37,6 +48,15 @@ public enum MetricName {
     adm_bids_received,
     nurl_bids_received,
 
+    // auction stages
+    request_parsing,
+    stored_request_processing,
+    account_fetch,
+    privacy_enforcement,
+    bidder_requests,
+    response_creation,
+    response_encoding,
+
     // request types,
     openrtb2web("openrtb2-web"),
     openrtb2app("openrtb2-app"),
@@ -51,6 +71,8 @@ public enum MetricName {
     badinput,
     blacklisted_account,
     blacklisted_app,
+    overloaded,
+    insufficient_time,
     badserverresponse,
     failedtorequestbids,
     timeout,
@@ -79,6 +101,8 @@ public enum MetricName {
     specified,
     opt_out("opt-out"),
     invalid,
+    decode_cache_hit,
+    decode_cache_miss,
     in_geo("in-geo"),
     out_geo("out-geo"),
     unknown_geo("unknown-geo"),
@@ -92,6 +116,8 @@ public enum MetricName {
     // cache
     prebid_cache_request_success_time,
     prebid_cache_request_error_time,
+    prebid_cache_write_behind_retries,
+    prebid_cache_write_behind_dropped,
 
     //account.*.requests.
     rejected;
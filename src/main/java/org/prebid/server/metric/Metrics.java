@@ -7,11 +7,11 @@ import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.EnumMap;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -26,46 +26,54 @@ public class Metrics extends UpdatableMetrics {
     private final BidderCatalog bidderCatalog;
 
     private final Function<MetricName, RequestStatusMetrics> requestMetricsCreator;
+    private final Function<MetricName, StageMetrics> stageMetricsCreator;
     private final Function<String, AccountMetrics> accountMetricsCreator;
     private final Function<String, AdapterMetrics> adapterMetricsCreator;
-    // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
-    // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
-    // thread-safe
-    private final Map<MetricName, RequestStatusMetrics> requestMetrics;
-    private final Map<String, AccountMetrics> accountMetrics;
-    private final Map<String, AdapterMetrics> adapterMetrics;
+    private final ConcurrentMap<MetricName, RequestStatusMetrics> requestMetrics;
+    private final ConcurrentMap<MetricName, StageMetrics> stageMetrics;
+    private final ConcurrentMap<String, AccountMetrics> accountMetrics;
+    private final ConcurrentMap<String, AdapterMetrics> adapterMetrics;
     private final UserSyncMetrics userSyncMetrics;
     private final CookieSyncMetrics cookieSyncMetrics;
     private final PrivacyMetrics privacyMetrics;
 
-    public Metrics(MetricRegistry metricRegistry, CounterType counterType, AccountMetricsVerbosity
-            accountMetricsVerbosity, BidderCatalog bidderCatalog) {
-        super(metricRegistry, counterType, MetricName::toString);
+    public Metrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                   AccountMetricsVerbosity accountMetricsVerbosity, BidderCatalog bidderCatalog) {
+        super(metricRegistry, counterType, Objects.requireNonNull(reservoirType), MetricName::toString);
 
         this.accountMetricsVerbosity = Objects.requireNonNull(accountMetricsVerbosity);
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
 
-        requestMetricsCreator = requestType -> new RequestStatusMetrics(metricRegistry, counterType, requestType);
-        accountMetricsCreator = account -> new AccountMetrics(metricRegistry, counterType, account);
-        adapterMetricsCreator = adapterType -> new AdapterMetrics(metricRegistry, counterType, adapterType);
-        requestMetrics = new EnumMap<>(MetricName.class);
-        accountMetrics = new HashMap<>();
-        adapterMetrics = new HashMap<>();
-        userSyncMetrics = new UserSyncMetrics(metricRegistry, counterType);
-        cookieSyncMetrics = new CookieSyncMetrics(metricRegistry, counterType);
-        privacyMetrics = new PrivacyMetrics(metricRegistry, counterType);
+        requestMetricsCreator = requestType ->
+                new RequestStatusMetrics(metricRegistry, counterType, reservoirType, requestType);
+        stageMetricsCreator = requestType ->
+                new StageMetrics(metricRegistry, counterType, reservoirType, requestType);
+        accountMetricsCreator = account -> new AccountMetrics(metricRegistry, counterType, reservoirType, account);
+        adapterMetricsCreator = adapterType ->
+                new AdapterMetrics(metricRegistry, counterType, reservoirType, adapterType);
+        requestMetrics = new ConcurrentHashMap<>();
+        stageMetrics = new ConcurrentHashMap<>();
+        accountMetrics = new ConcurrentHashMap<>();
+        adapterMetrics = new ConcurrentHashMap<>();
+        userSyncMetrics = new UserSyncMetrics(metricRegistry, counterType, reservoirType);
+        cookieSyncMetrics = new CookieSyncMetrics(metricRegistry, counterType, reservoirType);
+        privacyMetrics = new PrivacyMetrics(metricRegistry, counterType, reservoirType);
     }
 
     RequestStatusMetrics forRequestType(MetricName requestType) {
-        return requestMetrics.computeIfAbsent(requestType, requestMetricsCreator);
+        return getOrCreate(requestMetrics, requestType, requestMetricsCreator);
+    }
+
+    StageMetrics forStages(MetricName requestType) {
+        return getOrCreate(stageMetrics, requestType, stageMetricsCreator);
     }
 
     AccountMetrics forAccount(String account) {
-        return accountMetrics.computeIfAbsent(account, accountMetricsCreator);
+        return getOrCreate(accountMetrics, account, accountMetricsCreator);
     }
 
     AdapterMetrics forAdapter(String adapterType) {
-        return adapterMetrics.computeIfAbsent(adapterType, adapterMetricsCreator);
+        return getOrCreate(adapterMetrics, adapterType, adapterMetricsCreator);
     }
 
     UserSyncMetrics userSync() {
@@ -158,6 +166,17 @@ public class Metrics extends UpdatableMetrics {
         forRequestType(requestType).incCounter(requestStatus);
     }
 
+    public void updateStageTimeMetric(MetricName requestType, MetricName stage, long micros) {
+        forStages(requestType).updateHistogram(stage, micros);
+    }
+
+    public void updateStageTimeMetrics(MetricName requestType, Map<MetricName, Long> stageTimes) {
+        final StageMetrics requestTypeStageMetrics = forStages(requestType);
+        for (Map.Entry<MetricName, Long> stageTime : stageTimes.entrySet()) {
+            requestTypeStageMetrics.updateHistogram(stageTime.getKey(), stageTime.getValue());
+        }
+    }
+
     public void updateAccountRequestMetrics(String accountId, MetricName requestType) {
         final AccountMetricsVerbosityLevel verbosityLevel = accountMetricsVerbosity.forAccount(accountId);
         if (verbosityLevel.isAtLeast(AccountMetricsVerbosityLevel.basic)) {
@@ -204,6 +223,18 @@ public class Metrics extends UpdatableMetrics {
         }
     }
 
+    public void updateAdapterRequestBuildTime(String bidder, long micros) {
+        forAdapter(resolveMetricsBidderName(bidder)).updateHistogram(MetricName.request_build_time, micros);
+    }
+
+    public void updateAdapterResponseParseTime(String bidder, long micros) {
+        forAdapter(resolveMetricsBidderName(bidder)).updateHistogram(MetricName.response_parse_time, micros);
+    }
+
+    public void updateAdapterColdConnectionMetric(String bidder) {
+        forAdapter(resolveMetricsBidderName(bidder)).incCounter(MetricName.cold_connections);
+    }
+
     public void updateAdapterRequestNobidMetrics(String bidder, String accountId) {
         final String metricsBidderName = resolveMetricsBidderName(bidder);
         forAdapter(metricsBidderName).request().incCounter(MetricName.nobid);
@@ -315,6 +346,10 @@ public class Metrics extends UpdatableMetrics {
         privacy().tcf().incCounter(MetricName.invalid);
     }
 
+    public void updatePrivacyTcfDecodeCacheMetric(boolean hit) {
+        privacy().tcf().incCounter(hit ? MetricName.decode_cache_hit : MetricName.decode_cache_miss);
+    }
+
     public void updatePrivacyTcfGeoMetric(int version, Boolean inEea) {
         final UpdatableMetrics versionMetrics;
         if (version == 2) {
@@ -333,6 +368,20 @@ public class Metrics extends UpdatableMetrics {
         incCounter(MetricName.connection_accept_errors);
     }
 
+    public void updateEventLoopLagMetric(long millis) {
+        updateHistogram(MetricName.event_loop_lag, millis);
+    }
+
+    public void updateBidderParamsValidationTimeMetric(long micros) {
+        updateHistogram(MetricName.bidder_params_validation_time, micros);
+    }
+
+    public void updateBidderParamsValidationCacheMetric(boolean hit) {
+        incCounter(hit
+                ? MetricName.bidder_params_validation_cache_hit
+                : MetricName.bidder_params_validation_cache_miss);
+    }
+
     public void updateDatabaseQueryTimeMetric(long millis) {
         updateTimer(MetricName.db_query_time, millis);
     }
@@ -393,4 +442,12 @@ public class Metrics extends UpdatableMetrics {
     public void updateCacheRequestFailedTime(long timeElapsed) {
         updateTimer(MetricName.prebid_cache_request_error_time, timeElapsed);
     }
+
+    public void updateCacheWriteBehindRetryMetric() {
+        incCounter(MetricName.prebid_cache_write_behind_retries);
+    }
+
+    public void updateCacheWriteBehindDroppedMetric() {
+        incCounter(MetricName.prebid_cache_write_behind_dropped);
+    }
 }
@@ -13,11 +13,12 @@ class PrivacyMetrics extends UpdatableMetrics {
     private final USPrivacyMetrics usPrivacyMetrics;
     private final TcfMetrics tcfMetrics;
 
-    PrivacyMetrics(MetricRegistry metricRegistry, CounterType counterType) {
+    PrivacyMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(reservoirType),
                 metricName -> String.format("privacy.%s", metricName.toString()));
-        usPrivacyMetrics = new USPrivacyMetrics(metricRegistry, counterType, "privacy");
-        tcfMetrics = new TcfMetrics(metricRegistry, counterType, "privacy");
+        usPrivacyMetrics = new USPrivacyMetrics(metricRegistry, counterType, reservoirType, "privacy");
+        tcfMetrics = new TcfMetrics(metricRegistry, counterType, reservoirType, "privacy");
     }
 
     USPrivacyMetrics usp() {
@@ -30,9 +31,10 @@ class PrivacyMetrics extends UpdatableMetrics {
 
     static class USPrivacyMetrics extends UpdatableMetrics {
 
-        USPrivacyMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix) {
+        USPrivacyMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                         String prefix) {
             super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
-                    nameCreator(Objects.requireNonNull(prefix)));
+                    Objects.requireNonNull(reservoirType), nameCreator(Objects.requireNonNull(prefix)));
         }
 
         private static Function<MetricName, String> nameCreator(String prefix) {
@@ -10,9 +10,9 @@ import java.util.function.Function;
  */
 class RequestMetrics extends UpdatableMetrics {
 
-    RequestMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix) {
+    RequestMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType, String prefix) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
-                nameCreator(Objects.requireNonNull(prefix)));
+                Objects.requireNonNull(reservoirType), nameCreator(Objects.requireNonNull(prefix)));
     }
 
     private static Function<MetricName, String> nameCreator(String prefix) {
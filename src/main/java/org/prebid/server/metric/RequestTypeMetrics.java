@@ -12,10 +12,12 @@ class RequestTypeMetrics extends UpdatableMetrics {
 
     private final TcfMetrics tcfMetrics;
 
-    RequestTypeMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix, MetricName requestType) {
+    RequestTypeMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                       String prefix, MetricName requestType) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(reservoirType),
                 nameCreator(Objects.requireNonNull(prefix), Objects.requireNonNull(requestType)));
-        tcfMetrics = new TcfMetrics(metricRegistry, counterType, createTcfPrefix(prefix, requestType));
+        tcfMetrics = new TcfMetrics(metricRegistry, counterType, reservoirType, createTcfPrefix(prefix, requestType));
     }
 
     TcfMetrics tcf() {
@@ -0,0 +1,5 @@
+package org.prebid.server.metric;
+
+public enum ReservoirType {
+    exponentiallyDecaying, hdrHistogram
+}
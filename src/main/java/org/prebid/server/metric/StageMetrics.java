@@ -0,0 +1,22 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Auction stage durations metrics support.
+ */
+class StageMetrics extends UpdatableMetrics {
+
+    StageMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                 MetricName requestType) {
+        super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(reservoirType), nameCreator(Objects.requireNonNull(requestType)));
+    }
+
+    private static Function<MetricName, String> nameCreator(MetricName requestType) {
+        return metricName -> String.format("stages.%s.%s", requestType.toString(), metricName.toString());
+    }
+}
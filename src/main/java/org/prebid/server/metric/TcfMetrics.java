@@ -13,14 +13,17 @@ class TcfMetrics extends UpdatableMetrics {
     private final TcfVersionMetrics tcfVersion1Metrics;
     private final TcfVersionMetrics tcfVersion2Metrics;
 
-    TcfMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix) {
+    TcfMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType, String prefix) {
         super(
                 Objects.requireNonNull(metricRegistry),
                 Objects.requireNonNull(counterType),
+                Objects.requireNonNull(reservoirType),
                 nameCreator(createTcfPrefix(Objects.requireNonNull(prefix))));
 
-        tcfVersion1Metrics = new TcfVersionMetrics(metricRegistry, counterType, createTcfPrefix(prefix), "v1");
-        tcfVersion2Metrics = new TcfVersionMetrics(metricRegistry, counterType, createTcfPrefix(prefix), "v2");
+        tcfVersion1Metrics = new TcfVersionMetrics(metricRegistry, counterType, reservoirType,
+                createTcfPrefix(prefix), "v1");
+        tcfVersion2Metrics = new TcfVersionMetrics(metricRegistry, counterType, reservoirType,
+                createTcfPrefix(prefix), "v2");
     }
 
     TcfVersionMetrics v1() {
@@ -41,10 +44,12 @@ class TcfMetrics extends UpdatableMetrics {
 
     static class TcfVersionMetrics extends UpdatableMetrics {
 
-        TcfVersionMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix, String version) {
+        TcfVersionMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                          String prefix, String version) {
             super(
                     Objects.requireNonNull(metricRegistry),
                     Objects.requireNonNull(counterType),
+                    Objects.requireNonNull(reservoirType),
                     nameCreator(createVersionPrefix(Objects.requireNonNull(prefix), Objects.requireNonNull(version))));
         }
 
@@ -1,37 +1,64 @@
 package org.prebid.server.metric;
 
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Timer;
 
-import java.util.EnumMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
 
 class UpdatableMetrics {
 
+    private static final int METRIC_NAMES_COUNT = MetricName.values().length;
+
     private final MetricRegistry metricRegistry;
     private final Function<MetricName, String> nameCreator;
-    private final MetricIncrementer incrementer;
-    // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
-    // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
-    // thread-safe
-    private final Map<MetricName, String> metricNames;
+    private final Function<String, LongConsumer> incrementerCreator;
+    private final Supplier<Reservoir> reservoirCreator;
+    // metric handles are resolved once per metric name and stored by its ordinal, so that update neither formats
+    // metric name nor looks up underlying metric registry; concurrent resolution is harmless since registry
+    // returns the same metric for the same name
+    private final AtomicReferenceArray<LongConsumer> incrementers;
+    private final AtomicReferenceArray<Timer> timers;
+    private final AtomicReferenceArray<Histogram> histograms;
 
-    UpdatableMetrics(MetricRegistry metricRegistry, CounterType counterType, Function<MetricName, String> nameCreator) {
+    UpdatableMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                     Function<MetricName, String> nameCreator) {
         this.metricRegistry = metricRegistry;
         this.nameCreator = nameCreator;
-        metricNames = new EnumMap<>(MetricName.class);
+        incrementers = new AtomicReferenceArray<>(METRIC_NAMES_COUNT);
+        timers = new AtomicReferenceArray<>(METRIC_NAMES_COUNT);
+        histograms = new AtomicReferenceArray<>(METRIC_NAMES_COUNT);
 
+        // counters and meters are backed by striped LongAdder so updates from different threads don't contend
         switch (counterType) {
             case flushingCounter:
-                incrementer = (registry, metricName, value) ->
-                        registry.counter(metricName, ResettingCounter::new).inc(value);
+                incrementerCreator = metricName -> metricRegistry.counter(metricName, ResettingCounter::new)::inc;
                 break;
             case counter:
-                incrementer = (registry, metricName, value) -> registry.counter(metricName).inc(value);
+                incrementerCreator = metricName -> metricRegistry.counter(metricName)::inc;
                 break;
             case meter:
-                incrementer = (registry, metricName, value) -> registry.meter(metricName).mark(value);
+                incrementerCreator = metricName -> metricRegistry.meter(metricName)::mark;
+                break;
+            default:
+                // to satisfy compiler
+                throw new IllegalStateException("Should never happen");
+        }
+
+        switch (reservoirType) {
+            case exponentiallyDecaying:
+                // exponentially decaying reservoir (size=1028, alpha=0.015) is what registry creates by default
+                reservoirCreator = ExponentiallyDecayingReservoir::new;
+                break;
+            case hdrHistogram:
+                reservoirCreator = HdrHistogramReservoir::new;
                 break;
             default:
                 // to satisfy compiler
@@ -50,30 +77,47 @@ class UpdatableMetrics {
      * Increments metric's counter on a given value.
      */
     void incCounter(MetricName metricName, long value) {
-        incrementer.accept(metricRegistry, name(metricName), value);
+        LongConsumer incrementer = incrementers.get(metricName.ordinal());
+        if (incrementer == null) {
+            incrementer = incrementerCreator.apply(nameCreator.apply(metricName));
+            incrementers.set(metricName.ordinal(), incrementer);
+        }
+        incrementer.accept(value);
     }
 
     /**
      * Updates metric's timer with a given value.
      */
     void updateTimer(MetricName metricName, long millis) {
-        metricRegistry.timer(name(metricName)).update(millis, TimeUnit.MILLISECONDS);
+        Timer timer = timers.get(metricName.ordinal());
+        if (timer == null) {
+            timer = metricRegistry.timer(nameCreator.apply(metricName), () -> new Timer(reservoirCreator.get()));
+            timers.set(metricName.ordinal(), timer);
+        }
+        timer.update(millis, TimeUnit.MILLISECONDS);
     }
 
     /**
      * Updates metric's histogram with a given value.
      */
     void updateHistogram(MetricName metricName, long value) {
-        // by default histograms with exponentially decaying reservoir (size=1028, alpha=0.015) are created
-        metricRegistry.histogram(name(metricName)).update(value);
-    }
-
-    private String name(MetricName metricName) {
-        return metricNames.computeIfAbsent(metricName, key -> nameCreator.apply(metricName));
+        Histogram histogram = histograms.get(metricName.ordinal());
+        if (histogram == null) {
+            histogram = metricRegistry.histogram(nameCreator.apply(metricName),
+                    () -> new Histogram(reservoirCreator.get()));
+            histograms.set(metricName.ordinal(), histogram);
+        }
+        histogram.update(value);
     }
 
-    @FunctionalInterface
-    private interface MetricIncrementer {
-        void accept(MetricRegistry metricRegistry, String metricName, long value);
+    /**
+     * Returns nested metrics holder for the given key creating it if absent.
+     * <p>
+     * Unlike {@link ConcurrentMap#computeIfAbsent} in Java 8 it doesn't lock when holder already exists, which is
+     * the case for almost every call.
+     */
+    static <K, V> V getOrCreate(ConcurrentMap<K, V> holders, K key, Function<K, V> creator) {
+        final V holder = holders.get(key);
+        return holder != null ? holder : holders.computeIfAbsent(key, creator);
     }
 }
@@ -2,9 +2,9 @@ package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
 /**
@@ -13,30 +13,31 @@ import java.util.function.Function;
 class UserSyncMetrics extends UpdatableMetrics {
 
     private final Function<String, BidderUserSyncMetrics> bidderUserSyncMetricsCreator;
-    // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
-    // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
-    // thread-safe
-    private final Map<String, BidderUserSyncMetrics> bidderUserSyncMetrics;
+    private final ConcurrentMap<String, BidderUserSyncMetrics> bidderUserSyncMetrics;
 
-    UserSyncMetrics(MetricRegistry metricRegistry, CounterType counterType) {
+    UserSyncMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(reservoirType),
                 metricName -> String.format("usersync.%s", metricName.toString()));
-        bidderUserSyncMetricsCreator = bidder -> new BidderUserSyncMetrics(metricRegistry, counterType, bidder);
-        bidderUserSyncMetrics = new HashMap<>();
+        bidderUserSyncMetricsCreator = bidder ->
+                new BidderUserSyncMetrics(metricRegistry, counterType, reservoirType, bidder);
+        bidderUserSyncMetrics = new ConcurrentHashMap<>();
     }
 
     BidderUserSyncMetrics forBidder(String bidder) {
-        return bidderUserSyncMetrics.computeIfAbsent(bidder, bidderUserSyncMetricsCreator);
+        return getOrCreate(bidderUserSyncMetrics, bidder, bidderUserSyncMetricsCreator);
     }
 
     static class BidderUserSyncMetrics extends UpdatableMetrics {
 
         private final TcfMetrics tcfMetrics;
 
-        BidderUserSyncMetrics(MetricRegistry metricRegistry, CounterType counterType, String bidder) {
+        BidderUserSyncMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                              String bidder) {
             super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                    Objects.requireNonNull(reservoirType),
                     nameCreator(Objects.requireNonNull(createUserSyncPrefix(bidder))));
-            tcfMetrics = new TcfMetrics(metricRegistry, counterType, createUserSyncPrefix(bidder));
+            tcfMetrics = new TcfMetrics(metricRegistry, counterType, reservoirType, createUserSyncPrefix(bidder));
         }
 
         TcfMetrics tcf() {
@@ -0,0 +1,161 @@
+package org.prebid.server.metric.prometheus;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maps dotted Dropwizard metric names (like {@code adapter.<bidder>.requests.<status>}) to Prometheus metric family
+ * name and labels (like {@code adapter_requests{bidder="<bidder>",status="<status>"}}).
+ * <p>
+ * Names not matching any of known layouts are exported without labels, with illegal characters replaced
+ * by underscore. Mapping result is cached per metric name, so that name is parsed only once during application
+ * lifetime and subsequent scrapes just reuse prepared family name and rendered labels.
+ */
+public class PrometheusNameMapper {
+
+    private static final Pattern ILLEGAL_NAME_CHARS = Pattern.compile("[^a-zA-Z0-9_:]");
+
+    private static final List<Rule> RULES = Arrays.asList(
+            Rule.of("requests\\.([^.]+)\\.([^.]+)", "requests",
+                    Label.of("status", 1), Label.of("request_type", 2)),
+            Rule.of("stages\\.([^.]+)\\.([^.]+)", "stages",
+                    Label.of("request_type", 1), Label.of("stage", 2)),
+            Rule.of("adapter\\.([^.]+)\\.requests\\.type\\.([^.]+)", "adapter_requests_type",
+                    Label.of("bidder", 1), Label.of("request_type", 2)),
+            Rule.of("adapter\\.([^.]+)\\.requests\\.([^.]+)", "adapter_requests",
+                    Label.of("bidder", 1), Label.of("status", 2)),
+            Rule.of("adapter\\.([^.]+)\\.(banner|video|audio|native|xNative)\\.([^.]+)", "adapter_$3",
+                    Label.of("bidder", 1), Label.of("bid_type", 2)),
+            Rule.of("adapter\\.([^.]+)\\.([^.]+)\\.tcf\\.(v1|v2)\\.([^.]+)", "adapter_tcf_$4",
+                    Label.of("bidder", 1), Label.of("request_type", 2), Label.of("tcf_version", 3)),
+            Rule.of("adapter\\.([^.]+)\\.([^.]+)\\.tcf\\.([^.]+)", "adapter_tcf_$3",
+                    Label.of("bidder", 1), Label.of("request_type", 2)),
+            Rule.of("adapter\\.([^.]+)\\.([^.]+)", "adapter_$2",
+                    Label.of("bidder", 1)),
+            Rule.of("account\\.([^.]+)\\.([^.]+)\\.tcf\\.(v1|v2)\\.([^.]+)", "account_tcf_$4",
+                    Label.of("account", 1), Label.of("request_type", 2), Label.of("tcf_version", 3)),
+            Rule.of("account\\.([^.]+)\\.([^.]+)\\.tcf\\.([^.]+)", "account_tcf_$3",
+                    Label.of("account", 1), Label.of("request_type", 2)),
+            Rule.of("account\\.([^.]+)\\.requests", "account_requests",
+                    Label.of("account", 1)),
+            Rule.of("account\\.([^.]+)\\.requests\\.type\\.([^.]+)", "account_requests_type",
+                    Label.of("account", 1), Label.of("request_type", 2)),
+            Rule.of("account\\.([^.]+)\\.requests\\.([^.]+)", "account_requests_$2",
+                    Label.of("account", 1)),
+            Rule.of("account\\.([^.]+)\\.([^.]+)\\.requests\\.([^.]+)", "account_adapter_requests",
+                    Label.of("account", 1), Label.of("bidder", 2), Label.of("status", 3)),
+            Rule.of("account\\.([^.]+)\\.([^.]+)\\.([^.]+)", "account_adapter_$3",
+                    Label.of("account", 1), Label.of("bidder", 2)),
+            Rule.of("cookie_sync\\.([^.]+)\\.tcf\\.(v1|v2)\\.([^.]+)", "cookie_sync_tcf_$3",
+                    Label.of("bidder", 1), Label.of("tcf_version", 2)),
+            Rule.of("cookie_sync\\.([^.]+)\\.tcf\\.([^.]+)", "cookie_sync_tcf_$2",
+                    Label.of("bidder", 1)),
+            Rule.of("cookie_sync\\.([^.]+)\\.([^.]+)", "cookie_sync_$2",
+                    Label.of("bidder", 1)),
+            Rule.of("usersync\\.([^.]+)\\.tcf\\.(v1|v2)\\.([^.]+)", "usersync_tcf_$3",
+                    Label.of("bidder", 1), Label.of("tcf_version", 2)),
+            Rule.of("usersync\\.([^.]+)\\.tcf\\.([^.]+)", "usersync_tcf_$2",
+                    Label.of("bidder", 1)),
+            Rule.of("usersync\\.([^.]+)\\.([^.]+)", "usersync_$2",
+                    Label.of("bidder", 1)));
+
+    private final ConcurrentMap<String, LabeledName> labeledNames = new ConcurrentHashMap<>();
+
+    /**
+     * Returns Prometheus family name and rendered labels for the given Dropwizard metric name.
+     */
+    public LabeledName map(String metricName) {
+        final LabeledName labeledName = labeledNames.get(metricName);
+        return labeledName != null ? labeledName : labeledNames.computeIfAbsent(metricName, this::createLabeledName);
+    }
+
+    private LabeledName createLabeledName(String metricName) {
+        for (Rule rule : RULES) {
+            final Matcher matcher = rule.pattern.matcher(metricName);
+            if (matcher.matches()) {
+                final StringBuilder labels = new StringBuilder();
+                for (Label label : rule.labels) {
+                    if (labels.length() > 0) {
+                        labels.append(',');
+                    }
+                    labels.append(label.name).append("=\"");
+                    appendEscapedLabelValue(labels, matcher.group(label.group));
+                    labels.append('"');
+                }
+                return LabeledName.of(sanitizeName(matcher.replaceFirst(rule.familyName)), labels.toString());
+            }
+        }
+        return LabeledName.of(sanitizeName(metricName), "");
+    }
+
+    private static String sanitizeName(String name) {
+        final String sanitized = ILLEGAL_NAME_CHARS.matcher(name).replaceAll("_");
+        return !sanitized.isEmpty() && Character.isDigit(sanitized.charAt(0)) ? "_" + sanitized : sanitized;
+    }
+
+    private static void appendEscapedLabelValue(StringBuilder builder, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                default:
+                    builder.append(c);
+            }
+        }
+    }
+
+    /**
+     * Prometheus family name with labels rendered as {@code name1="value1",name2="value2"}
+     * (without curly braces, so that extra labels like quantile can be appended).
+     */
+    @AllArgsConstructor(staticName = "of")
+    @Value
+    public static class LabeledName {
+
+        String familyName;
+
+        String labels;
+    }
+
+    private static class Rule {
+
+        private final Pattern pattern;
+
+        private final String familyName;
+
+        private final Label[] labels;
+
+        private Rule(Pattern pattern, String familyName, Label[] labels) {
+            this.pattern = pattern;
+            this.familyName = familyName;
+            this.labels = labels;
+        }
+
+        static Rule of(String regex, String familyName, Label... labels) {
+            return new Rule(Pattern.compile(regex), familyName, labels);
+        }
+    }
+
+    @AllArgsConstructor(staticName = "of")
+    private static class Label {
+
+        private final String name;
+
+        private final int group;
+    }
+}
@@ -0,0 +1,173 @@
+package org.prebid.server.metric.prometheus;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Sampling;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.prebid.server.metric.prometheus.PrometheusNameMapper.LabeledName;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes content of {@link MetricRegistry} in Prometheus text exposition format (version 0.0.4) with labels
+ * resolved by {@link PrometheusNameMapper}.
+ * <p>
+ * Counters and gauges are exported as gauges (flushing counters can go down), meters as counters with
+ * {@code _total} suffix, histograms and timers as summaries (timer values are in seconds).
+ * <p>
+ * Dropwizard reservoirs don't keep sum of recorded values, so summaries are written without {@code _sum} sample.
+ * <p>
+ * Metrics of different types mapped to the same family cannot be exposed together, so only samples of the type of
+ * the first metric in the family are written and the conflict is logged once per metric.
+ */
+public class PrometheusTextWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrometheusTextWriter.class);
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = {0.5, 0.75, 0.95, 0.98, 0.99, 0.999};
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.75", "0.95", "0.98", "0.99", "0.999"};
+    private static final double SECONDS_IN_NANO = 1.0 / TimeUnit.SECONDS.toNanos(1);
+
+    private final MetricRegistry metricRegistry;
+    private final PrometheusNameMapper nameMapper;
+
+    private final Set<String> reportedConflicts = ConcurrentHashMap.newKeySet();
+
+    public PrometheusTextWriter(MetricRegistry metricRegistry, PrometheusNameMapper nameMapper) {
+        this.metricRegistry = Objects.requireNonNull(metricRegistry);
+        this.nameMapper = Objects.requireNonNull(nameMapper);
+    }
+
+    /**
+     * Returns text representation of all metrics in registry.
+     */
+    public String write() {
+        // samples of the same family have to be written together, right after its TYPE line
+        final Map<String, List<Sample>> families = new HashMap<>();
+        for (Map.Entry<String, Metric> entry : metricRegistry.getMetrics().entrySet()) {
+            final LabeledName labeledName = nameMapper.map(entry.getKey());
+            final Metric metric = entry.getValue();
+            final String familyName = metric instanceof Meter
+                    ? labeledName.getFamilyName() + "_total"
+                    : labeledName.getFamilyName();
+
+            families.computeIfAbsent(familyName, ignored -> new ArrayList<>())
+                    .add(new Sample(entry.getKey(), labeledName.getLabels(), metric));
+        }
+
+        final StringBuilder output = new StringBuilder(families.size() * 128);
+        for (Map.Entry<String, List<Sample>> family : families.entrySet()) {
+            writeFamily(output, family.getKey(), family.getValue());
+        }
+        return output.toString();
+    }
+
+    private void writeFamily(StringBuilder output, String familyName, List<Sample> samples) {
+        final String type = typeOf(samples.get(0).metric);
+        output.append("# TYPE ").append(familyName).append(' ').append(type).append('\n');
+
+        for (Sample sample : samples) {
+            final Metric metric = sample.metric;
+            if (!typeOf(metric).equals(type)) {
+                reportConflict(familyName, type, sample);
+                continue;
+            }
+
+            if (metric instanceof Counter) {
+                writeSample(output, familyName, sample.labels, ((Counter) metric).getCount());
+            } else if (metric instanceof Meter) {
+                writeSample(output, familyName, sample.labels, ((Meter) metric).getCount());
+            } else if (metric instanceof Gauge) {
+                final Object value = ((Gauge<?>) metric).getValue();
+                if (value instanceof Number) {
+                    writeSample(output, familyName, sample.labels, ((Number) value).doubleValue());
+                } else if (value instanceof Boolean) {
+                    writeSample(output, familyName, sample.labels, (Boolean) value ? 1 : 0);
+                }
+            } else if (metric instanceof Timer) {
+                writeSummary(output, familyName, sample.labels, (Timer) metric, ((Timer) metric).getCount(),
+                        SECONDS_IN_NANO);
+            } else if (metric instanceof Histogram) {
+                writeSummary(output, familyName, sample.labels, (Histogram) metric,
+                        ((Histogram) metric).getCount(), 1.0);
+            }
+        }
+    }
+
+    private void reportConflict(String familyName, String type, Sample sample) {
+        if (reportedConflicts.add(sample.name)) {
+            logger.warn("Metric {0} is not exposed to Prometheus: its family {1} already has type {2}", sample.name,
+                    familyName, type);
+        }
+    }
+
+    private static String typeOf(Metric metric) {
+        if (metric instanceof Meter) {
+            return "counter";
+        } else if (metric instanceof Timer || metric instanceof Histogram) {
+            return "summary";
+        }
+        return "gauge";
+    }
+
+    private static void writeSummary(StringBuilder output, String familyName, String labels, Sampling sampling,
+                                     long count, double factor) {
+        final Snapshot snapshot = sampling.getSnapshot();
+        for (int i = 0; i < QUANTILES.length; i++) {
+            output.append(familyName).append('{');
+            if (!labels.isEmpty()) {
+                output.append(labels).append(',');
+            }
+            output.append("quantile=\"").append(QUANTILE_LABELS[i]).append("\"} ")
+                    .append(snapshot.getValue(QUANTILES[i]) * factor).append('\n');
+        }
+        writeSample(output, familyName + "_count", labels, count);
+    }
+
+    private static void writeSample(StringBuilder output, String name, String labels, long value) {
+        appendName(output, name, labels).append(value).append('\n');
+    }
+
+    private static void writeSample(StringBuilder output, String name, String labels, double value) {
+        appendName(output, name, labels).append(value).append('\n');
+    }
+
+    private static StringBuilder appendName(StringBuilder output, String name, String labels) {
+        output.append(name);
+        if (!labels.isEmpty()) {
+            output.append('{').append(labels).append('}');
+        }
+        return output.append(' ');
+    }
+
+    private static class Sample {
+
+        private final String name;
+
+        private final String labels;
+
+        private final Metric metric;
+
+        Sample(String name, String labels, Metric metric) {
+            this.name = name;
+            this.labels = labels;
+            this.metric = metric;
+        }
+    }
+}
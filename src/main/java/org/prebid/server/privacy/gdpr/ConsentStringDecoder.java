@@ -0,0 +1,132 @@
+package org.prebid.server.privacy.gdpr;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.iab.gdpr.consent.VendorConsent;
+import com.iab.gdpr.consent.VendorConsentDecoder;
+import com.iabtcf.decoder.TCString;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.metric.Metrics;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Decodes TCF consent strings keeping recently decoded ones in bounded caches, since most of the traffic carries
+ * just a few distinct consent strings.
+ * <p>
+ * Decoding errors are not cached and are thrown to the caller on every call.
+ */
+public class ConsentStringDecoder {
+
+    private final Map<String, TCString> tcStringCache;
+    private final Map<String, VendorConsent> vendorConsentCache;
+    private final Metrics metrics;
+
+    public ConsentStringDecoder(int cacheSize, Metrics metrics) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+
+        this.tcStringCache = createCache(cacheSize);
+        this.vendorConsentCache = createCache(cacheSize);
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    private static <T> Map<String, T> createCache(int size) {
+        return Caffeine.newBuilder()
+                .maximumSize(size)
+                .<String, T>build()
+                .asMap();
+    }
+
+    /**
+     * Decodes consent string of any TCF version to {@link TCString}.
+     */
+    public TCString decodeTcString(String consentString) {
+        return decode(consentString, tcStringCache, TCString::decode, ConsentStringDecoder::prepareForSharing);
+    }
+
+    /**
+     * Decodes TCF v1.1 consent string to {@link VendorConsent}.
+     */
+    public VendorConsent decodeVendorConsent(String consentString) {
+        // vendor consent reads its fields from underlying bytes on every access and has no mutable state
+        return decode(consentString, vendorConsentCache, VendorConsentDecoder::fromBase64String, ignored -> true);
+    }
+
+    private <T> T decode(String consentString, Map<String, T> cache, Function<String, T> decoder,
+                         Predicate<T> shareablePreparer) {
+        if (StringUtils.isEmpty(consentString)) {
+            return decoder.apply(consentString);
+        }
+
+        final T cached = cache.get(consentString);
+        metrics.updatePrivacyTcfDecodeCacheMetric(cached != null);
+        if (cached != null) {
+            return cached;
+        }
+
+        final T decoded = decoder.apply(consentString);
+        if (decoded == null) {
+            return null;
+        }
+        if (!shareablePreparer.test(decoded)) {
+            // failed preparation may leave decoded value in inconsistent state
+            return decoder.apply(consentString);
+        }
+
+        cache.put(consentString, decoded);
+        return decoded;
+    }
+
+    /**
+     * Makes {@link TCString} safe to be used by different threads concurrently and returns true if succeeded.
+     * <p>
+     * TCF v2 string decodes its fields lazily on first access without any synchronization, so all of them are
+     * decoded here before string is published to the cache. Strings failing to decode some field are not cached
+     * and decoded anew to keep their behavior unchanged.
+     */
+    private static boolean prepareForSharing(TCString tcString) {
+        if (tcString.getVersion() != 2) {
+            // earlier versions decode fields on every access and have no mutable state
+            return true;
+        }
+
+        try {
+            decodeAllFields(tcString);
+        } catch (RuntimeException e) {
+            return false;
+        }
+        return true;
+    }
+
+    private static void decodeAllFields(TCString tcString) {
+        tcString.getCreated();
+        tcString.getLastUpdated();
+        tcString.getCmpId();
+        tcString.getCmpVersion();
+        tcString.getConsentScreen();
+        tcString.getConsentLanguage();
+        tcString.getVendorListVersion();
+        tcString.getPurposesConsent();
+        tcString.getVendorConsent();
+        tcString.getDefaultVendorConsent();
+        tcString.getTcfPolicyVersion();
+        tcString.isServiceSpecific();
+        tcString.getUseNonStandardStacks();
+        tcString.getSpecialFeatureOptIns();
+        tcString.getPurposesLITransparency();
+        tcString.getPurposeOneTreatment();
+        tcString.getPublisherCC();
+        tcString.getVendorLegitimateInterest();
+        tcString.getPublisherRestrictions();
+        tcString.getAllowedVendors();
+        tcString.getDisclosedVendors();
+        tcString.getPubPurposesConsent();
+        tcString.getPubPurposesLITransparency();
+        tcString.getCustomPurposesConsent();
+        tcString.getCustomPurposesLITransparency();
+    }
+}
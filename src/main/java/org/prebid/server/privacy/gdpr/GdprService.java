@@ -1,7 +1,6 @@
 package org.prebid.server.privacy.gdpr;
 
 import com.iab.gdpr.consent.VendorConsent;
-import com.iab.gdpr.consent.VendorConsentDecoder;
 import com.iab.gdpr.exception.VendorConsentParseException;
 import io.vertx.core.Future;
 import io.vertx.core.logging.Logger;
@@ -31,9 +30,12 @@ public class GdprService {
     private static final int PURPOSE_ONE_ID = 1;
 
     private final VendorListService<VendorListV1, VendorV1> vendorListService;
+    private final ConsentStringDecoder consentStringDecoder;
 
-    public GdprService(VendorListService<VendorListV1, VendorV1> vendorListService) {
+    public GdprService(VendorListService<VendorListV1, VendorV1> vendorListService,
+                       ConsentStringDecoder consentStringDecoder) {
         this.vendorListService = Objects.requireNonNull(vendorListService);
+        this.consentStringDecoder = Objects.requireNonNull(consentStringDecoder);
     }
 
     /**
@@ -70,7 +72,7 @@ public class GdprService {
             return null;
         }
         try {
-            return VendorConsentDecoder.fromBase64String(vendorConsentString);
+            return consentStringDecoder.decodeVendorConsent(vendorConsentString);
         } catch (IllegalArgumentException | IllegalStateException e) {
             logger.warn("Parsing consent string failed with error: {0}", e.getMessage());
             return null;
@@ -1,7 +1,9 @@
 package org.prebid.server.privacy.gdpr;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iabtcf.decoder.TCString;
 import io.vertx.core.Future;
+import lombok.Value;
 import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
@@ -36,6 +38,15 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Resolves TCF v2 enforcement actions of vendors for the given consent.
+ * <p>
+ * Resolved permissions are memoized per decoded consent, account GDPR config and requested vendors, since the same
+ * consent string usually comes with the same set of bidders of the same account. Consent is compared by identity,
+ * which works in conjunction with {@link ConsentStringDecoder} returning the same instance for the popular consent
+ * strings. Permissions resolved without vendor list (downgraded) are not memoized, since vendor list is going to
+ * be fetched for the subsequent requests.
+ */
 public class Tcf2Service {
 
     private final Purposes defaultPurposes;
@@ -44,9 +55,13 @@ public class Tcf2Service {
     private final List<PurposeStrategy> supportedPurposeStrategies;
     private final List<SpecialFeaturesStrategy> supportedSpecialFeatureStrategies;
     private final BidderCatalog bidderCatalog;
+    private final Map<PermissionsKey, Collection<VendorPermission>> permissionsCache;
     private PurposeOneTreatmentInterpretation purposeOneTreatmentInterpretation;
 
-    public Tcf2Service(GdprConfig gdprConfig, VendorListServiceV2 vendorListServiceV2, BidderCatalog bidderCatalog) {
+    public Tcf2Service(GdprConfig gdprConfig,
+                       VendorListServiceV2 vendorListServiceV2,
+                       BidderCatalog bidderCatalog,
+                       int permissionsCacheSize) {
 
         this.defaultPurposes = gdprConfig.getPurposes() == null ? Purposes.builder().build() : gdprConfig.getPurposes();
         this.defaultSpecialFeatures = gdprConfig.getSpecialFeatures() == null
@@ -57,6 +72,12 @@ public class Tcf2Service {
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
         this.supportedPurposeStrategies = supportedPurposeStrategies();
         this.supportedSpecialFeatureStrategies = supportedSpecialFeatureStrategies();
+        this.permissionsCache = permissionsCacheSize > 0
+                ? Caffeine.newBuilder()
+                .maximumSize(permissionsCacheSize)
+                .<PermissionsKey, Collection<VendorPermission>>build()
+                .asMap()
+                : null;
     }
 
     private static List<PurposeStrategy> supportedPurposeStrategies() {
@@ -126,17 +147,56 @@ public class Tcf2Service {
         final PurposeOneTreatmentInterpretation mergedPurposeOneTreatmentInterpretation =
                 mergePurposeOneTreatmentInterpretation(accountGdprConfig);
 
+        final PermissionsKey permissionsKey = permissionsCache != null
+                ? PermissionsKey.of(tcfConsent, mergedPurposes, mergedSpecialFeatures,
+                mergedPurposeOneTreatmentInterpretation, vendorsOf(vendorPermissions))
+                : null;
+        final Collection<VendorPermission> cachedPermissions = permissionsKey != null
+                ? permissionsCache.get(permissionsKey)
+                : null;
+        if (cachedPermissions != null) {
+            return Future.succeededFuture(copyOf(cachedPermissions));
+        }
+
         return vendorListServiceV2.forVersion(tcfConsent.getVendorListVersion())
                 .map(vendorGvlPermissions -> wrapWithGVL(vendorPermissions, vendorGvlPermissions))
 
                 .compose(gvlResult -> processSupportedPurposeStrategies(tcfConsent, gvlResult, mergedPurposes,
-                        purposeOneTreatmentInterpretation),
+                        purposeOneTreatmentInterpretation)
+                                .map(changedVendorPermissions -> processSupportedSpecialFeatureStrategies(
+                                        tcfConsent, changedVendorPermissions, mergedSpecialFeatures))
+                                .map(resolvedPermissions -> cachePermissions(permissionsKey, resolvedPermissions)),
                         ignoredFailed -> processDowngradedSupportedPurposeStrategies(tcfConsent, vendorPermissions,
-                                mergedPurposes, mergedPurposeOneTreatmentInterpretation))
+                                mergedPurposes, mergedPurposeOneTreatmentInterpretation)
+                                .map(changedVendorPermissions -> processSupportedSpecialFeatureStrategies(
+                                        tcfConsent, changedVendorPermissions, mergedSpecialFeatures)));
+    }
+
+    private static List<PermissionsKey.Vendor> vendorsOf(Collection<VendorPermission> vendorPermissions) {
+        return vendorPermissions.stream()
+                .map(vendorPermission -> PermissionsKey.Vendor.of(
+                        vendorPermission.getVendorId(), vendorPermission.getBidderName()))
+                .collect(Collectors.toList());
+    }
 
-                .map(changedVendorPermissions -> processSupportedSpecialFeatureStrategies(tcfConsent,
-                        changedVendorPermissions, mergedSpecialFeatures));
+    private Collection<VendorPermission> cachePermissions(PermissionsKey permissionsKey,
+                                                          Collection<VendorPermission> vendorPermissions) {
+        if (permissionsKey != null) {
+            permissionsCache.put(permissionsKey, copyOf(vendorPermissions));
+        }
+        return vendorPermissions;
+    }
 
+    /**
+     * Copies permissions along with their enforcement actions, which are mutable and must not be shared between
+     * cache and callers.
+     */
+    private static Collection<VendorPermission> copyOf(Collection<VendorPermission> vendorPermissions) {
+        return vendorPermissions.stream()
+                .map(vendorPermission -> VendorPermission.of(vendorPermission.getVendorId(),
+                        vendorPermission.getBidderName(),
+                        vendorPermission.getPrivacyEnforcementAction().toBuilder().build()))
+                .collect(Collectors.toList());
     }
 
     private static Collection<VendorPermissionWithGvl> wrapWithGVL(Collection<VendorPermission> vendorPermissions,
@@ -334,4 +394,27 @@ public class Tcf2Service {
     private static <T> T mergeItem(T prioritisedItem, T item) {
         return prioritisedItem == null ? item : prioritisedItem;
     }
+
+    @Value(staticConstructor = "of")
+    private static class PermissionsKey {
+
+        // compared by identity, since decoded consent doesn't override equals
+        TCString tcString;
+
+        Purposes purposes;
+
+        SpecialFeatures specialFeatures;
+
+        PurposeOneTreatmentInterpretation purposeOneTreatmentInterpretation;
+
+        List<Vendor> vendors;
+
+        @Value(staticConstructor = "of")
+        private static class Vendor {
+
+            Integer vendorId;
+
+            String bidderName;
+        }
+    }
 }
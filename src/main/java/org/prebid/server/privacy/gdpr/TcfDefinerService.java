@@ -38,6 +38,7 @@ public class TcfDefinerService {
     private final String gdprDefaultValue;
     private final GdprService gdprService;
     private final Tcf2Service tcf2Service;
+    private final ConsentStringDecoder consentStringDecoder;
     private final Set<String> eeaCountries;
     private final GeoLocationService geoLocationService;
     private final BidderCatalog bidderCatalog;
@@ -47,6 +48,7 @@ public class TcfDefinerService {
                              Set<String> eeaCountries,
                              GdprService gdprService,
                              Tcf2Service tcf2Service,
+                             ConsentStringDecoder consentStringDecoder,
                              GeoLocationService geoLocationService,
                              BidderCatalog bidderCatalog,
                              Metrics metrics) {
@@ -55,6 +57,7 @@ public class TcfDefinerService {
         this.gdprDefaultValue = gdprConfig != null ? gdprConfig.getDefaultValue() : null;
         this.gdprService = Objects.requireNonNull(gdprService);
         this.tcf2Service = Objects.requireNonNull(tcf2Service);
+        this.consentStringDecoder = Objects.requireNonNull(consentStringDecoder);
         this.eeaCountries = Objects.requireNonNull(eeaCountries);
         this.geoLocationService = geoLocationService;
         this.bidderCatalog = bidderCatalog;
@@ -308,7 +311,7 @@ public class TcfDefinerService {
 
     private TCString decodeTcString(GdprInfoWithCountry<String> gdprInfo) {
         try {
-            return TCString.decode(gdprInfo.getConsent());
+            return consentStringDecoder.decodeTcString(gdprInfo.getConsent());
         } catch (Throwable e) {
             logger.warn("Parsing consent string failed with error: {0}", e.getMessage());
             return null;
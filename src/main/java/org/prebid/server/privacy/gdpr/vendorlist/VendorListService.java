@@ -1,8 +1,11 @@
 package org.prebid.server.privacy.gdpr.vendorlist;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.file.FileProps;
 import io.vertx.core.file.FileSystem;
@@ -21,11 +24,16 @@ import org.prebid.server.vertx.http.model.HttpClientResponse;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -36,9 +44,10 @@ import java.util.stream.Collectors;
  * - file system (persistent cache);
  * - remote web resource (original source);
  * <p>
- * So, on service creation we initialize in-memory cache from previously loaded vendor list on file system.
- * If request asks version that is absent in cache, we respond with failed result but start background process
- * to download new version and then put it to cache.
+ * So, on service creation we initialize in-memory cache with the latest of previously loaded vendor lists on file
+ * system, other versions found there are loaded to in-memory cache on first use. If request asks version that is
+ * absent both in cache and on file system, we respond with failed result but start background process to download
+ * new version and then put it to cache.
  */
 public abstract class VendorListService<T, V> {
 
@@ -52,6 +61,15 @@ public abstract class VendorListService<T, V> {
      * map of vendor list version -> map of vendor ID -> Vendors
      */
     protected final Map<Integer, Map<Integer, V>> cache;
+    /**
+     * Map of vendor list version -> path to file with its content
+     */
+    private final Map<Integer, String> versionToFilepath;
+    /**
+     * Map of vendor list version -> callers waiting for it to be loaded from file, so that concurrent requests
+     * for the same version read and parse the file only once
+     */
+    private final Map<Integer, List<PendingLoad<V>>> pendingLoads = new ConcurrentHashMap<>();
     private final FileSystem fileSystem;
     private final HttpClient httpClient;
     private final String endpointTemplate;
@@ -79,7 +97,8 @@ public abstract class VendorListService<T, V> {
         createAndCheckWritePermissionsFor(fileSystem, cacheDir);
 
         this.knownVendorIds = knownVendorIds(gdprHostVendorId, bidderCatalog);
-        this.cache = Objects.requireNonNull(createCache(fileSystem, cacheDir));
+        this.versionToFilepath = new ConcurrentHashMap<>(readFileSystemCache(fileSystem, cacheDir));
+        this.cache = Objects.requireNonNull(createCache());
     }
 
     /**
@@ -125,34 +144,35 @@ public abstract class VendorListService<T, V> {
     }
 
     /**
-     * Creates the cache from previously downloaded vendor lists.
+     * Creates the cache with the latest of previously downloaded vendor lists, since it is the one most of the
+     * consent strings refer to.
      */
-    private Map<Integer, Map<Integer, V>> createCache(FileSystem fileSystem, String cacheDir) {
-        final Map<String, String> versionToFileContent = readFileSystemCache(fileSystem, cacheDir);
-
+    private Map<Integer, Map<Integer, V>> createCache() {
         final Map<Integer, Map<Integer, V>> cache = Caffeine.newBuilder()
                 .expireAfterWrite(EXPIRE_DAY_CACHE_DURATION, TimeUnit.DAYS)
                 .<Integer, Map<Integer, V>>build()
                 .asMap();
 
-        for (Map.Entry<String, String> versionAndFileContent : versionToFileContent.entrySet()) {
-            final T vendorList = toVendorList(versionAndFileContent.getValue());
-            final Map<Integer, V> vendorIdToVendors = filterVendorIdToVendors(vendorList);
+        versionToFilepath.keySet().stream().max(Integer::compare).ifPresent(latestVersion -> cache.put(latestVersion,
+                toVendorIdToVendors(fileSystem.readFileBlocking(versionToFilepath.get(latestVersion)))));
 
-            cache.put(Integer.valueOf(versionAndFileContent.getKey()), vendorIdToVendors);
-        }
         return cache;
     }
 
     /**
-     * Reads files with .json extension in configured directory and
-     * returns a {@link Map} where key is a file name without .json extension and value is file content.
+     * Reads names of files with .json extension in configured directory and
+     * returns a {@link Map} where key is a file name without .json extension and value is file path.
      */
-    protected Map<String, String> readFileSystemCache(FileSystem fileSystem, String dir) {
+    protected Map<Integer, String> readFileSystemCache(FileSystem fileSystem, String dir) {
         return fileSystem.readDirBlocking(dir).stream()
                 .filter(filepath -> filepath.endsWith(JSON_SUFFIX))
-                .collect(Collectors.toMap(filepath -> StringUtils.removeEnd(new File(filepath).getName(), JSON_SUFFIX),
-                        filename -> fileSystem.readFileBlocking(filename).toString()));
+                .collect(Collectors.toMap(
+                        filepath -> Integer.valueOf(StringUtils.removeEnd(new File(filepath).getName(), JSON_SUFFIX)),
+                        Function.identity()));
+    }
+
+    private Map<Integer, V> toVendorIdToVendors(Buffer content) {
+        return filterVendorIdToVendors(toVendorList(content.toString()));
     }
 
     /**
@@ -162,13 +182,85 @@ public abstract class VendorListService<T, V> {
         final Map<Integer, V> idToVendor = cache.get(version);
         if (idToVendor != null) {
             return Future.succeededFuture(idToVendor);
-        } else {
-            logger.info("Vendor list for version {0} not found, started downloading.", version);
-            fetchNewVendorListFor(version);
+        }
 
-            return Future.failedFuture(
-                    String.format("Vendor list for version %d not fetched yet, try again later.", version));
+        final String filepath = versionToFilepath.get(version);
+        if (filepath != null) {
+            return loadFromFile(filepath, version);
         }
+
+        logger.info("Vendor list for version {0} not found, started downloading.", version);
+        fetchNewVendorListFor(version);
+
+        return Future.failedFuture(
+                String.format("Vendor list for version %d not fetched yet, try again later.", version));
+    }
+
+    /**
+     * Loads previously downloaded vendor list to in-memory cache. If file cannot be read or parsed, vendor list is
+     * going to be downloaded again.
+     * <p>
+     * Callers asking for the same version while it is being loaded wait for the same load. Pending load is forgotten
+     * once completed, so failed load is not reused.
+     */
+    private Future<Map<Integer, V>> loadFromFile(String filepath, int version) {
+        final PendingLoad<V> pendingLoad = new PendingLoad<>(Vertx.currentContext());
+        final AtomicBoolean loadStarted = new AtomicBoolean();
+        pendingLoads.compute(version, (ignored, waiting) -> {
+            final List<PendingLoad<V>> result = waiting != null ? waiting : new ArrayList<>();
+            loadStarted.set(waiting == null);
+            result.add(pendingLoad);
+            return result;
+        });
+
+        if (loadStarted.get()) {
+            readFromFile(filepath, version).setHandler(result -> completePendingLoads(version, result));
+        }
+
+        return pendingLoad.promise.future();
+    }
+
+    private Future<Map<Integer, V>> readFromFile(String filepath, int version) {
+        final Promise<Buffer> promise = Promise.promise();
+        fileSystem.readFile(filepath, promise);
+
+        return promise.future()
+                .map(this::toVendorIdToVendors)
+                .map(idToVendor -> {
+                    cache.put(version, idToVendor);
+                    return idToVendor;
+                })
+                .recover(exception -> failLoadingFromFile(exception, filepath, version));
+    }
+
+    /**
+     * Completes waiting callers on the contexts they asked from, since load is completed on the context
+     * of the first one.
+     */
+    private void completePendingLoads(int version, AsyncResult<Map<Integer, V>> result) {
+        final List<PendingLoad<V>> waiting = pendingLoads.remove(version);
+        if (waiting == null) {
+            return;
+        }
+
+        for (PendingLoad<V> pendingLoad : waiting) {
+            final Context context = pendingLoad.context;
+            if (context == null || context == Vertx.currentContext()) {
+                pendingLoad.promise.handle(result);
+            } else {
+                context.runOnContext(ignored -> pendingLoad.promise.handle(result));
+            }
+        }
+    }
+
+    private Future<Map<Integer, V>> failLoadingFromFile(Throwable exception, String filepath, int version) {
+        logger.warn("Could not load vendor list for version {0} from file: {1}, started downloading.", exception,
+                version, filepath);
+        versionToFilepath.remove(version);
+        fetchNewVendorListFor(version);
+
+        return Future.failedFuture(
+                String.format("Vendor list for version %d not fetched yet, try again later.", version));
     }
 
     /**
@@ -210,23 +302,26 @@ public abstract class VendorListService<T, V> {
         final T vendorList = vendorListResult.getVendorList();
 
         saveToFile(vendorListResult.getVendorListAsString(), version)
-                // add new entry to in-memory cache
-                .map(ignored -> cache.put(version, filterVendorIdToVendors(vendorList)));
+                // add new entry to in-memory cache, file is used to load it again after cache entry expires
+                .map(filepath -> {
+                    versionToFilepath.put(version, filepath);
+                    return cache.put(version, filterVendorIdToVendors(vendorList));
+                });
 
         return Future.succeededFuture();
     }
 
     /**
-     * Saves on file system given content as vendor list of specified version.
+     * Saves on file system given content as vendor list of specified version and returns path to the file.
      */
-    private Future<Void> saveToFile(String content, int version) {
-        final Promise<Void> promise = Promise.promise();
+    private Future<String> saveToFile(String content, int version) {
+        final Promise<String> promise = Promise.promise();
         final String filepath = new File(cacheDir, version + JSON_SUFFIX).getPath();
 
         fileSystem.writeFile(filepath, Buffer.buffer(content), result -> {
             if (result.succeeded()) {
                 logger.info("Created new vendor list for version {0}, file: {1}", version, filepath);
-                promise.complete();
+                promise.complete(filepath);
             } else {
                 logger.warn("Could not create new vendor list for version {0}, file: {1}", result.cause(), version,
                         filepath);
@@ -247,6 +342,17 @@ public abstract class VendorListService<T, V> {
         return Future.failedFuture(exception);
     }
 
+    private static class PendingLoad<V> {
+
+        private final Context context;
+
+        private final Promise<Map<Integer, V>> promise = Promise.promise();
+
+        PendingLoad(Context context) {
+            this.context = context;
+        }
+    }
+
     @AllArgsConstructor(staticName = "of")
     @Value
     private static class VendorListResult<T> {
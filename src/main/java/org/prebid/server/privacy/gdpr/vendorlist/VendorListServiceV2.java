@@ -13,7 +13,10 @@ import org.prebid.server.vertx.http.HttpClient;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class VendorListServiceV2 extends VendorListService<VendorListV2, VendorV2> {
@@ -43,9 +46,32 @@ public class VendorListServiceV2 extends VendorListService<VendorListV2, VendorV
         }
     }
 
+    /**
+     * Returns vendors with equal purpose and feature sets replaced by the same instance, since vendors mostly
+     * declare just a few distinct combinations of them.
+     */
     protected Map<Integer, VendorV2> filterVendorIdToVendors(VendorListV2 vendorList) {
+        final Map<Set<Integer>, Set<Integer>> distinctSets = new HashMap<>();
         return vendorList.getVendors().entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> compact(entry.getValue(), distinctSets)));
+    }
+
+    private static VendorV2 compact(VendorV2 vendor, Map<Set<Integer>, Set<Integer>> distinctSets) {
+        return vendor != null
+                ? VendorV2.builder()
+                .id(vendor.getId())
+                .purposes(distinct(vendor.getPurposes(), distinctSets))
+                .legIntPurposes(distinct(vendor.getLegIntPurposes(), distinctSets))
+                .flexiblePurposes(distinct(vendor.getFlexiblePurposes(), distinctSets))
+                .specialPurposes(distinct(vendor.getSpecialPurposes(), distinctSets))
+                .features(distinct(vendor.getFeatures(), distinctSets))
+                .specialFeatures(distinct(vendor.getSpecialFeatures(), distinctSets))
+                .build()
+                : null;
+    }
+
+    private static Set<Integer> distinct(Set<Integer> set, Map<Set<Integer>, Set<Integer>> distinctSets) {
+        return set != null ? distinctSets.computeIfAbsent(set, Function.identity()) : null;
     }
 
     protected boolean isValid(VendorListV2 vendorList) {
@@ -181,4 +181,8 @@ public class CachingApplicationSettings implements ApplicationSettings {
         accountCache.remove(accountId);
         logger.debug("Account with id {0} was invalidated", accountId);
     }
+
+    Map<String, Account> getAccountCache() {
+        return accountCache;
+    }
 }
@@ -2,18 +2,23 @@ package org.prebid.server.settings;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.netty.handler.codec.http.HttpHeaderValues;
 import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import org.apache.commons.collections4.CollectionUtils;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.Timeout;
+import org.prebid.server.json.BinaryMapper;
 import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.settings.model.StoredDataType;
 import org.prebid.server.settings.model.StoredResponseDataResult;
+import org.prebid.server.settings.proto.request.HttpFetcherRequest;
 import org.prebid.server.settings.proto.response.HttpFetcherResponse;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.vertx.http.HttpClient;
@@ -56,6 +61,17 @@ import java.util.stream.Collectors;
  *   }
  * }
  * </pre>
+ * <p>
+ * Since long lists of ids can exceed URL length limits, the endpoint may optionally be queried with POST:
+ * <p>
+ * POST {endpoint} with body {"request-ids":["req1","req2"],"imp-ids":["imp1","imp2","imp3"]}
+ * <p>
+ * returning the same payload as GET.
+ * <p>
+ * Responses compressed with gzip are supported.
+ * <p>
+ * If {@link BinaryMapper} is given, POST body is encoded in its binary format and binary response is asked for,
+ * though JSON response is still accepted.
  */
 public class HttpApplicationSettings implements ApplicationSettings {
 
@@ -66,14 +82,18 @@ public class HttpApplicationSettings implements ApplicationSettings {
     private String videoEndpoint;
     private HttpClient httpClient;
     private final JacksonMapper mapper;
+    private final boolean usePost;
+    private final BinaryMapper binaryMapper;
 
     public HttpApplicationSettings(HttpClient httpClient, JacksonMapper mapper, String endpoint, String ampEndpoint,
-                                   String videoEndpoint) {
+                                   String videoEndpoint, boolean usePost, BinaryMapper binaryMapper) {
         this.httpClient = Objects.requireNonNull(httpClient);
         this.mapper = Objects.requireNonNull(mapper);
         this.endpoint = HttpUtil.validateUrl(Objects.requireNonNull(endpoint));
         this.ampEndpoint = HttpUtil.validateUrl(Objects.requireNonNull(ampEndpoint));
         this.videoEndpoint = HttpUtil.validateUrl(Objects.requireNonNull(videoEndpoint));
+        this.usePost = usePost;
+        this.binaryMapper = binaryMapper; // JSON is used if null
     }
 
     /**
@@ -138,11 +158,33 @@ public class HttpApplicationSettings implements ApplicationSettings {
             return failResponse(new TimeoutException("Timeout has been exceeded"), requestIds, impIds);
         }
 
-        return httpClient.get(urlFrom(endpoint, requestIds, impIds), HttpUtil.headers(), remainingTimeout)
+        return fetch(endpoint, requestIds, impIds, remainingTimeout)
                 .compose(response -> processResponse(response, requestIds, impIds))
                 .recover(exception -> failResponse(exception, requestIds, impIds));
     }
 
+    private Future<HttpClientResponse> fetch(String endpoint, Set<String> requestIds, Set<String> impIds,
+                                             long timeout) {
+        if (binaryMapper != null) {
+            final MultiMap headers = binaryMapper.headers()
+                    .add(HttpUtil.ACCEPT_ENCODING_HEADER, HttpHeaderValues.GZIP);
+
+            return usePost
+                    ? httpClient.requestBinary(HttpMethod.POST, endpoint, headers,
+                    binaryMapper.encode(HttpFetcherRequest.of(requestIds, impIds)), timeout)
+                    : httpClient.requestBinary(HttpMethod.GET, urlFrom(endpoint, requestIds, impIds), headers, null,
+                    timeout);
+        }
+
+        final MultiMap headers = HttpUtil.headers()
+                .add(HttpUtil.ACCEPT_ENCODING_HEADER, HttpHeaderValues.GZIP);
+
+        return usePost
+                ? httpClient.post(endpoint, headers, mapper.encode(HttpFetcherRequest.of(requestIds, impIds)),
+                timeout)
+                : httpClient.get(urlFrom(endpoint, requestIds, impIds), headers, timeout);
+    }
+
     private static String urlFrom(String endpoint, Set<String> requestIds, Set<String> impIds) {
         final StringBuilder url = new StringBuilder(endpoint);
         url.append(endpoint.contains("?") ? "&" : "?");
@@ -173,8 +215,7 @@ public class HttpApplicationSettings implements ApplicationSettings {
 
     private Future<StoredDataResult> processResponse(HttpClientResponse response, Set<String> requestIds,
                                                      Set<String> impIds) {
-        return Future.succeededFuture(
-                toStoredDataResult(requestIds, impIds, response.getStatusCode(), response.getBody()));
+        return Future.succeededFuture(toStoredDataResult(requestIds, impIds, response));
     }
 
     private static StoredDataResult toFailedStoredDataResult(Set<String> requestIds, Set<String> impIds,
@@ -192,11 +233,24 @@ public class HttpApplicationSettings implements ApplicationSettings {
     }
 
     private StoredDataResult toStoredDataResult(Set<String> requestIds, Set<String> impIds,
-                                                int statusCode, String body) {
+                                                HttpClientResponse httpClientResponse) {
+        final int statusCode = httpClientResponse.getStatusCode();
         if (statusCode != 200) {
             return toFailedStoredDataResult(requestIds, impIds, "HTTP status code %d", statusCode);
         }
 
+        if (binaryMapper != null) {
+            try {
+                return parseResponse(requestIds, impIds, binaryMapper.decodeValue(
+                        httpClientResponse.getBinaryBody(), httpClientResponse.getHeaders(),
+                        HttpFetcherResponse.class));
+            } catch (DecodeException e) {
+                return toFailedStoredDataResult(
+                        requestIds, impIds, "parsing response failed with message: %s", e.getMessage());
+            }
+        }
+
+        final String body = httpClientResponse.getBody();
         final HttpFetcherResponse response;
         try {
             response = mapper.decodeValue(body, HttpFetcherResponse.class);
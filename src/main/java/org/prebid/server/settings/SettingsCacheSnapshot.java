@@ -0,0 +1,312 @@
+package org.prebid.server.settings;
+
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.json.DecodeException;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.vertx.Initializable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Periodically persists content of settings in-memory caches to the local file and restores it on startup.
+ * <p>
+ * Snapshot is a gzipped binary file with the following layout:
+ * <pre>
+ * magic (int) | format version (int) | creation time millis (long) | CRC32 of payload (long) | payload
+ * </pre>
+ * where payload consists of sections for accounts, stored requests/imps, AMP stored requests/imps and video stored
+ * requests/imps. Each section is an entry count followed by length-prefixed UTF-8 key and value pairs.
+ * <p>
+ * Restored entries are considered as warm-up data only: stored requests and imps are revalidated by periodic
+ * refresh services (if configured) and all entries expire according to cache TTL as usual. Snapshot older than
+ * max age is ignored.
+ */
+public class SettingsCacheSnapshot implements Initializable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SettingsCacheSnapshot.class);
+
+    private static final int MAGIC = 0x50425343; // "PBSC"
+    private static final int FORMAT_VERSION = 1;
+
+    private final String snapshotFilePath;
+    private final long snapshotPeriodMs;
+    private final long maxAgeMs;
+    private final CachingApplicationSettings cachingApplicationSettings;
+    private final SettingsCache cache;
+    private final SettingsCache ampCache;
+    private final SettingsCache videoCache;
+    private final Vertx vertx;
+    private final Clock clock;
+    private final JacksonMapper mapper;
+
+    public SettingsCacheSnapshot(String snapshotFilePath,
+                                 long snapshotPeriodMs,
+                                 long maxAgeMs,
+                                 CachingApplicationSettings cachingApplicationSettings,
+                                 SettingsCache cache,
+                                 SettingsCache ampCache,
+                                 SettingsCache videoCache,
+                                 Vertx vertx,
+                                 Clock clock,
+                                 JacksonMapper mapper) {
+
+        this.snapshotFilePath = Objects.requireNonNull(snapshotFilePath);
+        this.snapshotPeriodMs = snapshotPeriodMs;
+        this.maxAgeMs = maxAgeMs;
+        this.cachingApplicationSettings = Objects.requireNonNull(cachingApplicationSettings);
+        this.cache = Objects.requireNonNull(cache);
+        this.ampCache = Objects.requireNonNull(ampCache);
+        this.videoCache = Objects.requireNonNull(videoCache);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.clock = Objects.requireNonNull(clock);
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    /**
+     * Schedules periodic snapshot writing.
+     */
+    @Override
+    public void initialize() {
+        if (snapshotPeriodMs > 0) {
+            vertx.setPeriodic(snapshotPeriodMs, ignored -> snapshot());
+        }
+    }
+
+    /**
+     * Fills caches with content of snapshot file if it exists, is not corrupted and is not outdated.
+     * <p>
+     * This method is blocking and expected to be called once on startup before server starts accepting requests.
+     */
+    public void restore() {
+        final Path path = Paths.get(snapshotFilePath);
+        if (!Files.isRegularFile(path)) {
+            logger.info("Settings cache snapshot {0} not found, skipping restore", snapshotFilePath);
+            return;
+        }
+
+        try {
+            final int restored = restoreFrom(Files.readAllBytes(path));
+            logger.info("Restored {0} entries from settings cache snapshot {1}", restored, snapshotFilePath);
+        } catch (IOException | PreBidException e) {
+            logger.warn("Failed to restore settings cache snapshot {0}: {1}", snapshotFilePath, e.getMessage());
+        }
+    }
+
+    /**
+     * Creates snapshot of caches and writes it to the file on worker thread, so that event loop is not blocked by
+     * encoding and compression of caches content.
+     */
+    void snapshot() {
+        vertx.<Void>executeBlocking(this::createAndWriteSnapshot, false, result -> {
+            if (result.failed()) {
+                logger.warn("Failed to write settings cache snapshot {0}: {1}", snapshotFilePath,
+                        result.cause().getMessage());
+            }
+        });
+    }
+
+    private void createAndWriteSnapshot(Promise<Void> promise) {
+        final byte[] content;
+        try {
+            content = createSnapshot();
+        } catch (IOException e) {
+            promise.fail(e);
+            return;
+        }
+
+        writeSnapshot(content, promise);
+    }
+
+    byte[] createSnapshot() throws IOException {
+        final ByteArrayOutputStream payloadStream = new ByteArrayOutputStream();
+        try (DataOutputStream payload = new DataOutputStream(payloadStream)) {
+            writeSection(payload, encodeAccounts(cachingApplicationSettings.getAccountCache()));
+            writeSettingsCache(payload, cache);
+            writeSettingsCache(payload, ampCache);
+            writeSettingsCache(payload, videoCache);
+        }
+        final byte[] payloadBytes = payloadStream.toByteArray();
+
+        final ByteArrayOutputStream snapshotStream = new ByteArrayOutputStream();
+        try (DataOutputStream snapshot = new DataOutputStream(new GZIPOutputStream(snapshotStream))) {
+            snapshot.writeInt(MAGIC);
+            snapshot.writeInt(FORMAT_VERSION);
+            snapshot.writeLong(clock.millis());
+            snapshot.writeLong(checksum(payloadBytes));
+            snapshot.write(payloadBytes);
+        }
+        return snapshotStream.toByteArray();
+    }
+
+    int restoreFrom(byte[] snapshotBytes) throws IOException {
+        final byte[] payloadBytes;
+        try (DataInputStream snapshot = new DataInputStream(
+                new GZIPInputStream(new ByteArrayInputStream(snapshotBytes)))) {
+
+            if (snapshot.readInt() != MAGIC || snapshot.readInt() != FORMAT_VERSION) {
+                throw new PreBidException("unknown snapshot format");
+            }
+
+            final long age = clock.millis() - snapshot.readLong();
+            if (maxAgeMs > 0 && age > maxAgeMs) {
+                throw new PreBidException(String.format("snapshot is outdated by %d ms", age - maxAgeMs));
+            }
+
+            final long expectedChecksum = snapshot.readLong();
+            payloadBytes = readFully(snapshot);
+            if (checksum(payloadBytes) != expectedChecksum) {
+                throw new PreBidException("snapshot checksum mismatch");
+            }
+        }
+
+        // read everything before touching caches to not end up with partially restored state
+        final Map<String, Account> accounts;
+        final Map<String, String> requests;
+        final Map<String, String> imps;
+        final Map<String, String> ampRequests;
+        final Map<String, String> ampImps;
+        final Map<String, String> videoRequests;
+        final Map<String, String> videoImps;
+        try (DataInputStream payload = new DataInputStream(new ByteArrayInputStream(payloadBytes))) {
+            accounts = decodeAccounts(readSection(payload));
+            requests = readSection(payload);
+            imps = readSection(payload);
+            ampRequests = readSection(payload);
+            ampImps = readSection(payload);
+            videoRequests = readSection(payload);
+            videoImps = readSection(payload);
+        }
+
+        cachingApplicationSettings.getAccountCache().putAll(accounts);
+        cache.save(requests, imps);
+        ampCache.save(ampRequests, ampImps);
+        videoCache.save(videoRequests, videoImps);
+
+        return accounts.size() + requests.size() + imps.size() + ampRequests.size() + ampImps.size()
+                + videoRequests.size() + videoImps.size();
+    }
+
+    private void writeSnapshot(byte[] content, Promise<Void> promise) {
+        try {
+            final Path path = Paths.get(snapshotFilePath);
+            final Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            // write to temporary file first so that crash in the middle never leaves corrupted snapshot
+            final Path tmpPath = Paths.get(snapshotFilePath + ".tmp");
+            Files.write(tmpPath, content);
+            Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            promise.complete();
+        } catch (IOException e) {
+            promise.fail(e);
+        }
+    }
+
+    private Map<String, String> encodeAccounts(Map<String, Account> accounts) {
+        final Map<String, String> result = new HashMap<>(accounts.size());
+        for (Map.Entry<String, Account> entry : accounts.entrySet()) {
+            result.put(entry.getKey(), mapper.encode(entry.getValue()));
+        }
+        return result;
+    }
+
+    private Map<String, Account> decodeAccounts(Map<String, String> encodedAccounts) {
+        final Map<String, Account> result = new HashMap<>(encodedAccounts.size());
+        for (Map.Entry<String, String> entry : encodedAccounts.entrySet()) {
+            try {
+                result.put(entry.getKey(), mapper.decodeValue(entry.getValue(), Account.class));
+            } catch (DecodeException e) {
+                throw new PreBidException(String.format("cannot decode account %s: %s", entry.getKey(),
+                        e.getMessage()));
+            }
+        }
+        return result;
+    }
+
+    private static void writeSettingsCache(DataOutputStream output, SettingsCache settingsCache) throws IOException {
+        writeSection(output, settingsCache.getRequestCache());
+        writeSection(output, settingsCache.getImpCache());
+    }
+
+    private static void writeSection(DataOutputStream output, Map<String, String> section) throws IOException {
+        // copy entries to have consistent count since caches can be modified concurrently
+        final Map<String, String> entries = new HashMap<>(section);
+
+        output.writeInt(entries.size());
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            writeString(output, entry.getKey());
+            writeString(output, entry.getValue());
+        }
+    }
+
+    private static Map<String, String> readSection(DataInputStream input) throws IOException {
+        final int size = input.readInt();
+        if (size < 0) {
+            throw new PreBidException("invalid section size");
+        }
+
+        final Map<String, String> result = new HashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            result.put(readString(input), readString(input));
+        }
+        return result;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        final int length = input.readInt();
+        if (length < 0) {
+            throw new PreBidException("invalid string length");
+        }
+
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readFully(InputStream input) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+    }
+
+    private static long checksum(byte[] bytes) {
+        final CRC32 crc32 = new CRC32();
+        crc32.update(bytes, 0, bytes.length);
+        return crc32.getValue();
+    }
+}
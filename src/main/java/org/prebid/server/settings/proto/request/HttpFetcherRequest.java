@@ -0,0 +1,18 @@
+package org.prebid.server.settings.proto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.Set;
+
+@AllArgsConstructor(staticName = "of")
+@Value
+public class HttpFetcherRequest {
+
+    @JsonProperty("request-ids")
+    Set<String> requestIds;
+
+    @JsonProperty("imp-ids")
+    Set<String> impIds;
+}
@@ -1,23 +1,31 @@
 package org.prebid.server.settings.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import org.prebid.server.exception.PreBidException;
-import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.settings.CacheNotificationListener;
 import org.prebid.server.settings.model.StoredDataType;
-import org.prebid.server.settings.proto.response.HttpRefreshResponse;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.vertx.Initializable;
 import org.prebid.server.vertx.http.HttpClient;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -57,20 +65,31 @@ import java.util.Objects;
  * <p>
  * To signal deletions, the endpoint may return { "deleted": true }
  * in place of the Stored Data if the "last-modified" param existed.
+ * <p>
+ * If the endpoint responds with "ETag" header, its value is sent back in "If-None-Match" header on the next refresh,
+ * so the endpoint may answer with "304 Not Modified" and empty body when nothing has changed.
+ * Responses compressed with gzip are supported as well.
+ * <p>
+ * Response is parsed in a streaming manner right from the received bytes: stored data entries are copied
+ * to their string representation directly from the parser without decoding the whole payload to text
+ * or building intermediate JSON trees for it.
  */
 public class HttpPeriodicRefreshService implements Initializable {
 
     private static final Logger logger = LoggerFactory.getLogger(HttpPeriodicRefreshService.class);
 
+    private static final String DELETED_FIELD = "deleted";
+
     private final String refreshUrl;
     private final long refreshPeriod;
     private final long timeout;
     private final CacheNotificationListener cacheNotificationListener;
     private final Vertx vertx;
     private final HttpClient httpClient;
-    private final JacksonMapper mapper;
+    private final JsonFactory jsonFactory;
 
     private Instant lastUpdateTime;
+    private String lastETag;
 
     public HttpPeriodicRefreshService(String refreshUrl,
                                       long refreshPeriod,
@@ -86,7 +105,7 @@ public class HttpPeriodicRefreshService implements Initializable {
         this.cacheNotificationListener = Objects.requireNonNull(cacheNotificationListener);
         this.vertx = Objects.requireNonNull(vertx);
         this.httpClient = Objects.requireNonNull(httpClient);
-        this.mapper = Objects.requireNonNull(mapper);
+        this.jsonFactory = Objects.requireNonNull(mapper).mapper().getFactory();
     }
 
     @Override
@@ -98,20 +117,35 @@ public class HttpPeriodicRefreshService implements Initializable {
     }
 
     private void getAll() {
-        httpClient.get(refreshUrl, timeout)
+        final Instant updateTime = Instant.now();
+
+        httpClient.requestBinary(HttpMethod.GET, refreshUrl, headers(null), null, timeout)
                 .map(this::processResponse)
-                .map(this::save)
-                .map(ignored -> setLastUpdateTime(Instant.now()))
+                .map(this::update)
+                .map(ignored -> setLastUpdateTime(updateTime))
                 .recover(HttpPeriodicRefreshService::failResponse);
     }
 
-    private Void save(HttpRefreshResponse refreshResponse) {
-        final Map<String, String> requests = parseStoredData(refreshResponse.getRequests(), StoredDataType.request);
-        final Map<String, String> imps = parseStoredData(refreshResponse.getImps(), StoredDataType.imp);
+    private void refresh() {
+        final Instant updateTime = Instant.now();
 
-        cacheNotificationListener.save(requests, imps);
+        final String lastModifiedParam = "last-modified=" + lastUpdateTime;
+        final String andOrParam = refreshUrl.contains("?") ? "&" : "?";
+        final String refreshEndpoint = refreshUrl + andOrParam + lastModifiedParam;
 
-        return null;
+        httpClient.requestBinary(HttpMethod.GET, refreshEndpoint, headers(lastETag), null, timeout)
+                .map(this::processResponse)
+                .map(this::update)
+                .map(ignored -> setLastUpdateTime(updateTime))
+                .recover(HttpPeriodicRefreshService::failResponse);
+    }
+
+    private static MultiMap headers(String eTag) {
+        final MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+                .add(HttpUtil.ACCEPT_HEADER, HttpHeaderValues.APPLICATION_JSON)
+                .add(HttpUtil.ACCEPT_ENCODING_HEADER, HttpHeaderValues.GZIP);
+        HttpUtil.addHeaderIfValueIsNotEmpty(headers, HttpUtil.IF_NONE_MATCH_HEADER, eTag);
+        return headers;
     }
 
     private Void setLastUpdateTime(Instant instant) {
@@ -127,90 +161,132 @@ public class HttpPeriodicRefreshService implements Initializable {
         return Future.failedFuture(exception);
     }
 
-    private HttpRefreshResponse processResponse(HttpClientResponse response) {
+    /**
+     * Returns null if stored data was not modified since previous request.
+     */
+    private RefreshResult processResponse(HttpClientResponse response) {
         final int statusCode = response.getStatusCode();
-        if (statusCode != 200) {
+        if (statusCode == HttpResponseStatus.NOT_MODIFIED.code()) {
+            return null;
+        }
+        if (statusCode != HttpResponseStatus.OK.code()) {
             throw new PreBidException(String.format("HTTP status code %d", statusCode));
         }
 
-        final String body = response.getBody();
-        final HttpRefreshResponse refreshResponse;
+        final Buffer body = response.getBinaryBody();
+        final RefreshResult refreshResult;
         try {
-            refreshResponse = mapper.decodeValue(body, HttpRefreshResponse.class);
-        } catch (DecodeException e) {
+            refreshResult = parseResponse(body);
+        } catch (IOException | PreBidException e) {
             throw new PreBidException(String.format("Cannot parse response: %s", body), e);
         }
 
-        return refreshResponse;
+        final MultiMap headers = response.getHeaders();
+        lastETag = headers != null ? headers.get(HttpUtil.ETAG_HEADER) : null;
+
+        return refreshResult;
     }
 
-    private Map<String, String> parseStoredData(Map<String, ObjectNode> refreshResponse,
-                                                StoredDataType type) {
-        final Map<String, String> result = new HashMap<>();
+    private RefreshResult parseResponse(Buffer body) throws IOException {
+        if (body == null) {
+            throw new PreBidException("Empty response body");
+        }
+
+        final RefreshResult refreshResult = new RefreshResult();
+
+        try (InputStream inputStream = new ByteBufInputStream(body.getByteBuf());
+                JsonParser parser = jsonFactory.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new PreBidException("JSON object expected");
+            }
 
-        for (Map.Entry<String, ObjectNode> entry : refreshResponse.entrySet()) {
-            final String id = entry.getKey();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.getCurrentName();
+                parser.nextToken();
 
-            final String jsonAsString;
-            try {
-                jsonAsString = mapper.mapper().writeValueAsString(entry.getValue());
-            } catch (JsonProcessingException e) {
-                throw new PreBidException(String.format("Error parsing %s json for id: %s with message: %s", type, id,
-                        e.getMessage()));
+                if ("requests".equals(fieldName)) {
+                    parseStoredData(parser, StoredDataType.request, refreshResult.requests,
+                            refreshResult.invalidatedRequests);
+                } else if ("imps".equals(fieldName)) {
+                    parseStoredData(parser, StoredDataType.imp, refreshResult.imps, refreshResult.invalidatedImps);
+                } else {
+                    parser.skipChildren();
+                }
             }
-            result.put(id, jsonAsString);
         }
-        return result;
+
+        return refreshResult;
     }
 
-    private void refresh() {
-        final Instant updateTime = Instant.now();
+    /**
+     * Copies each stored data entry to its string representation, collecting ids of entries marked as deleted.
+     */
+    private void parseStoredData(JsonParser parser, StoredDataType type, Map<String, String> storedData,
+                                 List<String> invalidatedIds) throws IOException {
 
-        final String lastModifiedParam = "last-modified=" + lastUpdateTime;
-        final String andOrParam = refreshUrl.contains("?") ? "&" : "?";
-        final String refreshEndpoint = refreshUrl + andOrParam + lastModifiedParam;
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new PreBidException(String.format("JSON object expected for %ss", type));
+        }
 
-        httpClient.get(refreshEndpoint, timeout)
-                .map(this::processResponse)
-                .map(this::invalidate)
-                .map(this::save)
-                .map(ignored -> setLastUpdateTime(updateTime))
-                .recover(HttpPeriodicRefreshService::failResponse);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String id = parser.getCurrentName();
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new PreBidException(String.format("JSON object expected for %s with id: %s", type, id));
+            }
+
+            boolean deleted = false;
+            final StringWriter writer = new StringWriter();
+            try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+                generator.writeStartObject();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String fieldName = parser.getCurrentName();
+                    parser.nextToken();
+
+                    if (DELETED_FIELD.equals(fieldName) && parser.currentToken().isScalarValue()) {
+                        deleted = parser.getValueAsBoolean();
+                    }
+
+                    generator.writeFieldName(fieldName);
+                    generator.copyCurrentStructure(parser);
+                }
+                generator.writeEndObject();
+            }
+
+            if (deleted) {
+                invalidatedIds.add(id);
+            } else {
+                storedData.put(id, writer.toString());
+            }
+        }
     }
 
-    private HttpRefreshResponse invalidate(HttpRefreshResponse refreshResponse) {
-        final List<String> invalidatedRequests = getInvalidatedKeys(refreshResponse.getRequests());
-        final List<String> invalidatedImps = getInvalidatedKeys(refreshResponse.getImps());
+    private Void update(RefreshResult refreshResult) {
+        if (refreshResult == null) {
+            return null;
+        }
 
+        final List<String> invalidatedRequests = refreshResult.invalidatedRequests;
+        final List<String> invalidatedImps = refreshResult.invalidatedImps;
         if (!invalidatedRequests.isEmpty() || !invalidatedImps.isEmpty()) {
             cacheNotificationListener.invalidate(invalidatedRequests, invalidatedImps);
         }
 
-        final Map<String, ObjectNode> requestsToSave = removeFromMap(refreshResponse.getRequests(),
-                invalidatedRequests);
-        final Map<String, ObjectNode> impsToSave = removeFromMap(refreshResponse.getImps(), invalidatedImps);
+        cacheNotificationListener.save(refreshResult.requests, refreshResult.imps);
 
-        return HttpRefreshResponse.of(requestsToSave, impsToSave);
+        return null;
     }
 
-    private static List<String> getInvalidatedKeys(Map<String, ObjectNode> changes) {
-        final List<String> result = new ArrayList<>();
+    private static class RefreshResult {
 
-        for (Map.Entry<String, ObjectNode> entry : changes.entrySet()) {
-            final ObjectNode jsonNodes = entry.getValue();
-            final JsonNode deleted = jsonNodes.get("deleted");
-            if (deleted != null && deleted.asBoolean()) {
-                result.add(entry.getKey());
-            }
-        }
-        return result;
-    }
+        private final Map<String, String> requests = new HashMap<>();
 
-    private static Map<String, ObjectNode> removeFromMap(Map<String, ObjectNode> map, List<String> invalidatedKeys) {
-        final Map<String, ObjectNode> result = new HashMap<>(map);
-        for (String key : invalidatedKeys) {
-            result.remove(key);
-        }
-        return result;
+        private final Map<String, String> imps = new HashMap<>();
+
+        private final List<String> invalidatedRequests = new ArrayList<>();
+
+        private final List<String> invalidatedImps = new ArrayList<>();
     }
 }
@@ -3,6 +3,7 @@ package org.prebid.server.spring.config;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.vertx.ContextRunner;
 import org.prebid.server.vertx.Initializable;
+import org.prebid.server.vertx.http.ConnectionWarmer;
 import org.prebid.server.vertx.http.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
@@ -33,11 +34,21 @@ public class InitializationConfiguration {
     @Autowired
     private List<Initializable> initializables;
 
+    @Autowired(required = false)
+    private ConnectionWarmer connectionWarmer;
+
     @EventListener(ContextRefreshedEvent.class)
     public void initializeServices() {
         contextRunner.runOnServiceContext(promise -> {
             initializables.forEach(Initializable::initialize);
             promise.complete();
         });
+
+        if (connectionWarmer != null) {
+            contextRunner.<Void>runOnEachEventLoop(promise -> {
+                connectionWarmer.startWarmingUp();
+                promise.complete();
+            });
+        }
     }
 }
@@ -24,9 +24,11 @@ import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.metric.AccountMetricsVerbosity;
 import org.prebid.server.metric.CounterType;
 import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.ReservoirType;
 import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
 import org.prebid.server.vertx.CloseableAdapter;
 import org.prebid.server.vertx.ContextRunner;
+import org.prebid.server.vertx.EventLoopLagMonitor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -106,9 +108,28 @@ public class MetricsConfiguration {
     }
 
     @Bean
-    Metrics metrics(@Value("${metrics.metricType}") CounterType counterType, MetricRegistry metricRegistry,
-                    AccountMetricsVerbosity accountMetricsVerbosity, BidderCatalog bidderCatalog) {
-        return new Metrics(metricRegistry, counterType, accountMetricsVerbosity, bidderCatalog);
+    Metrics metrics(@Value("${metrics.metricType}") CounterType counterType,
+                    @Value("${metrics.reservoirType}") ReservoirType reservoirType,
+                    MetricRegistry metricRegistry,
+                    AccountMetricsVerbosity accountMetricsVerbosity,
+                    BidderCatalog bidderCatalog) {
+
+        return new Metrics(metricRegistry, counterType, reservoirType, accountMetricsVerbosity, bidderCatalog);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "metrics.event-loop-lag", name = "enabled", havingValue = "true")
+    EventLoopLagMonitor eventLoopLagMonitor(@Value("${metrics.event-loop-lag.sample-interval-ms}") long intervalMs,
+                                            Metrics metrics,
+                                            ContextRunner contextRunner) {
+
+        final EventLoopLagMonitor eventLoopLagMonitor = new EventLoopLagMonitor(vertx, metrics, intervalMs);
+        contextRunner.<Void>runOnEachEventLoop(promise -> {
+            eventLoopLagMonitor.startSampling();
+            promise.complete();
+        });
+
+        return eventLoopLagMonitor;
     }
 
     @Bean
@@ -4,14 +4,20 @@ import com.iab.openrtb.request.BidRequest;
 import de.malkusch.whoisServerList.publicSuffixList.PublicSuffixList;
 import de.malkusch.whoisServerList.publicSuffixList.PublicSuffixListFactory;
 import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.file.FileSystem;
 import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
 import io.vertx.core.net.JksOptions;
+import org.prebid.server.auction.AdmissionController;
 import org.prebid.server.auction.AmpRequestFactory;
 import org.prebid.server.auction.AmpResponsePostProcessor;
+import org.prebid.server.auction.AuctionDeadlineChecker;
 import org.prebid.server.auction.AuctionRequestFactory;
 import org.prebid.server.auction.BidResponseCreator;
 import org.prebid.server.auction.BidResponsePostProcessor;
+import org.prebid.server.auction.EventLoopLagAdmissionController;
 import org.prebid.server.auction.ExchangeService;
 import org.prebid.server.auction.ImplicitParametersExtractor;
 import org.prebid.server.auction.InterstitialProcessor;
@@ -28,18 +34,23 @@ import org.prebid.server.bidder.BidderDeps;
 import org.prebid.server.bidder.BidderRequestCompletionTrackerFactory;
 import org.prebid.server.bidder.HttpAdapterConnector;
 import org.prebid.server.bidder.HttpBidderRequester;
+import org.prebid.server.cache.BatchingCacheHttpClient;
 import org.prebid.server.cache.CacheService;
+import org.prebid.server.cache.CacheWriteBehindQueue;
 import org.prebid.server.cache.model.CacheTtl;
 import org.prebid.server.cookie.UidsCookieService;
 import org.prebid.server.currency.CurrencyConversionService;
 import org.prebid.server.events.EventsService;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.geolocation.GeoLocationService;
+import org.prebid.server.json.BinaryFormat;
+import org.prebid.server.json.BinaryMapper;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.manager.AdminManager;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.optout.GoogleRecaptchaVerifier;
 import org.prebid.server.privacy.PrivacyExtractor;
+import org.prebid.server.privacy.gdpr.ConsentStringDecoder;
 import org.prebid.server.privacy.gdpr.GdprService;
 import org.prebid.server.privacy.gdpr.Tcf2Service;
 import org.prebid.server.privacy.gdpr.TcfDefinerService;
@@ -58,8 +69,11 @@ import org.prebid.server.validation.BidderParamValidator;
 import org.prebid.server.validation.RequestValidator;
 import org.prebid.server.validation.ResponseBidValidator;
 import org.prebid.server.validation.VideoRequestValidator;
+import org.prebid.server.vertx.EventLoopLagMonitor;
 import org.prebid.server.vertx.http.BasicHttpClient;
 import org.prebid.server.vertx.http.CircuitBreakerSecuredHttpClient;
+import org.prebid.server.vertx.http.ConnectionWarmer;
+import org.prebid.server.vertx.http.DnsCache;
 import org.prebid.server.vertx.http.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -68,23 +82,32 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Scope;
 import org.springframework.context.annotation.ScopedProxyMode;
 
 import javax.validation.constraints.Min;
 import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.time.Clock;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Configuration
 public class ServiceConfiguration {
 
+    private static final Logger logger = LoggerFactory.getLogger(ServiceConfiguration.class);
+
+    private static final Pattern HOST_NAME_PATTERN = Pattern.compile("[A-Za-z0-9.-]+");
+
     @Bean
     CacheService cacheService(
             @Value("${cache.scheme}") String scheme,
@@ -93,21 +116,52 @@ public class ServiceConfiguration {
             @Value("${cache.query}") String query,
             @Value("${cache.banner-ttl-seconds:#{null}}") Integer bannerCacheTtl,
             @Value("${cache.video-ttl-seconds:#{null}}") Integer videoCacheTtl,
+            @Value("${cache.binary-format:#{null}}") BinaryFormat binaryFormat,
+            @Value("${cache.batching.enabled}") boolean batchingEnabled,
+            @Value("${cache.batching.window-ms}") long batchingWindowMs,
+            @Value("${cache.batching.max-puts}") int batchingMaxPuts,
+            @Value("${cache.write-behind.enabled}") boolean writeBehindEnabled,
+            @Value("${cache.write-behind.capacity}") int writeBehindCapacity,
+            @Value("${cache.write-behind.timeout-ms}") long writeBehindTimeoutMs,
+            @Value("${cache.write-behind.max-retries}") int writeBehindMaxRetries,
+            @Value("${cache.write-behind.retry-delay-ms}") long writeBehindRetryDelayMs,
+            @Value("${auction.cache.expected-request-time-ms}") long expectedCacheTimeMs,
             EventsService eventsService,
             HttpClient httpClient,
+            Vertx vertx,
             Metrics metrics,
             Clock clock,
             JacksonMapper mapper) {
 
+        if (binaryFormat != null) {
+            if (batchingEnabled) {
+                throw new IllegalStateException(
+                        "Cache batching (cache.batching.enabled) is not supported with cache.binary-format");
+            }
+            logger.warn("Cache requests are encoded in {0}, their bodies are not shown in debug output", binaryFormat);
+        }
+
+        final HttpClient cacheHttpClient = batchingEnabled
+                ? new BatchingCacheHttpClient(httpClient, vertx, clock, mapper, batchingWindowMs, expectedCacheTimeMs,
+                batchingMaxPuts)
+                : httpClient;
+
+        final CacheWriteBehindQueue writeBehindQueue = writeBehindEnabled
+                ? new CacheWriteBehindQueue(cacheHttpClient, vertx, metrics, clock, writeBehindCapacity,
+                writeBehindTimeoutMs, writeBehindMaxRetries, writeBehindRetryDelayMs)
+                : null;
+
         return new CacheService(
                 CacheTtl.of(bannerCacheTtl, videoCacheTtl),
-                httpClient,
+                cacheHttpClient,
+                writeBehindQueue,
                 CacheService.getCacheEndpointUrl(scheme, host, path),
                 CacheService.getCachedAssetUrlTemplate(scheme, host, path, query),
                 eventsService,
                 metrics,
                 clock,
-                mapper);
+                mapper,
+                binaryFormat != null ? new BinaryMapper(binaryFormat, mapper) : null);
     }
 
     @Bean
@@ -274,16 +328,19 @@ public class ServiceConfiguration {
         return new HttpClientProperties();
     }
 
+    /**
+     * Raw client is defined even if circuit breaker is enabled, so that connection warm-up can use the same connection
+     * pools as regular requests without going through the circuit breaker.
+     */
     @Bean
-    @Scope(scopeName = VertxContextScope.NAME, proxyMode = ScopedProxyMode.INTERFACES)
-    @ConditionalOnProperty(prefix = "http-client.circuit-breaker", name = "enabled", havingValue = "false",
-            matchIfMissing = true)
-    BasicHttpClient basicHttpClient(Vertx vertx, HttpClientProperties httpClientProperties) {
+    @Scope(scopeName = VertxContextScope.NAME, proxyMode = ScopedProxyMode.TARGET_CLASS)
+    BasicHttpClient basicHttpClient(Vertx vertx, HttpClientProperties httpClientProperties,
+                                    @Autowired(required = false) DnsCache dnsCache) {
 
         return createBasicHttpClient(vertx, httpClientProperties.getMaxPoolSize(),
                 httpClientProperties.getConnectTimeoutMs(), httpClientProperties.getUseCompression(),
                 httpClientProperties.getMaxRedirects(), httpClientProperties.getSsl(),
-                httpClientProperties.getJksPath(), httpClientProperties.getJksPassword());
+                httpClientProperties.getJksPath(), httpClientProperties.getJksPassword(), dnsCache);
     }
 
     @Bean
@@ -294,27 +351,24 @@ public class ServiceConfiguration {
     }
 
     @Bean
+    @Primary
     @Scope(scopeName = VertxContextScope.NAME, proxyMode = ScopedProxyMode.INTERFACES)
     @ConditionalOnProperty(prefix = "http-client.circuit-breaker", name = "enabled", havingValue = "true")
     CircuitBreakerSecuredHttpClient circuitBreakerSecuredHttpClient(
             Vertx vertx,
             Metrics metrics,
-            HttpClientProperties httpClientProperties,
             @Qualifier("httpClientCircuitBreakerProperties") CircuitBreakerProperties circuitBreakerProperties,
+            BasicHttpClient basicHttpClient,
             Clock clock) {
 
-        final HttpClient httpClient = createBasicHttpClient(vertx, httpClientProperties.getMaxPoolSize(),
-                httpClientProperties.getConnectTimeoutMs(), httpClientProperties.getUseCompression(),
-                httpClientProperties.getMaxRedirects(), httpClientProperties.getSsl(),
-                httpClientProperties.getJksPath(), httpClientProperties.getJksPassword());
-        return new CircuitBreakerSecuredHttpClient(vertx, httpClient, metrics,
+        return new CircuitBreakerSecuredHttpClient(vertx, basicHttpClient, metrics,
                 circuitBreakerProperties.getOpeningThreshold(), circuitBreakerProperties.getOpeningIntervalMs(),
                 circuitBreakerProperties.getClosingIntervalMs(), clock);
     }
 
     private static BasicHttpClient createBasicHttpClient(Vertx vertx, int maxPoolSize, int connectTimeoutMs,
                                                          boolean useCompression, int maxRedirects, boolean ssl,
-                                                         String jksPath, String jksPassword) {
+                                                         String jksPath, String jksPassword, DnsCache dnsCache) {
 
         final HttpClientOptions options = new HttpClientOptions()
                 .setMaxPoolSize(maxPoolSize)
@@ -333,7 +387,60 @@ public class ServiceConfiguration {
                     .setSsl(true)
                     .setKeyStoreOptions(jksOptions);
         }
-        return new BasicHttpClient(vertx, vertx.createHttpClient(options));
+        return new BasicHttpClient(vertx, vertx.createHttpClient(options), dnsCache);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "http-client.dns-cache", name = "enabled", havingValue = "true")
+    DnsCache dnsCache(
+            @Value("${http-client.dns-cache.refresh-interval-ms}") long refreshIntervalMs,
+            @Value("${http-client.dns-cache.ttl-ms}") long ttlMs,
+            BidderCatalog bidderCatalog,
+            Vertx vertx,
+            Clock clock) {
+
+        final Set<String> hosts = bidderEndpoints(bidderCatalog).stream()
+                .map(URL::getHost)
+                .collect(Collectors.toSet());
+
+        return new DnsCache(vertx, hosts, refreshIntervalMs, ttlMs, clock);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "http-client.connection-warm-up", name = "enabled", havingValue = "true")
+    ConnectionWarmer connectionWarmer(
+            @Value("${http-client.connection-warm-up.connections}") int connections,
+            @Value("${http-client.connection-warm-up.interval-ms}") long intervalMs,
+            @Value("${http-client.connection-warm-up.timeout-ms}") long timeoutMs,
+            BidderCatalog bidderCatalog,
+            @Autowired(required = false) DnsCache dnsCache,
+            BasicHttpClient basicHttpClient,
+            Vertx vertx) {
+
+        return new ConnectionWarmer(vertx, basicHttpClient, dnsCache, bidderEndpoints(bidderCatalog),
+                connections, intervalMs, timeoutMs);
+    }
+
+    /**
+     * Returns endpoints of enabled bidders, except ones with macros in host name (e.g. "{{Host}}") which is known
+     * only at request time.
+     */
+    private static List<URL> bidderEndpoints(BidderCatalog bidderCatalog) {
+        return bidderCatalog.names().stream()
+                .filter(bidderCatalog::isActive)
+                .map(bidderCatalog::endpointByName)
+                .map(ServiceConfiguration::parseUrl)
+                .filter(Objects::nonNull)
+                .filter(url -> HOST_NAME_PATTERN.matcher(url.getHost()).matches())
+                .collect(Collectors.toList());
+    }
+
+    private static URL parseUrl(String url) {
+        try {
+            return new URL(url);
+        } catch (MalformedURLException e) {
+            return null;
+        }
     }
 
     @Bean
@@ -389,16 +496,22 @@ public class ServiceConfiguration {
     }
 
     @Bean
-    GdprService gdprService(VendorListServiceV1 vendorListServiceV1) {
-        return new GdprService(vendorListServiceV1);
+    ConsentStringDecoder consentStringDecoder(@Value("${gdpr.consent-cache-size}") int cacheSize, Metrics metrics) {
+        return new ConsentStringDecoder(cacheSize, metrics);
+    }
+
+    @Bean
+    GdprService gdprService(VendorListServiceV1 vendorListServiceV1, ConsentStringDecoder consentStringDecoder) {
+        return new GdprService(vendorListServiceV1, consentStringDecoder);
     }
 
     @Bean
     Tcf2Service tcf2Service(GdprConfig gdprConfig,
                             VendorListServiceV2 vendorListServiceV2,
-                            BidderCatalog bidderCatalog) {
+                            BidderCatalog bidderCatalog,
+                            @Value("${gdpr.permissions-cache-size}") int permissionsCacheSize) {
 
-        return new Tcf2Service(gdprConfig, vendorListServiceV2, bidderCatalog);
+        return new Tcf2Service(gdprConfig, vendorListServiceV2, bidderCatalog, permissionsCacheSize);
     }
 
     @Bean
@@ -407,14 +520,15 @@ public class ServiceConfiguration {
             @Value("${gdpr.eea-countries}") String eeaCountriesAsString,
             GdprService gdprService,
             Tcf2Service tcf2Service,
+            ConsentStringDecoder consentStringDecoder,
             @Autowired(required = false) GeoLocationService geoLocationService,
             BidderCatalog bidderCatalog,
             Metrics metrics) {
 
         final Set<String> eeaCountries = new HashSet<>(Arrays.asList(eeaCountriesAsString.trim().split(",")));
 
-        return new TcfDefinerService(
-                gdprConfig, eeaCountries, gdprService, tcf2Service, geoLocationService, bidderCatalog, metrics);
+        return new TcfDefinerService(gdprConfig, eeaCountries, gdprService, tcf2Service, consentStringDecoder,
+                geoLocationService, bidderCatalog, metrics);
     }
 
     @Bean
@@ -458,9 +572,19 @@ public class ServiceConfiguration {
     @Bean
     HttpBidderRequester httpBidderRequester(
             HttpClient httpClient,
-            @Autowired(required = false) BidderRequestCompletionTrackerFactory bidderRequestCompletionTrackerFactory) {
+            @Autowired(required = false) BidderRequestCompletionTrackerFactory bidderRequestCompletionTrackerFactory,
+            @Value("${auction.max-bidder-response-size}") long maxBidderResponseSize,
+            @Value("${auction.adapter-offload.enabled}") boolean adapterOffloadEnabled,
+            @Value("${auction.adapter-offload.min-imps}") int adapterOffloadMinImps,
+            Vertx vertx,
+            Metrics metrics) {
 
-        return new HttpBidderRequester(httpClient, bidderRequestCompletionTrackerFactory);
+        final WorkerExecutor adapterWorkerExecutor = adapterOffloadEnabled
+                ? vertx.createSharedWorkerExecutor("bidder-adapter", Runtime.getRuntime().availableProcessors())
+                : null;
+
+        return new HttpBidderRequester(httpClient, bidderRequestCompletionTrackerFactory, maxBidderResponseSize,
+                adapterWorkerExecutor, adapterOffloadMinImps, metrics);
     }
 
     @Bean
@@ -477,6 +601,7 @@ public class ServiceConfiguration {
     @Bean
     ExchangeService exchangeService(
             @Value("${auction.cache.expected-request-time-ms}") long expectedCacheTimeMs,
+            @Value("${cache.write-behind.enabled}") boolean cacheWriteBehindEnabled,
             BidderCatalog bidderCatalog,
             StoredResponseProcessor storedResponseProcessor,
             PrivacyEnforcementService privacyEnforcementService,
@@ -485,12 +610,14 @@ public class ServiceConfiguration {
             CurrencyConversionService currencyConversionService,
             BidResponseCreator bidResponseCreator,
             BidResponsePostProcessor bidResponsePostProcessor,
+            AuctionDeadlineChecker auctionDeadlineChecker,
             Metrics metrics,
             Clock clock,
             JacksonMapper mapper) {
 
         return new ExchangeService(
-                expectedCacheTimeMs,
+                // auction doesn't wait for cache write, so there is no need to reserve time for it
+                cacheWriteBehindEnabled ? 0L : expectedCacheTimeMs,
                 bidderCatalog,
                 storedResponseProcessor,
                 privacyEnforcementService,
@@ -499,11 +626,20 @@ public class ServiceConfiguration {
                 currencyConversionService,
                 bidResponseCreator,
                 bidResponsePostProcessor,
+                auctionDeadlineChecker,
                 metrics,
                 clock,
                 mapper);
     }
 
+    @Bean
+    AuctionDeadlineChecker auctionDeadlineChecker(
+            @Value("${auction.deadline-check.enabled}") boolean enabled,
+            @Value("${auction.deadline-check.min-bidder-time-ms}") long minBidderTimeMs) {
+
+        return new AuctionDeadlineChecker(enabled, minBidderTimeMs);
+    }
+
     @Bean
     StoredRequestProcessor storedRequestProcessor(
             @Value("${auction.stored-requests-timeout-ms}") long defaultTimeoutMs,
@@ -558,8 +694,14 @@ public class ServiceConfiguration {
     }
 
     @Bean
-    BidderParamValidator bidderParamValidator(BidderCatalog bidderCatalog, JacksonMapper mapper) {
-        return BidderParamValidator.create(bidderCatalog, "static/bidder-params", mapper);
+    BidderParamValidator bidderParamValidator(
+            BidderCatalog bidderCatalog,
+            JacksonMapper mapper,
+            Metrics metrics,
+            @Value("${auction.bidder-params-validation-cache-size}") int validationCacheSize) {
+
+        return BidderParamValidator.create(bidderCatalog, "static/bidder-params", mapper, metrics,
+                validationCacheSize);
     }
 
     @Bean
@@ -600,6 +742,23 @@ public class ServiceConfiguration {
         return AmpResponsePostProcessor.noOp();
     }
 
+    @Bean
+    AdmissionController admissionController(
+            @Value("${auction.admission.enabled}") boolean admissionEnabled,
+            @Value("${auction.admission.degrade-lag-ms}") long degradeLagMs,
+            @Value("${auction.admission.reject-lag-ms}") long rejectLagMs,
+            @Autowired(required = false) EventLoopLagMonitor eventLoopLagMonitor) {
+
+        if (!admissionEnabled) {
+            return AdmissionController.noOp();
+        }
+        if (eventLoopLagMonitor == null) {
+            throw new IllegalStateException(
+                    "Admission control requires event loop lag monitoring enabled by metrics.event-loop-lag.enabled");
+        }
+        return new EventLoopLagAdmissionController(eventLoopLagMonitor, degradeLagMs, rejectLagMs);
+    }
+
     @Bean
     CurrencyConversionService currencyConversionService(
             @Autowired(required = false) ExternalConversionProperties externalConversionProperties) {
@@ -9,6 +9,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.apache.commons.lang3.ObjectUtils;
 import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.json.BinaryFormat;
+import org.prebid.server.json.BinaryMapper;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.ApplicationSettings;
@@ -18,6 +20,7 @@ import org.prebid.server.settings.FileApplicationSettings;
 import org.prebid.server.settings.HttpApplicationSettings;
 import org.prebid.server.settings.JdbcApplicationSettings;
 import org.prebid.server.settings.SettingsCache;
+import org.prebid.server.settings.SettingsCacheSnapshot;
 import org.prebid.server.settings.service.HttpPeriodicRefreshService;
 import org.prebid.server.settings.service.JdbcPeriodicRefreshService;
 import org.prebid.server.spring.config.model.CircuitBreakerProperties;
@@ -184,9 +187,12 @@ public class SettingsConfiguration {
                 JacksonMapper mapper,
                 @Value("${settings.http.endpoint}") String endpoint,
                 @Value("${settings.http.amp-endpoint}") String ampEndpoint,
-                @Value("${settings.http.video-endpoint}") String videoEndpoint) {
+                @Value("${settings.http.video-endpoint}") String videoEndpoint,
+                @Value("${settings.http.use-post:#{false}}") boolean usePost,
+                @Value("${settings.http.binary-format:#{null}}") BinaryFormat binaryFormat) {
 
-            return new HttpApplicationSettings(httpClient, mapper, endpoint, ampEndpoint, videoEndpoint);
+            return new HttpApplicationSettings(httpClient, mapper, endpoint, ampEndpoint, videoEndpoint, usePost,
+                    binaryFormat != null ? new BinaryMapper(binaryFormat, mapper) : null);
         }
     }
 
@@ -312,15 +318,42 @@ public class SettingsConfiguration {
                     cacheProperties.getTtlSeconds(),
                     cacheProperties.getCacheSize());
         }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "settings.in-memory-cache.snapshot", name = "file-path")
+        SettingsCacheSnapshot settingsCacheSnapshot(
+                @Value("${settings.in-memory-cache.snapshot.file-path}") String filePath,
+                @Value("${settings.in-memory-cache.snapshot.refresh-rate-ms}") long refreshRateMs,
+                @Value("${settings.in-memory-cache.snapshot.max-age-ms}") long maxAgeMs,
+                CachingApplicationSettings cachingApplicationSettings,
+                @Qualifier("settingsCache") SettingsCache cache,
+                @Qualifier("ampSettingsCache") SettingsCache ampCache,
+                @Qualifier("videoSettingCache") SettingsCache videoCache,
+                Vertx vertx,
+                Clock clock,
+                JacksonMapper mapper) {
+
+            return new SettingsCacheSnapshot(filePath, refreshRateMs, maxAgeMs, cachingApplicationSettings, cache,
+                    ampCache, videoCache, vertx, clock, mapper);
+        }
     }
 
     @Configuration
     static class ApplicationSettingsConfiguration {
 
+        /**
+         * Settings cache snapshot (if configured) is restored here since handlers depend on this bean, so caches are
+         * already warmed up when server starts listening.
+         */
         @Bean
         ApplicationSettings applicationSettings(
                 @Autowired(required = false) CachingApplicationSettings cachingApplicationSettings,
-                @Autowired(required = false) CompositeApplicationSettings compositeApplicationSettings) {
+                @Autowired(required = false) CompositeApplicationSettings compositeApplicationSettings,
+                @Autowired(required = false) SettingsCacheSnapshot settingsCacheSnapshot) {
+
+            if (settingsCacheSnapshot != null) {
+                settingsCacheSnapshot.restore();
+            }
             return ObjectUtils.defaultIfNull(cachingApplicationSettings, compositeApplicationSettings);
         }
     }
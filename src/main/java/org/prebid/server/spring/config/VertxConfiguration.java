@@ -14,12 +14,17 @@ import org.springframework.context.annotation.Configuration;
 public class VertxConfiguration {
 
     @Bean
-    Vertx vertx(@Value("${vertx.worker-pool-size}") int workerPoolSize) {
-        return Vertx.vertx(new VertxOptions()
+    VertxOptions vertxOptions(@Value("${vertx.worker-pool-size}") int workerPoolSize) {
+        return new VertxOptions()
                 .setWorkerPoolSize(workerPoolSize)
                 .setMetricsOptions(new DropwizardMetricsOptions()
                         .setEnabled(true)
-                        .setRegistryName(MetricsConfiguration.METRIC_REGISTRY_NAME)));
+                        .setRegistryName(MetricsConfiguration.METRIC_REGISTRY_NAME));
+    }
+
+    @Bean
+    Vertx vertx(VertxOptions vertxOptions) {
+        return Vertx.vertx(vertxOptions);
     }
 
     @Bean
@@ -33,7 +38,10 @@ public class VertxConfiguration {
     }
 
     @Bean
-    ContextRunner contextRunner(Vertx vertx, @Value("${vertx.init-timeout-ms}") long initTimeoutMs) {
-        return new ContextRunner(vertx, initTimeoutMs);
+    ContextRunner contextRunner(Vertx vertx,
+                                VertxOptions vertxOptions,
+                                @Value("${vertx.init-timeout-ms}") long initTimeoutMs) {
+
+        return new ContextRunner(vertx, vertxOptions.getEventLoopPoolSize(), initTimeoutMs);
     }
 }
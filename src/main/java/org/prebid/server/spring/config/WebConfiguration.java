@@ -1,5 +1,6 @@
 package org.prebid.server.spring.config;
 
+import com.codahale.metrics.MetricRegistry;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServer;
@@ -14,6 +15,7 @@ import io.vertx.ext.web.handler.StaticHandler;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.prebid.server.analytics.CompositeAnalyticsReporter;
+import org.prebid.server.auction.AdmissionController;
 import org.prebid.server.auction.AmpRequestFactory;
 import org.prebid.server.auction.AmpResponsePostProcessor;
 import org.prebid.server.auction.AuctionRequestFactory;
@@ -39,6 +41,7 @@ import org.prebid.server.handler.GetuidsHandler;
 import org.prebid.server.handler.NoCacheHandler;
 import org.prebid.server.handler.NotificationEventHandler;
 import org.prebid.server.handler.OptoutHandler;
+import org.prebid.server.handler.PrometheusMetricsHandler;
 import org.prebid.server.handler.SettingsCacheNotificationHandler;
 import org.prebid.server.handler.SetuidHandler;
 import org.prebid.server.handler.StatusHandler;
@@ -53,6 +56,8 @@ import org.prebid.server.health.PeriodicHealthChecker;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.manager.AdminManager;
 import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.prometheus.PrometheusNameMapper;
+import org.prebid.server.metric.prometheus.PrometheusTextWriter;
 import org.prebid.server.optout.GoogleRecaptchaVerifier;
 import org.prebid.server.privacy.PrivacyExtractor;
 import org.prebid.server.privacy.gdpr.TcfDefinerService;
@@ -249,10 +254,11 @@ public class WebConfiguration {
             Metrics metrics,
             Clock clock,
             AdminManager adminManager,
-            JacksonMapper mapper) {
+            JacksonMapper mapper,
+            AdmissionController admissionController) {
 
-        return new org.prebid.server.handler.openrtb2.AuctionHandler(
-                auctionRequestFactory, exchangeService, analyticsReporter, metrics, clock, adminManager, mapper);
+        return new org.prebid.server.handler.openrtb2.AuctionHandler(auctionRequestFactory, exchangeService,
+                analyticsReporter, metrics, clock, adminManager, mapper, admissionController);
     }
 
     @Bean
@@ -266,7 +272,8 @@ public class WebConfiguration {
             AmpProperties ampProperties,
             AmpResponsePostProcessor ampResponsePostProcessor,
             AdminManager adminManager,
-            JacksonMapper mapper) {
+            JacksonMapper mapper,
+            AdmissionController admissionController) {
 
         return new AmpHandler(
                 ampRequestFactory,
@@ -278,7 +285,8 @@ public class WebConfiguration {
                 ampProperties.getCustomTargetingSet(),
                 ampResponsePostProcessor,
                 adminManager,
-                mapper);
+                mapper,
+                admissionController);
     }
 
     @Bean
@@ -458,6 +466,9 @@ public class WebConfiguration {
         @Autowired(required = false)
         private SettingsCacheNotificationHandler ampCacheNotificationHandler;
 
+        @Autowired(required = false)
+        private PrometheusMetricsHandler prometheusMetricsHandler;
+
         @Value("${admin.port}")
         private int adminPort;
 
@@ -490,6 +501,12 @@ public class WebConfiguration {
             return VersionHandler.create("git-revision.json", mapper);
         }
 
+        @Bean
+        @ConditionalOnProperty(prefix = "metrics.prometheus.labeled", name = "enabled", havingValue = "true")
+        PrometheusMetricsHandler prometheusMetricsHandler(MetricRegistry metricRegistry) {
+            return new PrometheusMetricsHandler(new PrometheusTextWriter(metricRegistry, new PrometheusNameMapper()));
+        }
+
         @Bean
         AdminHandler adminHandler(AdminManager adminManager) {
             return new AdminHandler(adminManager);
@@ -525,6 +542,9 @@ public class WebConfiguration {
             if (accountCacheInvalidationHandler != null) {
                 router.route("/cache/invalidate").handler(accountCacheInvalidationHandler);
             }
+            if (prometheusMetricsHandler != null) {
+                router.route("/metrics").handler(prometheusMetricsHandler);
+            }
 
             contextRunner.<HttpServer>runOnServiceContext(promise ->
                     vertx.createHttpServer().requestHandler(router).listen(adminPort, promise));
@@ -39,4 +39,6 @@ public class BidderConfigurationProperties {
     private UsersyncConfigurationProperties usersync;
 
     private Map<String, String> extraInfo;
+
+    private Long maxResponseSize;
 }
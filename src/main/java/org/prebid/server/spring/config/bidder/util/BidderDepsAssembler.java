@@ -22,6 +22,8 @@ public class BidderDepsAssembler {
     private boolean enabled;
     private List<String> deprecatedNames;
     private List<String> aliases;
+    private Long maxResponseSize;
+    private String endpoint;
     private BidderInfo bidderInfo;
     private Supplier<Usersyncer> usersyncerCreator;
     private Supplier<Bidder<?>> bidderCreator;
@@ -61,6 +63,8 @@ public class BidderDepsAssembler {
         enabled = configProperties.getEnabled();
         deprecatedNames = configProperties.getDeprecatedNames();
         aliases = configProperties.getAliases();
+        maxResponseSize = configProperties.getMaxResponseSize();
+        endpoint = configProperties.getEndpoint();
         return this;
     }
 
@@ -77,6 +81,8 @@ public class BidderDepsAssembler {
                 .name(bidderName)
                 .deprecatedNames(deprecatedNames)
                 .aliases(aliases)
+                .maxResponseSize(maxResponseSize)
+                .endpoint(endpoint)
                 .bidderInfo(bidderInfo)
                 .usersyncer(usersyncer)
                 .bidder(bidder)
@@ -46,6 +46,10 @@ public final class HttpUtil {
     public static final CharSequence EXPIRES_HEADER = HttpHeaders.createOptimized("Expires");
     public static final CharSequence PRAGMA_HEADER = HttpHeaders.createOptimized("Pragma");
     public static final CharSequence LOCATION_HEADER = HttpHeaders.createOptimized("Location");
+    public static final CharSequence ACCEPT_ENCODING_HEADER = HttpHeaders.createOptimized("Accept-Encoding");
+    public static final CharSequence CONTENT_ENCODING_HEADER = HttpHeaders.createOptimized("Content-Encoding");
+    public static final CharSequence ETAG_HEADER = HttpHeaders.createOptimized("ETag");
+    public static final CharSequence IF_NONE_MATCH_HEADER = HttpHeaders.createOptimized("If-None-Match");
 
     private HttpUtil() {
     }
@@ -1,26 +1,34 @@
 package org.prebid.server.validation;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaException;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.ValidationMessage;
+import lombok.Value;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.json.EncodeException;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.util.ResourceUtil;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * This Component aimed to validate <i>bidrequest.imp[i].ext.{bidder}</i> portion of bidRequest. It relies on
  * JSON schemas that need to be located as resources on classpath.
+ * <p>
+ * Schemas are parsed once on creation. Since the same bidder params (placement ids etc.) come with almost every
+ * request, validation results are additionally cached by bidder and params compared by value.
  */
 public class BidderParamValidator {
 
@@ -30,19 +38,49 @@ public class BidderParamValidator {
 
     private final Map<String, JsonSchema> bidderSchemas;
     private final String schemas;
+    private final Metrics metrics;
+    private final Map<BidderParams, Set<String>> validationCache;
 
-    private BidderParamValidator(Map<String, JsonSchema> bidderSchemas, String schemas) {
+    private BidderParamValidator(Map<String, JsonSchema> bidderSchemas, String schemas, Metrics metrics,
+                                 int validationCacheSize) {
         this.bidderSchemas = bidderSchemas;
         this.schemas = schemas;
+        this.metrics = metrics;
+        this.validationCache = validationCacheSize > 0
+                ? Caffeine.newBuilder()
+                .maximumSize(validationCacheSize)
+                .<BidderParams, Set<String>>build()
+                .asMap()
+                : null;
     }
 
     /**
      * Validates the {@link JsonNode} input parameter against bidder's JSON-schema
      */
     public Set<String> validate(String bidder, JsonNode jsonNode) {
-        return bidderSchemas.get(bidder).validate(jsonNode).stream()
+        if (validationCache == null) {
+            return validateBySchema(bidder, jsonNode);
+        }
+
+        final Set<String> cachedMessages = validationCache.get(BidderParams.of(bidder, jsonNode));
+        metrics.updateBidderParamsValidationCacheMetric(cachedMessages != null);
+        if (cachedMessages != null) {
+            return cachedMessages;
+        }
+
+        final Set<String> messages = validateBySchema(bidder, jsonNode);
+        // params are copied, so that changes made to request by anyone later don't affect cache
+        validationCache.put(BidderParams.of(bidder, jsonNode.deepCopy()), messages);
+        return messages;
+    }
+
+    private Set<String> validateBySchema(String bidder, JsonNode jsonNode) {
+        final long start = System.nanoTime();
+        final Set<String> messages = bidderSchemas.get(bidder).validate(jsonNode).stream()
                 .map(ValidationMessage::getMessage)
                 .collect(Collectors.toSet());
+        metrics.updateBidderParamsValidationTimeMetric(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        return Collections.unmodifiableSet(messages);
     }
 
     /**
@@ -73,13 +111,16 @@ public class BidderParamValidator {
      * exist as CLASSPATH resources, otherwise {@link IllegalArgumentException} will be thrown. This method consumes
      * schema directory parameter that defines the root directory for files containing schemas. By convention the name
      * of each schema file same as corresponding bidder name.
+     * <p>
+     * Validation cache size defines max number of validation results kept in memory, zero disables caching.
      */
-    public static BidderParamValidator create(
-            BidderCatalog bidderCatalog, String schemaDirectory, JacksonMapper mapper) {
+    public static BidderParamValidator create(BidderCatalog bidderCatalog, String schemaDirectory,
+                                              JacksonMapper mapper, Metrics metrics, int validationCacheSize) {
 
         Objects.requireNonNull(bidderCatalog);
         Objects.requireNonNull(schemaDirectory);
         Objects.requireNonNull(mapper);
+        Objects.requireNonNull(metrics);
 
         final Map<String, JsonNode> bidderRawSchemas = new LinkedHashMap<>();
 
@@ -87,7 +128,8 @@ public class BidderParamValidator {
                 .forEach(bidderRequester -> bidderRawSchemas.put(bidderRequester,
                         createSchemaNode(schemaDirectory, bidderRequester, mapper)));
 
-        return new BidderParamValidator(toBidderSchemas(bidderRawSchemas), toSchemas(bidderRawSchemas, mapper));
+        return new BidderParamValidator(toBidderSchemas(bidderRawSchemas), toSchemas(bidderRawSchemas, mapper),
+                metrics, validationCacheSize);
     }
 
     private static Map<String, JsonSchema> toBidderSchemas(Map<String, JsonNode> bidderRawSchemas) {
@@ -141,4 +183,12 @@ public class BidderParamValidator {
         }
         return result;
     }
+
+    @Value(staticConstructor = "of")
+    private static class BidderParams {
+
+        String bidder;
+
+        JsonNode params;
+    }
 }
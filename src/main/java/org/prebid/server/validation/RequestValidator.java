@@ -547,7 +547,8 @@ public class RequestValidator {
         validateNativeEventTrackers(nativeRequest.getEventtrackers(), impIndex);
 
         // modifier was added to reduce memory consumption on updating bidRequest.imp[i].native.request object
-        xNative.setRequest(toEncodedRequest(nativeRequest, updatedAssets));
+        final Request updatedNativeRequest = nativeRequest.toBuilder().assets(updatedAssets).build();
+        xNative.setRequest(toEncodedRequest(updatedNativeRequest), updatedNativeRequest);
     }
 
     private Request parseNativeRequest(String rawStringNativeRequest, int impIndex) throws ValidationException {
@@ -787,9 +788,9 @@ public class RequestValidator {
         return String.format("%s#page=%d", DOCUMENTATION, page);
     }
 
-    private String toEncodedRequest(Request nativeRequest, List<Asset> updatedAssets) {
+    private String toEncodedRequest(Request nativeRequest) {
         try {
-            return mapper.mapper().writeValueAsString(nativeRequest.toBuilder().assets(updatedAssets).build());
+            return mapper.mapper().writeValueAsString(nativeRequest);
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException("Error while marshaling native request to the string", e);
         }
@@ -24,12 +24,14 @@ public class ContextRunner {
     private static final Logger logger = LoggerFactory.getLogger(ContextRunner.class);
 
     private final Vertx vertx;
+    private final int eventLoopPoolSize;
     private final long timeoutMs;
 
     private final Context serviceContext;
 
-    public ContextRunner(Vertx vertx, long timeoutMs) {
+    public ContextRunner(Vertx vertx, int eventLoopPoolSize, long timeoutMs) {
         this.vertx = Objects.requireNonNull(vertx);
+        this.eventLoopPoolSize = eventLoopPoolSize;
         this.timeoutMs = timeoutMs;
 
         this.serviceContext = vertx.getOrCreateContext();
@@ -43,6 +45,18 @@ public class ContextRunner {
         runOnContext(vertx::getOrCreateContext, times, action);
     }
 
+    /**
+     * Runs provided action once on every event loop of {@link Vertx} instance, which is handy for starting
+     * per event loop periodic tasks.
+     * <p>
+     * Vertx binds new contexts to event loops in round-robin manner, so creating as many contexts as there are
+     * event loops (as configured by {@link io.vertx.core.VertxOptions} Vertx instance was created with) covers
+     * each of them once, provided that nothing else creates contexts concurrently, which holds during startup.
+     */
+    public <T> void runOnEachEventLoop(Handler<Promise<T>> action) {
+        runOnNewContext(eventLoopPoolSize, action);
+    }
+
     /**
      * Runs provided action on a dedicated service context.
      */
@@ -0,0 +1,67 @@
+package org.prebid.server.vertx;
+
+import io.vertx.core.Vertx;
+import org.prebid.server.metric.Metrics;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures event loop lag as drift of periodic timer: the timer scheduled with fixed interval fires late
+ * if event loop is busy with other tasks, and the delay is the time any newly arrived task has to wait.
+ * <p>
+ * Sampling should be started on each event loop by calling {@link #startSampling()} from the context bound to it.
+ * Since both sampling timer and request handlers of the same event loop run on the same thread, lag of the
+ * event loop is kept in thread local variable and can be read by handlers without any synchronization.
+ */
+public class EventLoopLagMonitor {
+
+    private final Vertx vertx;
+    private final Metrics metrics;
+    private final long intervalMs;
+
+    private final ThreadLocal<Lag> currentLag = ThreadLocal.withInitial(Lag::new);
+
+    public EventLoopLagMonitor(Vertx vertx, Metrics metrics, long intervalMs) {
+        if (intervalMs <= 0) {
+            throw new IllegalArgumentException("Event loop lag sampling interval must be positive");
+        }
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.intervalMs = intervalMs;
+    }
+
+    /**
+     * Starts periodic lag sampling of the current event loop.
+     */
+    public void startSampling() {
+        final Lag lag = currentLag.get();
+        lag.lastTick = System.nanoTime();
+        vertx.setPeriodic(intervalMs, ignored -> sample(lag));
+    }
+
+    private void sample(Lag lag) {
+        final long now = System.nanoTime();
+        final long lagMs = Math.max(0, TimeUnit.NANOSECONDS.toMillis(now - lag.lastTick) - intervalMs);
+        lag.lastTick = now;
+        lag.lagMs = lagMs;
+
+        metrics.updateEventLoopLagMetric(lagMs);
+    }
+
+    /**
+     * Returns last measured lag in milliseconds of the event loop calling this method, or zero if lag of the
+     * calling thread is not monitored.
+     */
+    public long currentLagMs() {
+        return currentLag.get().lagMs;
+    }
+
+    private static class Lag {
+
+        private long lastTick;
+
+        private long lagMs;
+    }
+}
@@ -1,20 +1,44 @@
 package org.prebid.server.vertx.http;
 
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaderValues;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpConnection;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.net.SocketAddress;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.prebid.server.util.HttpUtil;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Simple wrapper around {@link HttpClient} with general functionality.
+ * <p>
+ * If {@link DnsCache} is given, requests to hosts having resolved address in it connect to this address instead of
+ * resolving host name on every new connection.
+ * <p>
+ * Connections opened by the client are counted by origin until closed, see {@link #openConnections(String)}.
  */
 public class BasicHttpClient implements HttpClient {
 
@@ -22,43 +46,121 @@ public class BasicHttpClient implements HttpClient {
 
     private final Vertx vertx;
     private final io.vertx.core.http.HttpClient httpClient;
+    private final DnsCache dnsCache;
 
-    public BasicHttpClient(Vertx vertx, io.vertx.core.http.HttpClient httpClient) {
+    private final Map<String, Integer> openConnections = new ConcurrentHashMap<>();
+
+    public BasicHttpClient(Vertx vertx, io.vertx.core.http.HttpClient httpClient, DnsCache dnsCache) {
         this.vertx = Objects.requireNonNull(vertx);
         this.httpClient = Objects.requireNonNull(httpClient);
+        this.dnsCache = dnsCache;
     }
 
     @Override
     public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers, String body,
                                               long timeoutMs) {
-        final Promise<HttpClientResponse> promise = Promise.promise();
-
-        if (timeoutMs <= 0) {
-            failResponse(new TimeoutException("Timeout has been exceeded"), promise);
-        } else {
-            final HttpClientRequest httpClientRequest = httpClient.requestAbs(method, url);
-
-            // Vert.x HttpClientRequest timeout doesn't aware of case when a part of the response body is received,
-            // but remaining part is delayed. So, overall request/response timeout is involved to fix it.
-            final long timerId = vertx.setTimer(timeoutMs, id -> handleTimeout(promise, timeoutMs, httpClientRequest));
-
-            httpClientRequest
-                    .setFollowRedirects(true)
-                    .handler(response -> handleResponse(response, promise, timerId))
-                    .exceptionHandler(exception -> failResponse(exception, promise, timerId));
+        return request(method, url, headers, body, timeoutMs, 0L);
+    }
 
-            if (headers != null) {
-                httpClientRequest.headers().addAll(headers);
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers, String body,
+                                              long timeoutMs, long maxResponseSize) {
+        return doRequest(method, url, headers, timeoutMs, maxResponseSize, false, httpClientRequest -> {
+            if (body != null) {
+                httpClientRequest.end(body);
+            } else {
+                httpClientRequest.end();
             }
+        });
+    }
 
+    @Override
+    public Future<HttpClientResponse> requestBinary(HttpMethod method, String url, MultiMap headers, Buffer body,
+                                                    long timeoutMs) {
+        return doRequest(method, url, headers, timeoutMs, 0L, true, httpClientRequest -> {
             if (body != null) {
                 httpClientRequest.end(body);
             } else {
                 httpClientRequest.end();
             }
+        });
+    }
+
+    private Future<HttpClientResponse> doRequest(HttpMethod method, String url, MultiMap headers, long timeoutMs,
+                                                 long maxResponseSize, boolean binary,
+                                                 Consumer<HttpClientRequest> requestEnder) {
+        final Promise<HttpClientResponse> promise = Promise.promise();
+
+        if (timeoutMs <= 0) {
+            failResponse(new TimeoutException("Timeout has been exceeded"), promise);
+            return promise.future();
+        }
+
+        final HttpClientRequest httpClientRequest = createRequest(method, url);
+
+        // Vert.x HttpClientRequest timeout doesn't aware of case when a part of the response body is received,
+        // but remaining part is delayed. So, overall request/response timeout is involved to fix it.
+        final long timerId = vertx.setTimer(timeoutMs, id -> handleTimeout(promise, timeoutMs, httpClientRequest));
+
+        // connection handler is called only for connections established for this request, not for pooled ones
+        final AtomicBoolean newConnection = new AtomicBoolean();
+
+        httpClientRequest
+                .setFollowRedirects(true)
+                .connectionHandler(connection -> {
+                    newConnection.set(true);
+                    trackConnection(url, connection);
+                })
+                .handler(response -> handleResponse(response, promise, timerId, maxResponseSize, binary))
+                .exceptionHandler(exception -> failResponse(exception, promise, timerId));
+
+        if (headers != null) {
+            httpClientRequest.headers().addAll(headers);
         }
 
-        return promise.future();
+        requestEnder.accept(httpClientRequest);
+
+        return promise.future()
+                .map(response -> newConnection.get() ? response.withNewConnection() : response);
+    }
+
+    /**
+     * Returns number of connections opened by this client to the origin (scheme, host and port) of the given absolute
+     * URL and not closed yet.
+     */
+    public int openConnections(String url) {
+        final String origin = origin(url);
+        return origin != null ? openConnections.getOrDefault(origin, 0) : 0;
+    }
+
+    private void trackConnection(String url, HttpConnection connection) {
+        final String origin = origin(url);
+        if (origin == null) {
+            return;
+        }
+
+        openConnections.merge(origin, 1, Integer::sum);
+        connection.closeHandler(ignored ->
+                openConnections.computeIfPresent(origin, (key, count) -> count > 1 ? count - 1 : null));
+    }
+
+    private static String origin(String url) {
+        final URL parsedUrl;
+        try {
+            parsedUrl = new URL(url);
+        } catch (MalformedURLException e) {
+            return null;
+        }
+
+        final int port = parsedUrl.getPort() != -1 ? parsedUrl.getPort() : parsedUrl.getDefaultPort();
+        return String.format("%s://%s:%d", parsedUrl.getProtocol(), parsedUrl.getHost(), port);
+    }
+
+    private HttpClientRequest createRequest(HttpMethod method, String url) {
+        final SocketAddress serverAddress = dnsCache != null ? dnsCache.serverAddress(url) : null;
+        return serverAddress != null
+                ? httpClient.requestAbs(method, serverAddress, url)
+                : httpClient.requestAbs(method, url);
     }
 
     private void handleTimeout(Promise<HttpClientResponse> promise,
@@ -75,17 +177,95 @@ public class BasicHttpClient implements HttpClient {
     }
 
     private void handleResponse(io.vertx.core.http.HttpClientResponse response,
-                                Promise<HttpClientResponse> promise, long timerId) {
+                                Promise<HttpClientResponse> promise, long timerId, long maxResponseSize,
+                                boolean binary) {
+        if (maxResponseSize <= 0) {
+            response
+                    .bodyHandler(buffer -> handleBody(buffer, response, promise, timerId, maxResponseSize, binary))
+                    .exceptionHandler(exception -> failResponse(exception, promise, timerId));
+            return;
+        }
+
+        final String contentLength = response.getHeader(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength != null && NumberUtils.toLong(contentLength) > maxResponseSize) {
+            abortResponse(response, promise, timerId, maxResponseSize);
+            return;
+        }
+
+        // collects body by chunks instead of using body handler to stop reading as soon as limit is exceeded
+        final Buffer body = Buffer.buffer();
         response
-                .bodyHandler(buffer -> successResponse(buffer.toString(), response, promise, timerId))
+                .handler(chunk -> {
+                    if (body.length() + chunk.length() > maxResponseSize) {
+                        abortResponse(response, promise, timerId, maxResponseSize);
+                    } else if (!promise.future().isComplete()) {
+                        body.appendBuffer(chunk);
+                    }
+                })
+                .endHandler(ignored -> handleBody(body, response, promise, timerId, maxResponseSize, binary))
                 .exceptionHandler(exception -> failResponse(exception, promise, timerId));
     }
 
-    private void successResponse(String body, io.vertx.core.http.HttpClientResponse response,
-                                 Promise<HttpClientResponse> promise, long timerId) {
+    /**
+     * Fails response exceeding the limit and closes connection, so that the rest of the body is not read.
+     */
+    private void abortResponse(io.vertx.core.http.HttpClientResponse response, Promise<HttpClientResponse> promise,
+                               long timerId, long maxResponseSize) {
+        if (!promise.future().isComplete()) {
+            failResponse(new ResponseTooLargeException(maxResponseSize), promise, timerId);
+            response.request().reset();
+        }
+    }
+
+    /**
+     * Decompresses gzipped body if it was not already done by underlying client (i.e. compression is not enabled
+     * for the client but caller asked for gzip explicitly).
+     * <p>
+     * Body of binary request response is passed as is, otherwise it is decoded to text.
+     */
+    private void handleBody(Buffer buffer, io.vertx.core.http.HttpClientResponse response,
+                            Promise<HttpClientResponse> promise, long timerId, long maxResponseSize,
+                            boolean binary) {
+        if (promise.future().isComplete()) {
+            return;
+        }
+
+        final Buffer body;
+        if (HttpHeaderValues.GZIP.contentEqualsIgnoreCase(response.getHeader(HttpUtil.CONTENT_ENCODING_HEADER))) {
+            try {
+                body = gunzip(buffer, maxResponseSize);
+            } catch (IOException | ResponseTooLargeException e) {
+                failResponse(e, promise, timerId);
+                return;
+            }
+        } else {
+            body = buffer;
+        }
+
+        successResponse(binary
+                ? HttpClientResponse.ofBinary(response.statusCode(), response.headers(), body)
+                : HttpClientResponse.of(response.statusCode(), response.headers(), body.toString()), promise, timerId);
+    }
+
+    private static Buffer gunzip(Buffer buffer, long maxResponseSize) throws IOException {
+        try (InputStream inputStream = new GZIPInputStream(new ByteBufInputStream(buffer.getByteBuf()))) {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(buffer.length() * 4);
+            final byte[] chunk = new byte[8192];
+            int read;
+            while ((read = inputStream.read(chunk)) != -1) {
+                outputStream.write(chunk, 0, read);
+                if (maxResponseSize > 0 && outputStream.size() > maxResponseSize) {
+                    throw new ResponseTooLargeException(maxResponseSize);
+                }
+            }
+            return Buffer.buffer(Unpooled.wrappedBuffer(outputStream.toByteArray()));
+        }
+    }
+
+    private void successResponse(HttpClientResponse response, Promise<HttpClientResponse> promise, long timerId) {
         vertx.cancelTimer(timerId);
 
-        promise.tryComplete(HttpClientResponse.of(response.statusCode(), response.headers(), body));
+        promise.tryComplete(response);
     }
 
     private void failResponse(Throwable exception, Promise<HttpClientResponse> promise, long timerId) {
@@ -0,0 +1,116 @@
+package org.prebid.server.vertx.http;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps connections to the given endpoints open, so that requests to them don't wait for TCP and TLS handshakes.
+ * <p>
+ * Connections are opened by concurrent HEAD requests to the root of every endpoint: each of them takes a separate
+ * connection from the pool and leaves it open after response is received. Requests are repeated periodically so that
+ * connections don't expire, interval should be shorter than keep-alive timeout of both client and endpoints.
+ * Responses are ignored, any of them is fine for the purpose.
+ * <p>
+ * Requests are sent by {@link BasicHttpClient} directly rather than through circuit breaker, so that warm-up
+ * neither affects nor is blocked by its state. Origins already having the given number of connections open
+ * (by warm-up or regular requests) are skipped until some of them are closed.
+ * <p>
+ * {@link io.vertx.core.http.HttpClient} pools connections per event loop, so warming up should be started on each
+ * event loop by calling {@link #startWarmingUp()} from the context bound to it.
+ */
+public class ConnectionWarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionWarmer.class);
+
+    private final Vertx vertx;
+    private final BasicHttpClient httpClient;
+    private final DnsCache dnsCache;
+    private final Map<String, String> originHosts;
+    private final int connections;
+    private final long intervalMs;
+    private final long timeoutMs;
+
+    public ConnectionWarmer(Vertx vertx, BasicHttpClient httpClient, DnsCache dnsCache, Collection<URL> endpoints,
+                            int connections, long intervalMs, long timeoutMs) {
+        if (connections <= 0) {
+            throw new IllegalArgumentException("Number of connections to warm up must be positive");
+        }
+        if (intervalMs <= 0) {
+            throw new IllegalArgumentException("Connection warm-up interval must be positive");
+        }
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.httpClient = Objects.requireNonNull(httpClient);
+        this.dnsCache = dnsCache;
+        this.originHosts = originHosts(Objects.requireNonNull(endpoints));
+        this.connections = connections;
+        this.intervalMs = intervalMs;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Returns hosts of the given endpoints by their distinct origins (scheme, host and port).
+     * <p>
+     * Origins are compared as strings since {@link URL#equals(Object)} resolves host names.
+     */
+    private static Map<String, String> originHosts(Collection<URL> endpoints) {
+        final Map<String, String> originHosts = new LinkedHashMap<>();
+        for (URL endpoint : endpoints) {
+            originHosts.put(origin(endpoint), endpoint.getHost());
+        }
+        return originHosts;
+    }
+
+    private static String origin(URL endpoint) {
+        try {
+            return new URL(endpoint.getProtocol(), endpoint.getHost(), endpoint.getPort(), "/").toString();
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException(String.format("Invalid endpoint %s", endpoint), e);
+        }
+    }
+
+    /**
+     * Warms up connections of the current event loop right away and then periodically.
+     */
+    public void startWarmingUp() {
+        warmUp();
+        vertx.setPeriodic(intervalMs, ignored -> warmUp());
+    }
+
+    private void warmUp() {
+        for (Map.Entry<String, String> originHost : originHosts.entrySet()) {
+            final Future<String> addressFuture = dnsCache != null
+                    ? dnsCache.resolve(originHost.getValue())
+                    : Future.succeededFuture();
+
+            // requests go after address is resolved, otherwise all of them would wait for resolution separately
+            addressFuture.setHandler(ignored -> warmUp(originHost.getKey()));
+        }
+    }
+
+    private void warmUp(String origin) {
+        if (httpClient.openConnections(origin) >= connections) {
+            return;
+        }
+
+        for (int i = 0; i < connections; i++) {
+            httpClient.request(HttpMethod.HEAD, origin, null, null, timeoutMs)
+                    .setHandler(result -> {
+                        if (result.failed()) {
+                            logger.debug("Connection warm-up request to {0} failed: {1}", origin,
+                                    result.cause().getMessage());
+                        }
+                    });
+        }
+    }
+}
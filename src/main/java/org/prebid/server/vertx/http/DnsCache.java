@@ -0,0 +1,158 @@
+package org.prebid.server.vertx.http;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.net.SocketAddress;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.prebid.server.vertx.Initializable;
+
+import java.net.InetAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps addresses of the given hosts resolved in background, so that requests to these hosts don't wait for
+ * DNS resolution.
+ * <p>
+ * Addresses are resolved by system resolver on worker threads on initialization and then refreshed periodically.
+ * Resolved address is served during the given time-to-live since it was resolved last time, so it survives
+ * failed refreshes for a while. Hosts not registered in cache are never resolved by it, which keeps cache bounded.
+ * <p>
+ * Single address is served per host, since HTTP client keeps a separate connection pool per server address.
+ * It stays the same after refresh as long as host still resolves to it, so that pooled and warmed up connections
+ * are not abandoned when resolver returns addresses in different order.
+ * <p>
+ * Cache is shared by all event loops and is thread-safe.
+ */
+public class DnsCache implements Initializable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DnsCache.class);
+
+    private final Vertx vertx;
+    private final Set<String> hosts;
+    private final long refreshIntervalMs;
+    private final long ttlMs;
+    private final Clock clock;
+
+    private final Map<String, ResolvedAddress> addresses = new ConcurrentHashMap<>();
+
+    public DnsCache(Vertx vertx, Set<String> hosts, long refreshIntervalMs, long ttlMs, Clock clock) {
+        if (refreshIntervalMs <= 0) {
+            throw new IllegalArgumentException("DNS cache refresh interval must be positive");
+        }
+        if (ttlMs < refreshIntervalMs) {
+            throw new IllegalArgumentException("DNS cache TTL must not be less than refresh interval");
+        }
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.hosts = Objects.requireNonNull(hosts);
+        this.refreshIntervalMs = refreshIntervalMs;
+        this.ttlMs = ttlMs;
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    @Override
+    public void initialize() {
+        refresh();
+        vertx.setPeriodic(refreshIntervalMs, ignored -> refresh());
+    }
+
+    /**
+     * Returns resolved address of the given host or null if host is not registered or its address has expired.
+     */
+    public String address(String host) {
+        final ResolvedAddress resolvedAddress = addresses.get(host);
+        return resolvedAddress != null && clock.millis() - resolvedAddress.getResolvedAt() < ttlMs
+                ? resolvedAddress.getAddress()
+                : null;
+    }
+
+    /**
+     * Returns server address to connect to for the given absolute URL or null if its host has no resolved address
+     * in cache (or URL is malformed, which is left for HTTP client to report).
+     */
+    public SocketAddress serverAddress(String url) {
+        final URL parsedUrl;
+        try {
+            parsedUrl = new URL(url);
+        } catch (MalformedURLException e) {
+            return null;
+        }
+
+        final String address = address(parsedUrl.getHost());
+        return address != null
+                ? SocketAddress.inetSocketAddress(
+                parsedUrl.getPort() != -1 ? parsedUrl.getPort() : parsedUrl.getDefaultPort(), address)
+                : null;
+    }
+
+    /**
+     * Returns future completed with resolved address of the given host. Registered host missing in cache is resolved
+     * right away, otherwise result is the same as of {@link #address(String)}. Future is never failed.
+     */
+    public Future<String> resolve(String host) {
+        final String address = address(host);
+        return address == null && hosts.contains(host)
+                ? doResolve(host)
+                : Future.succeededFuture(address);
+    }
+
+    private void refresh() {
+        hosts.forEach(this::doResolve);
+    }
+
+    private Future<String> doResolve(String host) {
+        final Promise<InetAddress[]> promise = Promise.promise();
+        vertx.executeBlocking(resolvePromise -> resolveBlocking(host, resolvePromise), false, promise);
+        return promise.future()
+                .map(inetAddresses -> cache(host, inetAddresses))
+                .otherwise(exception -> {
+                    logger.warn("Failed to resolve address of host {0}: {1}", host, exception.getMessage());
+                    return address(host);
+                });
+    }
+
+    private static void resolveBlocking(String host, Promise<InetAddress[]> promise) {
+        try {
+            promise.complete(InetAddress.getAllByName(host));
+        } catch (UnknownHostException e) {
+            promise.fail(e);
+        }
+    }
+
+    private String cache(String host, InetAddress[] inetAddresses) {
+        final List<String> hostAddresses = Arrays.stream(inetAddresses)
+                .map(InetAddress::getHostAddress)
+                .collect(Collectors.toList());
+
+        final ResolvedAddress previous = addresses.get(host);
+        final String address = previous != null && hostAddresses.contains(previous.getAddress())
+                ? previous.getAddress()
+                : hostAddresses.get(0);
+
+        addresses.put(host, ResolvedAddress.of(address, clock.millis()));
+        return address;
+    }
+
+    @AllArgsConstructor(staticName = "of")
+    @Value
+    private static class ResolvedAddress {
+
+        String address;
+
+        long resolvedAt;
+    }
+}
@@ -2,17 +2,36 @@ package org.prebid.server.vertx.http;
 
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
 /**
  * Interface describes HTTP interactions.
  */
-@FunctionalInterface
 public interface HttpClient {
 
     Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers, String body, long timeoutMs);
 
+    /**
+     * Makes request failing with {@link ResponseTooLargeException} if response body exceeds given number of bytes.
+     * Non-positive size means no limit.
+     * <p>
+     * By default the limit is not enforced, so implementations able to abort reading of the response
+     * should override this method.
+     */
+    default Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers, String body,
+                                               long timeoutMs, long maxResponseSize) {
+        return request(method, url, headers, body, timeoutMs);
+    }
+
+    /**
+     * Makes request with binary body. Response body is not decoded to text and is available
+     * as {@link HttpClientResponse#getBinaryBody()}.
+     */
+    Future<HttpClientResponse> requestBinary(HttpMethod method, String url, MultiMap headers, Buffer body,
+                                             long timeoutMs);
+
     default Future<HttpClientResponse> get(String url, MultiMap headers, long timeoutMs) {
         return request(HttpMethod.GET, url, headers, null, timeoutMs);
     }
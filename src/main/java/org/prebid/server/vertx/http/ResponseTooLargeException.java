@@ -0,0 +1,11 @@
+package org.prebid.server.vertx.http;
+
+/**
+ * Signals that response body is larger than allowed for the request.
+ */
+public class ResponseTooLargeException extends RuntimeException {
+
+    public ResponseTooLargeException(long maxResponseSize) {
+        super(String.format("Response size exceeded max size of %d bytes", maxResponseSize));
+    }
+}
@@ -1,6 +1,8 @@
 package org.prebid.server.vertx.http.model;
 
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Value;
 
@@ -9,7 +11,7 @@ import lombok.Value;
  * <p>
  * Should be created in "bodyHandler(...) after response has been read."
  */
-@AllArgsConstructor(staticName = "of")
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Value
 public class HttpClientResponse {
 
@@ -18,4 +20,26 @@ public class HttpClientResponse {
     MultiMap headers;
 
     String body;
+
+    /**
+     * Body as received, is set instead of {@link #body} for responses to binary requests only.
+     */
+    Buffer binaryBody;
+
+    /**
+     * Whether connection was established for this request rather than taken from the pool.
+     */
+    boolean newConnection;
+
+    public static HttpClientResponse of(int statusCode, MultiMap headers, String body) {
+        return new HttpClientResponse(statusCode, headers, body, null, false);
+    }
+
+    public static HttpClientResponse ofBinary(int statusCode, MultiMap headers, Buffer binaryBody) {
+        return new HttpClientResponse(statusCode, headers, null, binaryBody, false);
+    }
+
+    public HttpClientResponse withNewConnection() {
+        return new HttpClientResponse(statusCode, headers, body, binaryBody, true);
+    }
 }
@@ -0,0 +1,88 @@
+package org.prebid.server.auction;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.metric.MetricName;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class AuctionDeadlineCheckerTest {
+
+    private TimeoutFactory timeoutFactory;
+
+    private AuctionDeadlineChecker auctionDeadlineChecker;
+
+    @Before
+    public void setUp() {
+        timeoutFactory = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault()));
+
+        auctionDeadlineChecker = new AuctionDeadlineChecker(true, 50);
+    }
+
+    @Test
+    public void creationShouldFailOnNegativeMinBidderTime() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new AuctionDeadlineChecker(true, -1));
+    }
+
+    @Test
+    public void updateStageTimesShouldSmoothEstimates() {
+        // when
+        auctionDeadlineChecker.updateStageTimes(singletonMap(MetricName.response_creation, 8000L));
+        auctionDeadlineChecker.updateStageTimes(singletonMap(MetricName.response_creation, 8000L));
+
+        // then
+        assertThat(auctionDeadlineChecker.estimateMicros(MetricName.response_creation)).isEqualTo(1875L);
+        assertThat(auctionDeadlineChecker.estimateMicros(MetricName.privacy_enforcement)).isZero();
+    }
+
+    @Test
+    public void hasEnoughTimeShouldReturnTrueIfRemainingTimeIsNotLessThanMinBidderTime() {
+        // given
+        final Timeout timeout = timeoutFactory.create(50);
+
+        // when and then
+        assertThat(auctionDeadlineChecker.hasEnoughTime(timeout)).isTrue();
+    }
+
+    @Test
+    public void hasEnoughTimeShouldReturnFalseIfRemainingTimeIsLessThanMinBidderTime() {
+        // given
+        final Timeout timeout = timeoutFactory.create(49);
+
+        // when and then
+        assertThat(auctionDeadlineChecker.hasEnoughTime(timeout)).isFalse();
+    }
+
+    @Test
+    public void hasEnoughTimeShouldTakeEstimatedLocalProcessingTimeIntoAccount() {
+        // given
+        final Map<MetricName, Long> stageTimes = new EnumMap<>(MetricName.class);
+        stageTimes.put(MetricName.privacy_enforcement, 40_000L);
+        stageTimes.put(MetricName.response_creation, 40_000L);
+        auctionDeadlineChecker.updateStageTimes(stageTimes);
+
+        // when and then
+        // estimates are 5 ms for each stage after first update
+        assertThat(auctionDeadlineChecker.hasEnoughTime(timeoutFactory.create(60))).isTrue();
+        assertThat(auctionDeadlineChecker.hasEnoughTime(timeoutFactory.create(59))).isFalse();
+    }
+
+    @Test
+    public void hasEnoughTimeShouldReturnTrueIfDisabled() {
+        // given
+        auctionDeadlineChecker = new AuctionDeadlineChecker(false, 50);
+
+        // when and then
+        assertThat(auctionDeadlineChecker.hasEnoughTime(timeoutFactory.create(1))).isTrue();
+    }
+}
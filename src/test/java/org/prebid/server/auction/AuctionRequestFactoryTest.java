@@ -26,6 +26,7 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.prebid.server.VertxTest;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.StageTimings;
 import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.cookie.UidsCookieService;
@@ -38,6 +39,7 @@ import org.prebid.server.exception.PreBidException;
 import org.prebid.server.exception.UnauthorizedAccountException;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.metric.MetricName;
 import org.prebid.server.proto.openrtb.ext.request.ExtBidRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtGranularityRange;
 import org.prebid.server.proto.openrtb.ext.request.ExtMediaTypePriceGranularity;
@@ -1121,6 +1123,19 @@ public class AuctionRequestFactoryTest extends VertxTest {
         assertThat(timeout).isNotNull();
     }
 
+    @Test
+    public void shouldReturnAuctionContextWithStageTimings() {
+        // given
+        givenValidBidRequest();
+
+        // when
+        final StageTimings stageTimings = factory.fromRequest(routingContext, 0L).result().getStageTimings();
+
+        // then
+        assertThat(stageTimings.getStageTimes()).containsOnlyKeys(MetricName.request_parsing,
+                MetricName.stored_request_processing, MetricName.account_fetch);
+    }
+
     @Test
     public void shouldReturnFailedFutureWhenAccountIdIsBlacklisted() {
         // given
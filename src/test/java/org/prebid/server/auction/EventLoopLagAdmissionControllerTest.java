@@ -0,0 +1,64 @@
+package org.prebid.server.auction;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.auction.model.AdmissionDecision;
+import org.prebid.server.vertx.EventLoopLagMonitor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+
+public class EventLoopLagAdmissionControllerTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private EventLoopLagMonitor eventLoopLagMonitor;
+
+    private EventLoopLagAdmissionController admissionController;
+
+    @Before
+    public void setUp() {
+        admissionController = new EventLoopLagAdmissionController(eventLoopLagMonitor, 50, 200);
+    }
+
+    @Test
+    public void creationShouldFailIfDegradeThresholdIsGreaterThanRejectThreshold() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new EventLoopLagAdmissionController(eventLoopLagMonitor, 200, 50))
+                .withMessage("Degrade threshold must not be greater than reject threshold");
+    }
+
+    @Test
+    public void decideShouldReturnAdmitIfLagIsBelowDegradeThreshold() {
+        // given
+        given(eventLoopLagMonitor.currentLagMs()).willReturn(49L);
+
+        // when and then
+        assertThat(admissionController.decide()).isEqualTo(AdmissionDecision.admit);
+    }
+
+    @Test
+    public void decideShouldReturnDegradeIfLagReachesDegradeThreshold() {
+        // given
+        given(eventLoopLagMonitor.currentLagMs()).willReturn(50L);
+
+        // when and then
+        assertThat(admissionController.decide()).isEqualTo(AdmissionDecision.degrade);
+    }
+
+    @Test
+    public void decideShouldReturnRejectIfLagReachesRejectThreshold() {
+        // given
+        given(eventLoopLagMonitor.currentLagMs()).willReturn(200L);
+
+        // when and then
+        assertThat(admissionController.decide()).isEqualTo(AdmissionDecision.reject);
+    }
+}
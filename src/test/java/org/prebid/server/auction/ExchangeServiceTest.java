@@ -34,6 +34,7 @@ import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.BidRequestCacheInfo;
 import org.prebid.server.auction.model.BidderPrivacyResult;
 import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.auction.model.StageTimings;
 import org.prebid.server.auction.model.StoredResponseResult;
 import org.prebid.server.bidder.Bidder;
 import org.prebid.server.bidder.BidderCatalog;
@@ -44,6 +45,7 @@ import org.prebid.server.bidder.model.BidderError;
 import org.prebid.server.bidder.model.BidderSeatBid;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.currency.CurrencyConversionService;
+import org.prebid.server.exception.InsufficientTimeException;
 import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.Timeout;
@@ -72,6 +74,7 @@ import org.prebid.server.proto.openrtb.ext.response.ExtBidPrebid;
 import org.prebid.server.proto.openrtb.ext.response.ExtBidResponse;
 import org.prebid.server.proto.openrtb.ext.response.ExtBidderError;
 import org.prebid.server.proto.openrtb.ext.response.ExtHttpCall;
+import org.prebid.server.proto.openrtb.ext.response.ExtResponseDebug;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.validation.ResponseBidValidator;
 import org.prebid.server.validation.model.ValidationResult;
@@ -143,6 +146,8 @@ public class ExchangeServiceTest extends VertxTest {
     @Spy
     private BidResponsePostProcessor.NoOpBidResponsePostProcessor bidResponsePostProcessor;
     @Mock
+    private AuctionDeadlineChecker auctionDeadlineChecker;
+    @Mock
     private Metrics metrics;
     @Mock
     private UidsCookie uidsCookie;
@@ -187,6 +192,8 @@ public class ExchangeServiceTest extends VertxTest {
         given(storedResponseProcessor.mergeWithBidderResponses(any(), any(), any())).willAnswer(
                 inv -> inv.getArgument(0));
 
+        given(auctionDeadlineChecker.hasEnoughTime(any())).willReturn(true);
+
         clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
         timeout = new TimeoutFactory(clock).create(500);
 
@@ -200,6 +207,7 @@ public class ExchangeServiceTest extends VertxTest {
                 currencyService,
                 bidResponseCreator,
                 bidResponsePostProcessor,
+                auctionDeadlineChecker,
                 metrics,
                 clock,
                 jacksonMapper);
@@ -218,6 +226,7 @@ public class ExchangeServiceTest extends VertxTest {
                         currencyService,
                         bidResponseCreator,
                         bidResponsePostProcessor,
+                        auctionDeadlineChecker,
                         metrics,
                         clock,
                         jacksonMapper));
@@ -302,6 +311,25 @@ public class ExchangeServiceTest extends VertxTest {
                 .build());
     }
 
+    @Test
+    public void shouldShareBidderSpecificExtensionWithOriginalImp() {
+        // given
+        givenBidder(givenEmptySeatBid());
+
+        final ObjectNode impExt = mapper.createObjectNode();
+        impExt.set("prebid", mapper.createObjectNode().put("storedrequest", "id"));
+        impExt.set("someBidder", mapper.createObjectNode().put("param", 1));
+        final BidRequest bidRequest = givenBidRequest(singletonList(givenImp(null, builder -> builder.ext(impExt))));
+
+        // when
+        exchangeService.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        final ObjectNode capturedImpExt = captureBidRequest().getImp().get(0).getExt();
+        assertThat(capturedImpExt.get("prebid")).isSameAs(impExt.get("prebid"));
+        assertThat(capturedImpExt.get("bidder")).isSameAs(impExt.get("someBidder"));
+    }
+
     @Test
     public void shouldExtractRequestWithCurrencyRatesExtension() {
         // given
@@ -361,14 +389,16 @@ public class ExchangeServiceTest extends VertxTest {
 
         // then
         final ArgumentCaptor<BidRequest> bidRequest1Captor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(same(bidder1), bidRequest1Captor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(same(bidder1), any(), bidRequest1Captor.capture(), any(),
+                any(), anyBoolean());
         final BidRequest capturedBidRequest1 = bidRequest1Captor.getValue();
         assertThat(capturedBidRequest1.getImp()).hasSize(2)
                 .extracting(imp -> imp.getExt().get("bidder").asInt())
                 .containsOnly(1, 3);
 
         final ArgumentCaptor<BidRequest> bidRequest2Captor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(same(bidder2), bidRequest2Captor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(same(bidder2), any(), bidRequest2Captor.capture(), any(),
+                any(), anyBoolean());
         final BidRequest capturedBidRequest2 = bidRequest2Captor.getValue();
         assertThat(capturedBidRequest2.getImp()).hasSize(1)
                 .element(0).returns(2, imp -> imp.getExt().get("bidder").asInt());
@@ -403,7 +433,8 @@ public class ExchangeServiceTest extends VertxTest {
 
         // then
         final ArgumentCaptor<BidRequest> bidRequest1Captor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(same(bidder1), bidRequest1Captor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(same(bidder1), any(), bidRequest1Captor.capture(), any(),
+                any(), anyBoolean());
 
         final BidRequest capturedBidRequest1 = bidRequest1Captor.getValue();
         final JsonNode prebid1 = capturedBidRequest1.getExt().get("prebid");
@@ -414,7 +445,8 @@ public class ExchangeServiceTest extends VertxTest {
                 .containsOnly(entry("bidder", mapper.createObjectNode().put("test1", "test1")));
 
         final ArgumentCaptor<BidRequest> bidRequest2Captor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(same(bidder2), bidRequest2Captor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(same(bidder2), any(), bidRequest2Captor.capture(), any(),
+                any(), anyBoolean());
         final BidRequest capturedBidRequest2 = bidRequest2Captor.getValue();
         final JsonNode prebid2 = capturedBidRequest2.getExt().get("prebid");
         assertThat(prebid2).isNotNull();
@@ -459,7 +491,8 @@ public class ExchangeServiceTest extends VertxTest {
 
         // then
         final ArgumentCaptor<BidRequest> bidRequest1Captor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(same(bidder1), bidRequest1Captor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(same(bidder1), any(), bidRequest1Captor.capture(), any(),
+                any(), anyBoolean());
         final BidRequest capturedBidRequest1 = bidRequest1Captor.getValue();
         final JsonNode requestSchain1 = capturedBidRequest1.getSource().getExt().get("schain");
         assertThat(requestSchain1).isNotNull();
@@ -467,7 +500,8 @@ public class ExchangeServiceTest extends VertxTest {
         assertThat(capturedBidRequest1.getExt().get("prebid").get("schains")).isNull();
 
         final ArgumentCaptor<BidRequest> bidRequest2Captor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(same(bidder2), bidRequest2Captor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(same(bidder2), any(), bidRequest2Captor.capture(), any(),
+                any(), anyBoolean());
         final BidRequest capturedBidRequest2 = bidRequest2Captor.getValue();
         final JsonNode requestSchain2 = capturedBidRequest2.getSource().getExt().get("schain");
         assertThat(requestSchain2).isNotNull();
@@ -475,7 +509,8 @@ public class ExchangeServiceTest extends VertxTest {
         assertThat(capturedBidRequest2.getExt().get("prebid").get("schains")).isNull();
 
         final ArgumentCaptor<BidRequest> bidRequest3Captor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(same(bidder3), bidRequest3Captor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(same(bidder3), any(), bidRequest3Captor.capture(), any(),
+                any(), anyBoolean());
         final BidRequest capturedBidRequest3 = bidRequest3Captor.getValue();
         final JsonNode requestSchain3 = capturedBidRequest3.getSource().getExt().get("schain");
         assertThat(requestSchain3).isNotNull();
@@ -551,6 +586,26 @@ public class ExchangeServiceTest extends VertxTest {
         verifyZeroInteractions(httpBidderRequester);
     }
 
+    @Test
+    public void shouldPassMaxResponseSizeOfResolvedBidder() {
+        // given
+        final Bidder<?> bidder = mock(Bidder.class);
+        givenBidder("bidder", bidder, givenEmptySeatBid());
+        given(bidderCatalog.maxResponseSizeByName("bidder")).willReturn(100L);
+
+        final BidRequest bidRequest = givenBidRequest(singletonList(
+                givenImp(singletonMap("bidderAlias", 1), identity())),
+                builder -> builder.ext(mapper.valueToTree(ExtBidRequest.of(ExtRequestPrebid.builder()
+                        .aliases(singletonMap("bidderAlias", "bidder"))
+                        .build()))));
+
+        // when
+        exchangeService.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        verify(httpBidderRequester).requestBids(same(bidder), any(), any(), any(), eq(100L), anyBoolean());
+    }
+
     @Test
     public void shouldExtractRequestByAliasForCorrectBidder() {
         // given
@@ -569,7 +624,8 @@ public class ExchangeServiceTest extends VertxTest {
 
         // then
         final ArgumentCaptor<BidRequest> bidRequestCaptor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(same(bidder), bidRequestCaptor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(same(bidder), any(), bidRequestCaptor.capture(), any(),
+                any(), anyBoolean());
         assertThat(bidRequestCaptor.getValue().getImp()).hasSize(1)
                 .extracting(imp -> imp.getExt().get("bidder").asInt())
                 .contains(1);
@@ -591,7 +647,7 @@ public class ExchangeServiceTest extends VertxTest {
 
         // then
         final ArgumentCaptor<BidRequest> bidRequestCaptor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester, times(2)).requestBids(same(bidder), bidRequestCaptor.capture(), any(),
+        verify(httpBidderRequester, times(2)).requestBids(same(bidder), any(), bidRequestCaptor.capture(), any(), any(),
                 anyBoolean());
         final List<BidRequest> capturedBidRequests = bidRequestCaptor.getAllValues();
 
@@ -619,17 +675,21 @@ public class ExchangeServiceTest extends VertxTest {
     @Test
     public void shouldReturnSeparateSeatBidsForTheSameBidderIfBiddersAliasAndBidderWereUsedWithingSingleImp() {
         // given
-        given(httpBidderRequester.requestBids(any(), eq(givenBidRequest(givenSingleImp(singletonMap("bidder", 1)),
-                builder -> builder.ext(mapper.valueToTree(ExtBidRequest.of(ExtRequestPrebid.builder()
-                        .auctiontimestamp(1000L)
-                        .aliases(singletonMap("bidderAlias", "bidder")).build()))))), any(), anyBoolean()))
+        given(httpBidderRequester.requestBids(any(), eq("bidder"),
+                eq(givenBidRequest(givenSingleImp(singletonMap("bidder", 1)),
+                        builder -> builder.ext(mapper.valueToTree(ExtBidRequest.of(ExtRequestPrebid.builder()
+                                .auctiontimestamp(1000L)
+                                .aliases(singletonMap("bidderAlias", "bidder")).build()))))),
+                any(), any(), anyBoolean()))
                 .willReturn(Future.succeededFuture(givenSeatBid(singletonList(
                         givenBid(Bid.builder().price(BigDecimal.ONE).build())))));
 
-        given(httpBidderRequester.requestBids(any(), eq(givenBidRequest(givenSingleImp(singletonMap("bidder", 2)),
-                builder -> builder.ext(mapper.valueToTree(ExtBidRequest.of(ExtRequestPrebid.builder()
-                        .auctiontimestamp(1000L)
-                        .aliases(singletonMap("bidderAlias", "bidder")).build()))))), any(), anyBoolean()))
+        given(httpBidderRequester.requestBids(any(), eq("bidderAlias"),
+                eq(givenBidRequest(givenSingleImp(singletonMap("bidder", 2)),
+                        builder -> builder.ext(mapper.valueToTree(ExtBidRequest.of(ExtRequestPrebid.builder()
+                                .auctiontimestamp(1000L)
+                                .aliases(singletonMap("bidderAlias", "bidder")).build()))))),
+                any(), any(), anyBoolean()))
                 .willReturn(Future.succeededFuture(givenSeatBid(singletonList(
                         givenBid(Bid.builder().price(BigDecimal.ONE).build())))));
 
@@ -651,7 +711,7 @@ public class ExchangeServiceTest extends VertxTest {
         final BidResponse bidResponse = exchangeService.holdAuction(givenRequestContext(bidRequest)).result();
 
         // then
-        verify(httpBidderRequester, times(2)).requestBids(any(), any(), any(), anyBoolean());
+        verify(httpBidderRequester, times(2)).requestBids(any(), any(), any(), any(), any(), anyBoolean());
         assertThat(bidResponse.getSeatbid()).hasSize(2)
                 .extracting(seatBid -> seatBid.getBid().size())
                 .containsOnly(1, 1);
@@ -827,6 +887,112 @@ public class ExchangeServiceTest extends VertxTest {
                 eq(true), any());
     }
 
+    @Test
+    public void shouldFailWithoutRequestingBiddersIfThereIsNotEnoughTime() {
+        // given
+        givenBidder(givenSingleSeatBid(givenBid(Bid.builder().price(BigDecimal.ONE).build())));
+
+        given(auctionDeadlineChecker.hasEnoughTime(any())).willReturn(false);
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("bidder", 2)));
+
+        // when
+        final Future<BidResponse> result = exchangeService.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause()).isInstanceOf(InsufficientTimeException.class)
+                .hasMessage("Remaining time 500 ms is not enough to request bidders");
+        verifyZeroInteractions(httpBidderRequester, storedResponseProcessor);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldUpdateAuctionDeadlineCheckerWithStageTimes() {
+        // given
+        givenBidder(givenSingleSeatBid(givenBid(Bid.builder().price(BigDecimal.ONE).build())));
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("bidder", 2)));
+
+        // when
+        exchangeService.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        final ArgumentCaptor<Map<MetricName, Long>> stageTimesCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(auctionDeadlineChecker).updateStageTimes(stageTimesCaptor.capture());
+        assertThat(stageTimesCaptor.getValue()).containsKeys(MetricName.privacy_enforcement,
+                MetricName.response_creation);
+    }
+
+    @Test
+    public void shouldCallBidResponseCreatorWithEnabledDebugFalseIfRequestIsDegraded() {
+        // given
+        givenBidder(givenSingleSeatBid(givenBid(Bid.builder().price(BigDecimal.ONE).build())));
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("bidder", 2)),
+                builder -> builder.test(1));
+        final AuctionContext auctionContext = givenRequestContext(bidRequest).toBuilder().degraded(true).build();
+
+        // when
+        exchangeService.holdAuction(auctionContext);
+
+        // then
+        verify(httpBidderRequester).requestBids(any(), any(), any(), any(), any(), eq(false));
+        verify(bidResponseCreator).create(anyList(), eq(bidRequest), any(), any(), any(), anyBoolean(), anyLong(),
+                eq(false), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldUpdateStageTimeMetricsAndAddStageTimesToDebugIfTestFlagIsTrue() {
+        // given
+        givenBidder(givenSingleSeatBid(givenBid(Bid.builder().price(BigDecimal.ONE).build())));
+
+        given(bidResponseCreator.create(anyList(), any(), any(), any(), any(), anyBoolean(), anyLong(), anyBoolean(),
+                any()))
+                .willReturn(Future.succeededFuture(BidResponse.builder()
+                        .ext(mapper.valueToTree(ExtBidResponse.of(ExtResponseDebug.of(null, null), null, null,
+                                null, null, null)))
+                        .build()));
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("bidder", 2)),
+                builder -> builder.test(1));
+
+        // when
+        final BidResponse bidResponse = exchangeService.holdAuction(givenRequestContext(bidRequest)).result();
+
+        // then
+        final ArgumentCaptor<Map<MetricName, Long>> stageTimesCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(metrics).updateStageTimeMetrics(eq(MetricName.openrtb2web), stageTimesCaptor.capture());
+        assertThat(stageTimesCaptor.getValue()).containsOnlyKeys(MetricName.privacy_enforcement,
+                MetricName.bidder_requests, MetricName.response_creation);
+
+        assertThat(bidResponse.getExt().at("/debug/stagetimes").fieldNames())
+                .containsExactly("privacy_enforcement", "bidder_requests", "response_creation");
+    }
+
+    @Test
+    public void shouldNotAddStageTimesToResponseIfDebugIsDisabled() {
+        // given
+        givenBidder(givenSingleSeatBid(givenBid(Bid.builder().price(BigDecimal.ONE).build())));
+
+        given(bidResponseCreator.create(anyList(), any(), any(), any(), any(), anyBoolean(), anyLong(), anyBoolean(),
+                any()))
+                .willReturn(Future.succeededFuture(BidResponse.builder()
+                        .ext(mapper.valueToTree(ExtBidResponse.of(ExtResponseDebug.of(null, null), null, null,
+                                null, null, null)))
+                        .build()));
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("bidder", 2)));
+
+        // when
+        final BidResponse bidResponse = exchangeService.holdAuction(givenRequestContext(bidRequest)).result();
+
+        // then
+        verify(metrics).updateStageTimeMetrics(eq(MetricName.openrtb2web), any());
+        assertThat(bidResponse.getExt().at("/debug/stagetimes").isMissingNode()).isTrue();
+    }
+
     @Test
     public void shouldReturnErrorIfRequestExtCouldNotBeParsed() {
         // given
@@ -1171,7 +1337,8 @@ public class ExchangeServiceTest extends VertxTest {
 
         // then
         final ArgumentCaptor<BidRequest> bidRequestCaptor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester, times(2)).requestBids(any(), bidRequestCaptor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester, times(2)).requestBids(any(), any(), bidRequestCaptor.capture(), any(), any(),
+                anyBoolean());
         final List<BidRequest> capturedBidRequests = bidRequestCaptor.getAllValues();
 
         assertThat(capturedBidRequests)
@@ -1203,7 +1370,8 @@ public class ExchangeServiceTest extends VertxTest {
 
         // then
         final ArgumentCaptor<BidRequest> bidRequestCaptor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester, times(2)).requestBids(any(), bidRequestCaptor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester, times(2)).requestBids(any(), any(), bidRequestCaptor.capture(), any(), any(),
+                anyBoolean());
         final List<BidRequest> capturedBidRequests = bidRequestCaptor.getAllValues();
 
         assertThat(capturedBidRequests)
@@ -1234,7 +1402,8 @@ public class ExchangeServiceTest extends VertxTest {
 
         // then
         final ArgumentCaptor<BidRequest> bidRequestCaptor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester, times(2)).requestBids(any(), bidRequestCaptor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester, times(2)).requestBids(any(), any(), bidRequestCaptor.capture(), any(), any(),
+                anyBoolean());
         final List<BidRequest> capturedBidRequests = bidRequestCaptor.getAllValues();
 
         assertThat(capturedBidRequests)
@@ -1290,7 +1459,7 @@ public class ExchangeServiceTest extends VertxTest {
         exchangeService.holdAuction(givenRequestContext(bidRequest));
 
         // then
-        verify(httpBidderRequester).requestBids(any(), any(), same(timeout), anyBoolean());
+        verify(httpBidderRequester).requestBids(any(), any(), any(), same(timeout), any(), anyBoolean());
     }
 
     @Test
@@ -1306,6 +1475,7 @@ public class ExchangeServiceTest extends VertxTest {
                 currencyService,
                 bidResponseCreator,
                 bidResponsePostProcessor,
+                auctionDeadlineChecker,
                 metrics,
                 clock,
                 jacksonMapper);
@@ -1327,7 +1497,7 @@ public class ExchangeServiceTest extends VertxTest {
 
         // then
         final ArgumentCaptor<Timeout> timeoutCaptor = ArgumentCaptor.forClass(Timeout.class);
-        verify(httpBidderRequester).requestBids(any(), any(), timeoutCaptor.capture(), anyBoolean());
+        verify(httpBidderRequester).requestBids(any(), any(), any(), timeoutCaptor.capture(), any(), anyBoolean());
         assertThat(timeoutCaptor.getValue().remaining()).isEqualTo(400L);
         verify(bidResponseCreator).create(anyList(), any(), any(), any(), any(), anyBoolean(), anyLong(), anyBoolean(),
                 same(timeout));
@@ -1643,7 +1813,7 @@ public class ExchangeServiceTest extends VertxTest {
     @Test
     public void shouldIncrementCommonMetrics() {
         // given
-        given(httpBidderRequester.requestBids(any(), any(), any(), anyBoolean()))
+        given(httpBidderRequester.requestBids(any(), any(), any(), any(), any(), anyBoolean()))
                 .willReturn(Future.succeededFuture(givenSeatBid(singletonList(
                         givenBid(Bid.builder().price(TEN).build())))));
 
@@ -1679,7 +1849,7 @@ public class ExchangeServiceTest extends VertxTest {
     @Test
     public void shouldUseEmptyStringIfPublisherIdIsEmpty() {
         // given
-        given(httpBidderRequester.requestBids(any(), any(), any(), anyBoolean()))
+        given(httpBidderRequester.requestBids(any(), any(), any(), any(), any(), anyBoolean()))
                 .willReturn(Future.succeededFuture(givenSeatBid(singletonList(
                         givenBid(Bid.builder().price(TEN).build())))));
         final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("someBidder", 1)));
@@ -1695,7 +1865,7 @@ public class ExchangeServiceTest extends VertxTest {
     @Test
     public void shouldIncrementNoBidRequestsMetric() {
         // given
-        given(httpBidderRequester.requestBids(any(), any(), any(), anyBoolean()))
+        given(httpBidderRequester.requestBids(any(), any(), any(), any(), any(), anyBoolean()))
                 .willReturn(Future.succeededFuture(givenSeatBid(emptyList())));
 
         final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("someBidder", 1)));
@@ -1710,7 +1880,7 @@ public class ExchangeServiceTest extends VertxTest {
     @Test
     public void shouldIncrementGotBidsAndErrorMetricsIfBidderReturnsBidAndDifferentErrors() {
         // given
-        given(httpBidderRequester.requestBids(any(), any(), any(), anyBoolean()))
+        given(httpBidderRequester.requestBids(any(), any(), any(), any(), any(), anyBoolean()))
                 .willReturn(Future.succeededFuture(BidderSeatBid.of(
                         singletonList(givenBid(Bid.builder().price(TEN).build())),
                         emptyList(),
@@ -1812,12 +1982,14 @@ public class ExchangeServiceTest extends VertxTest {
                 .account(account)
                 .requestTypeMetric(MetricName.openrtb2web)
                 .timeout(timeout)
+                .stageTimings(new StageTimings())
                 .build();
     }
 
     private BidRequest captureBidRequest() {
         final ArgumentCaptor<BidRequest> bidRequestCaptor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(any(), bidRequestCaptor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(any(), any(), bidRequestCaptor.capture(), any(),
+                any(), anyBoolean());
         return bidRequestCaptor.getValue();
     }
 
@@ -1841,13 +2013,13 @@ public class ExchangeServiceTest extends VertxTest {
     }
 
     private void givenBidder(BidderSeatBid response) {
-        given(httpBidderRequester.requestBids(any(), any(), any(), anyBoolean()))
+        given(httpBidderRequester.requestBids(any(), any(), any(), any(), any(), anyBoolean()))
                 .willReturn(Future.succeededFuture(response));
     }
 
     private void givenBidder(String bidderName, Bidder<?> bidder, BidderSeatBid response) {
         doReturn(bidder).when(bidderCatalog).bidderByName(eq(bidderName));
-        given(httpBidderRequester.requestBids(same(bidder), any(), any(), anyBoolean()))
+        given(httpBidderRequester.requestBids(same(bidder), any(), any(), any(), any(), anyBoolean()))
                 .willReturn(Future.succeededFuture(response));
     }
 
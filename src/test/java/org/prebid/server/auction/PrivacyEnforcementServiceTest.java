@@ -856,6 +856,45 @@ public class PrivacyEnforcementServiceTest extends VertxTest {
                 eq(timeout));
     }
 
+    @Test
+    public void shouldShareMaskedDeviceAndUserBetweenBiddersWithTheSameEnforcementAction() {
+        // given
+        final String bidder1Name = "bidder1";
+        final String bidder2Name = "bidder2";
+
+        final Map<String, PrivacyEnforcementAction> bidderToTcfEnforcement = new HashMap<>();
+        bidderToTcfEnforcement.put(bidder1Name, restrictDeviceAndUser());
+        bidderToTcfEnforcement.put(bidder2Name, restrictDeviceAndUser());
+        given(tcfDefinerService.resultForBidderNames(any(), any(), any(), any(), any(), any(), any()))
+                .willReturn(Future.succeededFuture(TcfResponse.of(true, bidderToTcfEnforcement, null)));
+
+        final User user = notMaskedUser();
+        final Map<String, User> bidderToUser = new HashMap<>();
+        bidderToUser.put(bidder1Name, user);
+        bidderToUser.put(bidder2Name, user);
+
+        final BidRequest bidRequest = givenBidRequest(
+                givenSingleImp(singletonMap(bidder1Name, 1)),
+                bidRequestBuilder -> bidRequestBuilder
+                        .user(user)
+                        .device(notMaskedDevice())
+                        .regs(Regs.of(0, mapper.valueToTree(ExtRegs.of(1, null)))));
+
+        // when
+        final List<BidderPrivacyResult> result = privacyEnforcementService
+                .mask(auctionContext(bidRequest), bidderToUser, ExtUser.builder().build(),
+                        asList(bidder1Name, bidder2Name), BidderAliases.of(null, null))
+                .result();
+
+        // then
+        assertThat(result).hasSize(2)
+                .extracting(BidderPrivacyResult::getDevice)
+                .containsOnly(deviceTcfMasked());
+        assertThat(result.get(0).getDevice()).isSameAs(result.get(1).getDevice());
+        assertThat(result.get(0).getUser()).isEqualTo(userTcfMasked())
+                .isSameAs(result.get(1).getUser());
+    }
+
     private AuctionContext auctionContext(BidRequest bidRequest) {
         return AuctionContext.builder()
                 .account(Account.builder().build())
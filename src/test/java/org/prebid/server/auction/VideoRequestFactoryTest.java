@@ -38,6 +38,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 
@@ -204,7 +205,7 @@ public class VideoRequestFactoryTest extends VertxTest {
         given(auctionRequestFactory.validateRequest(any())).willAnswer(invocation -> invocation.getArgument(0));
         given(auctionRequestFactory.fillImplicitParameters(any(), any(), any()))
                 .willAnswer(invocation -> invocation.getArgument(0));
-        given(auctionRequestFactory.toAuctionContext(any(), any(), anyLong(), any()))
+        given(auctionRequestFactory.toAuctionContext(any(), any(), anyLong(), any(), any()))
                 .willReturn(Future.succeededFuture());
 
         // when
@@ -215,7 +216,8 @@ public class VideoRequestFactoryTest extends VertxTest {
         verify(videoStoredRequestProcessor).processVideoRequest(null, emptySet(), requestVideo);
         verify(auctionRequestFactory).validateRequest(bidRequest);
         verify(auctionRequestFactory).fillImplicitParameters(bidRequest, routingContext, timeoutResolver);
-        verify(auctionRequestFactory).toAuctionContext(routingContext, bidRequest, 0, timeoutResolver);
+        verify(auctionRequestFactory)
+                .toAuctionContext(eq(routingContext), eq(bidRequest), eq(0L), eq(timeoutResolver), any());
 
         assertThat(result.result().getPodErrors()).isEqualTo(mergedBidRequest.getPodErrors());
     }
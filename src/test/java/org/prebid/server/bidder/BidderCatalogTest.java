@@ -167,6 +167,54 @@ public class BidderCatalogTest {
         assertThat(bidderCatalog.bidderInfoByName("unknown_bidder")).isNull();
     }
 
+    @Test
+    public void maxResponseSizeByNameShouldReturnMaxResponseSizeForKnownBidder() {
+        // given
+        bidderDeps = BidderDeps.builder()
+                .name(BIDDER)
+                .deprecatedNames(emptyList())
+                .aliases(emptyList())
+                .maxResponseSize(1000L)
+                .build();
+        bidderCatalog = new BidderCatalog(singletonList(bidderDeps));
+
+        // when and then
+        assertThat(bidderCatalog.maxResponseSizeByName(BIDDER)).isEqualTo(1000L);
+    }
+
+    @Test
+    public void maxResponseSizeByNameShouldReturnNullForUnknownBidder() {
+        // given
+        bidderCatalog = new BidderCatalog(emptyList());
+
+        // when and then
+        assertThat(bidderCatalog.maxResponseSizeByName("unknown_bidder")).isNull();
+    }
+
+    @Test
+    public void endpointByNameShouldReturnEndpointForKnownBidder() {
+        // given
+        bidderDeps = BidderDeps.builder()
+                .name(BIDDER)
+                .deprecatedNames(emptyList())
+                .aliases(emptyList())
+                .endpoint("http://endpoint")
+                .build();
+        bidderCatalog = new BidderCatalog(singletonList(bidderDeps));
+
+        // when and then
+        assertThat(bidderCatalog.endpointByName(BIDDER)).isEqualTo("http://endpoint");
+    }
+
+    @Test
+    public void endpointByNameShouldReturnNullForUnknownBidder() {
+        // given
+        bidderCatalog = new BidderCatalog(emptyList());
+
+        // when and then
+        assertThat(bidderCatalog.endpointByName("unknown_bidder")).isNull();
+    }
+
     @Test
     public void usersyncerByNameShouldReturnUsersyncerForKnownBidder() {
         // given
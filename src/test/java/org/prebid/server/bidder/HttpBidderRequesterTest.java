@@ -1,8 +1,13 @@
 package org.prebid.server.bidder;
 
 import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.http.CaseInsensitiveHeaders;
 import io.vertx.core.http.HttpMethod;
 import org.junit.Before;
@@ -20,8 +25,10 @@ import org.prebid.server.bidder.model.HttpRequest;
 import org.prebid.server.bidder.model.Result;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.proto.openrtb.ext.response.ExtHttpCall;
 import org.prebid.server.vertx.http.HttpClient;
+import org.prebid.server.vertx.http.ResponseTooLargeException;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
 import java.time.Clock;
@@ -36,12 +43,15 @@ import static java.util.Collections.singletonList;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -55,6 +65,10 @@ public class HttpBidderRequesterTest extends VertxTest {
     private Bidder<BidRequest> bidder;
     @Mock
     private HttpClient httpClient;
+    @Mock
+    private WorkerExecutor workerExecutor;
+    @Mock
+    private Metrics metrics;
 
     private HttpBidderRequester bidderHttpConnector;
 
@@ -68,7 +82,7 @@ public class HttpBidderRequesterTest extends VertxTest {
         timeout = timeoutFactory.create(500L);
         expiredTimeout = timeoutFactory.create(clock.instant().minusMillis(1500L).toEpochMilli(), 1000L);
 
-        bidderHttpConnector = new HttpBidderRequester(httpClient, null);
+        bidderHttpConnector = new HttpBidderRequester(httpClient, null, 1000L, null, 0, metrics);
     }
 
     @Test
@@ -78,7 +92,8 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid =
-                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false).result();
+                bidderHttpConnector.requestBids(bidder, "bidder", BidRequest.builder().build(), timeout, null, false)
+                        .result();
 
         // then
         assertThat(bidderSeatBid.getBids()).isEmpty();
@@ -96,7 +111,8 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid =
-                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false).result();
+                bidderHttpConnector.requestBids(bidder, "bidder", BidRequest.builder().build(), timeout, null, false)
+                        .result();
 
         // then
         assertThat(bidderSeatBid.getBids()).isEmpty();
@@ -123,10 +139,11 @@ public class HttpBidderRequesterTest extends VertxTest {
         headers.add("header2", "value2");
 
         // when
-        bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false);
+        bidderHttpConnector.requestBids(bidder, "bidder", BidRequest.builder().build(), timeout, null, false);
 
         // then
-        verify(httpClient).request(eq(HttpMethod.POST), eq("uri"), eq(headers), eq("requestBody"), eq(500L));
+        verify(httpClient).request(eq(HttpMethod.POST), eq("uri"), eq(headers), eq("requestBody"), eq(500L),
+                eq(1000L));
     }
 
     @Test
@@ -142,10 +159,10 @@ public class HttpBidderRequesterTest extends VertxTest {
                 emptyList()));
 
         // when
-        bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false);
+        bidderHttpConnector.requestBids(bidder, "bidder", BidRequest.builder().build(), timeout, null, false);
 
         // then
-        verify(httpClient).request(any(), anyString(), any(), isNull(), anyLong());
+        verify(httpClient).request(any(), anyString(), any(), isNull(), anyLong(), anyLong());
     }
 
     @Test
@@ -169,10 +186,52 @@ public class HttpBidderRequesterTest extends VertxTest {
                 emptyList()));
 
         // when
-        bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false);
+        bidderHttpConnector.requestBids(bidder, "bidder", BidRequest.builder().build(), timeout, null, false);
+
+        // then
+        verify(httpClient, times(2)).request(any(), anyString(), any(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void shouldLimitResponseSizeWithBidderSpecificSizeIfPresent() {
+        // given
+        givenHttpClientReturnsResponse(200, null);
+
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(singletonList(
+                HttpRequest.<BidRequest>builder()
+                        .method(HttpMethod.POST)
+                        .uri("uri")
+                        .build()),
+                emptyList()));
+
+        // when
+        bidderHttpConnector.requestBids(bidder, "bidder", BidRequest.builder().build(), timeout, 100L, false);
 
         // then
-        verify(httpClient, times(2)).request(any(), anyString(), any(), any(), anyLong());
+        verify(httpClient).request(any(), anyString(), any(), any(), anyLong(), eq(100L));
+    }
+
+    @Test
+    public void shouldReturnBadServerResponseErrorIfResponseIsTooLarge() {
+        // given
+        givenHttpClientProducesException(new ResponseTooLargeException(1000L));
+
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(singletonList(
+                HttpRequest.<BidRequest>builder()
+                        .method(HttpMethod.POST)
+                        .uri("uri")
+                        .build()),
+                emptyList()));
+
+        // when
+        final BidderSeatBid bidderSeatBid =
+                bidderHttpConnector.requestBids(bidder, "bidder", BidRequest.builder().build(), timeout, null, false)
+                        .result();
+
+        // then
+        verify(bidder, never()).makeBids(any(), any());
+        assertThat(bidderSeatBid.getErrors()).containsOnly(
+                BidderError.badServerResponse("Response size exceeded max size of 1000 bytes"));
     }
 
     @Test
@@ -194,12 +253,167 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid =
-                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false).result();
+                bidderHttpConnector.requestBids(bidder, "bidder", BidRequest.builder().build(), timeout, null, false)
+                        .result();
 
         // then
         assertThat(bidderSeatBid.getBids()).containsOnlyElementsOf(bids);
     }
 
+    @Test
+    public void shouldMakeHttpRequestsAndBidsOnWorkerExecutorIfRequestHasEnoughImps() {
+        // given
+        bidderHttpConnector = new HttpBidderRequester(httpClient, null, 1000L, workerExecutor, 2, metrics);
+        givenWorkerExecutorRunningBlockingCode();
+
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(singletonList(
+                HttpRequest.<BidRequest>builder()
+                        .method(HttpMethod.POST)
+                        .uri(EMPTY)
+                        .body(EMPTY)
+                        .headers(new CaseInsensitiveHeaders())
+                        .build()),
+                emptyList()));
+
+        givenHttpClientReturnsResponse(200, "responseBody");
+
+        final List<BidderBid> bids = singletonList(BidderBid.of(null, null, null));
+        given(bidder.makeBids(any(), any())).willReturn(Result.of(bids, emptyList()));
+
+        final BidRequest bidRequest = BidRequest.builder()
+                .imp(asList(Imp.builder().id("imp1").build(), Imp.builder().id("imp2").build()))
+                .build();
+
+        // when
+        final BidderSeatBid bidderSeatBid =
+                bidderHttpConnector.requestBids(bidder, "bidder", bidRequest, timeout, null, false).result();
+
+        // then
+        verify(workerExecutor, times(2)).executeBlocking(any(), eq(false), any());
+        assertThat(bidderSeatBid.getBids()).containsOnlyElementsOf(bids);
+    }
+
+    @Test
+    public void shouldMakeBidsRightAwayForNonOkResponseIfRequestHasEnoughImps() {
+        // given
+        bidderHttpConnector = new HttpBidderRequester(httpClient, null, 1000L, workerExecutor, 2, metrics);
+        givenWorkerExecutorRunningBlockingCode();
+
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(singletonList(
+                HttpRequest.<BidRequest>builder()
+                        .method(HttpMethod.POST)
+                        .uri(EMPTY)
+                        .body(EMPTY)
+                        .headers(new CaseInsensitiveHeaders())
+                        .build()),
+                emptyList()));
+
+        givenHttpClientReturnsResponse(503, "responseBody");
+
+        final BidRequest bidRequest = BidRequest.builder()
+                .imp(asList(Imp.builder().id("imp1").build(), Imp.builder().id("imp2").build()))
+                .build();
+
+        // when
+        final BidderSeatBid bidderSeatBid =
+                bidderHttpConnector.requestBids(bidder, "bidder", bidRequest, timeout, null, false).result();
+
+        // then
+        verify(workerExecutor).executeBlocking(any(), eq(false), any());
+        verify(bidder, never()).makeBids(any(), any());
+        assertThat(bidderSeatBid.getErrors()).extracting(BidderError::getType)
+                .containsOnly(BidderError.Type.bad_server_response);
+    }
+
+    @Test
+    public void shouldDropWorkOnWorkerExecutorIfTimeoutExpiredBeforeItStarted() {
+        // given
+        bidderHttpConnector = new HttpBidderRequester(httpClient, null, 1000L, workerExecutor, 2, metrics);
+        givenWorkerExecutorRunningBlockingCode();
+
+        final BidRequest bidRequest = BidRequest.builder()
+                .imp(asList(Imp.builder().id("imp1").build(), Imp.builder().id("imp2").build()))
+                .build();
+
+        // when
+        final BidderSeatBid bidderSeatBid =
+                bidderHttpConnector.requestBids(bidder, "bidder", bidRequest, expiredTimeout, null, false).result();
+
+        // then
+        verify(bidder, never()).makeHttpRequests(any());
+        verifyZeroInteractions(httpClient);
+        assertThat(bidderSeatBid.getBids()).isEmpty();
+        assertThat(bidderSeatBid.getErrors())
+                .containsOnly(BidderError.timeout("Timeout has been exceeded"));
+    }
+
+    @Test
+    public void shouldNotUseWorkerExecutorIfRequestHasLessImpsThanConfigured() {
+        // given
+        bidderHttpConnector = new HttpBidderRequester(httpClient, null, 1000L, workerExecutor, 2, metrics);
+
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(emptyList(), emptyList()));
+
+        final BidRequest bidRequest = BidRequest.builder()
+                .imp(singletonList(Imp.builder().id("imp1").build()))
+                .build();
+
+        // when
+        bidderHttpConnector.requestBids(bidder, "bidder", bidRequest, timeout, null, false);
+
+        // then
+        verify(bidder).makeHttpRequests(bidRequest);
+        verifyZeroInteractions(workerExecutor);
+    }
+
+    @Test
+    public void shouldUpdateRequestBuildAndResponseParseTimeMetrics() {
+        // given
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(singletonList(
+                HttpRequest.<BidRequest>builder()
+                        .method(HttpMethod.POST)
+                        .uri(EMPTY)
+                        .body(EMPTY)
+                        .headers(new CaseInsensitiveHeaders())
+                        .build()),
+                emptyList()));
+
+        givenHttpClientReturnsResponse(200, "responseBody");
+
+        given(bidder.makeBids(any(), any())).willReturn(Result.of(emptyList(), emptyList()));
+
+        // when
+        bidderHttpConnector.requestBids(bidder, "bidder", BidRequest.builder().build(), timeout, null, false);
+
+        // then
+        verify(metrics).updateAdapterRequestBuildTime(eq("bidder"), anyLong());
+        verify(metrics).updateAdapterResponseParseTime(eq("bidder"), anyLong());
+    }
+
+    @Test
+    public void shouldUpdateColdConnectionMetricOnlyForResponsesReceivedOverNewConnection() {
+        // given
+        final HttpRequest<BidRequest> httpRequest = HttpRequest.<BidRequest>builder()
+                .method(HttpMethod.POST)
+                .uri(EMPTY)
+                .body(EMPTY)
+                .headers(new CaseInsensitiveHeaders())
+                .build();
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(asList(httpRequest, httpRequest), emptyList()));
+
+        givenHttpClientReturnsResponses(
+                HttpClientResponse.of(200, null, "responseBody1").withNewConnection(),
+                HttpClientResponse.of(200, null, "responseBody2"));
+
+        given(bidder.makeBids(any(), any())).willReturn(Result.of(emptyList(), emptyList()));
+
+        // when
+        bidderHttpConnector.requestBids(bidder, "bidder", BidRequest.builder().build(), timeout, null, false);
+
+        // then
+        verify(metrics).updateAdapterColdConnectionMetric(eq("bidder"));
+    }
+
     @Test
     public void shouldReturnFullDebugInfoIfDebugEnabled() {
         // given
@@ -226,7 +440,8 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid =
-                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, true).result();
+                bidderHttpConnector.requestBids(bidder, "bidder", BidRequest.builder().build(), timeout, null, true)
+                        .result();
 
         // then
         assertThat(bidderSeatBid.getHttpCalls()).hasSize(2).containsOnly(
@@ -250,7 +465,9 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid =
-                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), expiredTimeout, true).result();
+                bidderHttpConnector.requestBids(bidder, "bidder", BidRequest.builder().build(), expiredTimeout, null,
+                        true)
+                        .result();
 
         // then
         assertThat(bidderSeatBid.getHttpCalls()).hasSize(1).containsOnly(
@@ -273,7 +490,8 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid =
-                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, true).result();
+                bidderHttpConnector.requestBids(bidder, "bidder", BidRequest.builder().build(), timeout, null, true)
+                        .result();
 
         // then
         assertThat(bidderSeatBid.getHttpCalls()).hasSize(1).containsOnly(
@@ -296,7 +514,8 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid =
-                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, true).result();
+                bidderHttpConnector.requestBids(bidder, "bidder", BidRequest.builder().build(), timeout, null, true)
+                        .result();
 
         // then
         assertThat(bidderSeatBid.getHttpCalls()).hasSize(1).containsOnly(
@@ -321,7 +540,9 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid =
-                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), expiredTimeout, false).result();
+                bidderHttpConnector.requestBids(bidder, "bidder", BidRequest.builder().build(), expiredTimeout, null,
+                        false)
+                        .result();
 
         // then
         assertThat(bidderSeatBid.getErrors()).hasSize(1)
@@ -378,7 +599,7 @@ public class HttpBidderRequesterTest extends VertxTest {
                         .build()),
                 singletonList(BidderError.badInput("makeHttpRequestsError"))));
 
-        given(httpClient.request(any(), anyString(), any(), any(), anyLong()))
+        given(httpClient.request(any(), anyString(), any(), any(), anyLong(), anyLong()))
                 // simulate response error for the first request
                 .willReturn(Future.failedFuture(new RuntimeException("Response exception")))
                 // simulate timeout for the second request
@@ -398,7 +619,7 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid = bidderHttpConnector
-                .requestBids(bidder, BidRequest.builder().test(1).build(), timeout, false)
+                .requestBids(bidder, "bidder", BidRequest.builder().test(1).build(), timeout, null, false)
                 .result();
 
         // then
@@ -429,29 +650,39 @@ public class HttpBidderRequesterTest extends VertxTest {
         givenHttpClientReturnsResponse(204, EMPTY);
 
         // when
-        bidderHttpConnector.requestBids(bidder, BidRequest.builder().test(1).build(), timeout, false);
+        bidderHttpConnector.requestBids(bidder, "bidder", BidRequest.builder().test(1).build(), timeout, null, false);
 
         // then
         verify(bidder).makeBids(argThat(httpCall -> httpCall.getResponse().getBody().equals("{}")), any());
     }
 
     private void givenHttpClientReturnsResponse(int statusCode, String response) {
-        given(httpClient.request(any(), anyString(), any(), any(), anyLong()))
+        given(httpClient.request(any(), anyString(), any(), any(), anyLong(), anyLong()))
                 .willReturn(Future.succeededFuture(HttpClientResponse.of(statusCode, null, response)));
     }
 
     private void givenHttpClientProducesException(Throwable throwable) {
-        given(httpClient.request(any(), anyString(), any(), any(), anyLong()))
+        given(httpClient.request(any(), anyString(), any(), any(), anyLong(), anyLong()))
                 .willReturn(Future.failedFuture(throwable));
     }
 
     private void givenHttpClientReturnsResponses(HttpClientResponse... httpClientResponses) {
         BDDMockito.BDDMyOngoingStubbing<Future<HttpClientResponse>> stubbing =
-                given(httpClient.request(any(), anyString(), any(), any(), anyLong()));
+                given(httpClient.request(any(), anyString(), any(), any(), anyLong(), anyLong()));
 
         // setup multiple answers
         for (HttpClientResponse httpClientResponse : httpClientResponses) {
             stubbing = stubbing.willReturn(Future.succeededFuture(httpClientResponse));
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private void givenWorkerExecutorRunningBlockingCode() {
+        willAnswer(invocation -> {
+            final Promise<Object> promise = Promise.promise();
+            ((Handler<Promise<Object>>) invocation.getArgument(0)).handle(promise);
+            ((Handler<AsyncResult<Object>>) invocation.getArgument(2)).handle(promise.future());
+            return null;
+        }).given(workerExecutor).executeBlocking(any(), anyBoolean(), any());
+    }
 }
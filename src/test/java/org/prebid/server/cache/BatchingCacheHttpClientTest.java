@@ -0,0 +1,270 @@
+package org.prebid.server.cache;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.VertxTest;
+import org.prebid.server.vertx.http.HttpClient;
+import org.prebid.server.vertx.http.model.HttpClientResponse;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class BatchingCacheHttpClientTest extends VertxTest {
+
+    private static final String URL = "http://cache-service/cache";
+    private static final String BODY1 = "{\"puts\":[{\"type\":\"json\",\"value\":1}]}";
+    private static final String BODY2 =
+            "{\"puts\":[{\"type\":\"json\",\"value\":2},{\"type\":\"xml\",\"value\":\"3\"}]}";
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private HttpClient httpClient;
+    @Mock
+    private Vertx vertx;
+
+    private BatchingCacheHttpClient batchingCacheHttpClient;
+
+    @Before
+    public void setUp() {
+        batchingCacheHttpClient = new BatchingCacheHttpClient(httpClient, vertx,
+                Clock.fixed(Instant.now(), ZoneId.systemDefault()), jacksonMapper, 5L, 10L, 4);
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveWindow() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new BatchingCacheHttpClient(httpClient, vertx,
+                Clock.systemUTC(), jacksonMapper, 0L, 10L, 3));
+    }
+
+    @Test
+    public void requestShouldPassNonCacheRequestsToUnderlyingClient() {
+        // when
+        batchingCacheHttpClient.request(HttpMethod.GET, URL, null, null, 100L);
+        batchingCacheHttpClient.request(HttpMethod.POST, URL, null, "{\"other\":1}", 100L);
+
+        // then
+        verify(httpClient).request(eq(HttpMethod.GET), eq(URL), isNull(), isNull(), eq(100L));
+        verify(httpClient).request(eq(HttpMethod.POST), eq(URL), isNull(), eq("{\"other\":1}"), eq(100L));
+        verifyZeroInteractions(vertx);
+    }
+
+    @Test
+    public void requestShouldPassWriteToUnderlyingClientIfItCannotWaitForBatch() {
+        // when
+        batchingCacheHttpClient.request(HttpMethod.POST, URL, null, BODY1, 14L);
+
+        // then
+        verify(httpClient).request(eq(HttpMethod.POST), eq(URL), isNull(), eq(BODY1), eq(14L));
+        verifyZeroInteractions(vertx);
+    }
+
+    @Test
+    public void requestShouldCoalesceWritesAndSplitResponse() {
+        // given
+        final ArgumentCaptor<Handler<Long>> timerHandlerCaptor = timerHandlerCaptor();
+        given(httpClient.post(anyString(), any(), anyString(), anyLong())).willReturn(Future.succeededFuture(
+                HttpClientResponse.of(200, null,
+                        "{\"responses\":[{\"uuid\":\"uuid1\"},{\"uuid\":\"uuid2\"},{\"uuid\":\"uuid3\"}]}")));
+
+        // when
+        final Future<HttpClientResponse> future1 = batchingCacheHttpClient.request(HttpMethod.POST, URL, null, BODY1,
+                100L);
+        final Future<HttpClientResponse> future2 = batchingCacheHttpClient.request(HttpMethod.POST, URL, null, BODY2,
+                50L);
+
+        verify(httpClient, never()).post(anyString(), any(), anyString(), anyLong());
+        verify(vertx).setTimer(eq(5L), timerHandlerCaptor.capture());
+        timerHandlerCaptor.getValue().handle(1L);
+
+        // then
+        verify(httpClient).post(eq(URL), isNull(),
+                eq("{\"puts\":[{\"type\":\"json\",\"value\":1},{\"type\":\"json\",\"value\":2},"
+                        + "{\"type\":\"xml\",\"value\":\"3\"}]}"),
+                eq(50L));
+
+        assertThat(future1.succeeded()).isTrue();
+        assertThat(future1.result().getBody()).isEqualTo("{\"responses\":[{\"uuid\":\"uuid1\"}]}");
+        assertThat(future2.succeeded()).isTrue();
+        assertThat(future2.result().getBody())
+                .isEqualTo("{\"responses\":[{\"uuid\":\"uuid2\"},{\"uuid\":\"uuid3\"}]}");
+    }
+
+    @Test
+    public void requestShouldSendBatchImmediatelyWhenMaxPutsReached() {
+        // given
+        given(httpClient.post(anyString(), any(), anyString(), anyLong())).willReturn(Future.succeededFuture(
+                HttpClientResponse.of(200, null,
+                        "{\"responses\":[{\"uuid\":\"1\"},{\"uuid\":\"2\"},{\"uuid\":\"3\"},{\"uuid\":\"4\"}]}")));
+
+        // when
+        batchingCacheHttpClient.request(HttpMethod.POST, URL, null, BODY2, 100L);
+        batchingCacheHttpClient.request(HttpMethod.POST, URL, null, BODY2, 100L);
+
+        // then
+        verify(vertx).cancelTimer(anyLong());
+        verify(httpClient).post(eq(URL), isNull(), anyString(), eq(100L));
+    }
+
+    @Test
+    public void requestShouldPassWriteToUnderlyingClientIfItCannotWaitForCurrentBatch() {
+        // when
+        batchingCacheHttpClient.request(HttpMethod.POST, URL, null, BODY1, 100L);
+        batchingCacheHttpClient.request(HttpMethod.POST, URL, null, BODY2, 14L);
+
+        // then
+        verify(httpClient).request(eq(HttpMethod.POST), eq(URL), isNull(), eq(BODY2), eq(14L));
+        verify(vertx).setTimer(eq(5L), any());
+    }
+
+    @Test
+    public void requestShouldPassWriteToUnderlyingClientIfItsHeadersDifferFromCurrentBatch() {
+        // given
+        final MultiMap headers = MultiMap.caseInsensitiveMultiMap().add("Content-Type", "application/json");
+        final MultiMap otherHeaders = MultiMap.caseInsensitiveMultiMap().add("Content-Type", "text/plain");
+
+        // when
+        batchingCacheHttpClient.request(HttpMethod.POST, URL, headers, BODY1, 100L);
+        batchingCacheHttpClient.request(HttpMethod.POST, URL, otherHeaders, BODY2, 100L);
+
+        // then
+        verify(httpClient).request(eq(HttpMethod.POST), eq(URL), same(otherHeaders), eq(BODY2), eq(100L));
+        verify(vertx).setTimer(eq(5L), any());
+    }
+
+    @Test
+    public void requestShouldJoinCurrentBatchIfHeadersAreEqual() {
+        // when
+        batchingCacheHttpClient.request(HttpMethod.POST, URL,
+                MultiMap.caseInsensitiveMultiMap().add("Content-Type", "application/json"), BODY1, 100L);
+        batchingCacheHttpClient.request(HttpMethod.POST, URL,
+                MultiMap.caseInsensitiveMultiMap().add("content-type", "application/json"), BODY2, 100L);
+
+        // then
+        verify(httpClient, never()).request(any(), anyString(), any(), anyString(), anyLong());
+        verify(vertx).setTimer(eq(5L), any());
+    }
+
+    @Test
+    public void requestShouldResendWritesIndividuallyIfNumberOfResponseObjectsDoesNotMatch() {
+        // given
+        final ArgumentCaptor<Handler<Long>> timerHandlerCaptor = timerHandlerCaptor();
+        given(httpClient.post(anyString(), any(), anyString(), anyLong())).willReturn(Future.succeededFuture(
+                HttpClientResponse.of(200, null, "{\"responses\":[{\"uuid\":\"uuid1\"}]}")));
+        given(httpClient.request(any(), anyString(), any(), eq(BODY1), anyLong())).willReturn(Future.succeededFuture(
+                HttpClientResponse.of(200, null, "{\"responses\":[{\"uuid\":\"uuid1\"}]}")));
+        given(httpClient.request(any(), anyString(), any(), eq(BODY2), anyLong())).willReturn(Future.succeededFuture(
+                HttpClientResponse.of(200, null, "{\"responses\":[{\"uuid\":\"uuid2\"}]}")));
+
+        // when
+        final Future<HttpClientResponse> future1 = batchingCacheHttpClient.request(HttpMethod.POST, URL, null, BODY1,
+                100L);
+        final Future<HttpClientResponse> future2 = batchingCacheHttpClient.request(HttpMethod.POST, URL, null,
+                BODY2, 50L);
+
+        verify(vertx).setTimer(eq(5L), timerHandlerCaptor.capture());
+        timerHandlerCaptor.getValue().handle(1L);
+
+        // then
+        verify(httpClient).request(eq(HttpMethod.POST), eq(URL), isNull(), eq(BODY1), eq(100L));
+        verify(httpClient).request(eq(HttpMethod.POST), eq(URL), isNull(), eq(BODY2), eq(50L));
+        assertThat(future1.result().getBody()).isEqualTo("{\"responses\":[{\"uuid\":\"uuid1\"}]}");
+        assertThat(future2.result().getBody()).isEqualTo("{\"responses\":[{\"uuid\":\"uuid2\"}]}");
+    }
+
+    @Test
+    public void requestShouldResendWritesIndividuallyIfBatchIsRejected() {
+        // given
+        final ArgumentCaptor<Handler<Long>> timerHandlerCaptor = timerHandlerCaptor();
+        given(httpClient.post(anyString(), any(), anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(400, null, "bad request")));
+        given(httpClient.request(any(), anyString(), any(), eq(BODY1), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(400, null, "bad request")));
+        given(httpClient.request(any(), anyString(), any(), eq(BODY2), anyLong())).willReturn(Future.succeededFuture(
+                HttpClientResponse.of(200, null, "{\"responses\":[{\"uuid\":\"uuid2\"}]}")));
+
+        // when
+        final Future<HttpClientResponse> future1 = batchingCacheHttpClient.request(HttpMethod.POST, URL, null, BODY1,
+                100L);
+        final Future<HttpClientResponse> future2 = batchingCacheHttpClient.request(HttpMethod.POST, URL, null,
+                BODY2, 100L);
+
+        verify(vertx).setTimer(eq(5L), timerHandlerCaptor.capture());
+        timerHandlerCaptor.getValue().handle(1L);
+
+        // then
+        assertThat(future1.result().getStatusCode()).isEqualTo(400);
+        assertThat(future2.result().getStatusCode()).isEqualTo(200);
+    }
+
+    @Test
+    public void requestShouldFailSingleWriteIfNumberOfResponseObjectsDoesNotMatch() {
+        // given
+        final ArgumentCaptor<Handler<Long>> timerHandlerCaptor = timerHandlerCaptor();
+        given(httpClient.post(anyString(), any(), anyString(), anyLong())).willReturn(Future.succeededFuture(
+                HttpClientResponse.of(200, null, "{\"responses\":[{\"uuid\":\"uuid1\"}]}")));
+
+        // when
+        final Future<HttpClientResponse> future = batchingCacheHttpClient.request(HttpMethod.POST, URL, null, BODY2,
+                100L);
+
+        verify(vertx).setTimer(eq(5L), timerHandlerCaptor.capture());
+        timerHandlerCaptor.getValue().handle(1L);
+
+        // then
+        assertThat(future.failed()).isTrue();
+        assertThat(future.cause()).hasMessage("The number of response cache objects doesn't match with bids");
+        verify(httpClient, never()).request(any(), anyString(), any(), anyString(), anyLong());
+    }
+
+    @Test
+    public void requestShouldPropagateUnsuccessfulStatusToAllWrites() {
+        // given
+        final ArgumentCaptor<Handler<Long>> timerHandlerCaptor = timerHandlerCaptor();
+        given(httpClient.post(anyString(), any(), anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(503, null, "unavailable")));
+
+        // when
+        final Future<HttpClientResponse> future1 = batchingCacheHttpClient.request(HttpMethod.POST, URL, null, BODY1,
+                100L);
+        final Future<HttpClientResponse> future2 = batchingCacheHttpClient.request(HttpMethod.POST, URL, null,
+                BODY1, 100L);
+
+        verify(vertx).setTimer(eq(5L), timerHandlerCaptor.capture());
+        timerHandlerCaptor.getValue().handle(1L);
+
+        // then
+        assertThat(future1.result().getStatusCode()).isEqualTo(503);
+        assertThat(future2.result().getStatusCode()).isEqualTo(503);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Handler<Long>> timerHandlerCaptor() {
+        return ArgumentCaptor.forClass(Handler.class);
+    }
+}
@@ -1,10 +1,14 @@
 package org.prebid.server.cache;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.iab.openrtb.request.Imp;
 import com.iab.openrtb.request.Video;
 import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -31,10 +35,13 @@ import org.prebid.server.events.EventsService;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.json.BinaryFormat;
+import org.prebid.server.json.BinaryMapper;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.proto.response.Bid;
 import org.prebid.server.proto.response.MediaType;
 import org.prebid.server.settings.model.Account;
+import org.prebid.server.util.HttpUtil;
 import org.prebid.server.vertx.http.HttpClient;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
@@ -51,6 +58,7 @@ import java.util.function.Function;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
@@ -81,6 +89,8 @@ public class CacheServiceTest extends VertxTest {
     private EventsService eventsService;
     @Mock
     private Metrics metrics;
+    @Mock
+    private CacheWriteBehindQueue writeBehindQueue;
 
     private Clock clock;
 
@@ -101,12 +111,14 @@ public class CacheServiceTest extends VertxTest {
         cacheService = new CacheService(
                 mediaTypeCacheTtl,
                 httpClient,
+                null,
                 new URL("http://cache-service/cache"),
                 "http://cache-service-host/cache?uuid=",
                 eventsService,
                 metrics,
                 clock,
-                jacksonMapper);
+                jacksonMapper,
+                null);
 
         account = Account.builder().build();
 
@@ -261,12 +273,14 @@ public class CacheServiceTest extends VertxTest {
         cacheService = new CacheService(
                 mediaTypeCacheTtl,
                 httpClient,
+                null,
                 new URL("https://cache-service-host:8888/cache"),
                 "https://cache-service-host:8080/cache?uuid=",
                 eventsService,
                 metrics,
                 clock,
-                jacksonMapper);
+                jacksonMapper,
+                null);
 
         // when
         cacheService.cacheBids(singleBidList(), timeout);
@@ -401,6 +415,29 @@ public class CacheServiceTest extends VertxTest {
         verify(eventsService).winUrl(eq("bidId1"), eq("bidder"), eq("accountId"), isNull());
     }
 
+    @Test
+    public void cacheBidsOpenrtbShouldInjectWinUrlIntoCachedBidJson() throws IOException {
+        // given
+        given(eventsService.winUrl(any(), any(), any(), any())).willReturn("http://win-url");
+        final com.iab.openrtb.response.Bid bid = givenBidOpenrtb(builder -> builder.id("bidId1").impid("impId1")
+                .adm("adm1"));
+
+        // when
+        cacheService.cacheBidsOpenrtb(
+                singletonList(bid), singletonList(givenImp(builder -> builder.id("impId1"))),
+                CacheContext.builder()
+                        .shouldCacheBids(true)
+                        .bidderToBidIds(singletonMap("bidder", singletonList("bidId1")))
+                        .build(),
+                Account.builder().id("accountId").eventsEnabled(true).build(), eventsContext, timeout);
+
+        // then
+        final ObjectNode expectedValue = mapper.valueToTree(bid);
+        expectedValue.put("wurl", "http://win-url");
+        assertThat(captureBidCacheRequest().getPuts())
+                .containsOnly(PutObject.builder().type("json").value(expectedValue).build());
+    }
+
     @Test
     public void cacheBidsOpenrtbShouldTolerateReadingHttpResponseFails() throws JsonProcessingException {
         // given
@@ -634,12 +671,14 @@ public class CacheServiceTest extends VertxTest {
         cacheService = new CacheService(
                 CacheTtl.of(20, null),
                 httpClient,
+                null,
                 new URL("http://cache-service/cache"),
                 "http://cache-service-host/cache?uuid=",
                 eventsService,
                 metrics,
                 clock,
-                jacksonMapper);
+                jacksonMapper,
+                null);
 
         // when
         cacheService.cacheBidsOpenrtb(
@@ -663,12 +702,14 @@ public class CacheServiceTest extends VertxTest {
         cacheService = new CacheService(
                 CacheTtl.of(10, null),
                 httpClient,
+                null,
                 new URL("http://cache-service/cache"),
                 "http://cache-service-host/cache?uuid=",
                 eventsService,
                 metrics,
                 clock,
-                jacksonMapper);
+                jacksonMapper,
+                null);
 
         // when
         cacheService.cacheBidsOpenrtb(
@@ -692,12 +733,14 @@ public class CacheServiceTest extends VertxTest {
         cacheService = new CacheService(
                 CacheTtl.of(10, null),
                 httpClient,
+                null,
                 new URL("http://cache-service/cache"),
                 "http://cache-service-host/cache?uuid=",
                 eventsService,
                 metrics,
                 clock,
-                jacksonMapper);
+                jacksonMapper,
+                null);
 
         // when
         cacheService.cacheBidsOpenrtb(
@@ -802,6 +845,57 @@ public class CacheServiceTest extends VertxTest {
                         entry(bid2, CacheIdInfo.of("uuid2", "videoUuid2")));
     }
 
+    @Test
+    public void cacheBidsOpenrtbShouldReturnLocallyGeneratedKeysAndWriteBehind() throws IOException {
+        // given
+        cacheService = givenWriteBehindCacheService(true);
+
+        final com.iab.openrtb.response.Bid bid = givenBidOpenrtb(builder -> builder.impid("impId1"));
+        final Imp imp = givenImp(builder -> builder.id("impId1").video(Video.builder().build()));
+
+        // when
+        final Future<CacheServiceResult> future = cacheService.cacheBidsOpenrtb(
+                singletonList(bid), singletonList(imp),
+                CacheContext.builder()
+                        .shouldCacheBids(true)
+                        .shouldCacheVideoBids(true)
+                        .bidderToVideoBidIdsToModify(emptyMap())
+                        .bidderToBidIds(emptyMap())
+                        .build(),
+                account, eventsContext, timeout);
+
+        // then
+        verifyZeroInteractions(httpClient);
+
+        final ArgumentCaptor<String> bodyCaptor = ArgumentCaptor.forClass(String.class);
+        verify(writeBehindQueue).offer(eq("http://cache-service/cache"), bodyCaptor.capture());
+        final List<PutObject> puts = mapper.readValue(bodyCaptor.getValue(), BidCacheRequest.class).getPuts();
+        assertThat(puts).extracting(PutObject::getKey).doesNotContainNull().doesNotHaveDuplicates();
+
+        final CacheServiceResult result = future.result();
+        assertThat(result.getError()).isNull();
+        assertThat(result.getHttpCall().getResponse()).isNull();
+        assertThat(result.getCacheBids())
+                .containsOnly(entry(bid, CacheIdInfo.of(puts.get(0).getKey(), puts.get(1).getKey())));
+    }
+
+    @Test
+    public void cacheBidsOpenrtbShouldReturnErrorIfWriteBehindQueueIsFull() {
+        // given
+        cacheService = givenWriteBehindCacheService(false);
+
+        // when
+        final Future<CacheServiceResult> future = cacheService.cacheBidsOpenrtb(
+                singletonList(givenBidOpenrtb(identity())), singletonList(givenImp(identity())),
+                CacheContext.builder().shouldCacheBids(true).bidderToBidIds(emptyMap()).build(),
+                account, eventsContext, timeout);
+
+        // then
+        assertThat(future.result().getError()).isInstanceOf(PreBidException.class)
+                .hasMessage("Cache write-behind queue is full");
+        assertThat(future.result().getCacheBids()).isEmpty();
+    }
+
     @Test
     public void cacheBidsOpenrtbShouldNotCacheVideoBidWithMissingImpId() {
         // given
@@ -1062,6 +1156,81 @@ public class CacheServiceTest extends VertxTest {
         verify(eventsService).vastUrlTracking(eq("bidId1"), eq("bidder1"), eq("account"), eq(1000L));
     }
 
+    @Test
+    public void cacheBidsOpenrtbShouldSendRequestInBinaryFormatIfConfigured() throws MalformedURLException {
+        // given
+        final BinaryMapper binaryMapper = new BinaryMapper(BinaryFormat.smile, jacksonMapper);
+        cacheService = givenBinaryCacheService(binaryMapper);
+
+        final MultiMap responseHeaders = MultiMap.caseInsensitiveMultiMap()
+                .add(HttpUtil.CONTENT_TYPE_HEADER, "application/x-jackson-smile");
+        given(httpClient.requestBinary(any(), anyString(), any(), any(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.ofBinary(200, responseHeaders,
+                        binaryMapper.encode(BidCacheResponse.of(singletonList(CacheObject.of("uuid1")))))));
+
+        final com.iab.openrtb.response.Bid bid = givenBidOpenrtb(identity());
+
+        // when
+        final Future<CacheServiceResult> future = cacheService.cacheBidsOpenrtb(
+                singletonList(bid), singletonList(givenImp(identity())),
+                CacheContext.builder()
+                        .shouldCacheBids(true)
+                        .bidderToBidIds(singletonMap("bidder2", singletonList("bidId2")))
+                        .build(),
+                account, eventsContext, timeout);
+
+        // then
+        final ArgumentCaptor<MultiMap> headersCaptor = ArgumentCaptor.forClass(MultiMap.class);
+        final ArgumentCaptor<Buffer> bodyCaptor = ArgumentCaptor.forClass(Buffer.class);
+        verify(httpClient).requestBinary(eq(HttpMethod.POST), eq("http://cache-service/cache"),
+                headersCaptor.capture(), bodyCaptor.capture(), anyLong());
+
+        assertThat(headersCaptor.getValue().get(HttpUtil.CONTENT_TYPE_HEADER))
+                .isEqualTo("application/x-jackson-smile");
+        assertThat(binaryMapper.decodeValue(bodyCaptor.getValue(), headersCaptor.getValue(), BidCacheRequest.class)
+                .getPuts())
+                .containsOnly(PutObject.builder().type("json").value(mapper.valueToTree(bid)).build());
+
+        assertThat(future.result().getCacheBids()).containsOnly(entry(bid, CacheIdInfo.of("uuid1", null)));
+        assertThat(future.result().getHttpCall().getRequest())
+                .isEqualTo(CacheHttpRequest.of("http://cache-service/cache", null));
+    }
+
+    @Test
+    public void cacheBidsShouldAcceptJsonResponseToBinaryRequest() throws MalformedURLException {
+        // given
+        cacheService = givenBinaryCacheService(new BinaryMapper(BinaryFormat.cbor, jacksonMapper));
+
+        final MultiMap responseHeaders = MultiMap.caseInsensitiveMultiMap()
+                .add(HttpUtil.CONTENT_TYPE_HEADER, "application/json; charset=utf-8");
+        given(httpClient.requestBinary(any(), anyString(), any(), any(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.ofBinary(200, responseHeaders,
+                        Buffer.buffer("{\"responses\":[{\"uuid\":\"uuid1\"}]}"))));
+
+        // when
+        final Future<List<BidCacheResult>> future = cacheService.cacheBids(singleBidList(), timeout);
+
+        // then
+        assertThat(future.result())
+                .containsExactly(BidCacheResult.of("uuid1", "http://cache-service-host/cache?uuid=uuid1"));
+    }
+
+    private CacheService givenBinaryCacheService(BinaryMapper binaryMapper) throws MalformedURLException {
+        return new CacheService(mediaTypeCacheTtl, httpClient, null, new URL("http://cache-service/cache"),
+                "http://cache-service-host/cache?uuid=", eventsService, metrics, clock, jacksonMapper, binaryMapper);
+    }
+
+    private CacheService givenWriteBehindCacheService(boolean accepted) {
+        given(writeBehindQueue.offer(anyString(), anyString())).willReturn(accepted);
+        try {
+            return new CacheService(mediaTypeCacheTtl, httpClient, writeBehindQueue,
+                    new URL("http://cache-service/cache"), "http://cache-service-host/cache?uuid=", eventsService,
+                    metrics, clock, jacksonMapper, null);
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private static List<Bid> singleBidList() {
         return singletonList(givenBid(identity()));
     }
@@ -0,0 +1,197 @@
+package org.prebid.server.cache;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.http.HttpClient;
+import org.prebid.server.vertx.http.model.HttpClientResponse;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class CacheWriteBehindQueueTest {
+
+    private static final String URL = "http://cache-service/cache";
+    private static final String BODY = "{\"puts\":[{\"type\":\"json\",\"value\":1,\"key\":\"key1\"}]}";
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private HttpClient httpClient;
+    @Mock
+    private Vertx vertx;
+    @Mock
+    private Metrics metrics;
+
+    private CacheWriteBehindQueue cacheWriteBehindQueue;
+
+    @Before
+    public void setUp() {
+        cacheWriteBehindQueue = new CacheWriteBehindQueue(httpClient, vertx, metrics,
+                Clock.fixed(Instant.now(), ZoneId.systemDefault()), 1, 1000L, 2, 10L);
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveCapacity() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new CacheWriteBehindQueue(httpClient, vertx, metrics,
+                Clock.systemUTC(), 0, 1000L, 2, 10L));
+    }
+
+    @Test
+    public void offerShouldSendWriteAndReleaseQueueOnSuccess() {
+        // given
+        given(httpClient.post(anyString(), any(), anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, "{}")));
+
+        // when
+        final boolean accepted = cacheWriteBehindQueue.offer(URL, BODY);
+
+        // then
+        assertThat(accepted).isTrue();
+        verify(httpClient).post(eq(URL), any(), eq(BODY), eq(1000L));
+        verify(metrics).updateCacheRequestSuccessTime(anyLong());
+        assertThat(cacheWriteBehindQueue.pending()).isZero();
+    }
+
+    @Test
+    public void offerShouldRejectWriteIfQueueIsFull() {
+        // given
+        given(httpClient.post(anyString(), any(), anyString(), anyLong())).willReturn(Future.future());
+
+        // when
+        cacheWriteBehindQueue.offer(URL, BODY);
+        final boolean accepted = cacheWriteBehindQueue.offer(URL, BODY);
+
+        // then
+        assertThat(accepted).isFalse();
+        verify(httpClient).post(anyString(), any(), anyString(), anyLong());
+        verify(metrics).updateCacheWriteBehindDroppedMetric();
+    }
+
+    @Test
+    public void offerShouldRetryFailedWriteWithBackoffAndDropItWhenRetriesExhausted() {
+        // given
+        given(httpClient.post(anyString(), any(), anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(503, null, "unavailable")));
+
+        // when
+        cacheWriteBehindQueue.offer(URL, BODY);
+
+        // then
+        final ArgumentCaptor<Handler<Long>> timerHandlerCaptor = timerHandlerCaptor();
+        verify(vertx).setTimer(eq(10L), timerHandlerCaptor.capture());
+        timerHandlerCaptor.getValue().handle(1L);
+
+        verify(vertx).setTimer(eq(20L), timerHandlerCaptor.capture());
+        timerHandlerCaptor.getValue().handle(2L);
+
+        verify(httpClient, times(3)).post(eq(URL), any(), eq(BODY), eq(1000L));
+        verify(metrics, times(2)).updateCacheWriteBehindRetryMetric();
+        verify(metrics).updateCacheWriteBehindDroppedMetric();
+        assertThat(cacheWriteBehindQueue.pending()).isZero();
+    }
+
+    @Test
+    public void offerShouldRetryWriteFailedWithException() {
+        // given
+        given(httpClient.post(anyString(), any(), anyString(), anyLong()))
+                .willReturn(Future.failedFuture(new RuntimeException("connection refused")))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, "{}")));
+
+        // when
+        cacheWriteBehindQueue.offer(URL, BODY);
+
+        // then
+        final ArgumentCaptor<Handler<Long>> timerHandlerCaptor = timerHandlerCaptor();
+        verify(vertx).setTimer(eq(10L), timerHandlerCaptor.capture());
+        timerHandlerCaptor.getValue().handle(1L);
+
+        verify(metrics).updateCacheRequestFailedTime(anyLong());
+        verify(metrics).updateCacheRequestSuccessTime(anyLong());
+        verify(metrics, never()).updateCacheWriteBehindDroppedMetric();
+        assertThat(cacheWriteBehindQueue.pending()).isZero();
+    }
+
+    @Test
+    public void offerShouldNotRetryWriteRejectedWithClientError() {
+        // given
+        given(httpClient.post(anyString(), any(), anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(400, null, "key already exists")));
+
+        // when
+        cacheWriteBehindQueue.offer(URL, BODY);
+
+        // then
+        verifyZeroInteractions(vertx);
+        verify(metrics).updateCacheRequestFailedTime(anyLong());
+        verify(metrics, never()).updateCacheWriteBehindRetryMetric();
+        verify(metrics, never()).updateCacheWriteBehindDroppedMetric();
+        assertThat(cacheWriteBehindQueue.pending()).isZero();
+    }
+
+    @Test
+    public void offerShouldCapRetryDelay() {
+        // given
+        cacheWriteBehindQueue = new CacheWriteBehindQueue(httpClient, vertx, metrics,
+                Clock.fixed(Instant.now(), ZoneId.systemDefault()), 1, 1000L, 100, 10L);
+        given(httpClient.post(anyString(), any(), anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(503, null, "unavailable")));
+
+        // when
+        cacheWriteBehindQueue.offer(URL, BODY);
+
+        // then
+        final ArgumentCaptor<Handler<Long>> timerHandlerCaptor = timerHandlerCaptor();
+        for (int attempt = 0; attempt < 99; attempt++) {
+            verify(vertx, times(attempt + 1)).setTimer(anyLong(), timerHandlerCaptor.capture());
+            timerHandlerCaptor.getValue().handle((long) attempt);
+        }
+
+        final ArgumentCaptor<Long> delayCaptor = ArgumentCaptor.forClass(Long.class);
+        verify(vertx, times(100)).setTimer(delayCaptor.capture(), any());
+        assertThat(delayCaptor.getAllValues())
+                .startsWith(10L, 20L, 40L)
+                .allMatch(delay -> delay > 0 && delay <= 60_000L)
+                .endsWith(60_000L);
+    }
+
+    @Test
+    public void offerShouldNotScheduleRetryIfWriteSucceeded() {
+        // given
+        given(httpClient.post(anyString(), any(), anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, "{}")));
+
+        // when
+        cacheWriteBehindQueue.offer(URL, BODY);
+
+        // then
+        verifyZeroInteractions(vertx);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Handler<Long>> timerHandlerCaptor() {
+        return ArgumentCaptor.forClass(Handler.class);
+    }
+}
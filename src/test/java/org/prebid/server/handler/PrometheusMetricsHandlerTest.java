@@ -0,0 +1,53 @@
+package org.prebid.server.handler;
+
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.metric.prometheus.PrometheusTextWriter;
+import org.prebid.server.util.HttpUtil;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+public class PrometheusMetricsHandlerTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private PrometheusTextWriter prometheusTextWriter;
+    @Mock
+    private RoutingContext routingContext;
+    @Mock
+    private HttpServerResponse httpResponse;
+
+    private PrometheusMetricsHandler prometheusMetricsHandler;
+
+    @Before
+    public void setUp() {
+        given(routingContext.response()).willReturn(httpResponse);
+        given(httpResponse.putHeader(any(CharSequence.class), any(CharSequence.class))).willReturn(httpResponse);
+
+        prometheusMetricsHandler = new PrometheusMetricsHandler(prometheusTextWriter);
+    }
+
+    @Test
+    public void handleShouldRespondWithMetricsInTextFormat() {
+        // given
+        given(prometheusTextWriter.write()).willReturn("app_requests 1\n");
+
+        // when
+        prometheusMetricsHandler.handle(routingContext);
+
+        // then
+        verify(httpResponse).putHeader(eq(HttpUtil.CONTENT_TYPE_HEADER), eq(PrometheusTextWriter.CONTENT_TYPE));
+        verify(httpResponse).end(eq("app_requests 1\n"));
+    }
+}
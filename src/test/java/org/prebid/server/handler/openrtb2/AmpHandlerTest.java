@@ -11,6 +11,7 @@ import com.iab.openrtb.response.SeatBid;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.CaseInsensitiveHeaders;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
@@ -26,9 +27,11 @@ import org.prebid.server.VertxTest;
 import org.prebid.server.analytics.AnalyticsReporter;
 import org.prebid.server.analytics.model.AmpEvent;
 import org.prebid.server.analytics.model.HttpContext;
+import org.prebid.server.auction.AdmissionController;
 import org.prebid.server.auction.AmpRequestFactory;
 import org.prebid.server.auction.AmpResponsePostProcessor;
 import org.prebid.server.auction.ExchangeService;
+import org.prebid.server.auction.model.AdmissionDecision;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.bidder.Bidder;
 import org.prebid.server.bidder.BidderCatalog;
@@ -70,9 +73,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
-import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willReturn;
 import static org.mockito.Mockito.anyBoolean;
@@ -100,6 +103,8 @@ public class AmpHandlerTest extends VertxTest {
     private Clock clock;
     @Mock
     private AdminManager adminManager;
+    @Mock
+    private AdmissionController admissionController;
 
     private AmpHandler ampHandler;
     @Mock
@@ -132,6 +137,8 @@ public class AmpHandlerTest extends VertxTest {
         given(clock.millis()).willReturn(Instant.now().toEpochMilli());
         timeout = new TimeoutFactory(clock).create(2000L);
 
+        given(admissionController.decide()).willReturn(AdmissionDecision.admit);
+
         ampHandler = new AmpHandler(
                 ampRequestFactory,
                 exchangeService,
@@ -141,8 +148,9 @@ public class AmpHandlerTest extends VertxTest {
                 bidderCatalog,
                 singleton("bidder1"),
                 new AmpResponsePostProcessor.NoOpAmpResponsePostProcessor(),
-                adminManager, jacksonMapper
-        );
+                adminManager,
+                jacksonMapper,
+                admissionController);
     }
 
     @Test
@@ -212,7 +220,7 @@ public class AmpHandlerTest extends VertxTest {
                 .containsOnly(
                         tuple("AMP-Access-Control-Allow-Source-Origin", "http://example.com"),
                         tuple("Access-Control-Expose-Headers", "AMP-Access-Control-Allow-Source-Origin"));
-        verify(httpResponse).end(eq("Invalid request format: Request is invalid"));
+        verify(httpResponse).end(eq(Buffer.buffer("Invalid request format: Request is invalid")));
     }
 
     @Test
@@ -232,7 +240,7 @@ public class AmpHandlerTest extends VertxTest {
                 .containsOnly(
                         tuple("AMP-Access-Control-Allow-Source-Origin", "http://example.com"),
                         tuple("Access-Control-Expose-Headers", "AMP-Access-Control-Allow-Source-Origin"));
-        verify(httpResponse).end(eq("Blacklisted: Blacklisted account"));
+        verify(httpResponse).end(eq(Buffer.buffer("Blacklisted: Blacklisted account")));
     }
 
     @Test
@@ -252,7 +260,38 @@ public class AmpHandlerTest extends VertxTest {
                 .containsOnly(
                         tuple("AMP-Access-Control-Allow-Source-Origin", "http://example.com"),
                         tuple("Access-Control-Expose-Headers", "AMP-Access-Control-Allow-Source-Origin"));
-        verify(httpResponse).end(eq("Blacklisted: Blacklisted app"));
+        verify(httpResponse).end(eq(Buffer.buffer("Blacklisted: Blacklisted app")));
+    }
+
+    @Test
+    public void shouldRespondWithServiceUnavailableIfAdmissionControllerRejectsRequest() {
+        // given
+        given(admissionController.decide()).willReturn(AdmissionDecision.reject);
+
+        // when
+        ampHandler.handle(routingContext);
+
+        // then
+        verifyZeroInteractions(ampRequestFactory, exchangeService);
+        verify(httpResponse).setStatusCode(eq(503));
+        verify(httpResponse).end(eq(Buffer.buffer("Server is overloaded, try again later")));
+
+        verify(metrics).updateRequestTypeMetric(eq(MetricName.amp), eq(MetricName.overloaded));
+    }
+
+    @Test
+    public void shouldMarkAuctionContextAsDegradedIfAdmissionControllerDegradesRequest() {
+        // given
+        given(admissionController.decide()).willReturn(AdmissionDecision.degrade);
+
+        given(ampRequestFactory.fromRequest(any(), anyLong()))
+                .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
+
+        // when
+        ampHandler.handle(routingContext);
+
+        // then
+        assertThat(captureAuctionContext().isDegraded()).isTrue();
     }
 
     @Test
@@ -272,7 +311,7 @@ public class AmpHandlerTest extends VertxTest {
                 .containsOnly(
                         tuple("AMP-Access-Control-Allow-Source-Origin", "http://example.com"),
                         tuple("Access-Control-Expose-Headers", "AMP-Access-Control-Allow-Source-Origin"));
-        verify(httpResponse).end(eq("Unauthorized: Account id is not provided 1"));
+        verify(httpResponse).end(eq(Buffer.buffer("Unauthorized: Account id is not provided 1")));
     }
 
     @Test
@@ -294,7 +333,7 @@ public class AmpHandlerTest extends VertxTest {
                 .containsOnly(
                         tuple("AMP-Access-Control-Allow-Source-Origin", "http://example.com"),
                         tuple("Access-Control-Expose-Headers", "AMP-Access-Control-Allow-Source-Origin"));
-        verify(httpResponse).end(eq("Critical error while running the auction: Unexpected exception"));
+        verify(httpResponse).end(eq(Buffer.buffer("Critical error while running the auction: Unexpected exception")));
     }
 
     @Test
@@ -317,8 +356,8 @@ public class AmpHandlerTest extends VertxTest {
                 .containsOnly(
                         tuple("AMP-Access-Control-Allow-Source-Origin", "http://example.com"),
                         tuple("Access-Control-Expose-Headers", "AMP-Access-Control-Allow-Source-Origin"));
-        verify(httpResponse).end(
-                startsWith("Critical error while running the auction: Critical error while unpacking AMP targets:"));
+        verify(httpResponse).end(argThat((Buffer body) -> body.toString()
+                .startsWith("Critical error while running the auction: Critical error while unpacking AMP targets:")));
     }
 
     @Test
@@ -333,7 +372,7 @@ public class AmpHandlerTest extends VertxTest {
         ampHandler.handle(routingContext);
 
         // then
-        verify(httpResponse, never()).end(anyString());
+        verify(httpResponse, never()).end(any(Buffer.class));
     }
 
     @Test
@@ -359,7 +398,8 @@ public class AmpHandlerTest extends VertxTest {
                         tuple("AMP-Access-Control-Allow-Source-Origin", "http://example.com"),
                         tuple("Access-Control-Expose-Headers", "AMP-Access-Control-Allow-Source-Origin"),
                         tuple("Content-Type", "application/json"));
-        verify(httpResponse).end(eq("{\"targeting\":{\"key1\":\"value1\",\"hb_cache_id_bidder1\":\"value2\"}}"));
+        verify(httpResponse).end(eq(Buffer.buffer(
+                "{\"targeting\":{\"key1\":\"value1\",\"hb_cache_id_bidder1\":\"value2\"}}")));
     }
 
     @Test
@@ -401,8 +441,8 @@ public class AmpHandlerTest extends VertxTest {
                         tuple("AMP-Access-Control-Allow-Source-Origin", "http://example.com"),
                         tuple("Access-Control-Expose-Headers", "AMP-Access-Control-Allow-Source-Origin"),
                         tuple("Content-Type", "application/json"));
-        verify(httpResponse).end(eq("{\"targeting\":{\"key1\":\"value1\",\"rpfl_11078\":\"15_tier0030\","
-                + "\"hb_cache_id_bidder1\":\"value2\"}}"));
+        verify(httpResponse).end(eq(Buffer.buffer("{\"targeting\":{\"key1\":\"value1\",\"rpfl_11078\":\"15_tier0030\","
+                + "\"hb_cache_id_bidder1\":\"value2\"}}")));
     }
 
     @Test
@@ -414,16 +454,16 @@ public class AmpHandlerTest extends VertxTest {
 
         given(exchangeService.holdAuction(any()))
                 .willReturn(givenBidResponseWithExt(mapper.valueToTree(
-                        ExtBidResponse.of(ExtResponseDebug.of(null, auctionContext.getBidRequest()), null, null, null,
-                                null, ExtBidResponsePrebid.of(1000L)))));
+                        ExtBidResponse.of(ExtResponseDebug.of(null, auctionContext.getBidRequest()), null, null,
+                                null, null, ExtBidResponsePrebid.of(1000L)))));
 
         // when
         ampHandler.handle(routingContext);
 
         // then
-        verify(httpResponse).end(eq(
+        verify(httpResponse).end(eq(Buffer.buffer(
                 "{\"targeting\":{},\"debug\":{\"resolvedrequest\":{\"id\":\"reqId1\",\"imp\":[],\"test\":1,"
-                        + "\"tmax\":5000}}}"));
+                        + "\"tmax\":5000}}}")));
     }
 
     @Test
@@ -437,16 +477,16 @@ public class AmpHandlerTest extends VertxTest {
 
         given(exchangeService.holdAuction(any()))
                 .willReturn(givenBidResponseWithExt(mapper.valueToTree(
-                        ExtBidResponse.of(ExtResponseDebug.of(null, auctionContext.getBidRequest()), null, null, null,
-                                null, ExtBidResponsePrebid.of(1000L)))));
+                        ExtBidResponse.of(ExtResponseDebug.of(null, auctionContext.getBidRequest()), null, null,
+                                null, null, ExtBidResponsePrebid.of(1000L)))));
 
         // when
         ampHandler.handle(routingContext);
 
         // then
-        verify(httpResponse).end(
-                eq("{\"targeting\":{},\"debug\":{\"resolvedrequest\":{\"id\":\"reqId1\",\"imp\":[],\"tmax\":5000,"
-                        + "\"ext\":{\"prebid\":{\"debug\":1}}}}}"));
+        verify(httpResponse).end(eq(Buffer.buffer(
+                "{\"targeting\":{},\"debug\":{\"resolvedrequest\":{\"id\":\"reqId1\",\"imp\":[],\"tmax\":5000,"
+                        + "\"ext\":{\"prebid\":{\"debug\":1}}}}}")));
     }
 
     @Test
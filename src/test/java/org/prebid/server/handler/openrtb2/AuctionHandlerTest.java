@@ -7,6 +7,7 @@ import com.iab.openrtb.response.BidResponse;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.CaseInsensitiveHeaders;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
@@ -22,12 +23,15 @@ import org.prebid.server.VertxTest;
 import org.prebid.server.analytics.AnalyticsReporter;
 import org.prebid.server.analytics.model.AuctionEvent;
 import org.prebid.server.analytics.model.HttpContext;
+import org.prebid.server.auction.AdmissionController;
 import org.prebid.server.auction.AuctionRequestFactory;
 import org.prebid.server.auction.ExchangeService;
+import org.prebid.server.auction.model.AdmissionDecision;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.exception.BlacklistedAccountException;
 import org.prebid.server.exception.BlacklistedAppException;
+import org.prebid.server.exception.InsufficientTimeException;
 import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.exception.UnauthorizedAccountException;
 import org.prebid.server.execution.Timeout;
@@ -63,7 +67,6 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
@@ -88,6 +91,8 @@ public class AuctionHandlerTest extends VertxTest {
     private Clock clock;
     @Mock
     private AdminManager adminManager;
+    @Mock
+    private AdmissionController admissionController;
 
     private AuctionHandler auctionHandler;
     @Mock
@@ -116,8 +121,10 @@ public class AuctionHandlerTest extends VertxTest {
         given(clock.millis()).willReturn(Instant.now().toEpochMilli());
         timeout = new TimeoutFactory(clock).create(2000L);
 
-        auctionHandler = new AuctionHandler(
-                auctionRequestFactory, exchangeService, analyticsReporter, metrics, clock, adminManager, jacksonMapper);
+        given(admissionController.decide()).willReturn(AdmissionDecision.admit);
+
+        auctionHandler = new AuctionHandler(auctionRequestFactory, exchangeService, analyticsReporter, metrics, clock,
+                adminManager, jacksonMapper, admissionController);
     }
 
     @Test
@@ -180,7 +187,7 @@ public class AuctionHandlerTest extends VertxTest {
 
         // then
         verify(httpResponse).setStatusCode(eq(403));
-        verify(httpResponse).end(eq("Blacklisted: Blacklisted account"));
+        verify(httpResponse).end(eq(Buffer.buffer("Blacklisted: Blacklisted account")));
 
         verify(metrics).updateRequestTypeMetric(eq(MetricName.openrtb2web), eq(MetricName.blacklisted_account));
     }
@@ -196,11 +203,74 @@ public class AuctionHandlerTest extends VertxTest {
 
         // then
         verify(httpResponse).setStatusCode(eq(403));
-        verify(httpResponse).end(eq("Blacklisted: Blacklisted app"));
+        verify(httpResponse).end(eq(Buffer.buffer("Blacklisted: Blacklisted app")));
 
         verify(metrics).updateRequestTypeMetric(eq(MetricName.openrtb2web), eq(MetricName.blacklisted_app));
     }
 
+    @Test
+    public void shouldRespondWithServiceUnavailableIfAdmissionControllerRejectsRequest() {
+        // given
+        given(admissionController.decide()).willReturn(AdmissionDecision.reject);
+
+        // when
+        auctionHandler.handle(routingContext);
+
+        // then
+        verifyZeroInteractions(auctionRequestFactory, exchangeService);
+        verify(httpResponse).setStatusCode(eq(503));
+        verify(httpResponse).end(eq(Buffer.buffer("Server is overloaded, try again later")));
+
+        verify(metrics).updateRequestTypeMetric(eq(MetricName.openrtb2web), eq(MetricName.overloaded));
+    }
+
+    @Test
+    public void shouldRespondWithGatewayTimeoutIfThereIsNotEnoughTimeForAuction() {
+        // given
+        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+                .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
+
+        given(exchangeService.holdAuction(any()))
+                .willReturn(Future.failedFuture(new InsufficientTimeException("Not enough time")));
+
+        // when
+        auctionHandler.handle(routingContext);
+
+        // then
+        verify(httpResponse).setStatusCode(eq(504));
+        verify(httpResponse).end(eq(Buffer.buffer("Not enough time")));
+
+        verify(metrics).updateRequestTypeMetric(eq(MetricName.openrtb2web), eq(MetricName.insufficient_time));
+    }
+
+    @Test
+    public void shouldMarkAuctionContextAsDegradedIfAdmissionControllerDegradesRequest() {
+        // given
+        given(admissionController.decide()).willReturn(AdmissionDecision.degrade);
+
+        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+                .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
+
+        // when
+        auctionHandler.handle(routingContext);
+
+        // then
+        assertThat(captureAuctionContext().isDegraded()).isTrue();
+    }
+
+    @Test
+    public void shouldNotMarkAuctionContextAsDegradedIfAdmissionControllerAdmitsRequest() {
+        // given
+        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+                .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
+
+        // when
+        auctionHandler.handle(routingContext);
+
+        // then
+        assertThat(captureAuctionContext().isDegraded()).isFalse();
+    }
+
     @Test
     public void shouldRespondWithBadRequestIfBidRequestIsInvalid() {
         // given
@@ -212,7 +282,7 @@ public class AuctionHandlerTest extends VertxTest {
 
         // then
         verify(httpResponse).setStatusCode(eq(400));
-        verify(httpResponse).end(eq("Invalid request format: Request is invalid"));
+        verify(httpResponse).end(eq(Buffer.buffer("Invalid request format: Request is invalid")));
 
         verify(metrics).updateRequestTypeMetric(eq(MetricName.openrtb2web), eq(MetricName.badinput));
     }
@@ -229,7 +299,7 @@ public class AuctionHandlerTest extends VertxTest {
         // then
         verifyZeroInteractions(exchangeService);
         verify(httpResponse).setStatusCode(eq(401));
-        verify(httpResponse).end(eq("Unauthorized: Account id is not provided 1"));
+        verify(httpResponse).end(eq(Buffer.buffer("Unauthorized: Account id is not provided 1")));
     }
 
     @Test
@@ -246,7 +316,7 @@ public class AuctionHandlerTest extends VertxTest {
 
         // then
         verify(httpResponse).setStatusCode(eq(500));
-        verify(httpResponse).end(eq("Critical error while running the auction: Unexpected exception"));
+        verify(httpResponse).end(eq(Buffer.buffer("Critical error while running the auction: Unexpected exception")));
 
         verify(metrics).updateRequestTypeMetric(eq(MetricName.openrtb2web), eq(MetricName.err));
     }
@@ -263,7 +333,7 @@ public class AuctionHandlerTest extends VertxTest {
         auctionHandler.handle(routingContext);
 
         // then
-        verify(httpResponse, never()).end(anyString());
+        verify(httpResponse, never()).end(any(Buffer.class));
     }
 
     @Test
@@ -283,7 +353,7 @@ public class AuctionHandlerTest extends VertxTest {
         assertThat(httpResponse.headers()).hasSize(1)
                 .extracting(Map.Entry::getKey, Map.Entry::getValue)
                 .containsOnly(tuple("Content-Type", "application/json"));
-        verify(httpResponse).end(eq("{}"));
+        verify(httpResponse).end(eq(Buffer.buffer("{}")));
     }
 
     @Test
@@ -313,9 +383,9 @@ public class AuctionHandlerTest extends VertxTest {
 
         // then
         verify(exchangeService).holdAuction(any());
-        verify(httpResponse).end(eq("{\"ext\":{\"debug\":{\"resolvedrequest\":{\"ext\":{\"prebid\":"
+        verify(httpResponse).end(eq(Buffer.buffer("{\"ext\":{\"debug\":{\"resolvedrequest\":{\"ext\":{\"prebid\":"
                 + "{\"targeting\":{\"mediatypepricegranularity\":{\"banner\":{\"precision\":1,\"ranges\":"
-                + "[{\"max\":10,\"increment\":1}]},\"native\":{}}},\"auctiontimestamp\":0}}}}}}"));
+                + "[{\"max\":10,\"increment\":1}]},\"native\":{}}},\"auctiontimestamp\":0}}}}}}")));
     }
 
     @Test
@@ -1,6 +1,7 @@
 package org.prebid.server.it;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.github.tomakehurst.wiremock.common.FileSource;
 import com.github.tomakehurst.wiremock.extension.Parameters;
 import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
@@ -110,7 +111,26 @@ public abstract class IntegrationTest extends VertxTest {
             result = setResponseTime(response, result, bidder, responseTimePath);
         }
 
-        return result;
+        return setStageTimes(response, result);
+    }
+
+    /**
+     * Copies auction stage durations from actual response, since they differ from run to run.
+     */
+    private static String setStageTimes(Response response, String expectedResponseJson) throws IOException {
+        final JsonNode stageTimes = mapper.readTree(response.asString()).at("/ext/debug/stagetimes");
+        if (stageTimes.isMissingNode()) {
+            return expectedResponseJson;
+        }
+
+        final JsonNode expectedResponse = mapper.readTree(expectedResponseJson);
+        final JsonNode expectedDebug = expectedResponse.at("/ext/debug");
+        if (!expectedDebug.isObject()) {
+            return expectedResponseJson;
+        }
+
+        ((ObjectNode) expectedDebug).set("stagetimes", stageTimes);
+        return mapper.writeValueAsString(expectedResponse);
     }
 
     private static String setResponseTime(Response response, String expectedResponseJson, String bidder,
@@ -143,9 +163,11 @@ public abstract class IntegrationTest extends VertxTest {
 
             final List<CacheObject> responseCacheObjects = new ArrayList<>();
             for (PutObject putItem : puts) {
+                final JsonNode value = (JsonNode) putItem.getValue();
                 final String id = putItem.getType().equals("json")
-                        ? putItem.getValue().get("id").textValue() + "@" + putItem.getValue().get("price")
-                        : putItem.getValue().textValue();
+                        ? value.get("id").textValue() + "@" + value.get("price").decimalValue().stripTrailingZeros()
+                        .toPlainString()
+                        : value.textValue();
 
                 final String uuid = jsonNodeMatcher.get(id).textValue();
                 responseCacheObjects.add(CacheObject.of(uuid));
@@ -0,0 +1,97 @@
+package org.prebid.server.json;
+
+import com.iab.openrtb.request.App;
+import com.iab.openrtb.request.Banner;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Device;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Regs;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.Source;
+import com.iab.openrtb.request.User;
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.VertxTest;
+
+import java.math.BigDecimal;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BidRequestEncoderTest extends VertxTest {
+
+    private BidRequestEncoder bidRequestEncoder;
+
+    @Before
+    public void setUp() {
+        bidRequestEncoder = new BidRequestEncoder(jacksonMapper);
+    }
+
+    @Test
+    public void encodeShouldReturnSameResultAsMapper() {
+        // given
+        final BidRequest bidRequest = givenBidRequest(givenImp("imp1"));
+
+        // when
+        final String result = bidRequestEncoder.session().encode(bidRequest);
+
+        // then
+        assertThat(result).isEqualTo(jacksonMapper.encode(bidRequest));
+    }
+
+    @Test
+    public void encodeShouldOmitNullFields() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder().id("requestId").tmax(1000L).build();
+
+        // when
+        final String result = bidRequestEncoder.session().encode(bidRequest);
+
+        // then
+        assertThat(result).isEqualTo("{\"id\":\"requestId\",\"tmax\":1000}");
+    }
+
+    @Test
+    public void encodeShouldReturnSameResultAsMapperForRequestsSharingSession() {
+        // given
+        final BidRequest bidRequest1 = givenBidRequest(givenImp("imp1"));
+        final BidRequest bidRequest2 = givenBidRequest(givenImp("imp2")).toBuilder()
+                .site(null)
+                .app(App.builder().id("appId").build())
+                .build();
+        final BidRequest bidRequest3 = givenBidRequest(givenImp("imp3"), givenImp("imp4"));
+
+        final BidRequestEncoder.Session session = bidRequestEncoder.session();
+
+        // when and then
+        assertThat(session.encode(bidRequest1)).isEqualTo(jacksonMapper.encode(bidRequest1));
+        assertThat(session.encode(bidRequest2)).isEqualTo(jacksonMapper.encode(bidRequest2));
+        assertThat(session.encode(bidRequest3)).isEqualTo(jacksonMapper.encode(bidRequest3));
+    }
+
+    private static BidRequest givenBidRequest(Imp... imps) {
+        return BidRequest.builder()
+                .id("requestId")
+                .imp(asList(imps))
+                .site(Site.builder().id("siteId").page("http://example.com").build())
+                .device(Device.builder().ua("ua").ip("123.45.67.89").build())
+                .user(User.builder().buyeruid("buyeruid").ext(mapper.createObjectNode().put("consent", "c")).build())
+                .test(1)
+                .tmax(1000L)
+                .cur(singletonList("USD"))
+                .source(Source.builder().tid("tid").build())
+                .regs(Regs.of(1, null))
+                .ext(mapper.createObjectNode().set("prebid", mapper.createObjectNode().put("debug", 1)))
+                .build();
+    }
+
+    private static Imp givenImp(String id) {
+        return Imp.builder()
+                .id(id)
+                .banner(Banner.builder().w(300).h(250).build())
+                .bidfloor(BigDecimal.ONE)
+                .ext(mapper.createObjectNode().put("bidder", id))
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package org.prebid.server.json;
+
+import com.iab.openrtb.response.Bid;
+import com.iab.openrtb.response.BidResponse;
+import com.iab.openrtb.response.SeatBid;
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.VertxTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BidResponseDecoderTest extends VertxTest {
+
+    private BidResponseDecoder bidResponseDecoder;
+
+    @Before
+    public void setUp() {
+        bidResponseDecoder = new BidResponseDecoder(jacksonMapper);
+    }
+
+    @Test
+    public void decodeBidsShouldReturnBidsOfAllSeats() {
+        // given
+        final Bid bid1 = Bid.builder().id("bid1").impid("imp1").price(BigDecimal.ONE).adm("<div></div>")
+                .ext(mapper.createObjectNode().put("field", "value")).build();
+        final Bid bid2 = Bid.builder().id("bid2").impid("imp2").price(BigDecimal.TEN).build();
+        final Bid bid3 = Bid.builder().id("bid3").impid("imp3").build();
+
+        final BidResponse bidResponse = BidResponse.builder()
+                .id("responseId")
+                .seatbid(asList(
+                        SeatBid.builder().seat("seat1").bid(asList(bid1, bid2))
+                                .ext(mapper.createObjectNode().put("field", "value")).build(),
+                        SeatBid.builder().seat("seat2").bid(singletonList(bid3)).build()))
+                .cur("USD")
+                .ext(mapper.createObjectNode().set("field", mapper.createArrayNode().add(1)))
+                .build();
+
+        // when
+        final List<Bid> result = bidResponseDecoder.decodeBids(jacksonMapper.encode(bidResponse));
+
+        // then
+        assertThat(result).containsExactly(bid1, bid2, bid3);
+    }
+
+    @Test
+    public void decodeBidsShouldSkipNullSeatBidsAndBids() {
+        // when
+        final List<Bid> result = bidResponseDecoder.decodeBids(
+                "{\"seatbid\":[null,{\"bid\":null},{\"bid\":[null,{\"id\":\"bid1\"}]}]}");
+
+        // then
+        assertThat(result).containsExactly(Bid.builder().id("bid1").build());
+    }
+
+    @Test
+    public void decodeBidsShouldReturnEmptyListIfResponseHasNoSeatBids() {
+        // when and then
+        assertThat(bidResponseDecoder.decodeBids("{}")).isEmpty();
+        assertThat(bidResponseDecoder.decodeBids("null")).isEmpty();
+        assertThat(bidResponseDecoder.decodeBids("{\"id\":\"responseId\",\"seatbid\":null}")).isEmpty();
+    }
+
+    @Test
+    public void decodeBidsShouldNotValidateSkippedFields() {
+        // when
+        final List<Bid> result = bidResponseDecoder.decodeBids(
+                "{\"cur\":{\"unexpected\":1},\"seatbid\":[{\"seat\":[],\"bid\":[{\"id\":\"bid1\"}]}]}");
+
+        // then
+        assertThat(result).containsExactly(Bid.builder().id("bid1").build());
+    }
+
+    @Test
+    public void decodeBidsShouldFailIfResponseIsNotValidJson() {
+        assertThatThrownBy(() -> bidResponseDecoder.decodeBids("invalid"))
+                .isInstanceOf(DecodeException.class)
+                .hasMessageStartingWith("Failed to decode: Unrecognized token 'invalid'");
+    }
+
+    @Test
+    public void decodeBidsShouldFailIfResponseIsEmpty() {
+        assertThatThrownBy(() -> bidResponseDecoder.decodeBids(""))
+                .isInstanceOf(DecodeException.class)
+                .hasMessage("Failed to decode: No content");
+    }
+
+    @Test
+    public void decodeBidsShouldTreatSingleSeatBidAndBidObjectsAsOneElementArrays() {
+        // when
+        final List<Bid> result = bidResponseDecoder.decodeBids(
+                "{\"seatbid\":{\"seat\":\"seat1\",\"bid\":{\"id\":\"bid1\"}}}");
+
+        // then
+        assertThat(result).containsExactly(Bid.builder().id("bid1").build());
+    }
+
+    @Test
+    public void decodeBidsShouldTreatSingleBidObjectAsOneElementArray() {
+        // when
+        final List<Bid> result = bidResponseDecoder.decodeBids(
+                "{\"seatbid\":[{\"bid\":{\"id\":\"bid1\"}},{\"bid\":[{\"id\":\"bid2\"}]}]}");
+
+        // then
+        assertThat(result).containsExactly(Bid.builder().id("bid1").build(), Bid.builder().id("bid2").build());
+    }
+
+    @Test
+    public void decodeBidsShouldFailIfSeatBidIsNeitherArrayNorObject() {
+        assertThatThrownBy(() -> bidResponseDecoder.decodeBids("{\"seatbid\":1}"))
+                .isInstanceOf(DecodeException.class)
+                .hasMessageStartingWith("Failed to decode: unexpected token VALUE_NUMBER_INT in seatbid");
+    }
+
+    @Test
+    public void decodeBidsShouldFailIfBidIsInvalid() {
+        assertThatThrownBy(() -> bidResponseDecoder.decodeBids("{\"seatbid\":[{\"bid\":[{\"price\":\"abc\"}]}]}"))
+                .isInstanceOf(DecodeException.class)
+                .hasMessageStartingWith("Failed to decode:");
+    }
+}
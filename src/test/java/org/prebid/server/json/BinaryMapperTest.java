@@ -0,0 +1,88 @@
+package org.prebid.server.json;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import org.junit.Test;
+import org.prebid.server.VertxTest;
+import org.prebid.server.cache.proto.request.BidCacheRequest;
+import org.prebid.server.cache.proto.request.PutObject;
+import org.prebid.server.util.HttpUtil;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BinaryMapperTest extends VertxTest {
+
+    @Test
+    public void headersShouldContainBinaryContentTypeAndAcceptBinaryAndJson() {
+        // when
+        final MultiMap headers = new BinaryMapper(BinaryFormat.smile, jacksonMapper).headers();
+
+        // then
+        assertThat(headers.get(HttpUtil.CONTENT_TYPE_HEADER)).isEqualTo("application/x-jackson-smile");
+        assertThat(headers.get(HttpUtil.ACCEPT_HEADER)).isEqualTo("application/x-jackson-smile, application/json");
+    }
+
+    @Test
+    public void decodeValueShouldReturnEncodedValueForAllFormats() {
+        for (BinaryFormat format : BinaryFormat.values()) {
+            // given
+            final BinaryMapper binaryMapper = new BinaryMapper(format, jacksonMapper);
+            final BidCacheRequest bidCacheRequest = givenBidCacheRequest();
+
+            // when
+            final BidCacheRequest result = binaryMapper.decodeValue(binaryMapper.encode(bidCacheRequest),
+                    headers(format.getContentType() + ";charset=utf-8"), BidCacheRequest.class);
+
+            // then
+            assertThat(result).isEqualTo(bidCacheRequest);
+        }
+    }
+
+    @Test
+    public void encodeShouldProduceLessBytesThanJson() {
+        // given
+        final BidCacheRequest bidCacheRequest = givenBidCacheRequest();
+
+        // when and then
+        assertThat(new BinaryMapper(BinaryFormat.smile, jacksonMapper).encode(bidCacheRequest).length())
+                .isLessThan(jacksonMapper.encodeToBuffer(bidCacheRequest).length());
+    }
+
+    @Test
+    public void decodeValueShouldDecodeJsonIfContentTypeIsNotBinary() {
+        // given
+        final BinaryMapper binaryMapper = new BinaryMapper(BinaryFormat.smile, jacksonMapper);
+        final BidCacheRequest bidCacheRequest = givenBidCacheRequest();
+
+        // when and then
+        assertThat(binaryMapper.decodeValue(jacksonMapper.encodeToBuffer(bidCacheRequest),
+                headers("application/json"), BidCacheRequest.class)).isEqualTo(bidCacheRequest);
+        assertThat(binaryMapper.decodeValue(jacksonMapper.encodeToBuffer(bidCacheRequest), null,
+                BidCacheRequest.class)).isEqualTo(bidCacheRequest);
+    }
+
+    @Test
+    public void decodeValueShouldFailIfBodyIsNotInBinaryFormat() {
+        // given
+        final BinaryMapper binaryMapper = new BinaryMapper(BinaryFormat.smile, jacksonMapper);
+
+        // when and then
+        assertThatThrownBy(() -> binaryMapper.decodeValue(Buffer.buffer("{}"),
+                headers("application/x-jackson-smile"), BidCacheRequest.class))
+                .isInstanceOf(DecodeException.class)
+                .hasMessageStartingWith("Failed to decode:");
+    }
+
+    private static BidCacheRequest givenBidCacheRequest() {
+        return BidCacheRequest.of(asList(
+                PutObject.builder().type("json").value(mapper.createObjectNode().put("id", "bid1").put("price", 1.23))
+                        .expiry(300).build(),
+                PutObject.builder().type("xml").value(mapper.valueToTree("<VAST version=\"3.0\"></VAST>")).build()));
+    }
+
+    private static MultiMap headers(String contentType) {
+        return MultiMap.caseInsensitiveMultiMap().add(HttpUtil.CONTENT_TYPE_HEADER, contentType);
+    }
+}
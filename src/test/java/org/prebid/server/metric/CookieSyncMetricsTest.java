@@ -1,6 +1,8 @@
 package org.prebid.server.metric;
 
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
+import org.apache.commons.lang3.reflect.FieldUtils;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -9,9 +11,25 @@ public class CookieSyncMetricsTest {
     @Test
     public void forBidderShouldReturnSameBidderCookieSyncMetricsOnSuccessiveCalls() {
         // given
-        final CookieSyncMetrics cookieSyncMetrics = new CookieSyncMetrics(new MetricRegistry(), CounterType.counter);
+        final CookieSyncMetrics cookieSyncMetrics = new CookieSyncMetrics(new MetricRegistry(), CounterType.counter,
+                ReservoirType.exponentiallyDecaying);
 
         // when and then
         assertThat(cookieSyncMetrics.forBidder("rubicon")).isSameAs(cookieSyncMetrics.forBidder("rubicon"));
     }
+
+    @Test
+    public void nestedMetricsShouldCreateHistogramsWithConfiguredReservoir() throws IllegalAccessException {
+        // given
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final CookieSyncMetrics cookieSyncMetrics = new CookieSyncMetrics(metricRegistry, CounterType.counter,
+                ReservoirType.hdrHistogram);
+
+        // when
+        cookieSyncMetrics.forBidder("rubicon").tcf().v2().updateHistogram(MetricName.prices, 100L);
+
+        // then
+        final Histogram histogram = metricRegistry.histogram("cookie_sync.rubicon.tcf.v2.prices");
+        assertThat(FieldUtils.readField(histogram, "reservoir", true)).isInstanceOf(HdrHistogramReservoir.class);
+    }
 }
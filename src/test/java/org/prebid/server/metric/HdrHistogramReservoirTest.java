@@ -0,0 +1,149 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.Snapshot;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.withinPercentage;
+import static org.mockito.BDDMockito.given;
+
+public class HdrHistogramReservoirTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Clock clock;
+
+    private HdrHistogramReservoir reservoir;
+
+    @Before
+    public void setUp() {
+        given(clock.millis()).willReturn(0L);
+
+        reservoir = new HdrHistogramReservoir(1000L, clock);
+    }
+
+    @Test
+    public void creationShouldFailIfIntervalIsNotPositive() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new HdrHistogramReservoir(0L, clock));
+    }
+
+    @Test
+    public void getSnapshotShouldKeepTailValues() {
+        // given
+        for (int i = 1; i <= 100_000; i++) {
+            reservoir.update(i == 100_000 ? 5_000_000_000L : 1_000_000L);
+        }
+        given(clock.millis()).willReturn(1000L);
+
+        // when
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot.size()).isEqualTo(100_000);
+        assertThat(snapshot.getMax()).isCloseTo(5_000_000_000L, withinPercentage(1));
+        assertThat(snapshot.getMin()).isCloseTo(1_000_000L, withinPercentage(1));
+        assertThat(snapshot.getMedian()).isCloseTo(1_000_000L, withinPercentage(1));
+        assertThat(snapshot.getValue(0.99999)).isCloseTo(1_000_000L, withinPercentage(1));
+        assertThat(snapshot.getValue(1.0)).isCloseTo(5_000_000_000L, withinPercentage(1));
+    }
+
+    @Test
+    public void getSnapshotShouldReturnValuesOfLastCompletedInterval() {
+        // given
+        reservoir.update(10L);
+        given(clock.millis()).willReturn(1000L);
+        reservoir.getSnapshot();
+        reservoir.update(20L);
+        reservoir.update(30L);
+        given(clock.millis()).willReturn(2500L);
+
+        // when
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.getValues()).containsExactly(20L, 30L);
+        assertThat(reservoir.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void getSnapshotShouldReturnSameSnapshotToEveryReaderDuringInterval() {
+        // given
+        reservoir.update(10L);
+        given(clock.millis()).willReturn(1000L);
+        final Snapshot firstSnapshot = reservoir.getSnapshot();
+        reservoir.update(20L);
+        given(clock.millis()).willReturn(1999L);
+
+        // when
+        final Snapshot secondSnapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(secondSnapshot).isSameAs(firstSnapshot);
+        assertThat(secondSnapshot.getValues()).containsExactly(10L);
+    }
+
+    @Test
+    public void getSnapshotShouldKeepIntervalsAlignedToCreation() {
+        // given
+        given(clock.millis()).willReturn(1500L);
+        reservoir.getSnapshot();
+        reservoir.update(10L);
+        given(clock.millis()).willReturn(1999L);
+
+        // when
+        final Snapshot snapshotBeforeIntervalEnd = reservoir.getSnapshot();
+        given(clock.millis()).willReturn(2000L);
+        final Snapshot snapshotAfterIntervalEnd = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshotBeforeIntervalEnd.size()).isZero();
+        assertThat(snapshotAfterIntervalEnd.getValues()).containsExactly(10L);
+    }
+
+    @Test
+    public void getSnapshotShouldReturnEmptySnapshotUntilFirstIntervalIsCompleted() {
+        // given
+        reservoir.update(10L);
+
+        // when
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot.size()).isZero();
+    }
+
+    @Test
+    public void getSnapshotShouldReturnEmptySnapshotIfNothingWasRecorded() {
+        // given
+        given(clock.millis()).willReturn(1000L);
+
+        // when
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot.size()).isZero();
+        assertThat(snapshot.getValues()).isEmpty();
+        assertThat(snapshot.getMean()).isZero();
+    }
+
+    @Test
+    public void updateShouldTreatNegativeValueAsZero() {
+        // when
+        reservoir.update(-1L);
+        given(clock.millis()).willReturn(1000L);
+
+        // then
+        assertThat(reservoir.getSnapshot().getMax()).isZero();
+    }
+}
@@ -9,6 +9,7 @@ import com.iab.openrtb.request.Banner;
 import com.iab.openrtb.request.Imp;
 import com.iab.openrtb.request.Native;
 import com.iab.openrtb.request.Video;
+import org.apache.commons.lang3.reflect.FieldUtils;
 import org.assertj.core.api.Condition;
 import org.assertj.core.api.SoftAssertions;
 import org.junit.Before;
@@ -58,7 +59,8 @@ public class MetricsTest {
         given(accountMetricsVerbosity.forAccount(anyString())).willReturn(AccountMetricsVerbosityLevel.detailed);
         given(bidderCatalog.isValidName(any())).willReturn(true);
 
-        metrics = new Metrics(metricRegistry, CounterType.counter, accountMetricsVerbosity, bidderCatalog);
+        metrics = new Metrics(metricRegistry, CounterType.counter, ReservoirType.exponentiallyDecaying,
+                accountMetricsVerbosity, bidderCatalog);
     }
 
     @Test
@@ -410,6 +412,27 @@ public class MetricsTest {
         assertThat(metricRegistry.timer("request_time").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void updateStageTimeMetricsShouldUpdateHistogramsPerRequestType() {
+        // given
+        final Map<MetricName, Long> stageTimes = new EnumMap<>(MetricName.class);
+        stageTimes.put(MetricName.request_parsing, 120L);
+        stageTimes.put(MetricName.bidder_requests, 35000L);
+
+        // when
+        metrics.updateStageTimeMetrics(MetricName.openrtb2web, stageTimes);
+        metrics.updateStageTimeMetric(MetricName.openrtb2web, MetricName.response_encoding, 80L);
+        metrics.updateStageTimeMetric(MetricName.amp, MetricName.response_encoding, 60L);
+
+        // then
+        assertThat(metricRegistry.histogram("stages.openrtb2-web.request_parsing").getSnapshot().getMax())
+                .isEqualTo(120L);
+        assertThat(metricRegistry.histogram("stages.openrtb2-web.bidder_requests").getSnapshot().getMax())
+                .isEqualTo(35000L);
+        assertThat(metricRegistry.histogram("stages.openrtb2-web.response_encoding").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.histogram("stages.amp.response_encoding").getCount()).isEqualTo(1);
+    }
+
     @Test
     public void updateRequestTypeMetricShouldIncrementMetric() {
         // when
@@ -476,6 +499,37 @@ public class MetricsTest {
         assertThat(metricRegistry.timer("account.accountId.UNKNOWN.request_time").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void updateAdapterRequestBuildAndResponseParseTimeShouldUpdateMetrics() {
+        // given
+        given(bidderCatalog.isValidName(INVALID_BIDDER)).willReturn(false);
+
+        // when
+        metrics.updateAdapterRequestBuildTime(RUBICON, 500L);
+        metrics.updateAdapterResponseParseTime(RUBICON, 300L);
+        metrics.updateAdapterResponseParseTime(INVALID_BIDDER, 300L);
+
+        // then
+        assertThat(metricRegistry.histogram("adapter.rubicon.request_build_time").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.histogram("adapter.rubicon.response_parse_time").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.histogram("adapter.UNKNOWN.response_parse_time").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void updateAdapterColdConnectionMetricShouldIncrementMetric() {
+        // given
+        given(bidderCatalog.isValidName(INVALID_BIDDER)).willReturn(false);
+
+        // when
+        metrics.updateAdapterColdConnectionMetric(RUBICON);
+        metrics.updateAdapterColdConnectionMetric(RUBICON);
+        metrics.updateAdapterColdConnectionMetric(INVALID_BIDDER);
+
+        // then
+        assertThat(metricRegistry.counter("adapter.rubicon.cold_connections").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.counter("adapter.UNKNOWN.cold_connections").getCount()).isEqualTo(1);
+    }
+
     @Test
     public void updateAdapterRequestNobidMetricsShouldIncrementMetrics() {
         // given
@@ -683,6 +737,18 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("privacy.tcf.invalid").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void updatePrivacyTcfDecodeCacheMetricShouldIncrementMetrics() {
+        // when
+        metrics.updatePrivacyTcfDecodeCacheMetric(true);
+        metrics.updatePrivacyTcfDecodeCacheMetric(false);
+        metrics.updatePrivacyTcfDecodeCacheMetric(false);
+
+        // then
+        assertThat(metricRegistry.counter("privacy.tcf.decode_cache_hit").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter("privacy.tcf.decode_cache_miss").getCount()).isEqualTo(2);
+    }
+
     @Test
     public void updatePrivacyTcfGeoMetricShouldIncrementMetrics() {
         // when
@@ -749,6 +815,36 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("connection_accept_errors").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void shouldUpdateEventLoopLagMetric() {
+        // when
+        metrics.updateEventLoopLagMetric(15L);
+
+        // then
+        assertThat(metricRegistry.histogram("event_loop_lag").getSnapshot().getMax()).isEqualTo(15L);
+    }
+
+    @Test
+    public void shouldUpdateBidderParamsValidationTimeMetric() {
+        // when
+        metrics.updateBidderParamsValidationTimeMetric(25L);
+
+        // then
+        assertThat(metricRegistry.histogram("bidder_params_validation_time").getSnapshot().getMax()).isEqualTo(25L);
+    }
+
+    @Test
+    public void updateBidderParamsValidationCacheMetricShouldIncrementMetrics() {
+        // when
+        metrics.updateBidderParamsValidationCacheMetric(true);
+        metrics.updateBidderParamsValidationCacheMetric(false);
+        metrics.updateBidderParamsValidationCacheMetric(false);
+
+        // then
+        assertThat(metricRegistry.counter("bidder_params_validation_cache_hit").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter("bidder_params_validation_cache_miss").getCount()).isEqualTo(2);
+    }
+
     @Test
     public void shouldUpdateDatabaseQueryTimeMetric() {
         // when
@@ -881,6 +977,25 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("stored_imps_missing").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void shouldCreateTimersAndHistogramsWithConfiguredReservoir() throws IllegalAccessException {
+        // given
+        metrics = new Metrics(metricRegistry, CounterType.counter, ReservoirType.hdrHistogram,
+                accountMetricsVerbosity, bidderCatalog);
+
+        // when
+        metrics.updateRequestTimeMetric(456L);
+        metrics.updateAdapterResponseTime(RUBICON, "accountId", 500);
+        metrics.updateAdapterBidMetrics(RUBICON, "accountId", 10_000L, false, "banner");
+
+        // then
+        assertThat(timerReservoir("request_time")).isInstanceOf(HdrHistogramReservoir.class);
+        assertThat(timerReservoir("account.accountId.rubicon.request_time"))
+                .isInstanceOf(HdrHistogramReservoir.class);
+        assertThat(FieldUtils.readField(metricRegistry.histogram("adapter.rubicon.prices"), "reservoir", true))
+                .isInstanceOf(HdrHistogramReservoir.class);
+    }
+
     @Test
     public void shouldIncrementPrebidCacheRequestSuccessTimer() {
         // when
@@ -913,7 +1028,7 @@ public class MetricsTest {
 
             // when
             metricsConsumer.accept(new Metrics(metricRegistry, CounterType.valueOf(counterType.name()),
-                    accountMetricsVerbosity, bidderCatalog));
+                    ReservoirType.exponentiallyDecaying, accountMetricsVerbosity, bidderCatalog));
 
             // then
             softly.assertThat(metricRegistry.getMetrics()).hasValueSatisfying(new Condition<>(
@@ -923,4 +1038,9 @@ public class MetricsTest {
 
         softly.assertAll();
     }
+
+    private Object timerReservoir(String name) throws IllegalAccessException {
+        final Object histogram = FieldUtils.readField(metricRegistry.timer(name), "histogram", true);
+        return FieldUtils.readField(histogram, "reservoir", true);
+    }
 }
@@ -7,6 +7,12 @@ import org.junit.Test;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -14,6 +20,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
 public class UpdatableMetricsTest {
@@ -34,7 +41,7 @@ public class UpdatableMetricsTest {
     public void incCounterShouldCreateMetricNameUsingProvidedCreator() {
         // given
         updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter,
-                metricName -> "someprefix." + metricName.toString());
+                ReservoirType.exponentiallyDecaying, metricName -> "someprefix." + metricName.toString());
 
         // when
         updatableMetrics.incCounter(MetricName.requests, 5);
@@ -50,7 +57,8 @@ public class UpdatableMetricsTest {
         final Function<MetricName, String> nameCreator = mock(Function.class);
         given(nameCreator.apply(any())).willReturn("");
 
-        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter, nameCreator);
+        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter,
+                ReservoirType.exponentiallyDecaying, nameCreator);
 
         // when
         updatableMetrics.incCounter(MetricName.requests, 5);
@@ -63,7 +71,8 @@ public class UpdatableMetricsTest {
     @Test
     public void incCounterShouldIncrementByOne() {
         // given
-        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter, MetricName::toString);
+        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter,
+                ReservoirType.exponentiallyDecaying, MetricName::toString);
 
         // when
         updatableMetrics.incCounter(MetricName.requests);
@@ -72,11 +81,46 @@ public class UpdatableMetricsTest {
         assertThat(metricRegistry.counter("requests").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void incCounterShouldLookupRegistryOnlyOnceOnSuccessiveCalls() {
+        // given
+        final MetricRegistry registry = spy(new MetricRegistry());
+        updatableMetrics = new UpdatableMetrics(registry, CounterType.counter,
+                ReservoirType.exponentiallyDecaying, MetricName::toString);
+
+        // when
+        updatableMetrics.incCounter(MetricName.requests);
+        updatableMetrics.incCounter(MetricName.requests, 2);
+
+        // then
+        verify(registry).counter(eq("requests"));
+        assertThat(registry.counter("requests").getCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void getOrCreateShouldReturnSameHolderForConcurrentCalls() throws InterruptedException {
+        // given
+        final ConcurrentMap<String, Object> holders = new ConcurrentHashMap<>();
+        final Set<Object> createdHolders = ConcurrentHashMap.newKeySet();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            executor.execute(() -> createdHolders.add(
+                    UpdatableMetrics.getOrCreate(holders, "key", key -> new Object())));
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(createdHolders).hasSize(1).containsOnly(holders.get("key"));
+    }
+
     @Test
     public void updateTimerShouldCreateMetricNameUsingProvidedCreator() {
         // given
         updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter,
-                metricName -> "someprefix." + metricName.toString());
+                ReservoirType.exponentiallyDecaying, metricName -> "someprefix." + metricName.toString());
 
         // when
         updatableMetrics.updateTimer(MetricName.request_time, 1000L);
@@ -92,7 +136,8 @@ public class UpdatableMetricsTest {
         final Function<MetricName, String> nameCreator = mock(Function.class);
         given(nameCreator.apply(any())).willReturn("");
 
-        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter, nameCreator);
+        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter,
+                ReservoirType.exponentiallyDecaying, nameCreator);
 
         // when
         updatableMetrics.updateTimer(MetricName.request_time, 1000L);
@@ -105,7 +150,8 @@ public class UpdatableMetricsTest {
     @Test
     public void updateTimerShouldConvertToNanos() {
         // given
-        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter, MetricName::toString);
+        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter,
+                ReservoirType.exponentiallyDecaying, MetricName::toString);
 
         // when
         updatableMetrics.updateTimer(MetricName.request_time, 1000L);
@@ -118,7 +164,7 @@ public class UpdatableMetricsTest {
     public void updateHistogramShouldCreateMetricNameUsingProvidedCreator() {
         // given
         updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter,
-                metricName -> "someprefix." + metricName.toString());
+                ReservoirType.exponentiallyDecaying, metricName -> "someprefix." + metricName.toString());
 
         // when
         updatableMetrics.updateHistogram(MetricName.prices, 1000L);
@@ -134,7 +180,8 @@ public class UpdatableMetricsTest {
         final Function<MetricName, String> nameCreator = mock(Function.class);
         given(nameCreator.apply(any())).willReturn("");
 
-        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter, nameCreator);
+        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter,
+                ReservoirType.exponentiallyDecaying, nameCreator);
 
         // when
         updatableMetrics.updateHistogram(MetricName.prices, 1000L);
@@ -145,6 +192,7 @@ public class UpdatableMetricsTest {
     }
 
     private UpdatableMetrics givenUpdatableMetricsWith(CounterType counterType) {
-        return new UpdatableMetrics(metricRegistry, counterType, MetricName::toString);
+        return new UpdatableMetrics(metricRegistry, counterType, ReservoirType.exponentiallyDecaying,
+                MetricName::toString);
     }
 }
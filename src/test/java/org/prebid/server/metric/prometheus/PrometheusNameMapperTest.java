@@ -0,0 +1,89 @@
+package org.prebid.server.metric.prometheus;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.metric.prometheus.PrometheusNameMapper.LabeledName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrometheusNameMapperTest {
+
+    private PrometheusNameMapper nameMapper;
+
+    @Before
+    public void setUp() {
+        nameMapper = new PrometheusNameMapper();
+    }
+
+    @Test
+    public void mapShouldExtractRequestStatusAndType() {
+        assertThat(nameMapper.map("requests.ok.openrtb2-web"))
+                .isEqualTo(LabeledName.of("requests", "status=\"ok\",request_type=\"openrtb2-web\""));
+    }
+
+    @Test
+    public void mapShouldExtractAdapterLabels() {
+        assertThat(nameMapper.map("adapter.appnexus.requests.gotbids"))
+                .isEqualTo(LabeledName.of("adapter_requests", "bidder=\"appnexus\",status=\"gotbids\""));
+        assertThat(nameMapper.map("adapter.appnexus.requests.type.amp"))
+                .isEqualTo(LabeledName.of("adapter_requests_type", "bidder=\"appnexus\",request_type=\"amp\""));
+        assertThat(nameMapper.map("adapter.appnexus.banner.adm_bids_received"))
+                .isEqualTo(LabeledName.of("adapter_adm_bids_received", "bidder=\"appnexus\",bid_type=\"banner\""));
+        assertThat(nameMapper.map("adapter.appnexus.request_time"))
+                .isEqualTo(LabeledName.of("adapter_request_time", "bidder=\"appnexus\""));
+    }
+
+    @Test
+    public void mapShouldExtractAccountLabels() {
+        assertThat(nameMapper.map("account.1001.requests"))
+                .isEqualTo(LabeledName.of("account_requests", "account=\"1001\""));
+        assertThat(nameMapper.map("account.1001.requests.type.openrtb2-app"))
+                .isEqualTo(LabeledName.of("account_requests_type",
+                        "account=\"1001\",request_type=\"openrtb2-app\""));
+        assertThat(nameMapper.map("account.1001.requests.rejected"))
+                .isEqualTo(LabeledName.of("account_requests_rejected", "account=\"1001\""));
+        assertThat(nameMapper.map("account.1001.rubicon.requests.nobid"))
+                .isEqualTo(LabeledName.of("account_adapter_requests",
+                        "account=\"1001\",bidder=\"rubicon\",status=\"nobid\""));
+        assertThat(nameMapper.map("account.1001.rubicon.bids_received"))
+                .isEqualTo(LabeledName.of("account_adapter_bids_received", "account=\"1001\",bidder=\"rubicon\""));
+    }
+
+    @Test
+    public void mapShouldExtractTcfLabels() {
+        assertThat(nameMapper.map("adapter.rubicon.amp.tcf.userid_removed"))
+                .isEqualTo(LabeledName.of("adapter_tcf_userid_removed",
+                        "bidder=\"rubicon\",request_type=\"amp\""));
+        assertThat(nameMapper.map("adapter.rubicon.amp.tcf.v2.request_blocked"))
+                .isEqualTo(LabeledName.of("adapter_tcf_request_blocked",
+                        "bidder=\"rubicon\",request_type=\"amp\",tcf_version=\"v2\""));
+        assertThat(nameMapper.map("account.1001.openrtb2-web.tcf.geo_masked"))
+                .isEqualTo(LabeledName.of("account_tcf_geo_masked",
+                        "account=\"1001\",request_type=\"openrtb2-web\""));
+        assertThat(nameMapper.map("account.1001.openrtb2-web.tcf.v1.geo_masked"))
+                .isEqualTo(LabeledName.of("account_tcf_geo_masked",
+                        "account=\"1001\",request_type=\"openrtb2-web\",tcf_version=\"v1\""));
+        assertThat(nameMapper.map("cookie_sync.rubicon.tcf.blocked"))
+                .isEqualTo(LabeledName.of("cookie_sync_tcf_blocked", "bidder=\"rubicon\""));
+        assertThat(nameMapper.map("usersync.rubicon.tcf.v2.blocked"))
+                .isEqualTo(LabeledName.of("usersync_tcf_blocked", "bidder=\"rubicon\",tcf_version=\"v2\""));
+    }
+
+    @Test
+    public void mapShouldEscapeLabelValues() {
+        assertThat(nameMapper.map("account.a\"b\\c.requests"))
+                .isEqualTo(LabeledName.of("account_requests", "account=\"a\\\"b\\\\c\""));
+    }
+
+    @Test
+    public void mapShouldSanitizeUnknownNames() {
+        assertThat(nameMapper.map("vertx.http.servers.0.0.0.0:8080.open-netsockets.count"))
+                .isEqualTo(LabeledName.of("vertx_http_servers_0_0_0_0:8080_open_netsockets_count", ""));
+        assertThat(nameMapper.map("usersync.opt_outs")).isEqualTo(LabeledName.of("usersync_opt_outs", ""));
+    }
+
+    @Test
+    public void mapShouldReturnSameInstanceForSameName() {
+        assertThat(nameMapper.map("adapter.appnexus.prices")).isSameAs(nameMapper.map("adapter.appnexus.prices"));
+    }
+}
@@ -0,0 +1,111 @@
+package org.prebid.server.metric.prometheus;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrometheusTextWriterTest {
+
+    private MetricRegistry metricRegistry;
+
+    private PrometheusTextWriter prometheusTextWriter;
+
+    @Before
+    public void setUp() {
+        metricRegistry = new MetricRegistry();
+        prometheusTextWriter = new PrometheusTextWriter(metricRegistry, new PrometheusNameMapper());
+    }
+
+    @Test
+    public void writeShouldGroupSamplesOfSameFamily() {
+        // given
+        metricRegistry.counter("adapter.appnexus.requests.gotbids").inc(3);
+        metricRegistry.counter("adapter.rubicon.requests.nobid").inc();
+        metricRegistry.counter("app_requests").inc(2);
+
+        // when
+        final String result = prometheusTextWriter.write();
+
+        // then
+        assertThat(result.split("\n")).containsOnly(
+                "# TYPE adapter_requests gauge",
+                "adapter_requests{bidder=\"appnexus\",status=\"gotbids\"} 3",
+                "adapter_requests{bidder=\"rubicon\",status=\"nobid\"} 1",
+                "# TYPE app_requests gauge",
+                "app_requests 2");
+        assertThat(result).containsOnlyOnce("# TYPE adapter_requests gauge");
+    }
+
+    @Test
+    public void writeShouldWriteMetersAsCounters() {
+        // given
+        metricRegistry.meter("requests.ok.amp").mark(5);
+
+        // when
+        final String result = prometheusTextWriter.write();
+
+        // then
+        assertThat(result).isEqualTo("# TYPE requests_total counter\n"
+                + "requests_total{status=\"ok\",request_type=\"amp\"} 5\n");
+    }
+
+    @Test
+    public void writeShouldWriteTimersAsSummariesInSeconds() {
+        // given
+        metricRegistry.timer("adapter.appnexus.request_time").update(250, TimeUnit.MILLISECONDS);
+
+        // when
+        final String result = prometheusTextWriter.write();
+
+        // then
+        assertThat(result).startsWith("# TYPE adapter_request_time summary\n")
+                .contains("adapter_request_time{bidder=\"appnexus\",quantile=\"0.99\"} 0.25\n")
+                .doesNotContain("adapter_request_time_sum")
+                .endsWith("adapter_request_time_count{bidder=\"appnexus\"} 1\n");
+    }
+
+    @Test
+    public void writeShouldWriteHistogramsAsSummaries() {
+        // given
+        metricRegistry.histogram("stages.amp.request_parsing").update(120);
+
+        // when
+        final String result = prometheusTextWriter.write();
+
+        // then
+        assertThat(result)
+                .contains("stages{request_type=\"amp\",stage=\"request_parsing\",quantile=\"0.5\"} 120.0\n")
+                .doesNotContain("stages_sum")
+                .contains("stages_count{request_type=\"amp\",stage=\"request_parsing\"} 1\n");
+    }
+
+    @Test
+    public void writeShouldSkipMetricsOfTypeConflictingWithTheirFamily() {
+        // given
+        metricRegistry.counter("adapter.appnexus.requests.gotbids").inc(3);
+        metricRegistry.histogram("adapter.rubicon.requests.nobid").update(1);
+
+        // when
+        final String result = prometheusTextWriter.write();
+
+        // then
+        assertThat(result).containsOnlyOnce("# TYPE adapter_requests ");
+        assertThat(result.contains("bidder=\"appnexus\"")).isNotEqualTo(result.contains("bidder=\"rubicon\""));
+    }
+
+    @Test
+    public void writeShouldWriteNumericGauges() {
+        // given
+        metricRegistry.gauge("vertx.pool.used", () -> () -> 7);
+
+        // when
+        final String result = prometheusTextWriter.write();
+
+        // then
+        assertThat(result).isEqualTo("# TYPE vertx_pool_used gauge\nvertx_pool_used 7.0\n");
+    }
+}
@@ -0,0 +1,95 @@
+package org.prebid.server.privacy.gdpr;
+
+import com.iab.gdpr.consent.VendorConsent;
+import com.iabtcf.decoder.TCString;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.metric.Metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class ConsentStringDecoderTest {
+
+    private static final String CONSENT_V1 = "BOEFEAyOEFEAyAHABDENAI4AAAB9vABAASA";
+    private static final String CONSENT_V2 = "COwayg7OwaybYN6AAAENAPCgAIAAAAAAAAAAASkAAAAAAAAAAA";
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Metrics metrics;
+
+    private ConsentStringDecoder consentStringDecoder;
+
+    @Before
+    public void setUp() {
+        consentStringDecoder = new ConsentStringDecoder(100, metrics);
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveCacheSize() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new ConsentStringDecoder(0, metrics));
+    }
+
+    @Test
+    public void decodeTcStringShouldReturnCachedValueForTheSameConsentString() {
+        // when
+        final TCString first = consentStringDecoder.decodeTcString(CONSENT_V2);
+        final TCString second = consentStringDecoder.decodeTcString(new String(CONSENT_V2.toCharArray()));
+
+        // then
+        assertThat(first.getVersion()).isEqualTo(2);
+        assertThat(second).isSameAs(first);
+        verify(metrics).updatePrivacyTcfDecodeCacheMetric(false);
+        verify(metrics).updatePrivacyTcfDecodeCacheMetric(true);
+    }
+
+    @Test
+    public void decodeTcStringShouldDecodeTcfV1ConsentString() {
+        // when
+        final TCString result = consentStringDecoder.decodeTcString(CONSENT_V1);
+
+        // then
+        assertThat(result.getVersion()).isEqualTo(1);
+        assertThat(consentStringDecoder.decodeTcString(CONSENT_V1)).isSameAs(result);
+    }
+
+    @Test
+    public void decodeTcStringShouldNotCacheInvalidConsentString() {
+        // when and then
+        assertThatThrownBy(() -> consentStringDecoder.decodeTcString("invalid"));
+        assertThatThrownBy(() -> consentStringDecoder.decodeTcString("invalid"));
+
+        verify(metrics, times(2)).updatePrivacyTcfDecodeCacheMetric(false);
+    }
+
+    @Test
+    public void decodeTcStringShouldNotUseCacheForEmptyConsentString() {
+        // when and then
+        assertThatThrownBy(() -> consentStringDecoder.decodeTcString(""));
+
+        verifyZeroInteractions(metrics);
+    }
+
+    @Test
+    public void decodeVendorConsentShouldReturnCachedValueForTheSameConsentString() {
+        // when
+        final VendorConsent first = consentStringDecoder.decodeVendorConsent(CONSENT_V1);
+        final VendorConsent second = consentStringDecoder.decodeVendorConsent(CONSENT_V1);
+
+        // then
+        assertThat(first.getVendorListVersion()).isEqualTo(second.getVendorListVersion());
+        assertThat(second).isSameAs(first);
+        verify(metrics).updatePrivacyTcfDecodeCacheMetric(false);
+        verify(metrics).updatePrivacyTcfDecodeCacheMetric(true);
+    }
+}
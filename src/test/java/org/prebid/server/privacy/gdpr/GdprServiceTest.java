@@ -8,6 +8,7 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.prebid.server.VertxTest;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.vendorlist.VendorListService;
@@ -29,12 +30,14 @@ public class GdprServiceTest extends VertxTest {
 
     @Mock
     private VendorListService<VendorListV1, VendorV1> vendorListService;
+    @Mock
+    private Metrics metrics;
 
     private GdprService gdprService;
 
     @Before
     public void setUp() {
-        gdprService = new GdprService(vendorListService);
+        gdprService = new GdprService(vendorListService, new ConsentStringDecoder(100, metrics));
     }
 
     @Test
@@ -105,7 +105,7 @@ public class Tcf2ServiceTest extends VertxTest {
         initPurposes();
         initSpecialFeatures();
         initGdpr();
-        target = new Tcf2Service(gdprConfig, vendorListService, bidderCatalog);
+        target = new Tcf2Service(gdprConfig, vendorListService, bidderCatalog, 100);
 
         FieldSetter.setField(target,
                 target.getClass().getDeclaredField("supportedPurposeStrategies"), purposeStrategies);
@@ -329,7 +329,8 @@ public class Tcf2ServiceTest extends VertxTest {
                         .purposeOneTreatmentInterpretation(PurposeOneTreatmentInterpretation.noAccessAllowed)
                         .build(),
                 vendorListService,
-                bidderCatalog);
+                bidderCatalog,
+                0);
         FieldSetter.setField(target,
                 target.getClass().getDeclaredField("supportedPurposeStrategies"), purposeStrategies);
         FieldSetter.setField(target,
@@ -363,7 +364,8 @@ public class Tcf2ServiceTest extends VertxTest {
                         .purposeOneTreatmentInterpretation(PurposeOneTreatmentInterpretation.accessAllowed)
                         .build(),
                 vendorListService,
-                bidderCatalog);
+                bidderCatalog,
+                0);
         FieldSetter.setField(target,
                 target.getClass().getDeclaredField("supportedPurposeStrategies"), purposeStrategies);
         FieldSetter.setField(target,
@@ -395,7 +397,8 @@ public class Tcf2ServiceTest extends VertxTest {
                         .purposeOneTreatmentInterpretation(PurposeOneTreatmentInterpretation.accessAllowed)
                         .build(),
                 vendorListService,
-                bidderCatalog);
+                bidderCatalog,
+                0);
         FieldSetter.setField(target,
                 target.getClass().getDeclaredField("supportedPurposeStrategies"), purposeStrategies);
         FieldSetter.setField(target,
@@ -414,6 +417,83 @@ public class Tcf2ServiceTest extends VertxTest {
         verify(specialFeaturesStrategyOne).processSpecialFeaturesStrategy(any(), any(), anyCollection());
     }
 
+    @Test
+    public void permissionsForShouldReuseResolvedPermissionsForTheSameConsentAndVendors() {
+        // given
+        given(bidderCatalog.nameByVendorId(any())).willReturn("rubicon");
+
+        // when
+        final Future<Collection<VendorPermission>> firstResult = target.permissionsFor(singleton(1), tcString);
+        final Future<Collection<VendorPermission>> secondResult = target.permissionsFor(singleton(1), tcString);
+
+        // then
+        assertThat(secondResult).succeededWith(firstResult.result());
+
+        verify(vendorListService).forVersion(10);
+        verify(purposeStrategyOne).processTypePurposeStrategy(any(), any(), anyCollection());
+        verify(specialFeaturesStrategyOne).processSpecialFeaturesStrategy(any(), any(), anyCollection());
+    }
+
+    @Test
+    public void permissionsForShouldNotShareEnforcementActionsWithCachedPermissions() {
+        // given
+        given(bidderCatalog.nameByVendorId(any())).willReturn("rubicon");
+
+        // when
+        target.permissionsFor(singleton(1), tcString).result().iterator().next()
+                .getPrivacyEnforcementAction().setBlockBidderRequest(false);
+        final Future<Collection<VendorPermission>> result = target.permissionsFor(singleton(1), tcString);
+
+        // then
+        assertThat(result).succeededWith(
+                singletonList(VendorPermission.of(1, "rubicon", PrivacyEnforcementAction.restrictAll())));
+    }
+
+    @Test
+    public void permissionsForShouldResolvePermissionsAgainForDifferentVendors() {
+        // given
+        given(bidderCatalog.nameByVendorId(any())).willReturn("rubicon");
+
+        // when
+        target.permissionsFor(singleton(1), tcString);
+        target.permissionsFor(singleton(2), tcString);
+
+        // then
+        verify(vendorListService, times(2)).forVersion(10);
+        verify(purposeStrategyOne, times(2)).processTypePurposeStrategy(any(), any(), anyCollection());
+    }
+
+    @Test
+    public void permissionsForShouldResolvePermissionsAgainForDifferentAccountConfig() {
+        // given
+        final AccountGdprConfig accountGdprConfig = AccountGdprConfig.builder()
+                .purposes(Purposes.builder().p1(Purpose.of(EnforcePurpose.no, false, emptyList())).build())
+                .build();
+        final VendorIdResolver vendorIdResolver = VendorIdResolver.of(bidderCatalog);
+
+        // when
+        target.permissionsFor(singleton("rubicon"), vendorIdResolver, tcString, null);
+        target.permissionsFor(singleton("rubicon"), vendorIdResolver, tcString, accountGdprConfig);
+
+        // then
+        verify(vendorListService, times(2)).forVersion(10);
+        verify(purposeStrategyOne, times(2)).processTypePurposeStrategy(any(), any(), anyCollection());
+    }
+
+    @Test
+    public void permissionsForShouldNotCachePermissionsResolvedWithoutVendorList() {
+        // given
+        given(vendorListService.forVersion(anyInt())).willReturn(Future.failedFuture("Bad version"));
+        given(bidderCatalog.nameByVendorId(any())).willReturn("rubicon");
+
+        // when
+        target.permissionsFor(singleton(1), tcString);
+        target.permissionsFor(singleton(1), tcString);
+
+        // then
+        verify(vendorListService, times(2)).forVersion(10);
+    }
+
     public void verifyEachPurposeStrategyReceive(List<VendorPermissionWithGvl> vendorPermissionWithGvls) {
         verify(purposeStrategyOne).processTypePurposeStrategy(tcString, purpose1, vendorPermissionWithGvls);
         verify(purposeStrategyTwo).processTypePurposeStrategy(tcString, purpose2, vendorPermissionWithGvls);
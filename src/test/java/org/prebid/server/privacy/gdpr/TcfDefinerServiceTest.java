@@ -57,6 +57,8 @@ public class TcfDefinerServiceTest {
     @Mock
     private Metrics metrics;
 
+    private ConsentStringDecoder consentStringDecoder;
+
     private TcfDefinerService target;
 
     private Purposes purposes;
@@ -71,8 +73,10 @@ public class TcfDefinerServiceTest {
         initPurposes();
         initGdpr();
 
+        consentStringDecoder = new ConsentStringDecoder(100, metrics);
+
         target = new TcfDefinerService(gdprConfig, singleton(EEA_COUNTRY), gdprService, tcf2Service,
-                geoLocationService, bidderCatalog, metrics);
+                consentStringDecoder, geoLocationService, bidderCatalog, metrics);
     }
 
     private void initPurposes() {
@@ -95,7 +99,7 @@ public class TcfDefinerServiceTest {
         // given
         final GdprConfig gdprConfig = GdprConfig.builder().enabled(false).build();
         target = new TcfDefinerService(gdprConfig, singleton(EEA_COUNTRY), gdprService, tcf2Service,
-                geoLocationService, bidderCatalog, metrics);
+                consentStringDecoder, geoLocationService, bidderCatalog, metrics);
 
         // when
         final Future<TcfResponse<Integer>> result = target.resultForVendorIds(singleton(1), null, null, null, null);
@@ -202,7 +206,7 @@ public class TcfDefinerServiceTest {
         // given
         final GdprConfig gdprConfig = GdprConfig.builder().enabled(true).defaultValue("0").build();
         target = new TcfDefinerService(gdprConfig, singleton(EEA_COUNTRY), gdprService, tcf2Service,
-                geoLocationService, bidderCatalog, metrics);
+                consentStringDecoder, geoLocationService, bidderCatalog, metrics);
 
         given(geoLocationService.lookup(anyString(), any())).willReturn(Future.failedFuture("Bad ip"));
 
@@ -223,7 +227,7 @@ public class TcfDefinerServiceTest {
         // given
         final GdprConfig gdprConfig = GdprConfig.builder().enabled(true).defaultValue("0").build();
         target = new TcfDefinerService(gdprConfig, singleton(EEA_COUNTRY), gdprService, tcf2Service,
-                geoLocationService, bidderCatalog, metrics);
+                consentStringDecoder, geoLocationService, bidderCatalog, metrics);
 
         // when
         final Future<TcfResponse<Integer>> result =
@@ -1,6 +1,7 @@
 package org.prebid.server.privacy.gdpr.vendorlist;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
@@ -8,6 +9,7 @@ import io.vertx.core.file.FileSystem;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
@@ -25,11 +27,13 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -37,6 +41,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.prebid.server.assertion.FutureAssertion.assertThat;
 
@@ -111,6 +116,120 @@ public class VendorListServiceV2Test extends VertxTest {
                 .hasMessage("Cannot parse vendor list from: invalid");
     }
 
+    @Test
+    public void creationShouldReadOnlyLatestVendorListFile() throws JsonProcessingException {
+        // given
+        given(fileSystem.readDirBlocking(anyString())).willReturn(asList("1.json", "2.json"));
+        given(fileSystem.readFileBlocking(anyString()))
+                .willReturn(Buffer.buffer(mapper.writeValueAsString(givenVendorList())));
+
+        // when
+        vendorListService = new VendorListServiceV2(CACHE_DIR, "http://vendorlist/{VERSION}", 0, null, bidderCatalog,
+                fileSystem, httpClient, jacksonMapper);
+
+        // then
+        verify(fileSystem).readFileBlocking("2.json");
+        verify(fileSystem, never()).readFileBlocking("1.json");
+        assertThat(vendorListService.forVersion(2)).isSucceeded();
+    }
+
+    // File system related tests
+
+    @Test
+    public void shouldLoadVendorListFromFileOnFirstUse() throws JsonProcessingException {
+        // given
+        final Buffer vendorList = Buffer.buffer(mapper.writeValueAsString(givenVendorList()));
+        given(fileSystem.readDirBlocking(anyString())).willReturn(asList("1.json", "2.json"));
+        given(fileSystem.readFileBlocking(anyString())).willReturn(vendorList);
+        given(fileSystem.readFile(anyString(), any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Future.succeededFuture(vendorList), 1));
+
+        vendorListService = new VendorListServiceV2(CACHE_DIR, "http://vendorlist/{VERSION}", 0, null, bidderCatalog,
+                fileSystem, httpClient, jacksonMapper);
+
+        // when
+        vendorListService.forVersion(1);
+        final Future<Map<Integer, VendorV2>> result = vendorListService.forVersion(1);
+
+        // then
+        assertThat(result).succeededWith(singletonMap(52, givenVendorList().getVendors().get(52)));
+        verify(fileSystem).readFile(eq("1.json"), any());
+        verify(httpClient, never()).get(anyString(), anyLong());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldLoadVendorListFromFileOnceForConcurrentRequests() throws JsonProcessingException {
+        // given
+        final Buffer vendorList = Buffer.buffer(mapper.writeValueAsString(givenVendorList()));
+        given(fileSystem.readDirBlocking(anyString())).willReturn(asList("1.json", "2.json"));
+        given(fileSystem.readFileBlocking(anyString())).willReturn(vendorList);
+
+        vendorListService = new VendorListServiceV2(CACHE_DIR, "http://vendorlist/{VERSION}", 0, null, bidderCatalog,
+                fileSystem, httpClient, jacksonMapper);
+
+        // when
+        final Future<Map<Integer, VendorV2>> result1 = vendorListService.forVersion(1);
+        final Future<Map<Integer, VendorV2>> result2 = vendorListService.forVersion(1);
+
+        final ArgumentCaptor<Handler<AsyncResult<Buffer>>> readHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(fileSystem).readFile(eq("1.json"), readHandlerCaptor.capture());
+        readHandlerCaptor.getValue().handle(Future.succeededFuture(vendorList));
+
+        // then
+        final Map<Integer, VendorV2> expected = singletonMap(52, givenVendorList().getVendors().get(52));
+        assertThat(result1).succeededWith(expected);
+        assertThat(result2).succeededWith(expected);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldFailConcurrentRequestsAndForgetLoadIfFileCannotBeRead() throws JsonProcessingException {
+        // given
+        given(fileSystem.readDirBlocking(anyString())).willReturn(asList("1.json", "2.json"));
+        given(fileSystem.readFileBlocking(anyString()))
+                .willReturn(Buffer.buffer(mapper.writeValueAsString(givenVendorList())));
+        givenHttpClientProducesException(new RuntimeException());
+
+        vendorListService = new VendorListServiceV2(CACHE_DIR, "http://vendorlist/{VERSION}", 0, null, bidderCatalog,
+                fileSystem, httpClient, jacksonMapper);
+
+        // when
+        final Future<Map<Integer, VendorV2>> result1 = vendorListService.forVersion(1);
+        final Future<Map<Integer, VendorV2>> result2 = vendorListService.forVersion(1);
+
+        final ArgumentCaptor<Handler<AsyncResult<Buffer>>> readHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(fileSystem).readFile(eq("1.json"), readHandlerCaptor.capture());
+        readHandlerCaptor.getValue().handle(Future.failedFuture("read error"));
+
+        // then
+        assertThat(result1).isFailed();
+        assertThat(result2).isFailed();
+        assertThat(vendorListService.forVersion(1)).isFailed();
+        verify(httpClient, times(2)).get(anyString(), anyLong());
+    }
+
+    @Test
+    public void shouldDownloadVendorListIfFileCannotBeLoaded() throws JsonProcessingException {
+        // given
+        given(fileSystem.readDirBlocking(anyString())).willReturn(asList("1.json", "2.json"));
+        given(fileSystem.readFileBlocking(anyString()))
+                .willReturn(Buffer.buffer(mapper.writeValueAsString(givenVendorList())));
+        given(fileSystem.readFile(anyString(), any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Future.succeededFuture(Buffer.buffer("invalid")), 1));
+        givenHttpClientProducesException(new RuntimeException());
+
+        vendorListService = new VendorListServiceV2(CACHE_DIR, "http://vendorlist/{VERSION}", 0, null, bidderCatalog,
+                fileSystem, httpClient, jacksonMapper);
+
+        // when
+        final Future<Map<Integer, VendorV2>> result = vendorListService.forVersion(1);
+
+        // then
+        assertThat(result).isFailed().hasMessage("Vendor list for version 1 not fetched yet, try again later.");
+        verify(httpClient).get(eq("http://vendorlist/1"), anyLong());
+    }
+
     // Http related tests
 
     @Test
@@ -234,8 +353,6 @@ public class VendorListServiceV2Test extends VertxTest {
         verify(fileSystem, never()).writeFile(any(), any(), any());
     }
 
-    // File system related tests
-
     @Test
     public void shouldSaveFileWithExpectedPathAndContentIfVendorListNotFound() throws JsonProcessingException {
         // given
@@ -329,6 +446,34 @@ public class VendorListServiceV2Test extends VertxTest {
         assertThat(future).succeededWith(idToVendor);
     }
 
+    @Test
+    public void shouldShareEqualPurposeSetsBetweenVendors() throws JsonProcessingException {
+        // given
+        final Map<Integer, VendorV2> idToVendor = new HashMap<>();
+        idToVendor.put(52, givenVendorList().getVendors().get(52));
+        idToVendor.put(42, VendorV2.builder()
+                .id(42)
+                .purposes(singleton(1))
+                .legIntPurposes(singleton(2))
+                .flexiblePurposes(emptySet())
+                .specialPurposes(emptySet())
+                .features(emptySet())
+                .specialFeatures(emptySet())
+                .build());
+        givenHttpClientReturnsResponse(200, mapper.writeValueAsString(VendorListV2.of(1, new Date(), idToVendor)));
+        given(fileSystem.writeFile(anyString(), any(), any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Future.succeededFuture()));
+
+        // when
+        vendorListService.forVersion(1); // populate cache
+        final Map<Integer, VendorV2> result = vendorListService.forVersion(1).result();
+
+        // then
+        assertThat(result.get(52).getPurposes()).isSameAs(result.get(42).getPurposes());
+        assertThat(result.get(52).getFeatures()).isSameAs(result.get(42).getFeatures())
+                .isSameAs(result.get(42).getSpecialFeatures());
+    }
+
     private static VendorListV2 givenVendorList() {
         final VendorV2 vendor = VendorV2.builder()
                 .id(52)
@@ -352,11 +497,15 @@ public class VendorListServiceV2Test extends VertxTest {
                 .willReturn(Future.failedFuture(throwable));
     }
 
-    @SuppressWarnings("unchecked")
     private static <T> Answer<Object> withSelfAndPassObjectToHandler(T obj) {
+        return withSelfAndPassObjectToHandler(obj, 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Answer<Object> withSelfAndPassObjectToHandler(T obj, int handlerIndex) {
         return inv -> {
             // invoking handler right away passing mock to it
-            ((Handler<T>) inv.getArgument(2)).handle(obj);
+            ((Handler<T>) inv.getArgument(handlerIndex)).handle(obj);
             return inv.getMock();
         };
     }
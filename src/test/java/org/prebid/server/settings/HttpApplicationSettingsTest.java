@@ -2,6 +2,9 @@ package org.prebid.server.settings;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -13,10 +16,14 @@ import org.prebid.server.VertxTest;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.json.BinaryFormat;
+import org.prebid.server.json.BinaryMapper;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.settings.model.StoredResponseDataResult;
+import org.prebid.server.settings.proto.request.HttpFetcherRequest;
 import org.prebid.server.settings.proto.response.HttpFetcherResponse;
+import org.prebid.server.util.HttpUtil;
 import org.prebid.server.vertx.http.HttpClient;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
@@ -32,6 +39,7 @@ import static java.util.Collections.singleton;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -61,7 +69,7 @@ public class HttpApplicationSettingsTest extends VertxTest {
     @Before
     public void setUp() {
         httpApplicationSettings = new HttpApplicationSettings(httpClient, jacksonMapper, ENDPOINT, AMP_ENDPOINT,
-                VIDEO_ENDPOINT);
+                VIDEO_ENDPOINT, false, null);
 
         final Clock clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
         final TimeoutFactory timeoutFactory = new TimeoutFactory(clock);
@@ -73,7 +81,7 @@ public class HttpApplicationSettingsTest extends VertxTest {
     public void creationShouldFailsOnInvalidEndpoint() {
         assertThatIllegalArgumentException()
                 .isThrownBy(() -> new HttpApplicationSettings(httpClient, jacksonMapper, "invalid_url", AMP_ENDPOINT,
-                        VIDEO_ENDPOINT))
+                        VIDEO_ENDPOINT, false, null))
                 .withMessage("URL supplied is not valid: invalid_url");
     }
 
@@ -81,7 +89,7 @@ public class HttpApplicationSettingsTest extends VertxTest {
     public void creationShouldFailsOnInvalidAmpEndpoint() {
         assertThatIllegalArgumentException()
                 .isThrownBy(() -> new HttpApplicationSettings(httpClient, jacksonMapper, ENDPOINT, "invalid_url",
-                        VIDEO_ENDPOINT))
+                        VIDEO_ENDPOINT, false, null))
                 .withMessage("URL supplied is not valid: invalid_url");
     }
 
@@ -89,7 +97,7 @@ public class HttpApplicationSettingsTest extends VertxTest {
     public void creationShouldFailsOnInvalidVideoEndpoint() {
         assertThatIllegalArgumentException()
                 .isThrownBy(() -> new HttpApplicationSettings(httpClient, jacksonMapper, ENDPOINT, AMP_ENDPOINT,
-                        "invalid_url"))
+                        "invalid_url", false, null))
                 .withMessage("URL supplied is not valid: invalid_url");
     }
 
@@ -170,7 +178,7 @@ public class HttpApplicationSettingsTest extends VertxTest {
         // given
         givenHttpClientReturnsResponse(200, null);
         httpApplicationSettings = new HttpApplicationSettings(httpClient, jacksonMapper,
-                "http://some-domain?param1=value1", AMP_ENDPOINT, VIDEO_ENDPOINT);
+                "http://some-domain?param1=value1", AMP_ENDPOINT, VIDEO_ENDPOINT, false, null);
 
         // when
         httpApplicationSettings.getStoredData(singleton("id1"), singleton("id2"), timeout);
@@ -180,6 +188,55 @@ public class HttpApplicationSettingsTest extends VertxTest {
                 anyLong());
     }
 
+    @Test
+    public void getStoredDataShouldSendPostHttpRequestWithIdsInBodyIfPostIsEnabled() {
+        // given
+        given(httpClient.post(anyString(), any(), anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+        httpApplicationSettings = new HttpApplicationSettings(httpClient, jacksonMapper, ENDPOINT, AMP_ENDPOINT,
+                VIDEO_ENDPOINT, true, null);
+
+        // when
+        httpApplicationSettings.getStoredData(singleton("id1"), singleton("id2"), timeout);
+
+        // then
+        verify(httpClient).post(eq("http://stored-requests"), any(),
+                eq("{\"request-ids\":[\"id1\"],\"imp-ids\":[\"id2\"]}"), anyLong());
+    }
+
+    @Test
+    public void getStoredDataShouldSendAndReceiveBinaryDataIfBinaryFormatIsConfigured() {
+        // given
+        final BinaryMapper binaryMapper = new BinaryMapper(BinaryFormat.smile, jacksonMapper);
+        final MultiMap responseHeaders = MultiMap.caseInsensitiveMultiMap()
+                .add(HttpUtil.CONTENT_TYPE_HEADER, "application/x-jackson-smile");
+        given(httpClient.requestBinary(any(), anyString(), any(), any(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.ofBinary(200, responseHeaders,
+                        binaryMapper.encode(HttpFetcherResponse.of(
+                                singletonMap("id1", mapper.createObjectNode().put("field1", "field-value1")),
+                                null)))));
+        httpApplicationSettings = new HttpApplicationSettings(httpClient, jacksonMapper, ENDPOINT, AMP_ENDPOINT,
+                VIDEO_ENDPOINT, true, binaryMapper);
+
+        // when
+        final Future<StoredDataResult> future =
+                httpApplicationSettings.getStoredData(singleton("id1"), emptySet(), timeout);
+
+        // then
+        final ArgumentCaptor<MultiMap> headersCaptor = ArgumentCaptor.forClass(MultiMap.class);
+        final ArgumentCaptor<Buffer> bodyCaptor = ArgumentCaptor.forClass(Buffer.class);
+        verify(httpClient).requestBinary(eq(HttpMethod.POST), eq("http://stored-requests"), headersCaptor.capture(),
+                bodyCaptor.capture(), anyLong());
+        assertThat(headersCaptor.getValue().get(HttpUtil.ACCEPT_HEADER))
+                .isEqualTo("application/x-jackson-smile, application/json");
+        assertThat(binaryMapper.decodeValue(bodyCaptor.getValue(), headersCaptor.getValue(),
+                HttpFetcherRequest.class)).isEqualTo(HttpFetcherRequest.of(singleton("id1"), emptySet()));
+
+        assertThat(future.result().getErrors()).isEmpty();
+        assertThat(future.result().getStoredIdToRequest())
+                .containsOnly(entry("id1", "{\"field1\":\"field-value1\"}"));
+    }
+
     @Test
     public void getStoredDataShouldReturnResultWithErrorIfHttpClientFails() {
         // given
@@ -0,0 +1,207 @@
+package org.prebid.server.settings;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.VertxTest;
+import org.prebid.server.settings.model.Account;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class SettingsCacheSnapshotTest extends VertxTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private ApplicationSettings applicationSettings;
+    @Mock
+    private Vertx vertx;
+
+    private CachingApplicationSettings cachingApplicationSettings;
+    private SettingsCache cache;
+    private SettingsCache ampCache;
+    private SettingsCache videoCache;
+
+    private Clock clock;
+
+    @Before
+    public void setUp() {
+        cache = new SettingsCache(360, 100);
+        ampCache = new SettingsCache(360, 100);
+        videoCache = new SettingsCache(360, 100);
+        cachingApplicationSettings = new CachingApplicationSettings(applicationSettings, cache, ampCache, videoCache,
+                360, 100);
+
+        clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
+    }
+
+    @Test
+    public void initializeShouldSchedulePeriodicSnapshot() {
+        // when
+        createSnapshot("snapshot", 1000L, 0L).initialize();
+
+        // then
+        verify(vertx).setPeriodic(anyLong(), any());
+    }
+
+    @Test
+    public void initializeShouldNotSchedulePeriodicSnapshotIfPeriodIsNotPositive() {
+        // when
+        createSnapshot("snapshot", 0L, 0L).initialize();
+
+        // then
+        verifyZeroInteractions(vertx);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void snapshotShouldCreateAndWriteSnapshotOnWorkerThread() {
+        // given
+        cache.save(singletonMap("reqId", "reqValue"), singletonMap("impId", "impValue"));
+        final Path snapshotPath = temporaryFolder.getRoot().toPath().resolve("snapshot");
+
+        // when
+        createSnapshot(snapshotPath.toString(), 1000L, 0L).snapshot();
+
+        // then
+        final ArgumentCaptor<Handler<Promise<Void>>> blockingCodeCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).executeBlocking(blockingCodeCaptor.capture(), eq(false), any());
+        assertThat(snapshotPath).doesNotExist();
+
+        final Promise<Void> promise = Promise.promise();
+        blockingCodeCaptor.getValue().handle(promise);
+        assertThat(promise.future().succeeded()).isTrue();
+        assertThat(snapshotPath).exists();
+    }
+
+    @Test
+    public void restoreShouldFillCachesWithSnapshotContent() throws IOException {
+        // given
+        final Account account = Account.builder().id("accountId").priceGranularity("med").build();
+        cachingApplicationSettings.getAccountCache().put("accountId", account);
+        cache.save(singletonMap("reqId", "reqValue"), singletonMap("impId", "impValue"));
+        ampCache.save(singletonMap("ampReqId", "ampReqValue"), singletonMap("ampImpId", "ampImpValue"));
+        videoCache.save(singletonMap("videoReqId", "videoReqValue"), singletonMap("videoImpId", "videoImpValue"));
+
+        final byte[] snapshotBytes = createSnapshot("snapshot", 0L, 0L).createSnapshot();
+
+        final SettingsCache restoredCache = new SettingsCache(360, 100);
+        final SettingsCache restoredAmpCache = new SettingsCache(360, 100);
+        final SettingsCache restoredVideoCache = new SettingsCache(360, 100);
+        final CachingApplicationSettings restoredCachingApplicationSettings = new CachingApplicationSettings(
+                applicationSettings, restoredCache, restoredAmpCache, restoredVideoCache, 360, 100);
+
+        // when
+        final int restored = new SettingsCacheSnapshot("snapshot", 0L, 0L, restoredCachingApplicationSettings,
+                restoredCache, restoredAmpCache, restoredVideoCache, vertx, clock, jacksonMapper)
+                .restoreFrom(snapshotBytes);
+
+        // then
+        assertThat(restored).isEqualTo(7);
+        assertThat(restoredCachingApplicationSettings.getAccountCache()).containsOnly(entry("accountId", account));
+        assertThat(restoredCache.getRequestCache()).containsOnly(entry("reqId", "reqValue"));
+        assertThat(restoredCache.getImpCache()).containsOnly(entry("impId", "impValue"));
+        assertThat(restoredAmpCache.getRequestCache()).containsOnly(entry("ampReqId", "ampReqValue"));
+        assertThat(restoredAmpCache.getImpCache()).containsOnly(entry("ampImpId", "ampImpValue"));
+        assertThat(restoredVideoCache.getRequestCache()).containsOnly(entry("videoReqId", "videoReqValue"));
+        assertThat(restoredVideoCache.getImpCache()).containsOnly(entry("videoImpId", "videoImpValue"));
+    }
+
+    @Test
+    public void restoreShouldReadSnapshotFromFile() throws IOException {
+        // given
+        cache.save(singletonMap("reqId", "reqValue"), singletonMap("impId", "impValue"));
+        final Path snapshotPath = temporaryFolder.getRoot().toPath().resolve("snapshot");
+        Files.write(snapshotPath, createSnapshot(snapshotPath.toString(), 0L, 0L).createSnapshot());
+
+        cache.invalidate(singletonList("reqId"), singletonList("impId"));
+
+        // when
+        createSnapshot(snapshotPath.toString(), 0L, 0L).restore();
+
+        // then
+        assertThat(cache.getRequestCache()).containsOnly(entry("reqId", "reqValue"));
+        assertThat(cache.getImpCache()).containsOnly(entry("impId", "impValue"));
+    }
+
+    @Test
+    public void restoreShouldSkipMissingFile() {
+        // when
+        createSnapshot(temporaryFolder.getRoot().toPath().resolve("absent").toString(), 0L, 0L).restore();
+
+        // then
+        assertThat(cache.getRequestCache()).isEmpty();
+        assertThat(cachingApplicationSettings.getAccountCache()).isEmpty();
+    }
+
+    @Test
+    public void restoreShouldIgnoreOutdatedSnapshot() throws IOException {
+        // given
+        cache.save(singletonMap("reqId", "reqValue"), singletonMap("impId", "impValue"));
+        final byte[] snapshotBytes = createSnapshot("snapshot", 0L, 0L).createSnapshot();
+
+        final SettingsCache restoredCache = new SettingsCache(360, 100);
+        final SettingsCacheSnapshot snapshot = new SettingsCacheSnapshot("snapshot", 0L, 1000L,
+                cachingApplicationSettings, restoredCache, ampCache, videoCache, vertx,
+                Clock.offset(clock, Duration.ofSeconds(2)), jacksonMapper);
+
+        // when and then
+        assertThat(catchThrowable(() -> snapshot.restoreFrom(snapshotBytes)))
+                .hasMessage("snapshot is outdated by 1000 ms");
+        assertThat(restoredCache.getRequestCache()).isEmpty();
+    }
+
+    @Test
+    public void restoreShouldIgnoreCorruptedSnapshot() throws IOException {
+        // given
+        cache.save(singletonMap("reqId", "reqValue"), singletonMap("impId", "impValue"));
+        final Path snapshotPath = temporaryFolder.getRoot().toPath().resolve("snapshot");
+        final byte[] snapshotBytes = createSnapshot(snapshotPath.toString(), 0L, 0L).createSnapshot();
+        Files.write(snapshotPath, Arrays.copyOf(snapshotBytes, snapshotBytes.length / 2));
+
+        final SettingsCache restoredCache = new SettingsCache(360, 100);
+
+        // when
+        new SettingsCacheSnapshot(snapshotPath.toString(), 0L, 0L, cachingApplicationSettings, restoredCache,
+                ampCache, videoCache, vertx, clock, jacksonMapper).restore();
+
+        // then
+        assertThat(restoredCache.getRequestCache()).isEmpty();
+        assertThat(restoredCache.getImpCache()).isEmpty();
+    }
+
+    private SettingsCacheSnapshot createSnapshot(String filePath, long periodMs, long maxAgeMs) {
+        return new SettingsCacheSnapshot(filePath, periodMs, maxAgeMs, cachingApplicationSettings, cache, ampCache,
+                videoCache, vertx, clock, jacksonMapper);
+    }
+}
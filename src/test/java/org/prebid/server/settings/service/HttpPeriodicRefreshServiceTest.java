@@ -1,19 +1,23 @@
 package org.prebid.server.settings.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.mockito.stubbing.Answer;
 import org.prebid.server.VertxTest;
 import org.prebid.server.settings.CacheNotificationListener;
-import org.prebid.server.settings.proto.response.HttpRefreshResponse;
 import org.prebid.server.vertx.http.HttpClient;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
@@ -23,17 +27,21 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 public class HttpPeriodicRefreshServiceTest extends VertxTest {
 
@@ -56,18 +64,19 @@ public class HttpPeriodicRefreshServiceTest extends VertxTest {
     @Before
     public void setUp() throws JsonProcessingException {
 
-        final HttpClientResponse initialResponse = HttpClientResponse.of(200, null,
-                mapper.writeValueAsString(HttpRefreshResponse.of(
+        final HttpClientResponse initialResponse = HttpClientResponse.ofBinary(200, null,
+                Buffer.buffer(refreshResponse(
                         singletonMap("id1", mapper.createObjectNode().put("field1", "field-value1")),
                         singletonMap("id2", mapper.createObjectNode().put("field2", "field-value2")))));
-        updatedResponse = HttpClientResponse.of(200, null,
-                mapper.writeValueAsString(HttpRefreshResponse.of(
+        updatedResponse = HttpClientResponse.ofBinary(200, null,
+                Buffer.buffer(refreshResponse(
                         singletonMap("id1", mapper.createObjectNode().put("deleted", "true")),
                         singletonMap("id2", mapper.createObjectNode().put("field2", "field-value2")))));
 
-        given(httpClient.get(anyString(), anyLong()))
+        given(httpClient.requestBinary(eq(HttpMethod.GET), anyString(), any(), isNull(), anyLong()))
                 .willReturn(Future.succeededFuture(initialResponse));
-        given(httpClient.get(contains("?last-modified="), anyLong()))
+        given(httpClient.requestBinary(eq(HttpMethod.GET), contains("?last-modified="), any(), isNull(),
+                anyLong()))
                 .willReturn(Future.succeededFuture(updatedResponse));
     }
 
@@ -107,14 +116,15 @@ public class HttpPeriodicRefreshServiceTest extends VertxTest {
     @Test
     public void shouldCallSaveAfterUpdate() throws JsonProcessingException {
         // given
-        updatedResponse = HttpClientResponse.of(200, null,
-                mapper.writeValueAsString(HttpRefreshResponse.of(
+        updatedResponse = HttpClientResponse.ofBinary(200, null,
+                Buffer.buffer(refreshResponse(
                         singletonMap("id1", mapper.createObjectNode().put("changed1", "value-changed2")),
                         singletonMap("id2", mapper.createObjectNode().put("field2", "field-value2")))));
 
         given(vertx.setPeriodic(anyLong(), any()))
                 .willAnswer(withSelfAndPassObjectToHandler(1L));
-        given(httpClient.get(contains("?last-modified="), anyLong()))
+        given(httpClient.requestBinary(eq(HttpMethod.GET), contains("?last-modified="), any(), isNull(),
+                anyLong()))
                 .willReturn(Future.succeededFuture(updatedResponse));
 
         // when
@@ -137,9 +147,10 @@ public class HttpPeriodicRefreshServiceTest extends VertxTest {
                 1000, 2000, vertx, httpClient);
 
         // then
-        verify(httpClient).get(eq("http://stored-requests.prebid.com"), anyLong());
-        verify(httpClient, times(2))
-                .get(startsWith("http://stored-requests.prebid.com?last-modified="), anyLong());
+        verify(httpClient).requestBinary(eq(HttpMethod.GET), eq("http://stored-requests.prebid.com"), any(), isNull(),
+                anyLong());
+        verify(httpClient, times(2)).requestBinary(eq(HttpMethod.GET),
+                startsWith("http://stored-requests.prebid.com?last-modified="), any(), isNull(), anyLong());
     }
 
     @Test
@@ -150,7 +161,7 @@ public class HttpPeriodicRefreshServiceTest extends VertxTest {
 
         // then
         verify(vertx, never()).setPeriodic(anyLong(), any());
-        verify(httpClient).get(anyString(), anyLong());
+        verify(httpClient).requestBinary(eq(HttpMethod.GET), anyString(), any(), isNull(), anyLong());
     }
 
     @Test
@@ -164,7 +175,55 @@ public class HttpPeriodicRefreshServiceTest extends VertxTest {
                 1000, 2000, vertx, httpClient);
 
         // then
-        verify(httpClient).get(startsWith("http://stored-requests.prebid.com?amp=true&last-modified="), anyLong());
+        verify(httpClient).requestBinary(eq(HttpMethod.GET),
+                startsWith("http://stored-requests.prebid.com?amp=true&last-modified="), any(), isNull(), anyLong());
+    }
+
+    @Test
+    public void shouldSendIfNoneMatchHeaderWithETagFromPreviousResponse() throws JsonProcessingException {
+        // given
+        final HttpClientResponse initialResponse = HttpClientResponse.ofBinary(200,
+                MultiMap.caseInsensitiveMultiMap().add("ETag", "\"etag1\""),
+                Buffer.buffer(refreshResponse(
+                        singletonMap("id1", mapper.createObjectNode().put("field1", "field-value1")),
+                        singletonMap("id2", mapper.createObjectNode().put("field2", "field-value2")))));
+        given(httpClient.requestBinary(eq(HttpMethod.GET), anyString(), any(), isNull(), anyLong()))
+                .willReturn(Future.succeededFuture(initialResponse));
+        given(httpClient.requestBinary(eq(HttpMethod.GET), contains("?last-modified="), any(), isNull(),
+                anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.ofBinary(304, null, null)));
+
+        given(vertx.setPeriodic(anyLong(), any()))
+                .willAnswer(withSelfAndPassObjectToHandler(1L));
+
+        // when
+        createAndInitService(cacheNotificationListener, ENDPOINT_URL,
+                1000, 2000, vertx, httpClient);
+
+        // then
+        final ArgumentCaptor<MultiMap> headersCaptor = ArgumentCaptor.forClass(MultiMap.class);
+        verify(httpClient).requestBinary(eq(HttpMethod.GET),
+                startsWith("http://stored-requests.prebid.com?last-modified="), headersCaptor.capture(), isNull(),
+                anyLong());
+        assertThat(headersCaptor.getValue().get("If-None-Match")).isEqualTo("\"etag1\"");
+        assertThat(headersCaptor.getValue().get("Accept-Encoding")).isEqualTo("gzip");
+
+        verify(cacheNotificationListener).save(expectedRequests, expectedImps);
+        verifyNoMoreInteractions(cacheNotificationListener);
+    }
+
+    @Test
+    public void shouldNotCallSaveIfResponseIsNotJsonObject() {
+        // given
+        given(httpClient.requestBinary(eq(HttpMethod.GET), anyString(), any(), isNull(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.ofBinary(200, null, Buffer.buffer("[]"))));
+
+        // when
+        createAndInitService(cacheNotificationListener, ENDPOINT_URL,
+                1000, 2000, vertx, httpClient);
+
+        // then
+        verifyZeroInteractions(cacheNotificationListener);
     }
 
     private static void createAndInitService(CacheNotificationListener notificationListener,
@@ -175,6 +234,13 @@ public class HttpPeriodicRefreshServiceTest extends VertxTest {
         httpPeriodicRefreshService.initialize();
     }
 
+    private static String refreshResponse(Map<String, ObjectNode> requests, Map<String, ObjectNode> imps)
+            throws JsonProcessingException {
+        return mapper.writeValueAsString(mapper.createObjectNode()
+                .<ObjectNode>set("requests", mapper.valueToTree(requests))
+                .set("imps", mapper.valueToTree(imps)));
+    }
+
     @SuppressWarnings("unchecked")
     private static <T> Answer<Object> withSelfAndPassObjectToHandler(T... objects) {
         return inv -> {
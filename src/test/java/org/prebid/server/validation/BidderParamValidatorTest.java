@@ -1,6 +1,7 @@
 package org.prebid.server.validation;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -9,6 +10,7 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.prebid.server.VertxTest;
 import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.proto.openrtb.ext.request.adform.ExtImpAdform;
 import org.prebid.server.proto.openrtb.ext.request.adtelligent.ExtImpAdtelligent;
 import org.prebid.server.proto.openrtb.ext.request.appnexus.ExtImpAppnexus;
@@ -31,7 +33,12 @@ import java.util.Set;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class BidderParamValidatorTest extends VertxTest {
 
@@ -52,6 +59,8 @@ public class BidderParamValidatorTest extends VertxTest {
 
     @Mock
     private BidderCatalog bidderCatalog;
+    @Mock
+    private Metrics metrics;
 
     private BidderParamValidator bidderParamValidator;
 
@@ -61,27 +70,28 @@ public class BidderParamValidatorTest extends VertxTest {
                 asList(RUBICON, APPNEXUS, ADFORM, BRIGHTROLL, SOVRN, ADTELLIGENT, FACEBOOK, OPENX, EPLANNING,
                         SOMOAUDIENCE, BEACHFRONT)));
 
-        bidderParamValidator = BidderParamValidator.create(bidderCatalog, "static/bidder-params", jacksonMapper);
+        bidderParamValidator = BidderParamValidator.create(bidderCatalog, "static/bidder-params", jacksonMapper,
+                metrics, 100);
     }
 
     @Test
     public void createShouldFailOnInvalidSchemaPath() {
         assertThatIllegalArgumentException().isThrownBy(
-                () -> BidderParamValidator.create(bidderCatalog, "noschema", jacksonMapper));
+                () -> BidderParamValidator.create(bidderCatalog, "noschema", jacksonMapper, metrics, 0));
     }
 
     @Test
     public void createShouldFailOnEmptySchemaFile() {
         assertThatIllegalArgumentException().isThrownBy(
                 () -> BidderParamValidator.create(
-                        bidderCatalog, "org/prebid/server/validation/schema/empty", jacksonMapper));
+                        bidderCatalog, "org/prebid/server/validation/schema/empty", jacksonMapper, metrics, 0));
     }
 
     @Test
     public void createShouldFailOnInvalidSchemaFile() {
         assertThatIllegalArgumentException().isThrownBy(
                 () -> BidderParamValidator.create(
-                        bidderCatalog, "org/prebid/server/validation/schema/invalid", jacksonMapper));
+                        bidderCatalog, "org/prebid/server/validation/schema/invalid", jacksonMapper, metrics, 0));
     }
 
     @Test
@@ -379,13 +389,75 @@ public class BidderParamValidatorTest extends VertxTest {
         assertThat(messages.size()).isEqualTo(3);
     }
 
+    @Test
+    public void validateShouldReturnCachedValidationMessagesForEqualParams() {
+        // given
+        final JsonNode node = mapper.createObjectNode().put("accountId", "invalid");
+
+        // when
+        final Set<String> messages = bidderParamValidator.validate(RUBICON, node);
+        final Set<String> cachedMessages = bidderParamValidator.validate(RUBICON, node.deepCopy());
+
+        // then
+        assertThat(messages).isNotEmpty();
+        assertThat(cachedMessages).isSameAs(messages);
+        verify(metrics).updateBidderParamsValidationCacheMetric(false);
+        verify(metrics).updateBidderParamsValidationCacheMetric(true);
+        verify(metrics).updateBidderParamsValidationTimeMetric(anyLong());
+    }
+
+    @Test
+    public void validateShouldNotReturnCachedValidationMessagesOfAnotherBidder() {
+        // given
+        final JsonNode node = mapper.createObjectNode();
+
+        // when
+        bidderParamValidator.validate(RUBICON, node);
+        bidderParamValidator.validate(APPNEXUS, node);
+
+        // then
+        verify(metrics, times(2)).updateBidderParamsValidationCacheMetric(false);
+        verify(metrics, times(2)).updateBidderParamsValidationTimeMetric(anyLong());
+    }
+
+    @Test
+    public void validateShouldNotBeAffectedByChangesOfValidatedParams() {
+        // given
+        final ObjectNode node = mapper.createObjectNode();
+        final Set<String> messages = bidderParamValidator.validate(RUBICON, node);
+
+        // when
+        node.put("accountId", 1).put("siteId", 2).put("zoneId", 3);
+        final Set<String> result = bidderParamValidator.validate(RUBICON, node);
+
+        // then
+        assertThat(messages).isNotEmpty();
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void validateShouldNotCacheValidationMessagesIfCacheIsDisabled() {
+        // given
+        bidderParamValidator = BidderParamValidator.create(bidderCatalog, "static/bidder-params", jacksonMapper,
+                metrics, 0);
+        final JsonNode node = mapper.createObjectNode();
+
+        // when
+        bidderParamValidator.validate(RUBICON, node);
+        bidderParamValidator.validate(RUBICON, node);
+
+        // then
+        verify(metrics, never()).updateBidderParamsValidationCacheMetric(anyBoolean());
+        verify(metrics, times(2)).updateBidderParamsValidationTimeMetric(anyLong());
+    }
+
     @Test
     public void schemaShouldReturnSchemasString() throws IOException {
         // given
         given(bidderCatalog.names()).willReturn(new HashSet<>(asList("test-rubicon", "test-appnexus")));
 
         bidderParamValidator = BidderParamValidator.create(
-                bidderCatalog, "org/prebid/server/validation/schema/valid", jacksonMapper);
+                bidderCatalog, "org/prebid/server/validation/schema/valid", jacksonMapper, metrics, 0);
 
         // when
         final String result = bidderParamValidator.schemas();
@@ -2446,6 +2446,21 @@ public class RequestValidatorTest extends VertxTest {
                 .containsOnly(0, 1);
     }
 
+    @Test
+    public void validateShouldAttachParsedNativeRequestMatchingUpdatedRequest() throws JsonProcessingException {
+        // given
+        final BidRequest bidRequest = givenBidRequestWithNativeRequest(nativeReqCustomizer ->
+                nativeReqCustomizer.assets(asList(Asset.builder().build(), Asset.builder().build())));
+
+        // when
+        requestValidator.validate(bidRequest);
+
+        // then
+        final Native xNative = bidRequest.getImp().get(0).getXNative();
+        assertThat(xNative.getParsedRequest()).isNotNull()
+                .isEqualTo(mapper.readValue(xNative.getRequest(), Request.class));
+    }
+
     @Test
     public void validateShouldReturnValidationMessageWhenMetricTypeNullOrEmpty() {
         // given
@@ -0,0 +1,90 @@
+package org.prebid.server.vertx;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.metric.Metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+public class EventLoopLagMonitorTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Vertx vertx;
+    @Mock
+    private Metrics metrics;
+
+    private EventLoopLagMonitor eventLoopLagMonitor;
+
+    @Before
+    public void setUp() {
+        eventLoopLagMonitor = new EventLoopLagMonitor(vertx, metrics, 10);
+    }
+
+    @Test
+    public void creationShouldFailIfIntervalIsNotPositive() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new EventLoopLagMonitor(vertx, metrics, 0));
+    }
+
+    @Test
+    public void currentLagMsShouldReturnZeroIfNothingWasSampled() {
+        // when
+        eventLoopLagMonitor.startSampling();
+
+        // then
+        assertThat(eventLoopLagMonitor.currentLagMs()).isZero();
+    }
+
+    @Test
+    public void sampleShouldMeasureTimerDriftAndUpdateMetric() throws InterruptedException {
+        // given
+        eventLoopLagMonitor.startSampling();
+        final Handler<Long> sampler = captureSampler();
+
+        // when
+        Thread.sleep(50);
+        sampler.handle(1L);
+
+        // then
+        assertThat(eventLoopLagMonitor.currentLagMs()).isGreaterThanOrEqualTo(40);
+        verify(metrics).updateEventLoopLagMetric(eq(eventLoopLagMonitor.currentLagMs()));
+    }
+
+    @Test
+    public void currentLagMsShouldReturnZeroForThreadWhichIsNotSampled() throws InterruptedException {
+        // given
+        eventLoopLagMonitor.startSampling();
+        final Handler<Long> sampler = captureSampler();
+        Thread.sleep(50);
+        sampler.handle(1L);
+
+        // when
+        final long[] lag = new long[1];
+        final Thread thread = new Thread(() -> lag[0] = eventLoopLagMonitor.currentLagMs());
+        thread.start();
+        thread.join();
+
+        // then
+        assertThat(lag[0]).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Handler<Long> captureSampler() {
+        final ArgumentCaptor<Handler<Long>> samplerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).setPeriodic(anyLong(), samplerCaptor.capture());
+        return samplerCaptor.getValue();
+    }
+}
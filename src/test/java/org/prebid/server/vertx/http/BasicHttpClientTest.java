@@ -6,9 +6,12 @@ import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.CaseInsensitiveHeaders;
+import io.vertx.core.http.HttpConnection;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.net.SocketAddress;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
@@ -16,19 +19,24 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.mockito.stubbing.Answer;
+import org.prebid.server.util.HttpUtil;
 
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -48,6 +56,8 @@ public class BasicHttpClientTest {
     private Vertx vertx;
     @Mock
     private io.vertx.core.http.HttpClient wrappedHttpClient;
+    @Mock
+    private DnsCache dnsCache;
 
     private BasicHttpClient httpClient;
     @Mock
@@ -60,6 +70,7 @@ public class BasicHttpClientTest {
         given(wrappedHttpClient.requestAbs(any(), any())).willReturn(httpClientRequest);
 
         given(httpClientRequest.setFollowRedirects(anyBoolean())).willReturn(httpClientRequest);
+        given(httpClientRequest.connectionHandler(any())).willReturn(httpClientRequest);
         given(httpClientRequest.handler(any())).willReturn(httpClientRequest);
         given(httpClientRequest.exceptionHandler(any())).willReturn(httpClientRequest);
         given(httpClientRequest.headers()).willReturn(new CaseInsensitiveHeaders());
@@ -67,7 +78,7 @@ public class BasicHttpClientTest {
         given(httpClientResponse.bodyHandler(any())).willReturn(httpClientResponse);
         given(httpClientResponse.exceptionHandler(any())).willReturn(httpClientResponse);
 
-        httpClient = new BasicHttpClient(vertx, wrappedHttpClient);
+        httpClient = new BasicHttpClient(vertx, wrappedHttpClient, null);
     }
 
     @Test
@@ -85,6 +96,106 @@ public class BasicHttpClientTest {
         verify(httpClientRequest).end(eq("body"));
     }
 
+    @Test
+    public void requestShouldConnectToAddressResolvedByDnsCache() {
+        // given
+        final SocketAddress serverAddress = SocketAddress.inetSocketAddress(80, "127.0.0.1");
+        given(dnsCache.serverAddress(any())).willReturn(serverAddress);
+        given(wrappedHttpClient.requestAbs(any(), any(SocketAddress.class), any())).willReturn(httpClientRequest);
+
+        httpClient = new BasicHttpClient(vertx, wrappedHttpClient, dnsCache);
+
+        // when
+        httpClient.request(HttpMethod.POST, "http://host/path", null, "body", 500L);
+
+        // then
+        verify(dnsCache).serverAddress(eq("http://host/path"));
+        verify(wrappedHttpClient).requestAbs(eq(HttpMethod.POST), eq(serverAddress), eq("http://host/path"));
+    }
+
+    @Test
+    public void requestShouldResolveHostByHttpClientIfDnsCacheHasNoAddress() {
+        // given
+        httpClient = new BasicHttpClient(vertx, wrappedHttpClient, dnsCache);
+
+        // when
+        httpClient.request(HttpMethod.POST, "http://host/path", null, "body", 500L);
+
+        // then
+        verify(wrappedHttpClient).requestAbs(eq(HttpMethod.POST), eq("http://host/path"));
+    }
+
+    @Test
+    public void requestShouldMarkResponseReceivedOverNewConnection() {
+        // given
+        given(httpClientRequest.connectionHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(mock(HttpConnection.class)));
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+
+        given(httpClientResponse.bodyHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Buffer.buffer("response")));
+
+        // when
+        final Future<org.prebid.server.vertx.http.model.HttpClientResponse> future =
+                httpClient.request(HttpMethod.GET, null, null, null, 1L);
+
+        // then
+        assertThat(future.succeeded()).isTrue();
+        assertThat(future.result().isNewConnection()).isTrue();
+        assertThat(future.result().getBody()).isEqualTo("response");
+    }
+
+    @Test
+    public void requestShouldNotMarkResponseReceivedOverPooledConnection() {
+        // given
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+
+        given(httpClientResponse.bodyHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Buffer.buffer("response")));
+
+        // when
+        final Future<org.prebid.server.vertx.http.model.HttpClientResponse> future =
+                httpClient.request(HttpMethod.GET, null, null, null, 1L);
+
+        // then
+        assertThat(future.succeeded()).isTrue();
+        assertThat(future.result().isNewConnection()).isFalse();
+    }
+
+    @Test
+    public void openConnectionsShouldCountConnectionsOpenedToOriginOfUrl() {
+        // given
+        given(httpClientRequest.connectionHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(mock(HttpConnection.class)));
+
+        // when
+        httpClient.request(HttpMethod.GET, "http://host/path", null, null, 1000L);
+        httpClient.request(HttpMethod.GET, "http://host:80/other?query", null, null, 1000L);
+        httpClient.request(HttpMethod.GET, "https://host/path", null, null, 1000L);
+
+        // then
+        assertThat(httpClient.openConnections("http://host/")).isEqualTo(2);
+        assertThat(httpClient.openConnections("https://host:443/")).isEqualTo(1);
+        assertThat(httpClient.openConnections("http://other/")).isZero();
+    }
+
+    @Test
+    public void openConnectionsShouldNotCountClosedConnections() {
+        // given
+        final HttpConnection connection = mock(HttpConnection.class);
+        given(httpClientRequest.connectionHandler(any())).willAnswer(withSelfAndPassObjectToHandler(connection));
+
+        httpClient.request(HttpMethod.GET, "http://host/path", null, null, 1000L);
+
+        // when
+        captureCloseHandler(connection).handle(null);
+
+        // then
+        assertThat(httpClient.openConnections("http://host/")).isZero();
+    }
+
     @Test
     public void requestShouldSucceedIfHttpRequestSucceeds() {
         // given
@@ -101,6 +212,139 @@ public class BasicHttpClientTest {
         assertThat(future.succeeded()).isTrue();
     }
 
+    @Test
+    public void requestShouldDecompressGzippedResponseBody() throws IOException {
+        // given
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write("response".getBytes(StandardCharsets.UTF_8));
+        }
+        given(httpClientResponse.getHeader(any(CharSequence.class))).willReturn("gzip");
+        given(httpClientResponse.bodyHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Buffer.buffer(compressed.toByteArray())));
+
+        // when
+        final Future<org.prebid.server.vertx.http.model.HttpClientResponse> future =
+                httpClient.request(HttpMethod.GET, null, null, null, 1L);
+
+        // then
+        assertThat(future.succeeded()).isTrue();
+        assertThat(future.result().getBody()).isEqualTo("response");
+    }
+
+    @Test
+    public void requestBinaryShouldSendBodyAndReturnResponseBodyAsIs() {
+        // given
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+
+        final Buffer responseBody = Buffer.buffer(new byte[]{58, 41, 10, 0, -6});
+        given(httpClientResponse.bodyHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(responseBody));
+
+        final Buffer requestBody = Buffer.buffer(new byte[]{58, 41, 10, 0, -6});
+
+        // when
+        final Future<org.prebid.server.vertx.http.model.HttpClientResponse> future =
+                httpClient.requestBinary(HttpMethod.POST, "url", null, requestBody, 1L);
+
+        // then
+        verify(httpClientRequest).end(eq(requestBody));
+        assertThat(future.succeeded()).isTrue();
+        assertThat(future.result().getBinaryBody()).isEqualTo(responseBody);
+        assertThat(future.result().getBody()).isNull();
+    }
+
+    @Test
+    public void requestShouldSucceedIfResponseBodyDoesNotExceedMaxResponseSize() {
+        // given
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+
+        given(httpClientResponse.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Buffer.buffer("response")));
+        given(httpClientResponse.endHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(null));
+
+        // when
+        final Future<org.prebid.server.vertx.http.model.HttpClientResponse> future =
+                httpClient.request(HttpMethod.GET, null, null, null, 1L, 8L);
+
+        // then
+        assertThat(future.succeeded()).isTrue();
+        assertThat(future.result().getBody()).isEqualTo("response");
+    }
+
+    @Test
+    public void requestShouldFailAndResetRequestIfResponseContentLengthExceedsMaxResponseSize() {
+        // given
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+
+        given(httpClientResponse.getHeader(eq(HttpHeaders.CONTENT_LENGTH))).willReturn("9");
+        given(httpClientResponse.request()).willReturn(httpClientRequest);
+
+        // when
+        final Future<?> future = httpClient.request(HttpMethod.GET, null, null, null, 1L, 8L);
+
+        // then
+        assertThat(future.failed()).isTrue();
+        assertThat(future.cause())
+                .isInstanceOf(ResponseTooLargeException.class)
+                .hasMessage("Response size exceeded max size of 8 bytes");
+        verify(httpClientRequest).reset();
+    }
+
+    @Test
+    public void requestShouldFailAndResetRequestIfResponseBodyExceedsMaxResponseSize() {
+        // given
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+
+        given(httpClientResponse.request()).willReturn(httpClientRequest);
+        given(httpClientResponse.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Buffer.buffer("response body")));
+        given(httpClientResponse.endHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(null));
+
+        // when
+        final Future<?> future = httpClient.request(HttpMethod.GET, null, null, null, 1L, 8L);
+
+        // then
+        assertThat(future.failed()).isTrue();
+        assertThat(future.cause()).isInstanceOf(ResponseTooLargeException.class);
+        verify(httpClientRequest).reset();
+    }
+
+    @Test
+    public void requestShouldFailIfDecompressedResponseBodyExceedsMaxResponseSize() throws IOException {
+        // given
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(new byte[1000]);
+        }
+        given(httpClientResponse.getHeader(any(CharSequence.class))).willReturn(null);
+        given(httpClientResponse.getHeader(eq(HttpUtil.CONTENT_ENCODING_HEADER))).willReturn("gzip");
+        given(httpClientResponse.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Buffer.buffer(compressed.toByteArray())));
+        given(httpClientResponse.endHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(null));
+
+        // when
+        final Future<?> future = httpClient.request(HttpMethod.GET, null, null, null, 1L, 100L);
+
+        // then
+        assertThat(compressed.size()).isLessThan(100);
+        assertThat(future.failed()).isTrue();
+        assertThat(future.cause()).isInstanceOf(ResponseTooLargeException.class);
+    }
+
     @Test
     public void requestShouldAllowFollowingRedirections() {
         // when
@@ -145,7 +389,7 @@ public class BasicHttpClientTest {
     public void requestShouldFailIfHttpRequestTimedOut(TestContext context) {
         // given
         final Vertx vertx = Vertx.vertx();
-        final BasicHttpClient httpClient = new BasicHttpClient(vertx, vertx.createHttpClient());
+        final BasicHttpClient httpClient = new BasicHttpClient(vertx, vertx.createHttpClient(), null);
         final int serverPort = 7777;
 
         startServer(serverPort, 2000L, 0L);
@@ -167,7 +411,7 @@ public class BasicHttpClientTest {
     public void requestShouldFailIfHttpResponseTimedOut(TestContext context) {
         // given
         final Vertx vertx = Vertx.vertx();
-        final BasicHttpClient httpClient = new BasicHttpClient(vertx, vertx.createHttpClient());
+        final BasicHttpClient httpClient = new BasicHttpClient(vertx, vertx.createHttpClient(), null);
         final int serverPort = 8888;
 
         startServer(serverPort, 0L, 2000L);
@@ -243,6 +487,13 @@ public class BasicHttpClientTest {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static Handler<Void> captureCloseHandler(HttpConnection connection) {
+        final ArgumentCaptor<Handler<Void>> closeHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(connection).closeHandler(closeHandlerCaptor.capture());
+        return closeHandlerCaptor.getValue();
+    }
+
     @SuppressWarnings("unchecked")
     private static <T> Answer<Object> withSelfAndPassObjectToHandler(T obj) {
         return inv -> {
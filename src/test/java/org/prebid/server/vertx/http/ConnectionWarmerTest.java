@@ -0,0 +1,159 @@
+package org.prebid.server.vertx.http;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class ConnectionWarmerTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Vertx vertx;
+    @Mock
+    private BasicHttpClient httpClient;
+    @Mock
+    private DnsCache dnsCache;
+
+    @Before
+    public void setUp() {
+        given(httpClient.request(any(), anyString(), any(), any(), anyLong()))
+                .willReturn(Future.failedFuture("failed"));
+    }
+
+    @Test
+    public void creationShouldFailIfNumberOfConnectionsIsNotPositive() throws MalformedURLException {
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                new ConnectionWarmer(vertx, httpClient, null, endpoints("http://host"), 0, 1000L, 100L));
+    }
+
+    @Test
+    public void creationShouldFailIfIntervalIsNotPositive() throws MalformedURLException {
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                new ConnectionWarmer(vertx, httpClient, null, endpoints("http://host"), 2, 0L, 100L));
+    }
+
+    @Test
+    public void startWarmingUpShouldSendRequestsToOriginOfEveryEndpointForEveryConnection()
+            throws MalformedURLException {
+        // given
+        final ConnectionWarmer connectionWarmer = new ConnectionWarmer(vertx, httpClient, null,
+                endpoints("http://host1/path?query", "https://host2:8443/path", "http://host1/other"),
+                2, 1000L, 100L);
+
+        // when
+        connectionWarmer.startWarmingUp();
+
+        // then
+        verify(httpClient, times(2)).request(eq(HttpMethod.HEAD), eq("http://host1/"), isNull(), isNull(),
+                eq(100L));
+        verify(httpClient, times(2)).request(eq(HttpMethod.HEAD), eq("https://host2:8443/"), isNull(),
+                isNull(), eq(100L));
+    }
+
+    @Test
+    public void startWarmingUpShouldRepeatRequestsPeriodically() throws MalformedURLException {
+        // given
+        final ConnectionWarmer connectionWarmer = new ConnectionWarmer(vertx, httpClient, null,
+                endpoints("http://host"), 1, 1000L, 100L);
+
+        // when
+        connectionWarmer.startWarmingUp();
+        captureWarmer().handle(1L);
+
+        // then
+        verify(httpClient, times(2)).request(eq(HttpMethod.HEAD), eq("http://host/"), isNull(), isNull(),
+                eq(100L));
+    }
+
+    @Test
+    public void startWarmingUpShouldSkipOriginHavingEnoughOpenConnections() throws MalformedURLException {
+        // given
+        given(httpClient.openConnections("http://host1/")).willReturn(2);
+        given(httpClient.openConnections("http://host2/")).willReturn(1);
+
+        final ConnectionWarmer connectionWarmer = new ConnectionWarmer(vertx, httpClient, null,
+                endpoints("http://host1", "http://host2"), 2, 1000L, 100L);
+
+        // when
+        connectionWarmer.startWarmingUp();
+
+        // then
+        verify(httpClient, never()).request(any(), eq("http://host1/"), any(), any(), anyLong());
+        verify(httpClient, times(2)).request(eq(HttpMethod.HEAD), eq("http://host2/"), isNull(), isNull(),
+                eq(100L));
+    }
+
+    @Test
+    public void startWarmingUpShouldNotSendRequestsUntilHostIsResolvedByDnsCache() throws MalformedURLException {
+        // given
+        given(dnsCache.resolve(any())).willReturn(Future.future());
+
+        final ConnectionWarmer connectionWarmer = new ConnectionWarmer(vertx, httpClient, dnsCache,
+                endpoints("http://host"), 1, 1000L, 100L);
+
+        // when
+        connectionWarmer.startWarmingUp();
+
+        // then
+        verify(dnsCache).resolve(eq("host"));
+        verifyZeroInteractions(httpClient);
+    }
+
+    @Test
+    public void startWarmingUpShouldSendRequestsOnceHostIsResolvedByDnsCache() throws MalformedURLException {
+        // given
+        given(dnsCache.resolve(any())).willReturn(Future.succeededFuture("127.0.0.1"));
+
+        final ConnectionWarmer connectionWarmer = new ConnectionWarmer(vertx, httpClient, dnsCache,
+                endpoints("http://host"), 1, 1000L, 100L);
+
+        // when
+        connectionWarmer.startWarmingUp();
+
+        // then
+        verify(httpClient).request(eq(HttpMethod.HEAD), eq("http://host/"), isNull(), isNull(),
+                eq(100L));
+    }
+
+    private static List<URL> endpoints(String... urls) throws MalformedURLException {
+        final URL[] endpoints = new URL[urls.length];
+        for (int i = 0; i < urls.length; i++) {
+            endpoints[i] = new URL(urls[i]);
+        }
+        return asList(endpoints);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Handler<Long> captureWarmer() {
+        final ArgumentCaptor<Handler<Long>> warmerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).setPeriodic(eq(1000L), warmerCaptor.capture());
+        return warmerCaptor.getValue();
+    }
+}
@@ -0,0 +1,268 @@
+package org.prebid.server.vertx.http;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.net.SocketAddress;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.mockito.stubbing.Answer;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.util.HashSet;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class DnsCacheTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Vertx vertx;
+    @Mock
+    private Clock clock;
+
+    private DnsCache dnsCache;
+
+    @Before
+    public void setUp() throws UnknownHostException {
+        given(clock.millis()).willReturn(0L);
+        givenResolvedAddress("127.0.0.1");
+
+        dnsCache = new DnsCache(vertx, new HashSet<>(asList("host1", "host2")), 100, 1000, clock);
+    }
+
+    @Test
+    public void creationShouldFailIfRefreshIntervalIsNotPositive() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new DnsCache(vertx, new HashSet<>(), 0, 1000, clock));
+    }
+
+    @Test
+    public void creationShouldFailIfTtlIsLessThanRefreshInterval() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new DnsCache(vertx, new HashSet<>(), 100, 10, clock));
+    }
+
+    @Test
+    public void initializeShouldResolveAllHostsAndScheduleRefresh() {
+        // when
+        dnsCache.initialize();
+
+        // then
+        verify(vertx, times(2)).executeBlocking(any(), anyBoolean(), any());
+        verify(vertx).setPeriodic(eq(100L), any());
+        assertThat(dnsCache.address("host1")).isEqualTo("127.0.0.1");
+        assertThat(dnsCache.address("host2")).isEqualTo("127.0.0.1");
+    }
+
+    @Test
+    public void refreshShouldUpdateAddresses() throws UnknownHostException {
+        // given
+        dnsCache.initialize();
+        givenResolvedAddress("127.0.0.2");
+
+        // when
+        captureRefresher().handle(1L);
+
+        // then
+        assertThat(dnsCache.address("host1")).isEqualTo("127.0.0.2");
+    }
+
+    @Test
+    public void addressShouldReturnSameAddressOfHostResolvedToMultipleAddresses() throws UnknownHostException {
+        // given
+        givenResolvedAddress("127.0.0.1", "127.0.0.2", "127.0.0.3");
+        dnsCache.initialize();
+
+        // when and then
+        assertThat(asList(dnsCache.address("host1"), dnsCache.address("host1"), dnsCache.address("host1")))
+                .containsOnly("127.0.0.1");
+    }
+
+    @Test
+    public void refreshShouldKeepAddressIfHostStillResolvesToIt() throws UnknownHostException {
+        // given
+        givenResolvedAddress("127.0.0.1", "127.0.0.2");
+        dnsCache.initialize();
+        givenResolvedAddress("127.0.0.2", "127.0.0.1");
+
+        // when
+        captureRefresher().handle(1L);
+
+        // then
+        assertThat(dnsCache.address("host1")).isEqualTo("127.0.0.1");
+    }
+
+    @Test
+    public void refreshShouldKeepPreviousAddressIfResolutionFailed() {
+        // given
+        dnsCache.initialize();
+        givenFailedResolution();
+        given(clock.millis()).willReturn(999L);
+
+        // when
+        captureRefresher().handle(1L);
+
+        // then
+        assertThat(dnsCache.address("host1")).isEqualTo("127.0.0.1");
+    }
+
+    @Test
+    public void addressShouldReturnNullIfAddressHasExpired() {
+        // given
+        dnsCache.initialize();
+        given(clock.millis()).willReturn(1000L);
+
+        // when and then
+        assertThat(dnsCache.address("host1")).isNull();
+    }
+
+    @Test
+    public void addressShouldReturnNullForUnknownHost() {
+        // given
+        dnsCache.initialize();
+
+        // when and then
+        assertThat(dnsCache.address("unknown")).isNull();
+    }
+
+    @Test
+    public void serverAddressShouldReturnResolvedAddressWithPortOfUrl() {
+        // given
+        dnsCache.initialize();
+
+        // when
+        final SocketAddress serverAddress = dnsCache.serverAddress("http://host1:8080/path?query");
+
+        // then
+        assertThat(serverAddress.host()).isEqualTo("127.0.0.1");
+        assertThat(serverAddress.port()).isEqualTo(8080);
+    }
+
+    @Test
+    public void serverAddressShouldReturnResolvedAddressWithDefaultPortOfScheme() {
+        // given
+        dnsCache.initialize();
+
+        // when
+        final SocketAddress serverAddress = dnsCache.serverAddress("https://host1/path");
+
+        // then
+        assertThat(serverAddress.host()).isEqualTo("127.0.0.1");
+        assertThat(serverAddress.port()).isEqualTo(443);
+    }
+
+    @Test
+    public void serverAddressShouldReturnNullIfHostIsNotResolved() {
+        // given
+        dnsCache.initialize();
+
+        // when and then
+        assertThat(dnsCache.serverAddress("http://unknown/path")).isNull();
+    }
+
+    @Test
+    public void serverAddressShouldReturnNullIfUrlIsMalformed() {
+        // given
+        dnsCache.initialize();
+
+        // when and then
+        assertThat(dnsCache.serverAddress("invalid")).isNull();
+    }
+
+    @Test
+    public void resolveShouldReturnCachedAddressWithoutResolution() {
+        // given
+        dnsCache.initialize();
+
+        // when
+        final Future<String> future = dnsCache.resolve("host1");
+
+        // then
+        assertThat(future.result()).isEqualTo("127.0.0.1");
+        verify(vertx, times(2)).executeBlocking(any(), anyBoolean(), any());
+    }
+
+    @Test
+    public void resolveShouldResolveRegisteredHostMissingInCache() {
+        // when
+        final Future<String> future = dnsCache.resolve("host1");
+
+        // then
+        assertThat(future.result()).isEqualTo("127.0.0.1");
+        assertThat(dnsCache.address("host1")).isEqualTo("127.0.0.1");
+    }
+
+    @Test
+    public void resolveShouldNotResolveUnknownHost() {
+        // when
+        final Future<String> future = dnsCache.resolve("unknown");
+
+        // then
+        assertThat(future.succeeded()).isTrue();
+        assertThat(future.result()).isNull();
+        verify(vertx, never()).executeBlocking(any(), anyBoolean(), any());
+    }
+
+    @Test
+    public void resolveShouldSucceedWithNullIfResolutionFailed() {
+        // given
+        givenFailedResolution();
+
+        // when
+        final Future<String> future = dnsCache.resolve("host1");
+
+        // then
+        assertThat(future.succeeded()).isTrue();
+        assertThat(future.result()).isNull();
+    }
+
+    private void givenResolvedAddress(String... addresses) throws UnknownHostException {
+        final InetAddress[] inetAddresses = new InetAddress[addresses.length];
+        for (int i = 0; i < addresses.length; i++) {
+            inetAddresses[i] = InetAddress.getByName(addresses[i]);
+        }
+        willAnswer(withHandlerResult(Future.succeededFuture(inetAddresses)))
+                .given(vertx).executeBlocking(any(), anyBoolean(), any());
+    }
+
+    private void givenFailedResolution() {
+        willAnswer(withHandlerResult(Future.failedFuture(new UnknownHostException("host1"))))
+                .given(vertx).executeBlocking(any(), anyBoolean(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Answer<Object> withHandlerResult(AsyncResult<InetAddress[]> result) {
+        return invocation -> {
+            ((Handler<AsyncResult<InetAddress[]>>) invocation.getArgument(2)).handle(result);
+            return null;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private Handler<Long> captureRefresher() {
+        final ArgumentCaptor<Handler<Long>> refresherCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx, times(1)).setPeriodic(eq(100L), refresherCaptor.capture());
+        return refresherCaptor.getValue();
+    }
+}